@@ -0,0 +1,48 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Filtrage des résultats de recherche : identifiants bloqués fournis par BlockedPairIndex
+ */
+@State(Scope.Benchmark)
+public class SearchExclusionBenchmark {
+
+    @Param({"0", "20", "200"})
+    private int blocked;
+
+    private User currentUser;
+    private User candidate;
+    private Set<String> blockedIds;
+
+    @Setup
+    public void setUp() {
+        blockedIds = new HashSet<>();
+        for (int i = 0; i < blocked; i++) {
+            blockedIds.add(user().getId());
+        }
+        currentUser = user();
+        // Cas le plus fréquent : candidat non bloqué
+        candidate = user();
+    }
+
+    private static User user() {
+        User user = new User();
+        user.setId(UUID.randomUUID().toString());
+        return user;
+    }
+
+    @Benchmark
+    public boolean shouldExcludeUser() {
+        return SearchController.shouldExcludeUser(candidate, currentUser, blockedIds);
+    }
+}
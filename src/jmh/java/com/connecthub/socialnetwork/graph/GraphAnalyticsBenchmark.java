@@ -0,0 +1,92 @@
+package com.connecthub.socialnetwork.graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Analyse du graphe (AnalyticsGraph) sur un graphe préférentiel (Barabási–Albert) de users
+ * utilisateurs et friendsPerUser amitiés par nouvel utilisateur, plus likesPerUser likes par
+ * utilisateur vers des auteurs eux aussi tirés proportionnellement au degré.
+ * Avec les valeurs par défaut : 1M utilisateurs, 20M arêtes d'amitié parcourues par itération.
+ */
+@State(Scope.Benchmark)
+public class GraphAnalyticsBenchmark {
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"10"})
+    private int friendsPerUser;
+
+    @Param({"5"})
+    private int likesPerUser;
+
+    @Param({"4"})
+    private int parallelism;
+
+    private AnalyticsGraph graph;
+    private ForkJoinPool pool;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] ids = new String[users];
+        GraphSnapshotBuilder builder = new GraphSnapshotBuilder();
+        for (int i = 0; i < users; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+            builder.addUser(ids[i], List.of());
+        }
+        builder.freezeUsers();
+        int[] ordinals = new int[users];
+        for (int i = 0; i < users; i++) {
+            ordinals[i] = builder.ordinal(ids[i]);
+        }
+
+        int[] endpoints = new int[2 * users * friendsPerUser];
+        int count = 0;
+        for (int u = 1; u < users; u++) {
+            for (int k = 0; k < Math.min(u, friendsPerUser); k++) {
+                int v = count == 0 ? 0 : endpoints[random.nextInt(count)];
+                if (v != u) {
+                    builder.addEdge(ordinals[u], ordinals[v]);
+                    endpoints[count++] = u;
+                    endpoints[count++] = v;
+                }
+            }
+        }
+
+        AnalyticsGraphBuilder analytics = new AnalyticsGraphBuilder(builder.build(0));
+        for (int u = 0; u < users; u++) {
+            for (int k = 0; k < likesPerUser; k++) {
+                analytics.addLike(ids[u], ids[endpoints[random.nextInt(count)]]);
+            }
+        }
+        graph = analytics.build();
+        pool = new ForkJoinPool(parallelism);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public AnalyticsGraph.Ranking pageRank() {
+        return graph.pageRank(pool, 0.85, 0.5, 30, 1e-4);
+    }
+
+    @Benchmark
+    public AnalyticsGraph.Communities labelPropagation() {
+        return graph.labelPropagation(pool, 0.5, 20);
+    }
+}
@@ -0,0 +1,114 @@
+package com.connecthub.socialnetwork.graph;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Degrés de séparation (SocialGraph.shortestPath, profondeur 3) sur un graphe préférentiel
+ * (Barabási–Albert, friendsPerUser liens par nouvel utilisateur) : quelques gros hubs et
+ * une majorité de comptes peu connectés, comme un vrai réseau.
+ *
+ * randomPair : paires quelconques (pour la plupart sans chemin de 3 relations) ;
+ * thirdDegree : paires reliées en exactement 3 relations, le cas le plus coûteux affiché.
+ */
+@State(Scope.Benchmark)
+public class ShortestPathBenchmark {
+
+    private static final int MAX_DEPTH = 3;
+    private static final int PAIRS = 1024;
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"5"})
+    private int friendsPerUser;
+
+    private Path directory;
+    private SocialGraph graph;
+    private String[][] randomPairs;
+    private String[][] thirdDegreePairs;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        SplittableRandom random = new SplittableRandom(42);
+        String[] ids = new String[users];
+        GraphSnapshotBuilder builder = new GraphSnapshotBuilder();
+        for (int i = 0; i < users; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+            builder.addUser(ids[i], List.of());
+        }
+        builder.freezeUsers();
+        int[] ordinals = new int[users];
+        for (int i = 0; i < users; i++) {
+            ordinals[i] = builder.ordinal(ids[i]);
+        }
+
+        // Attachement préférentiel : une extrémité d'arête tirée au hasard est choisie proportionnellement au degré
+        int[] endpoints = new int[2 * users * friendsPerUser];
+        int count = 0;
+        for (int u = 1; u < users; u++) {
+            for (int k = 0; k < Math.min(u, friendsPerUser); k++) {
+                int v = count == 0 ? 0 : endpoints[random.nextInt(count)];
+                if (v != u) {
+                    builder.addEdge(ordinals[u], ordinals[v]);
+                    endpoints[count++] = u;
+                    endpoints[count++] = v;
+                }
+            }
+        }
+
+        directory = Files.createTempDirectory("shortest-path-bench");
+        graph = SocialGraph.create(directory, builder);
+
+        randomPairs = new String[PAIRS][];
+        for (int i = 0; i < PAIRS; i++) {
+            randomPairs[i] = new String[]{ids[random.nextInt(users)], ids[random.nextInt(users)]};
+        }
+        List<String[]> third = new ArrayList<>();
+        while (third.size() < PAIRS) {
+            String[] pair = {ids[random.nextInt(users)], ids[random.nextInt(users)]};
+            if (graph.shortestPath(pair[0], pair[1], MAX_DEPTH).size() == MAX_DEPTH + 1) {
+                third.add(pair);
+            }
+        }
+        thirdDegreePairs = third.toArray(new String[0][]);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        graph.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<String> randomPair() {
+        String[] pair = randomPairs[next++ & (PAIRS - 1)];
+        return graph.shortestPath(pair[0], pair[1], MAX_DEPTH);
+    }
+
+    @Benchmark
+    public List<String> thirdDegree() {
+        String[] pair = thirdDegreePairs[next++ & (PAIRS - 1)];
+        return graph.shortestPath(pair[0], pair[1], MAX_DEPTH);
+    }
+}
@@ -0,0 +1,91 @@
+package com.connecthub.socialnetwork.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * User.equals/hashCode et leur effet sur HashSet&lt;User&gt; (amis, demandes, bloqués).
+ * Le témoin HashSet&lt;String&gt; des identifiants donne le coût attendu d'un hachage bien réparti ;
+ * 5000 correspond à la limite d'amis d'un compte très connecté.
+ */
+@State(Scope.Benchmark)
+public class UserHashBenchmark {
+
+    @Param({"10", "100", "1000", "5000"})
+    private int size;
+
+    private User[] users;
+    private User probe;
+    private User probeCopy;
+    private User stranger;
+    private Set<User> userSet;
+    private Set<String> idSet;
+
+    @Setup
+    public void setUp() {
+        users = new User[size];
+        userSet = new HashSet<>();
+        idSet = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            users[i] = new User();
+            users[i].setId(UUID.randomUUID().toString());
+            userSet.add(users[i]);
+            idSet.add(users[i].getId());
+        }
+        probe = users[size / 2];
+        // Même identifiant, autre instance (entité rechargée)
+        probeCopy = new User();
+        probeCopy.setId(probe.getId());
+        // Absent de l'ensemble : parcours complet d'un seau (getRelationStatus entre inconnus)
+        stranger = new User("Stranger", "stranger@connecthub.test", "");
+    }
+
+    @Benchmark
+    public int hashCodeOnly() {
+        return probe.hashCode();
+    }
+
+    @Benchmark
+    public boolean equalsSameId() {
+        return probe.equals(probeCopy);
+    }
+
+    @Benchmark
+    public boolean setContains() {
+        return userSet.contains(probeCopy);
+    }
+
+    @Benchmark
+    public boolean setContainsAbsent() {
+        return userSet.contains(stranger);
+    }
+
+    /**
+     * Retrait puis remise (removeFriend, blockUser) : l'ensemble est inchangé d'une itération à l'autre
+     */
+    @Benchmark
+    public boolean setRemoveAndAdd() {
+        return userSet.remove(probeCopy) & userSet.add(probe);
+    }
+
+    @Benchmark
+    public boolean setContainsIdControl() {
+        return idSet.contains(probeCopy.getId());
+    }
+
+    @Benchmark
+    public Set<User> setBuild() {
+        Set<User> set = new HashSet<>();
+        for (User user : users) {
+            set.add(user);
+        }
+        return set;
+    }
+}
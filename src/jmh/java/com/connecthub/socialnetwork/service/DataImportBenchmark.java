@@ -0,0 +1,33 @@
+package com.connecthub.socialnetwork.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Set;
+
+/**
+ * Analyse d'une ligne du jeu de données CSV (import au démarrage)
+ */
+@State(Scope.Benchmark)
+public class DataImportBenchmark {
+
+    private final String line = "00002,Stacy Payne,Female,2004-07-21,"
+            + "\"'Gaming', 'Finance and investments', 'Outdoor activities', 'Travel'\",Al Abyār,Libya";
+    private final String interests = "'Gaming', 'Finance and investments', 'Outdoor activities', 'Travel'";
+
+    @Benchmark
+    public String[] parseCSVLine() {
+        return DataImportService.parseCSVLine(line);
+    }
+
+    @Benchmark
+    public Set<String> parseInterests() {
+        return DataImportService.parseInterests(interests);
+    }
+
+    @Benchmark
+    public String generateEmail() {
+        return DataImportService.generateEmail("Stacy Payne", "00002");
+    }
+}
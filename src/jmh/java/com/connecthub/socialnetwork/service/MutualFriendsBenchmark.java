@@ -0,0 +1,53 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.model.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Intersection de deux Set&lt;User&gt; d'entités chargées : coût dominé par User.hashCode/equals
+ */
+@State(Scope.Benchmark)
+public class MutualFriendsBenchmark {
+
+    @Param({"50", "500", "5000"})
+    private int friends;
+
+    private User first;
+    private User second;
+
+    @Setup
+    public void setUp() {
+        User[] pool = new User[friends * 2];
+        for (int i = 0; i < pool.length; i++) {
+            pool[i] = new User();
+            pool[i].setId(UUID.randomUUID().toString());
+        }
+        // Moitié des amis en commun
+        Set<User> firstFriends = new HashSet<>();
+        Set<User> secondFriends = new HashSet<>();
+        for (int i = 0; i < friends; i++) {
+            firstFriends.add(pool[i]);
+            secondFriends.add(pool[i + friends / 2]);
+        }
+        first = new User();
+        first.setFriends(firstFriends);
+        second = new User();
+        second.setFriends(secondFriends);
+    }
+
+    @Benchmark
+    public long countMutualFriends() {
+        Set<User> secondFriends = second.getFriends();
+        return first.getFriends().stream()
+                .filter(secondFriends::contains)
+                .count();
+    }
+}
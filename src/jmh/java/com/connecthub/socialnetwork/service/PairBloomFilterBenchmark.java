@@ -0,0 +1,59 @@
+package com.connecthub.socialnetwork.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Test d'une paire non bloquée (cas courant du filtrage) : filtre de Bloom de BlockedPairIndex
+ * contre l'ancienne représentation, Map&lt;String, Set&lt;String&gt;&gt;
+ */
+@State(Scope.Benchmark)
+public class PairBloomFilterBenchmark {
+
+    @Param({"1000", "100000"})
+    private int pairs;
+
+    private PairBloomFilter bloom;
+    private Map<String, Set<String>> blocking;
+    private String[] users;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        users = new String[pairs];
+        for (int i = 0; i < users.length; i++) {
+            users[i] = UUID.randomUUID().toString();
+            users[i].hashCode();
+        }
+        bloom = new PairBloomFilter(pairs * 2);
+        blocking = new HashMap<>();
+        // Chaque utilisateur bloque son successeur : les paires testées (i, i + 2) sont absentes
+        for (int i = 0; i < users.length; i++) {
+            String blocked = users[(i + 1) % users.length];
+            bloom.add(users[i], blocked);
+            blocking.computeIfAbsent(users[i], id -> new HashSet<>()).add(blocked);
+        }
+    }
+
+    @Benchmark
+    public boolean bloomAbsent() {
+        int i = next++ % users.length;
+        return bloom.mightContain(users[i], users[(i + 2) % users.length]);
+    }
+
+    @Benchmark
+    public boolean mapAbsent() {
+        int i = next++ % users.length;
+        Set<String> blocked = blocking.get(users[i]);
+        return blocked != null && blocked.contains(users[(i + 2) % users.length]);
+    }
+}
@@ -0,0 +1,226 @@
+package com.connecthub.socialnetwork.loadtest;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Écrit un SyntheticGraph dans Neo4j, par lots UNWIND, avec le schéma de l'application :
+ * (:User)-[:CONNECTED_TO]->(:User), (:User)-[:POSTED]->(:Post), (:User)-[:LIKED_BY]->(:Post),
+ * (:User)-[:COMMENTED]->(:Comment)-[:ON_POST]->(:Post)-[:HAS_COMMENT]->(:Comment),
+ * (:Post)-[:TAGGED {tag, createdAt}]->(:Tag).
+ *
+ * Un index temporaire sur User.id accélère les MATCH du chargement ; il est supprimé ensuite pour
+ * que l'application soit mesurée avec son propre schéma (DatabaseMigrationService).
+ */
+final class GraphSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphSeeder.class);
+
+    private static final int BATCH_SIZE = 2000;
+    private static final int SAMPLE_POSTS = 20_000;
+
+    static final String EXPORT_EMAIL = "export@loadtest.connecthub";
+
+    /**
+     * Ce que les scénarios doivent connaître du graphe chargé
+     */
+    record SeededGraph(SyntheticGraph graph, long[] postIds, String exportUserId) {
+    }
+
+    private final Driver driver;
+
+    GraphSeeder(Driver driver) {
+        this.driver = driver;
+    }
+
+    SeededGraph seed(SyntheticGraph graph, int exportPosts) {
+        long start = System.nanoTime();
+        // Le même hash pour tous : BCrypt(12) coûte ~250 ms, inenvisageable par utilisateur
+        String passwordHash = new BCryptPasswordEncoder(12).encode(SyntheticGraph.PASSWORD);
+        LocalDateTime now = LocalDateTime.now();
+
+        try (Session session = driver.session()) {
+            session.run("CREATE INDEX loadtest_seed_user_id IF NOT EXISTS FOR (u:User) ON (u.id)").consume();
+            session.run("CALL db.awaitIndexes(300)").consume();
+
+            seedUsers(session, graph, passwordHash, now);
+            seedFriendships(session, graph);
+            long posts = seedPosts(session, graph, now);
+            String exportUserId = exportPosts > 0 ? seedExportAccount(session, passwordHash, exportPosts, now) : null;
+
+            session.run("DROP INDEX loadtest_seed_user_id IF EXISTS").consume();
+            long[] postIds = samplePostIds(session);
+
+            log.info("Graphe synthétique chargé : {} utilisateur(s), {} amitié(s), {} publication(s) en {} s",
+                    graph.userCount(), graph.friendshipCount(), posts, (System.nanoTime() - start) / 1_000_000_000);
+            return new SeededGraph(graph, postIds, exportUserId);
+        }
+    }
+
+    private void seedUsers(Session session, SyntheticGraph graph, String passwordHash, LocalDateTime now) {
+        List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+        for (int u = 0; u < graph.userCount(); u++) {
+            Map<String, Object> row = new HashMap<>();
+            row.put("id", graph.id(u));
+            row.put("name", graph.name(u));
+            row.put("email", graph.email(u));
+            row.put("interests", graph.interests(u));
+            row.put("degree", graph.friends(u).length);
+            row.put("createdAt", now.minusDays(u % 365));
+            batch.add(row);
+            if (batch.size() == BATCH_SIZE) {
+                writeUsers(session, batch, passwordHash);
+            }
+        }
+        writeUsers(session, batch, passwordHash);
+    }
+
+    private void writeUsers(Session session, List<Map<String, Object>> batch, String passwordHash) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        session.executeWriteWithoutResult(tx -> tx.run("""
+                UNWIND $rows AS row
+                CREATE (:User {id: row.id, name: row.name, email: row.email, password: $password,
+                               bio: '', createdAt: row.createdAt, interests: row.interests, degree: row.degree})
+                """, Map.of("rows", batch, "password", passwordHash)).consume());
+        batch.clear();
+    }
+
+    private void seedFriendships(Session session, SyntheticGraph graph) {
+        List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+        for (int u = 0; u < graph.userCount(); u++) {
+            for (int v : graph.friends(u)) {
+                if (u > v) {
+                    // Sens canonique de l'application : identifiant le plus petit vers le plus grand
+                    String a = graph.id(u);
+                    String b = graph.id(v);
+                    batch.add(a.compareTo(b) < 0 ? Map.of("from", a, "to", b) : Map.of("from", b, "to", a));
+                    if (batch.size() == BATCH_SIZE) {
+                        writeFriendships(session, batch);
+                    }
+                }
+            }
+        }
+        writeFriendships(session, batch);
+    }
+
+    private void writeFriendships(Session session, List<Map<String, Object>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        session.executeWriteWithoutResult(tx -> tx.run("""
+                UNWIND $rows AS row
+                MATCH (a:User {id: row.from}), (b:User {id: row.to})
+                CREATE (a)-[:CONNECTED_TO]->(b)
+                """, Map.of("rows", batch)).consume());
+        batch.clear();
+    }
+
+    private long seedPosts(Session session, SyntheticGraph graph, LocalDateTime now) {
+        // Tags d'abord : le MERGE par lot resterait sinon en concurrence avec lui-même
+        session.run("UNWIND $names AS name MERGE (:Tag {name: name})",
+                Map.of("names", List.of(graph.tags()))).consume();
+
+        long total = 0;
+        List<Map<String, Object>> batch = new ArrayList<>(BATCH_SIZE);
+        for (int u = 0; u < graph.userCount(); u++) {
+            for (SyntheticGraph.SyntheticPost post : graph.posts(u, now)) {
+                List<Map<String, Object>> comments = new ArrayList<>();
+                for (SyntheticGraph.SyntheticComment comment : post.comments()) {
+                    comments.add(Map.of("author", comment.authorId(), "content", comment.content(),
+                            "createdAt", comment.createdAt()));
+                }
+                batch.add(Map.of("author", post.authorId(), "content", post.content(),
+                        "createdAt", post.createdAt(), "tags", post.tags(), "likers", post.likerIds(),
+                        "comments", comments));
+                total++;
+                if (batch.size() == BATCH_SIZE) {
+                    writePosts(session, batch);
+                }
+            }
+        }
+        writePosts(session, batch);
+        return total;
+    }
+
+    private void writePosts(Session session, List<Map<String, Object>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        session.executeWriteWithoutResult(tx -> tx.run("""
+                UNWIND $rows AS row
+                MATCH (author:User {id: row.author})
+                CREATE (author)-[:POSTED]->(p:Post {content: row.content, createdAt: row.createdAt,
+                                                    imageVariants: []})
+                WITH p, row
+                CALL {
+                    WITH p, row
+                    UNWIND row.tags AS name
+                    MATCH (t:Tag {name: name})
+                    CREATE (p)-[:TAGGED {tag: name, createdAt: row.createdAt}]->(t)
+                }
+                CALL {
+                    WITH p, row
+                    UNWIND row.likers AS likerId
+                    MATCH (liker:User {id: likerId})
+                    CREATE (liker)-[:LIKED_BY]->(p)
+                }
+                CALL {
+                    WITH p, row
+                    UNWIND row.comments AS comment
+                    MATCH (commenter:User {id: comment.author})
+                    CREATE (commenter)-[:COMMENTED]->(c:Comment {content: comment.content,
+                                                                  createdAt: comment.createdAt})
+                    CREATE (c)-[:ON_POST]->(p)
+                    CREATE (p)-[:HAS_COMMENT]->(c)
+                }
+                """, Map.of("rows", batch)).consume());
+        batch.clear();
+    }
+
+    /**
+     * Compte dédié au scénario export : exportPosts publications, sans amis
+     */
+    private String seedExportAccount(Session session, String passwordHash, int exportPosts, LocalDateTime now) {
+        String id = UUID.nameUUIDFromBytes(EXPORT_EMAIL.getBytes(StandardCharsets.UTF_8)).toString();
+        session.run("""
+                CREATE (:User {id: $id, name: 'Export Load', email: $email, password: $password, bio: '',
+                               createdAt: $now, interests: []})
+                """, Map.of("id", id, "email", EXPORT_EMAIL, "password", passwordHash, "now", now)).consume();
+        for (int offset = 0; offset < exportPosts; offset += 10 * BATCH_SIZE) {
+            int count = Math.min(10 * BATCH_SIZE, exportPosts - offset);
+            session.executeWriteWithoutResult(tx -> tx.run("""
+                    MATCH (u:User {id: $id})
+                    UNWIND range(1, $count) AS i
+                    CREATE (u)-[:POSTED]->(:Post {content: 'Publication ' + toString($offset + i) + ' pour l''export',
+                                                  createdAt: $now, imageVariants: []})
+                    """, Map.of("id", id, "count", count, "offset", offset, "now", now)).consume());
+        }
+        return id;
+    }
+
+    /**
+     * Identifiants internes de publications tirées au hasard, cibles des likes et commentaires
+     */
+    private long[] samplePostIds(Session session) {
+        return session.run("""
+                        MATCH (p:Post)<-[:POSTED]-(u:User) WHERE u.email <> $exportEmail
+                        WITH p, rand() AS r ORDER BY r LIMIT $limit
+                        RETURN id(p) AS id
+                        """, Map.of("exportEmail", EXPORT_EMAIL, "limit", SAMPLE_POSTS))
+                .list(record -> record.get("id").asLong())
+                .stream().mapToLong(Long::longValue).toArray();
+    }
+}
@@ -0,0 +1,96 @@
+package com.connecthub.socialnetwork.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.CookieManager;
+import java.net.CookiePolicy;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.Executor;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Session HTTP d'un utilisateur virtuel : cookies propres (JSESSIONID, XSRF-TOKEN), connexion
+ * par le formulaire /login comme un navigateur, redirections non suivies pour que chaque
+ * requête mesurée corresponde à un seul aller-retour.
+ */
+final class LoadClient {
+
+    private static final Pattern CSRF_INPUT = Pattern.compile("name=\"_csrf\"\\s+value=\"([^\"]+)\"");
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI base;
+    private final HttpClient http;
+
+    LoadClient(URI base, Executor executor) {
+        this.base = base;
+        this.http = HttpClient.newBuilder()
+                .cookieHandler(new CookieManager(null, CookiePolicy.ACCEPT_ALL))
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .connectTimeout(TIMEOUT)
+                .executor(executor)
+                .build();
+    }
+
+    /**
+     * @throws IOException si les identifiants sont refusés (redirection vers /login?error)
+     */
+    void login(String email, String password) throws IOException, InterruptedException {
+        HttpResponse<String> page = get("/login");
+        Matcher matcher = CSRF_INPUT.matcher(page.body());
+        if (!matcher.find()) {
+            throw new IOException("Jeton CSRF absent de /login (statut " + page.statusCode() + ")");
+        }
+        HttpResponse<String> response = postForm("/login",
+                "username=" + encode(email) + "&password=" + encode(password) + "&_csrf=" + encode(matcher.group(1)));
+        String location = response.headers().firstValue("Location").orElse("");
+        if (response.statusCode() != 302 || location.contains("error")) {
+            throw new IOException("Connexion refusée pour " + email + " (" + response.statusCode() + " " + location + ")");
+        }
+    }
+
+    HttpResponse<String> get(String path) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    /**
+     * Le corps est lu puis ignoré : mesure le temps de génération et de transfert sans le conserver
+     */
+    HttpResponse<Void> getDiscarding(String path) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(base.resolve(path)).timeout(TIMEOUT).GET().build(),
+                HttpResponse.BodyHandlers.discarding());
+    }
+
+    /**
+     * Flux ouvert sans délai de réponse : connexions SSE maintenues par l'appelant
+     */
+    HttpResponse<InputStream> openStream(String path) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(base.resolve(path))
+                        .header("Accept", "text/event-stream")
+                        .GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+    }
+
+    /**
+     * /posts/** et /api/** sont exclus de la protection CSRF (SecurityConfig)
+     */
+    HttpResponse<String> postForm(String path, String form) throws IOException, InterruptedException {
+        return http.send(HttpRequest.newBuilder(base.resolve(path))
+                        .timeout(TIMEOUT)
+                        .header("Content-Type", "application/x-www-form-urlencoded")
+                        .POST(HttpRequest.BodyPublishers.ofString(form))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+
+    static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,102 @@
+package com.connecthub.socialnetwork.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Rapport d'un scénario : tableau texte (débit, erreurs, percentiles en ms) dans summary-&lt;scénario&gt;.txt,
+ * et une distribution HdrHistogram complète par opération (&lt;scénario&gt;-&lt;opération&gt;.hgrm),
+ * lisible par HistogramLogAnalyzer ou le tracé en ligne d'HdrHistogram.
+ */
+final class LoadReport {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadReport.class);
+
+    private final Path directory;
+    private final String scenario;
+    private final List<String> lines = new ArrayList<>();
+
+    LoadReport(Path directory, String scenario, LoadTestOptions options) {
+        this.directory = directory;
+        this.scenario = scenario;
+        lines.add("Scénario " + scenario + " — " + options);
+    }
+
+    void section(String title) {
+        lines.add("");
+        lines.add("== " + title);
+    }
+
+    void line(String format, Object... args) {
+        lines.add(String.format(Locale.ROOT, format, args));
+    }
+
+    /**
+     * Une ligne par opération, puis les distributions dans des fichiers .hgrm préfixés par label
+     */
+    void latencies(String label, LoadRunner.LoadResult result) throws IOException {
+        line("%-10s %10s %8s %10s %9s %9s %9s %9s %9s", "operation", "requetes", "erreurs", "req/s",
+                "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        long total = 0;
+        for (Map.Entry<Workload.Operation, Histogram> entry : result.latencies().entrySet()) {
+            Histogram histogram = entry.getValue();
+            total += histogram.getTotalCount();
+            line("%-10s %10d %8d %10.1f %9.1f %9.1f %9.1f %9.1f %9.1f", entry.getKey().name().toLowerCase(Locale.ROOT),
+                    histogram.getTotalCount(), result.errors().get(entry.getKey()),
+                    histogram.getTotalCount() / result.seconds(),
+                    millis(histogram, 50), millis(histogram, 90), millis(histogram, 99), millis(histogram, 99.9),
+                    histogram.getMaxValue() / 1000.0);
+            writeDistribution(label + "-" + entry.getKey().name().toLowerCase(Locale.ROOT), histogram);
+        }
+        line("total : %d requête(s), %.1f req/s, %d arrivée(s) abandonnée(s)", total, total / result.seconds(),
+                result.dropped());
+    }
+
+    /**
+     * p99 toutes opérations confondues, pour comparer deux exécutions
+     */
+    static double overallP99(LoadRunner.LoadResult result) {
+        Histogram all = new Histogram(3);
+        result.latencies().values().forEach(all::add);
+        return millis(all, 99);
+    }
+
+    static double throughput(LoadRunner.LoadResult result) {
+        return result.latencies().values().stream().mapToLong(Histogram::getTotalCount).sum() / result.seconds();
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+
+    private void writeDistribution(String name, Histogram histogram) throws IOException {
+        Files.createDirectories(directory);
+        try (PrintStream out = new PrintStream(Files.newOutputStream(directory.resolve(name + ".hgrm")), false,
+                StandardCharsets.UTF_8)) {
+            // Valeurs enregistrées en µs, distribution exprimée en ms
+            histogram.outputPercentileDistribution(out, 1000.0);
+        }
+    }
+
+    /**
+     * @return le chemin du résumé écrit
+     */
+    Path write() throws IOException {
+        Files.createDirectories(directory);
+        Path summary = directory.resolve("summary-" + scenario + ".txt");
+        Files.write(summary, lines, StandardCharsets.UTF_8);
+        log.info("Rapport {} :\n{}", summary, String.join("\n", lines));
+        return summary;
+    }
+}
@@ -0,0 +1,157 @@
+package com.connecthub.socialnetwork.loadtest;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Exécute un Workload pendant warmup + duration secondes et enregistre les latences (µs) par opération.
+ *
+ * - Modèle fermé : users utilisateurs virtuels enchaînent requête, pause (think-millis), requête...
+ *   Le débit s'adapte au serveur : mesure la capacité, pas la latence vue par des arrivées libres.
+ * - Modèle ouvert : arrivées de Poisson à rate requêtes/s, indépendantes des réponses. La latence est
+ *   comptée depuis l'heure d'arrivée prévue, pas depuis l'envoi effectif : un serveur qui ralentit
+ *   ne fait pas disparaître l'attente qu'il provoque (omission coordonnée). Au-delà de
+ *   max-in-flight requêtes en cours, les arrivées sont abandonnées et comptées à part.
+ *
+ * Les mesures de la période de chauffe sont jetées.
+ */
+final class LoadRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadRunner.class);
+
+    /**
+     * Mesures d'une exécution ; dropped ne concerne que le modèle ouvert
+     */
+    record LoadResult(Map<Workload.Operation, Histogram> latencies, Map<Workload.Operation, Long> errors,
+                      long dropped, double seconds) {
+    }
+
+    private final LoadTestOptions options;
+    private final Workload workload;
+    private final List<Workload.VirtualUser> users;
+
+    private final Map<Workload.Operation, Recorder> recorders = new EnumMap<>(Workload.Operation.class);
+    private final Map<Workload.Operation, LongAdder> errors = new EnumMap<>(Workload.Operation.class);
+    private final LongAdder dropped = new LongAdder();
+    private volatile boolean running = true;
+
+    LoadRunner(LoadTestOptions options, Workload workload, List<Workload.VirtualUser> users) {
+        this.options = options;
+        this.workload = workload;
+        this.users = users;
+        for (Workload.Operation operation : workload.operations()) {
+            recorders.put(operation, new Recorder(3));
+            errors.put(operation, new LongAdder());
+        }
+    }
+
+    LoadResult run() throws InterruptedException {
+        long seed = options.longValue("seed");
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (options.string("model").equals("open")) {
+                executor.submit(() -> openLoop(executor, seed));
+            } else {
+                for (int i = 0; i < options.integer("users"); i++) {
+                    Workload.VirtualUser user = users.get(i % users.size());
+                    Random random = new Random(seed + i);
+                    executor.submit(() -> closedLoop(user, random));
+                }
+            }
+
+            TimeUnit.SECONDS.sleep(options.integer("warmup"));
+            recorders.values().forEach(Recorder::reset);
+            errors.values().forEach(LongAdder::reset);
+            dropped.reset();
+            long start = System.nanoTime();
+            log.info("Fin de la chauffe, mesure pendant {} s", options.integer("duration"));
+
+            TimeUnit.SECONDS.sleep(options.integer("duration"));
+            LoadResult result = snapshot((System.nanoTime() - start) / 1e9);
+            running = false;
+            executor.shutdownNow();
+            return result;
+        }
+    }
+
+    private LoadResult snapshot(double seconds) {
+        Map<Workload.Operation, Histogram> latencies = new EnumMap<>(Workload.Operation.class);
+        Map<Workload.Operation, Long> errorCounts = new EnumMap<>(Workload.Operation.class);
+        recorders.forEach((operation, recorder) -> latencies.put(operation, recorder.getIntervalHistogram()));
+        errors.forEach((operation, count) -> errorCounts.put(operation, count.sum()));
+        return new LoadResult(latencies, errorCounts, dropped.sum(), seconds);
+    }
+
+    private void closedLoop(Workload.VirtualUser user, Random random) {
+        long think = options.longValue("think-millis");
+        while (running) {
+            execute(user, workload.next(random), random, System.nanoTime());
+            if (think > 0) {
+                LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(think));
+            }
+        }
+    }
+
+    private void openLoop(ExecutorService executor, long seed) {
+        SplittableRandom arrivals = new SplittableRandom(seed);
+        double meanGapNanos = 1e9 / options.decimal("rate");
+        int maxInFlight = options.integer("max-in-flight");
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger sequence = new AtomicInteger();
+
+        long next = System.nanoTime();
+        while (running) {
+            next += (long) (-Math.log(1 - arrivals.nextDouble()) * meanGapNanos);
+            long wait = next - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            if (inFlight.get() >= maxInFlight) {
+                dropped.increment();
+                continue;
+            }
+            long intendedStart = next;
+            int n = sequence.getAndIncrement();
+            inFlight.incrementAndGet();
+            executor.submit(() -> {
+                try {
+                    Random random = new Random(seed + n);
+                    Workload.VirtualUser user = users.get(random.nextInt(users.size()));
+                    execute(user, workload.next(random), random, intendedStart);
+                } finally {
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+    }
+
+    private void execute(Workload.VirtualUser user, Workload.Operation operation, Random random, long start) {
+        boolean ok;
+        try {
+            ok = workload.execute(operation, user, random);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            log.debug("Requête {} en échec : {}", operation, e.toString());
+            ok = false;
+        }
+        recorders.get(operation).recordValue(Math.max(0, (System.nanoTime() - start) / 1000));
+        if (!ok) {
+            errors.get(operation).increment();
+        }
+    }
+}
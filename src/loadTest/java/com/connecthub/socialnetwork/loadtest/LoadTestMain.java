@@ -0,0 +1,389 @@
+package com.connecthub.socialnetwork.loadtest;
+
+import com.connecthub.socialnetwork.SocialNetworkApplication;
+import com.connecthub.socialnetwork.graph.GraphSnapshotBuilder;
+import com.connecthub.socialnetwork.graph.SocialGraph;
+import com.connecthub.socialnetwork.service.SocialGraphService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.HdrHistogram.Histogram;
+import org.neo4j.driver.AuthTokens;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.GraphDatabase;
+import org.neo4j.driver.Session;
+import org.neo4j.harness.Neo4j;
+import org.neo4j.harness.Neo4jBuilders;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.net.URI;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Point d'entrée des tests de charge (tâche Gradle loadTest, options dans LoadTestOptions).
+ *
+ * Un Neo4j embarqué (neo4j-harness, sans serveur HTTP) reçoit le graphe synthétique, puis
+ * l'application complète démarre dessus sur un port libre, avec des répertoires temporaires.
+ * Les requêtes passent par HTTP comme celles d'un navigateur : sécurité, Thymeleaf, cache,
+ * bus d'événements et pool Bolt sont mesurés ensemble. Le scénario graph-snapshot n'a besoin
+ * ni de Neo4j ni de l'application.
+ */
+public final class LoadTestMain {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadTestMain.class);
+
+    private static final Duration GRAPH_READY_TIMEOUT = Duration.ofMinutes(10);
+    // Sessions qui se partagent les flux SSE du scénario sse-idle
+    private static final int SSE_SESSIONS = 100;
+
+    private LoadTestMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        LoadReport report = new LoadReport(options.reportDir(), options.scenario(), options);
+        log.info("Test de charge : {}", options);
+
+        switch (options.scenario()) {
+            case "graph-snapshot" -> graphSnapshot(options, report);
+            case "mix", "tag-feed", "threads", "sse-idle", "export" -> withDatabase(options, report);
+            default -> throw new IllegalArgumentException("Scénario inconnu : " + options.scenario());
+        }
+        report.write();
+        // Threads non démons du harness et des clients HTTP
+        System.exit(0);
+    }
+
+    private static void withDatabase(LoadTestOptions options, LoadReport report) throws Exception {
+        try (Neo4j neo4j = Neo4jBuilders.newInProcessBuilder().withDisabledServer().build();
+             Driver driver = GraphDatabase.driver(neo4j.boltURI(), AuthTokens.none())) {
+            SyntheticGraph graph = new SyntheticGraph(options, options.userCount());
+            int exportPosts = options.scenario().equals("export") ? options.integer("export-posts") : 0;
+            GraphSeeder.SeededGraph seeded = new GraphSeeder(driver).seed(graph, exportPosts);
+
+            report.section("Graphe");
+            report.line("%d utilisateur(s), %d amitié(s), %d publication(s) échantillonnée(s) pour les écritures",
+                    graph.userCount(), graph.friendshipCount(), seeded.postIds().length);
+
+            switch (options.scenario()) {
+                case "threads" -> threads(options, report, neo4j, driver, seeded);
+                case "sse-idle" -> sseIdle(options, report, neo4j, driver, seeded);
+                case "export" -> export(options, report, neo4j, driver, seeded);
+                default -> {
+                    try (ConfigurableApplicationContext app = startApplication(options, neo4j, driver,
+                            options.bool("virtual-threads"), Map.of())) {
+                        report.section(options.string("model") + " — " + options.string("mix"));
+                        report.latencies(options.scenario(), runWorkload(options, app, seeded, options.integer("users")));
+                    }
+                }
+            }
+        }
+    }
+
+    // =========================
+    // APPLICATION
+    // =========================
+
+    private static ConfigurableApplicationContext startApplication(LoadTestOptions options, Neo4j neo4j, Driver driver,
+                                                                   boolean virtualThreads,
+                                                                   Map<String, Object> extra) throws Exception {
+        Path work = Files.createTempDirectory("connecthub-load");
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.neo4j.uri", neo4j.boltURI().toString());
+        properties.put("spring.threads.virtual.enabled", virtualThreads);
+        properties.put("connecthub.csv-import.enabled", false);
+        properties.put("connecthub.graph.dir", work.resolve("graph").toString());
+        properties.put("connecthub.export.dir", work.resolve("exports").toString());
+        properties.put("connecthub.avatars.cache-dir", work.resolve("avatars").toString());
+        properties.put("connecthub.trending.snapshot-file", work.resolve("trending.bin").toString());
+        properties.putAll(extra);
+
+        long start = System.nanoTime();
+        ConfigurableApplicationContext app = new SpringApplicationBuilder(SocialNetworkApplication.class)
+                .properties(properties)
+                .run();
+
+        // Index de DatabaseMigrationService puis graphe d'amitié (reconstruit depuis Neo4j)
+        try (Session session = driver.session()) {
+            session.run("CALL db.awaitIndexes(600)").consume();
+        }
+        SocialGraphService graphService = app.getBean(SocialGraphService.class);
+        long deadline = System.nanoTime() + GRAPH_READY_TIMEOUT.toNanos();
+        while (!graphService.isReady()) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("Graphe d'amitié non chargé après " + GRAPH_READY_TIMEOUT);
+            }
+            TimeUnit.MILLISECONDS.sleep(200);
+        }
+        log.info("Application prête sur le port {} en {} s (threads virtuels : {})", port(app),
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), virtualThreads);
+        return app;
+    }
+
+    private static int port(ConfigurableApplicationContext app) {
+        return app.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+    }
+
+    private static URI baseUri(ConfigurableApplicationContext app) {
+        return URI.create("http://localhost:" + port(app) + "/");
+    }
+
+    /**
+     * Connecte count utilisateurs répartis sur tout le graphe (les premiers indices sont les plus connectés)
+     */
+    private static List<Workload.VirtualUser> login(ConfigurableApplicationContext app, SyntheticGraph graph,
+                                                    int count, ExecutorService executor) throws Exception {
+        URI base = baseUri(app);
+        int step = Math.max(1, graph.userCount() / count);
+        List<Future<Workload.VirtualUser>> futures = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            int index = (i * step) % graph.userCount();
+            futures.add(executor.submit(() -> {
+                LoadClient client = new LoadClient(base, executor);
+                client.login(graph.email(index), SyntheticGraph.PASSWORD);
+                return new Workload.VirtualUser(index, client);
+            }));
+        }
+        List<Workload.VirtualUser> users = new ArrayList<>(count);
+        for (Future<Workload.VirtualUser> future : futures) {
+            users.add(future.get());
+        }
+        return users;
+    }
+
+    private static LoadRunner.LoadResult runWorkload(LoadTestOptions options, ConfigurableApplicationContext app,
+                                                     GraphSeeder.SeededGraph seeded, int sessions) throws Exception {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Workload.VirtualUser> users = login(app, seeded.graph(), sessions, executor);
+            Workload workload = new Workload(options.string("mix"), options.decimal("tag-deep-ratio"), seeded);
+            return new LoadRunner(options, workload, users).run();
+        }
+    }
+
+    // =========================
+    // SCÉNARIOS
+    // =========================
+
+    /**
+     * Même mélange avec threads plateforme puis virtuels ; chaque exécution repart d'une application neuve
+     */
+    private static void threads(LoadTestOptions options, LoadReport report, Neo4j neo4j, Driver driver,
+                                GraphSeeder.SeededGraph seeded) throws Exception {
+        Map<Boolean, LoadRunner.LoadResult> results = new HashMap<>();
+        for (boolean virtualThreads : new boolean[] {false, true}) {
+            try (ConfigurableApplicationContext app = startApplication(options, neo4j, driver, virtualThreads, Map.of())) {
+                LoadRunner.LoadResult result = runWorkload(options, app, seeded, options.integer("users"));
+                String label = virtualThreads ? "virtual" : "platform";
+                report.section("Threads " + label);
+                report.latencies("threads-" + label, result);
+                results.put(virtualThreads, result);
+            }
+        }
+        report.section("Comparaison (virtuels / plateforme)");
+        report.line("débit : %.2f x, p99 : %.2f x",
+                LoadReport.throughput(results.get(true)) / LoadReport.throughput(results.get(false)),
+                LoadReport.overallP99(results.get(true)) / LoadReport.overallP99(results.get(false)));
+    }
+
+    /**
+     * sse-connections flux /api/events ouverts et laissés inactifs, pendant que le mélange tourne :
+     * coût mémoire et threads d'une connexion, et effet sur la latence des autres requêtes
+     */
+    private static void sseIdle(LoadTestOptions options, LoadReport report, Neo4j neo4j, Driver driver,
+                                GraphSeeder.SeededGraph seeded) throws Exception {
+        int connections = options.integer("sse-connections");
+        int sessions = Math.min(SSE_SESSIONS, seeded.graph().userCount());
+        Map<String, Object> limits = Map.of(
+                "connecthub.live.max-connections-per-user", connections / sessions + 1,
+                "server.tomcat.max-connections", connections + 2 * options.integer("users") + 1000);
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+
+        try (ConfigurableApplicationContext app = startApplication(options, neo4j, driver,
+                options.bool("virtual-threads"), limits);
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Workload.VirtualUser> users = login(app, seeded.graph(), sessions, executor);
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            int threadsBefore = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            Histogram connect = new Histogram(3);
+            AtomicLong failures = new AtomicLong();
+            List<Future<?>> opened = new ArrayList<>();
+            for (int i = 0; i < connections; i++) {
+                LoadClient client = users.get(i % users.size()).client();
+                opened.add(executor.submit(() -> holdStream(client, connect, failures)));
+            }
+            // Les flux restent ouverts : on attend seulement que les réponses aient commencé
+            long deadline = System.nanoTime() + TimeUnit.MINUTES.toNanos(5);
+            while (openedCount(connect) + failures.get() < connections && System.nanoTime() < deadline) {
+                TimeUnit.MILLISECONDS.sleep(100);
+            }
+            System.gc();
+            long heapOpen = memory.getHeapMemoryUsage().getUsed();
+            int threadsOpen = ManagementFactory.getThreadMXBean().getThreadCount();
+
+            report.section("Connexions SSE");
+            report.line("%d ouverte(s), %d échec(s) ; établissement p50 %.1f ms, p99 %.1f ms, max %.1f ms",
+                    connect.getTotalCount(), failures.get(), connect.getValueAtPercentile(50) / 1000.0,
+                    connect.getValueAtPercentile(99) / 1000.0, connect.getMaxValue() / 1000.0);
+            report.line("tas : +%d Mo (%.1f Ko par connexion), threads JVM : %d -> %d (client et serveur confondus)",
+                    (heapOpen - heapBefore) >> 20,
+                    (heapOpen - heapBefore) / 1024.0 / Math.max(1, connect.getTotalCount()),
+                    threadsBefore, threadsOpen);
+
+            report.section("Mélange pendant les connexions inactives");
+            report.latencies("sse-idle", runWorkload(options, app, seeded, options.integer("users")));
+            opened.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static long openedCount(Histogram connect) {
+        synchronized (connect) {
+            return connect.getTotalCount();
+        }
+    }
+
+    private static void holdStream(LoadClient client, Histogram connect, AtomicLong failures) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = client.openStream("/api/events");
+            if (response.statusCode() != 200) {
+                failures.incrementAndGet();
+                response.body().close();
+                return;
+            }
+            synchronized (connect) {
+                connect.recordValue((System.nanoTime() - start) / 1000);
+            }
+            // Battements de cœur lus et ignorés jusqu'à l'annulation
+            try (InputStream body = response.body()) {
+                body.transferTo(OutputStream.nullOutputStream());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            failures.incrementAndGet();
+        }
+    }
+
+    /**
+     * Export d'un compte de export-posts publications : durée, taille de l'archive et pic du tas
+     * (échantillonné, toute la JVM : application, Neo4j embarqué et client) comparé à heap-budget-mb
+     */
+    private static void export(LoadTestOptions options, LoadReport report, Neo4j neo4j, Driver driver,
+                               GraphSeeder.SeededGraph seeded) throws Exception {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        ObjectMapper objectMapper = new ObjectMapper();
+
+        try (ConfigurableApplicationContext app = startApplication(options, neo4j, driver,
+                options.bool("virtual-threads"), Map.of());
+             ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            LoadClient client = new LoadClient(baseUri(app), executor);
+            client.login(GraphSeeder.EXPORT_EMAIL, SyntheticGraph.PASSWORD);
+
+            System.gc();
+            long heapBefore = memory.getHeapMemoryUsage().getUsed();
+            AtomicLong heapPeak = new AtomicLong(heapBefore);
+            Future<?> sampler = executor.submit(() -> {
+                while (!Thread.currentThread().isInterrupted()) {
+                    heapPeak.accumulateAndGet(memory.getHeapMemoryUsage().getUsed(), Math::max);
+                    try {
+                        TimeUnit.MILLISECONDS.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            });
+
+            long start = System.nanoTime();
+            JsonNode job = objectMapper.readTree(client.postForm("/api/export", "").body());
+            String jobId = job.get("id").asText();
+            String status = job.get("status").asText();
+            while (status.equals("PENDING") || status.equals("RUNNING")) {
+                TimeUnit.MILLISECONDS.sleep(250);
+                job = objectMapper.readTree(client.get("/api/export/" + jobId).body());
+                status = job.get("status").asText();
+            }
+            long built = System.nanoTime();
+            HttpResponse<Void> download = client.getDiscarding("/export/" + jobId + "/download");
+            long downloaded = System.nanoTime();
+            sampler.cancel(true);
+
+            long peakMb = (heapPeak.get() - heapBefore) >> 20;
+            report.section("Export de " + options.integer("export-posts") + " publication(s)");
+            report.line("statut %s, archive %d octet(s), génération %.1f s, téléchargement %.1f s (HTTP %d)", status,
+                    job.path("sizeBytes").asLong(), (built - start) / 1e9, (downloaded - built) / 1e9,
+                    download.statusCode());
+            report.line("pic du tas au-dessus du repos : %d Mo (budget %d Mo) : %s", peakMb,
+                    options.integer("heap-budget-mb"), peakMb <= options.integer("heap-budget-mb") ? "OK" : "DÉPASSÉ");
+        }
+    }
+
+    /**
+     * Instantané du graphe d'amitié de graph-users utilisateurs : écriture, puis ouverture chronométrée
+     * (projection mémoire + rejeu du journal) comparée à graph-target-millis
+     */
+    private static void graphSnapshot(LoadTestOptions options, LoadReport report) throws IOException {
+        int userCount = options.integer("graph-users");
+        SyntheticGraph graph = new SyntheticGraph(options, userCount);
+        Path directory = Files.createTempDirectory("connecthub-load-graph");
+
+        long start = System.nanoTime();
+        GraphSnapshotBuilder builder = new GraphSnapshotBuilder();
+        for (int u = 0; u < userCount; u++) {
+            builder.addUser(graph.id(u), graph.interests(u));
+        }
+        builder.freezeUsers();
+        for (int u = 0; u < userCount; u++) {
+            for (int v : graph.friends(u)) {
+                if (u > v) {
+                    builder.addEdge(graph.id(u), graph.id(v));
+                }
+            }
+        }
+        SocialGraph.create(directory, builder).close();
+        long written = System.nanoTime();
+
+        SocialGraph loaded = SocialGraph.open(directory);
+        long opened = System.nanoTime();
+        // Premières requêtes : pages de l'instantané effectivement lues
+        Random random = new Random(options.longValue("seed"));
+        long mutual = 0;
+        for (int i = 0; i < 10_000; i++) {
+            mutual += loaded.mutualCount(graph.id(random.nextInt(userCount)), graph.id(random.nextInt(userCount)));
+        }
+        long queried = System.nanoTime();
+        loaded.close();
+
+        long openMillis = TimeUnit.NANOSECONDS.toMillis(opened - written);
+        report.section("Instantané du graphe");
+        report.line("%d utilisateur(s), %d amitié(s), fichier %d Mo", userCount, graph.friendshipCount(),
+                Files.size(directory.resolve("snapshot.bin")) >> 20);
+        report.line("construction + écriture %d ms, ouverture %d ms (objectif %d ms) : %s",
+                TimeUnit.NANOSECONDS.toMillis(written - start), openMillis, options.integer("graph-target-millis"),
+                openMillis <= options.integer("graph-target-millis") ? "OK" : "DÉPASSÉ");
+        report.line("10 000 amis communs aléatoires : %d ms (%d au total)",
+                TimeUnit.NANOSECONDS.toMillis(queried - opened), mutual);
+    }
+}
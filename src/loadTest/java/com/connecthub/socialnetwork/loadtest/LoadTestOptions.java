@@ -0,0 +1,121 @@
+package com.connecthub.socialnetwork.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Options d'un test de charge, passées sous la forme cle=valeur.
+ *
+ * Scénarios :
+ * - mix : mélange /home, /search, /friends, /profile/{id}, likes et commentaires (option mix)
+ * - threads : le même mélange avec threads virtuels puis threads plateforme, comparés (débit, p99)
+ * - tag-feed : fil /api/tags/{tag}/posts paginé par curseur (scale et posts-per-user fixent le volume,
+ *   ex. scale=200 posts-per-user=5 pour un million de publications) ; tag-deep-ratio des fils
+ *   commencent à une date tirée dans l'historique, pour mesurer les pages profondes
+ * - sse-idle : connexions SSE inactives maintenues sur /api/events (sse-connections)
+ * - export : export des données d'un compte de export-posts publications, pic de mémoire mesuré
+ * - graph-snapshot : chargement d'un instantané du graphe d'amitié de graph-users utilisateurs
+ *
+ * Graphe : scale x 1000 utilisateurs, friends-per-user arêtes par nouvel arrivant (attachement
+ * préférentiel : degrés en loi de puissance), posts-per-user publications en moyenne ; seed rend
+ * la génération et le tirage des requêtes reproductibles.
+ */
+final class LoadTestOptions {
+
+    private final Map<String, String> values = new LinkedHashMap<>();
+
+    private LoadTestOptions() {
+        values.put("scenario", "mix");
+        values.put("seed", "42");
+        values.put("scale", "1");
+        values.put("friends-per-user", "5");
+        values.put("posts-per-user", "5");
+        values.put("likes-per-post", "3");
+        values.put("comments-per-post", "1");
+        values.put("tags", "200");
+        values.put("tag-deep-ratio", "0.5");
+        // closed : users utilisateurs en boucle ; open : arrivées de Poisson à rate requêtes/s
+        values.put("model", "closed");
+        values.put("users", "50");
+        values.put("rate", "100");
+        values.put("max-in-flight", "2000");
+        values.put("think-millis", "0");
+        values.put("warmup", "10");
+        values.put("duration", "60");
+        values.put("virtual-threads", "true");
+        values.put("mix", "home:35,search:15,friends:15,profile:20,like:10,comment:5");
+        values.put("sse-connections", "10000");
+        values.put("export-posts", "100000");
+        values.put("heap-budget-mb", "256");
+        values.put("graph-users", "1000000");
+        values.put("graph-target-millis", "2000");
+        values.put("reportDir", "build/reports/load");
+    }
+
+    static LoadTestOptions parse(String[] args) {
+        LoadTestOptions options = new LoadTestOptions();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Option attendue sous la forme cle=valeur : " + arg);
+            }
+            String key = arg.substring(0, eq);
+            if (!options.values.containsKey(key)) {
+                throw new IllegalArgumentException("Option inconnue : " + key + " (connues : " + options.values.keySet() + ")");
+            }
+            options.values.put(key, arg.substring(eq + 1));
+        }
+        if (options.scenario().equals("tag-feed") && !contains(args, "mix")) {
+            options.values.put("mix", "tag:100");
+        }
+        return options;
+    }
+
+    private static boolean contains(String[] args, String key) {
+        for (String arg : args) {
+            if (arg.startsWith(key + "=")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    String scenario() {
+        return values.get("scenario");
+    }
+
+    String string(String key) {
+        return values.get(key);
+    }
+
+    int integer(String key) {
+        return Integer.parseInt(values.get(key));
+    }
+
+    long longValue(String key) {
+        return Long.parseLong(values.get(key));
+    }
+
+    double decimal(String key) {
+        return Double.parseDouble(values.get(key));
+    }
+
+    boolean bool(String key) {
+        return Boolean.parseBoolean(values.get(key));
+    }
+
+    Path reportDir() {
+        return Paths.get(values.get("reportDir"));
+    }
+
+    int userCount() {
+        return integer("scale") * 1000;
+    }
+
+    @Override
+    public String toString() {
+        return values.toString();
+    }
+}
@@ -0,0 +1,274 @@
+package com.connecthub.socialnetwork.loadtest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+/**
+ * Graphe social synthétique, entièrement déterminé par (seed, options).
+ *
+ * Amitiés : attachement préférentiel (Barabási-Albert), chaque nouvel utilisateur se lie à
+ * friends-per-user utilisateurs existants choisis proportionnellement à leur degré ; la
+ * distribution des degrés suit une loi de puissance, avec quelques comptes très connectés.
+ * Publications, likes et commentaires sont générés à la demande, utilisateur par utilisateur,
+ * pour que des millions de publications ne soient jamais en mémoire ensemble.
+ */
+final class SyntheticGraph {
+
+    static final String PASSWORD = "Password123!";
+    // Les publications sont datées sur les 30 derniers jours précédant le chargement
+    static final int POST_HISTORY_MINUTES = 30 * 24 * 60;
+
+    private static final String[] FIRST_NAMES = {
+            "Alice", "Bruno", "Chloé", "David", "Emma", "Farid", "Gaëlle", "Hugo", "Inès", "Jules",
+            "Karim", "Léa", "Malik", "Nora", "Oscar", "Paula", "Quentin", "Rose", "Sami", "Tess"
+    };
+    private static final String[] LAST_NAMES = {
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+            "Simon", "Laurent", "Lefebvre", "Michel", "Garcia", "David", "Bertrand", "Roux", "Vincent", "Fournier"
+    };
+    private static final String[] INTERESTS = {
+            "Movies", "Fashion", "Books", "Gaming", "Travel", "Music", "Sports", "Cooking", "Photography",
+            "Technology", "Art", "Fitness", "Nature", "Science", "History", "Cars", "Pets", "Dance"
+    };
+    private static final String[] WORDS = {
+            "soleil", "concert", "randonnée", "projet", "café", "match", "voyage", "recette", "livre", "film",
+            "photo", "week-end", "montagne", "plage", "code", "musique", "ville", "jardin", "course", "soirée"
+    };
+
+    private final long seed;
+    private final int userCount;
+    private final int friendsPerUser;
+    private final double postsPerUser;
+    private final double likesPerPost;
+    private final double commentsPerPost;
+    private final String[] tags;
+    private final double[] tagCumulative;
+
+    private final String[] ids;
+    private final int[][] adjacency;
+
+    SyntheticGraph(LoadTestOptions options, int userCount) {
+        this.seed = options.longValue("seed");
+        this.userCount = userCount;
+        this.friendsPerUser = options.integer("friends-per-user");
+        this.postsPerUser = options.decimal("posts-per-user");
+        this.likesPerPost = options.decimal("likes-per-post");
+        this.commentsPerPost = options.decimal("comments-per-post");
+
+        int tagCount = options.integer("tags");
+        this.tags = new String[tagCount];
+        this.tagCumulative = new double[tagCount];
+        double total = 0;
+        for (int i = 0; i < tagCount; i++) {
+            tags[i] = "tag" + i;
+            // Loi de Zipf (s = 1.07) : quelques tags très utilisés, une longue traîne
+            total += 1 / Math.pow(i + 1, 1.07);
+            tagCumulative[i] = total;
+        }
+        for (int i = 0; i < tagCount; i++) {
+            tagCumulative[i] /= total;
+        }
+
+        Random random = new Random(seed);
+        this.ids = new String[userCount];
+        for (int i = 0; i < userCount; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+        }
+        this.adjacency = preferentialAttachment(random);
+    }
+
+    private int[][] preferentialAttachment(Random random) {
+        int m = Math.max(1, Math.min(friendsPerUser, userCount - 1));
+        // Chaque extrémité d'arête apparaît une fois : un tirage uniforme est proportionnel au degré
+        int[] endpoints = new int[2 * m * userCount];
+        int endpointCount = 0;
+        int[] degree = new int[userCount];
+        List<int[]> edges = new ArrayList<>(m * userCount);
+
+        for (int u = 0; u < userCount; u++) {
+            if (u <= m) {
+                for (int v = 0; v < u; v++) {
+                    edges.add(new int[] {u, v});
+                    endpoints[endpointCount++] = u;
+                    endpoints[endpointCount++] = v;
+                    degree[u]++;
+                    degree[v]++;
+                }
+                continue;
+            }
+            int[] chosen = new int[m];
+            int count = 0;
+            while (count < m) {
+                int v = endpoints[random.nextInt(endpointCount)];
+                boolean duplicate = false;
+                for (int i = 0; i < count; i++) {
+                    duplicate |= chosen[i] == v;
+                }
+                if (!duplicate) {
+                    chosen[count++] = v;
+                }
+            }
+            for (int v : chosen) {
+                edges.add(new int[] {u, v});
+                endpoints[endpointCount++] = u;
+                endpoints[endpointCount++] = v;
+                degree[u]++;
+                degree[v]++;
+            }
+        }
+
+        int[][] result = new int[userCount][];
+        int[] fill = new int[userCount];
+        for (int u = 0; u < userCount; u++) {
+            result[u] = new int[degree[u]];
+        }
+        for (int[] edge : edges) {
+            result[edge[0]][fill[edge[0]]++] = edge[1];
+            result[edge[1]][fill[edge[1]]++] = edge[0];
+        }
+        return result;
+    }
+
+    // =========================
+    // UTILISATEURS ET AMITIÉS
+    // =========================
+
+    int userCount() {
+        return userCount;
+    }
+
+    String id(int user) {
+        return ids[user];
+    }
+
+    String name(int user) {
+        return FIRST_NAMES[user % FIRST_NAMES.length] + " " + LAST_NAMES[(user / FIRST_NAMES.length) % LAST_NAMES.length];
+    }
+
+    String email(int user) {
+        return "user" + user + "@loadtest.connecthub";
+    }
+
+    List<String> interests(int user) {
+        Random random = random(user, 1);
+        List<String> interests = new ArrayList<>();
+        int count = 1 + random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            String interest = INTERESTS[random.nextInt(INTERESTS.length)];
+            if (!interests.contains(interest)) {
+                interests.add(interest);
+            }
+        }
+        return interests;
+    }
+
+    int[] friends(int user) {
+        return adjacency[user];
+    }
+
+    /**
+     * Nombre d'amitiés : une relation CONNECTED_TO par paire, dans le sens canonique, comme acceptFriendRequest
+     */
+    long friendshipCount() {
+        return Arrays.stream(adjacency).mapToLong(row -> row.length).sum() / 2;
+    }
+
+    String[] tags() {
+        return tags;
+    }
+
+    String[] searchTerms() {
+        return FIRST_NAMES;
+    }
+
+    String[] contentWords() {
+        return WORDS;
+    }
+
+    // =========================
+    // PUBLICATIONS
+    // =========================
+
+    record SyntheticComment(String authorId, String content, LocalDateTime createdAt) {
+    }
+
+    record SyntheticPost(String authorId, String content, LocalDateTime createdAt, List<String> tags,
+                         List<String> likerIds, List<SyntheticComment> comments) {
+    }
+
+    /**
+     * Publications d'un utilisateur (nombre géométrique de moyenne posts-per-user), likes et
+     * commentaires venant de ses amis
+     */
+    List<SyntheticPost> posts(int user, LocalDateTime now) {
+        Random random = random(user, 2);
+        int count = geometric(random, postsPerUser);
+        int[] friends = adjacency[user];
+        List<SyntheticPost> posts = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            LocalDateTime createdAt = now.minusMinutes(random.nextInt(POST_HISTORY_MINUTES));
+            List<String> postTags = new ArrayList<>();
+            int tagCount = random.nextInt(3);
+            for (int t = 0; t < tagCount; t++) {
+                String tag = tag(random);
+                if (!postTags.contains(tag)) {
+                    postTags.add(tag);
+                }
+            }
+            StringBuilder content = new StringBuilder();
+            for (int w = 0, words = 5 + random.nextInt(15); w < words; w++) {
+                content.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+            }
+            postTags.forEach(tag -> content.append('#').append(tag).append(' '));
+
+            List<String> likers = new ArrayList<>();
+            if (friends.length > 0) {
+                int likes = Math.min(friends.length, geometric(random, likesPerPost));
+                for (int l = 0; l < likes; l++) {
+                    String liker = ids[friends[random.nextInt(friends.length)]];
+                    if (!likers.contains(liker)) {
+                        likers.add(liker);
+                    }
+                }
+            }
+            List<SyntheticComment> comments = new ArrayList<>();
+            if (friends.length > 0) {
+                for (int c = 0, n = geometric(random, commentsPerPost); c < n; c++) {
+                    comments.add(new SyntheticComment(ids[friends[random.nextInt(friends.length)]],
+                            WORDS[random.nextInt(WORDS.length)] + " !", createdAt.plusMinutes(1 + c)));
+                }
+            }
+            posts.add(new SyntheticPost(ids[user], content.toString().trim(), createdAt, postTags, likers, comments));
+        }
+        return posts;
+    }
+
+    /**
+     * Générateur propre à (utilisateur, usage) : des graines voisines donneraient à java.util.Random
+     * des premiers tirages corrélés, SplittableRandom les mélange
+     */
+    private Random random(int user, int stream) {
+        return new Random(new SplittableRandom(seed + 31L * user + stream).nextLong());
+    }
+
+    private String tag(Random random) {
+        int index = Arrays.binarySearch(tagCumulative, random.nextDouble());
+        return tags[Math.min(tags.length - 1, index >= 0 ? index : -index - 1)];
+    }
+
+    /**
+     * Loi géométrique sur {0, 1, 2...} de moyenne mean
+     */
+    private static int geometric(Random random, double mean) {
+        if (mean <= 0) {
+            return 0;
+        }
+        double p = 1 / (1 + mean);
+        return (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+    }
+}
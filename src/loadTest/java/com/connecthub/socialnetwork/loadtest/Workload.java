@@ -0,0 +1,173 @@
+package com.connecthub.socialnetwork.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Requêtes d'un utilisateur connecté, tirées selon des poids (option mix, ex. "home:35,search:15").
+ *
+ * Une opération réussit si le serveur répond 2xx ou une redirection autre que vers /login ; les
+ * cibles (utilisateurs, publications, tags) sont tirées dans le graphe chargé par GraphSeeder.
+ */
+final class Workload {
+
+    enum Operation {
+        HOME, SEARCH, FRIENDS, PROFILE, LIKE, COMMENT, TAG
+    }
+
+    /**
+     * Utilisateur virtuel : sa session HTTP et, pour le fil d'un tag, le curseur de la page suivante
+     */
+    static final class VirtualUser {
+
+        private final int index;
+        private final LoadClient client;
+        private String tag;
+        private String cursor;
+
+        VirtualUser(int index, LoadClient client) {
+            this.index = index;
+            this.client = client;
+        }
+
+        int index() {
+            return index;
+        }
+
+        LoadClient client() {
+            return client;
+        }
+    }
+
+    // Fils de tags parcourus : les plus utilisés (loi de Zipf), donc les plus longs
+    private static final int HOT_TAGS = 20;
+
+    private final GraphSeeder.SeededGraph seeded;
+    private final double tagDeepRatio;
+    private final Operation[] operations;
+    private final int[] cumulativeWeights;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    Workload(String mix, double tagDeepRatio, GraphSeeder.SeededGraph seeded) {
+        this.seeded = seeded;
+        this.tagDeepRatio = tagDeepRatio;
+        List<Operation> operations = new ArrayList<>();
+        List<Integer> weights = new ArrayList<>();
+        int total = 0;
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            int weight = Integer.parseInt(parts[1]);
+            if (weight > 0) {
+                total += weight;
+                operations.add(Operation.valueOf(parts[0].trim().toUpperCase().replace('-', '_')));
+                weights.add(total);
+            }
+        }
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("Mélange de requêtes vide : " + mix);
+        }
+        this.operations = operations.toArray(Operation[]::new);
+        this.cumulativeWeights = weights.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    Operation[] operations() {
+        return operations;
+    }
+
+    Operation next(Random random) {
+        int draw = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+        for (int i = 0; i < cumulativeWeights.length; i++) {
+            if (draw < cumulativeWeights[i]) {
+                return operations[i];
+            }
+        }
+        return operations[operations.length - 1];
+    }
+
+    /**
+     * @return true si la requête a réussi
+     */
+    boolean execute(Operation operation, VirtualUser user, Random random) throws IOException, InterruptedException {
+        SyntheticGraph graph = seeded.graph();
+        LoadClient client = user.client();
+        return switch (operation) {
+            case HOME -> succeeded(client.getDiscarding("/home"));
+            case FRIENDS -> succeeded(client.getDiscarding("/friends"));
+            // Recherche de personnes par nom, ou de publications (index plein texte)
+            case SEARCH -> random.nextBoolean()
+                    ? succeeded(client.getDiscarding("/search?q=" + LoadClient.encode(pick(graph.searchTerms(), random))))
+                    : succeeded(client.getDiscarding("/search/posts?q=" + LoadClient.encode(pick(graph.contentWords(), random))));
+            case PROFILE -> succeeded(client.getDiscarding("/profile/" + profileTarget(user, random)));
+            case LIKE -> succeeded(client.postForm("/posts/" + randomPost(random) + "/like", ""));
+            case COMMENT -> succeeded(client.postForm("/posts/" + randomPost(random) + "/comments",
+                    "content=" + LoadClient.encode("Commentaire de charge " + random.nextInt(1000))));
+            case TAG -> tagPage(user, random);
+        };
+    }
+
+    /**
+     * Moitié du temps un ami (profil complet), sinon n'importe quel utilisateur
+     */
+    private String profileTarget(VirtualUser user, Random random) {
+        SyntheticGraph graph = seeded.graph();
+        int[] friends = graph.friends(user.index());
+        if (friends.length > 0 && random.nextBoolean()) {
+            return graph.id(friends[random.nextInt(friends.length)]);
+        }
+        return graph.id(random.nextInt(graph.userCount()));
+    }
+
+    private long randomPost(Random random) {
+        long[] postIds = seeded.postIds();
+        return postIds[random.nextInt(postIds.length)];
+    }
+
+    /**
+     * Page suivante du fil en cours, ou nouveau fil d'un tag chaud : un utilisateur qui fait défiler.
+     * Une part tagDeepRatio des fils commence à une date tirée dans l'historique des publications
+     * (curseur construit comme celui de TagService) : les pages profondes sont mesurées dès le
+     * début du test, pas seulement après des centaines de pages parcourues.
+     */
+    private boolean tagPage(VirtualUser user, Random random) throws IOException, InterruptedException {
+        if (user.cursor == null) {
+            String[] tags = seeded.graph().tags();
+            user.tag = tags[random.nextInt(Math.min(HOT_TAGS, tags.length))];
+            if (random.nextDouble() < tagDeepRatio) {
+                LocalDateTime before = LocalDateTime.now().minusMinutes(random.nextInt(SyntheticGraph.POST_HISTORY_MINUTES));
+                user.cursor = Base64.getUrlEncoder().withoutPadding()
+                        .encodeToString((before + "|" + Long.MAX_VALUE).getBytes(StandardCharsets.UTF_8));
+            }
+        }
+        String path = "/api/tags/" + LoadClient.encode(user.tag) + "/posts"
+                + (user.cursor != null ? "?cursor=" + LoadClient.encode(user.cursor) : "");
+        HttpResponse<String> response = user.client().get(path);
+        if (response.statusCode() != 200) {
+            user.cursor = null;
+            return false;
+        }
+        JsonNode next = objectMapper.readTree(response.body()).get("nextCursor");
+        user.cursor = next == null || next.isNull() ? null : next.asText();
+        return true;
+    }
+
+    private static String pick(String[] values, Random random) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static boolean succeeded(HttpResponse<?> response) {
+        int status = response.statusCode();
+        if (status >= 300 && status < 400) {
+            return !response.headers().firstValue("Location").orElse("").contains("/login");
+        }
+        return status >= 200 && status < 300;
+    }
+}
@@ -0,0 +1,34 @@
+package com.connecthub.socialnetwork.config;
+
+import com.connecthub.socialnetwork.dto.SlowStatement;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * /actuator/cypher : requêtes Cypher lentes récentes et plans PROFILE échantillonnés.
+ * DELETE vide le tampon (avant de reproduire un ralentissement).
+ */
+@Component
+@Endpoint(id = "cypher")
+public class CypherEndpoint {
+
+    private final CypherStatementMonitor monitor;
+
+    public CypherEndpoint(CypherStatementMonitor monitor) {
+        this.monitor = monitor;
+    }
+
+    @ReadOperation
+    public List<SlowStatement> slowStatements() {
+        return monitor.recent();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        monitor.clear();
+    }
+}
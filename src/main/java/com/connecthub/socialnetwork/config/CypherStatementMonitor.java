@@ -0,0 +1,278 @@
+package com.connecthub.socialnetwork.config;
+
+import com.connecthub.socialnetwork.dto.SlowStatement;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.summary.ProfiledPlan;
+import org.neo4j.driver.summary.QueryType;
+import org.neo4j.driver.summary.ResultSummary;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+/**
+ * Journal des requêtes Cypher lentes (alimenté par CypherTimingDriver).
+ *
+ * Chaque requête est mesurée (timer connecthub.cypher.statements, par type de requête et par
+ * issue : success, error ou abandoned pour un résultat jamais lu jusqu'au bout).
+ * Au-delà de connecthub.cypher.slow-millis, elle est journalisée avec ses paramètres masqués
+ * (nom et type seulement) et conservée dans un tampon circulaire de buffer-size entrées,
+ * exposé par l'endpoint actuator /actuator/cypher. Le seuil s'applique à la durée côté
+ * serveur (résultat disponible + résultat consommé) : un appelant lent à lire son résultat ne
+ * rend pas la requête lente. Pour une lecture en flux (session avec fetch size), le serveur
+ * attend le client entre deux lots : seul le délai jusqu'au premier résultat compte. Sans
+ * résumé (requête en erreur), la durée côté client est retenue.
+ *
+ * Une fraction (profile-sample-rate) des requêtes lentes en lecture seule est réexécutée sous
+ * PROFILE sur un thread dédié pour capturer les db hits et l'arbre des opérateurs ; les
+ * écritures, les requêtes en erreur et les lectures en flux (parcours complets du graphe,
+ * export) ne sont jamais rejouées.
+ */
+@Component
+public class CypherStatementMonitor {
+
+    private static final Logger log = LoggerFactory.getLogger(CypherStatementMonitor.class);
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final String UNKNOWN_TYPE = "UNKNOWN";
+
+    /**
+     * Issue d'une requête, étiquette outcome du timer
+     */
+    enum Outcome {
+        SUCCESS, ERROR, ABANDONED;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    private final long slowNanos;
+    private final double profileSampleRate;
+    private final int bufferSize;
+    private final int maxQueryLength;
+    private final Deque<SlowStatement> buffer;
+    // Clé : type de requête + issue
+    private final Map<String, Timer> timers = new HashMap<>();
+    private final ThreadPoolExecutor profiler;
+
+    public CypherStatementMonitor(MeterRegistry meterRegistry,
+                                  @Value("${connecthub.cypher.slow-millis:200}") long slowMillis,
+                                  @Value("${connecthub.cypher.profile-sample-rate:0.1}") double profileSampleRate,
+                                  @Value("${connecthub.cypher.buffer-size:100}") int bufferSize,
+                                  @Value("${connecthub.cypher.max-query-length:2000}") int maxQueryLength) {
+        this.slowNanos = TimeUnit.MILLISECONDS.toNanos(slowMillis);
+        this.profileSampleRate = profileSampleRate;
+        this.bufferSize = bufferSize;
+        this.maxQueryLength = maxQueryLength;
+        this.buffer = new ArrayDeque<>(bufferSize);
+        List<String> types = new ArrayList<>();
+        for (QueryType type : QueryType.values()) {
+            types.add(type.name());
+        }
+        types.add(UNKNOWN_TYPE);
+        for (String type : types) {
+            for (Outcome outcome : Outcome.values()) {
+                timers.put(type + outcome, statementTimer(meterRegistry, type, outcome));
+            }
+        }
+        // Un seul PROFILE à la fois, quelques-uns en attente : au-delà, l'échantillon est abandonné
+        this.profiler = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(16),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "cypher-profiler");
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    private static Timer statementTimer(MeterRegistry registry, String type, Outcome outcome) {
+        return Timer.builder("connecthub.cypher.statements")
+                .tag("type", type)
+                .tag("outcome", outcome.tag())
+                .register(registry);
+    }
+
+    /**
+     * Fin d'une requête : lecture terminée, échec ou résultat abandonné
+     *
+     * @param rawDriver driver non instrumenté, pour la réexécution sous PROFILE
+     * @param summary   null si la requête a échoué ou a été abandonnée
+     * @param streaming lecture en flux (session avec fetch size) : jamais profilée
+     */
+    void record(Driver rawDriver, String query, Supplier<Map<String, Object>> parameters,
+                long nanos, ResultSummary summary, Outcome outcome, boolean streaming) {
+        QueryType type = summary == null ? null : summary.queryType();
+        String typeName = type == null ? UNKNOWN_TYPE : type.name();
+        timers.get(typeName + outcome).record(nanos, TimeUnit.NANOSECONDS);
+        // Un résultat abandonné a été lâché par l'appelant : sa durée ne dit rien de la requête
+        if (outcome == Outcome.ABANDONED || judgedNanos(summary, nanos, streaming) < slowNanos) {
+            return;
+        }
+
+        Map<String, Object> values = parameters.get();
+        SlowStatement statement = new SlowStatement(LocalDateTime.now(), TimeUnit.NANOSECONDS.toMillis(nanos),
+                serverMillis(summary), typeName, outcome.tag(), abbreviate(query), redact(values));
+        log.warn("Requête Cypher lente ({} ms, serveur {} ms, {}) : {} paramètres={}", statement.getMillis(),
+                statement.getServerMillis(), statement.getOutcome(), statement.getQuery(), statement.getParameters());
+        synchronized (buffer) {
+            if (buffer.size() == bufferSize) {
+                buffer.removeFirst();
+            }
+            buffer.addLast(statement);
+        }
+
+        if (type == QueryType.READ_ONLY && outcome == Outcome.SUCCESS && !streaming && !isProfiled(query)
+                && ThreadLocalRandom.current().nextDouble() < profileSampleRate) {
+            profiler.execute(() -> profile(rawDriver, query, values, statement));
+        }
+    }
+
+    /**
+     * Requêtes lentes récentes, de la plus récente à la plus ancienne
+     */
+    public List<SlowStatement> recent() {
+        synchronized (buffer) {
+            List<SlowStatement> statements = new ArrayList<>(buffer);
+            Collections.reverse(statements);
+            return statements;
+        }
+    }
+
+    public void clear() {
+        synchronized (buffer) {
+            buffer.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        profiler.shutdownNow();
+    }
+
+    // =========================
+    // PROFILE
+    // =========================
+
+    private void profile(Driver rawDriver, String query, Map<String, Object> values, SlowStatement statement) {
+        SessionConfig config = SessionConfig.builder().withDefaultAccessMode(AccessMode.READ).build();
+        try (Session session = rawDriver.session(config)) {
+            ResultSummary summary = session.run("PROFILE " + query, values).consume();
+            if (summary.hasProfile()) {
+                ProfiledPlan plan = summary.profile();
+                StringBuilder tree = new StringBuilder();
+                long dbHits = describe(plan, 0, tree);
+                statement.setProfile(dbHits, tree.toString());
+                log.info("PROFILE ({} db hits) :\n{}", dbHits, tree);
+            }
+        } catch (RuntimeException e) {
+            log.debug("PROFILE impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Arbre des opérateurs, un par ligne, indenté ; renvoie le total des db hits
+     */
+    private static long describe(ProfiledPlan plan, int depth, StringBuilder out) {
+        out.append("  ".repeat(depth))
+                .append(plan.operatorType())
+                .append(" rows=").append(plan.records())
+                .append(" dbHits=").append(plan.dbHits());
+        if (!plan.identifiers().isEmpty()) {
+            out.append(" ").append(plan.identifiers());
+        }
+        out.append('\n');
+        long total = plan.dbHits();
+        for (ProfiledPlan child : plan.children()) {
+            total += describe(child, depth + 1, out);
+        }
+        return total;
+    }
+
+    private static boolean isProfiled(String query) {
+        String head = query.stripLeading().toUpperCase(Locale.ROOT);
+        return head.startsWith("PROFILE") || head.startsWith("EXPLAIN");
+    }
+
+    // =========================
+    // MISE EN FORME
+    // =========================
+
+    /**
+     * Durée comparée au seuil : celle du serveur quand le résumé la donne (délai jusqu'au
+     * premier résultat seulement pour une lecture en flux), sinon celle du client
+     */
+    private static long judgedNanos(ResultSummary summary, long nanos, boolean streaming) {
+        if (summary == null) {
+            return nanos;
+        }
+        long available = summary.resultAvailableAfter(TimeUnit.NANOSECONDS);
+        if (available < 0) {
+            return nanos;
+        }
+        long consumed = summary.resultConsumedAfter(TimeUnit.NANOSECONDS);
+        return streaming || consumed < 0 ? available : available + consumed;
+    }
+
+    private static long serverMillis(ResultSummary summary) {
+        if (summary == null) {
+            return -1;
+        }
+        long available = summary.resultAvailableAfter(TimeUnit.MILLISECONDS);
+        long consumed = summary.resultConsumedAfter(TimeUnit.MILLISECONDS);
+        return available < 0 || consumed < 0 ? -1 : available + consumed;
+    }
+
+    private String abbreviate(String query) {
+        String compact = WHITESPACE.matcher(query).replaceAll(" ").trim();
+        return compact.length() <= maxQueryLength ? compact : compact.substring(0, maxQueryLength) + "…";
+    }
+
+    /**
+     * Valeurs des paramètres remplacées par leur type (et leur taille) : aucune donnée personnelle journalisée
+     */
+    static Map<String, String> redact(Map<String, Object> values) {
+        Map<String, String> redacted = new LinkedHashMap<>();
+        values.forEach((name, value) -> redacted.put(name, describe(value)));
+        return redacted;
+    }
+
+    private static String describe(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof CharSequence text) {
+            return "String(" + text.length() + ")";
+        }
+        if (value instanceof Collection<?> collection) {
+            return "List[" + collection.size() + "]";
+        }
+        if (value instanceof Map<?, ?> map) {
+            return "Map" + map.keySet();
+        }
+        return value.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,287 @@
+package com.connecthub.socialnetwork.config;
+
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Query;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.neo4j.driver.Transaction;
+import org.neo4j.driver.TransactionCallback;
+import org.neo4j.driver.TransactionContext;
+import org.neo4j.driver.Value;
+import org.neo4j.driver.summary.ResultSummary;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Enveloppe du Driver Neo4j qui chronomètre chaque requête Cypher.
+ *
+ * Sessions, transactions (explicites ou executeRead/executeWrite) et Result sont des proxys
+ * dynamiques : la durée d'une requête va de run() à la fin de sa lecture (consume(),
+ * ou hasNext() qui renvoie false), puis est transmise à CypherStatementMonitor. Une requête
+ * qui échoue (run() ou lecture du résultat) est transmise en erreur ; un résultat encore
+ * ouvert à la fermeture de sa session ou de sa transaction (ou à la fin du callback
+ * executeRead/executeWrite) est transmis comme abandonné.
+ * Les sessions ouvertes avec une fetch size (lecteurs en flux) sont signalées comme telles.
+ * Neo4jClient, les repositories SDN et les lecteurs en flux passent tous par le Driver.
+ * Les sessions réactives ne sont pas chronométrées.
+ */
+final class CypherTimingDriver {
+
+    private CypherTimingDriver() {
+    }
+
+    static Driver wrap(Driver driver, Supplier<CypherStatementMonitor> monitor) {
+        return proxy(Driver.class, driver, new Handler(driver, driver, monitor, false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, Object target, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(CypherTimingDriver.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    /**
+     * Driver, Session, Transaction, TransactionContext : les objets renvoyés sont enveloppés à leur tour
+     */
+    private static final class Handler implements InvocationHandler {
+
+        private final Object target;
+        private final Driver rawDriver;
+        private final Supplier<CypherStatementMonitor> monitor;
+        private final boolean streaming;
+        // Résultats pas encore lus jusqu'au bout (une session n'est utilisée que par un thread)
+        private final List<ResultHandler> open = new ArrayList<>();
+
+        private Handler(Object target, Driver rawDriver, Supplier<CypherStatementMonitor> monitor,
+                        boolean streaming) {
+            this.target = target;
+            this.rawDriver = rawDriver;
+            this.monitor = monitor;
+            this.streaming = streaming;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "executeRead", "executeWrite" -> wrapCallback(args);
+                case "executeReadWithoutResult", "executeWriteWithoutResult" -> wrapConsumer(args);
+                case "close", "commit", "rollback" -> abandonOpen();
+                default -> {
+                }
+            }
+
+            boolean run = method.getName().equals("run");
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = call(target, method, args);
+            } catch (Throwable e) {
+                if (run) {
+                    monitor.get().record(rawDriver, queryText(args), () -> parameters(args),
+                            System.nanoTime() - start, null, CypherStatementMonitor.Outcome.ERROR, streaming);
+                }
+                throw e;
+            }
+
+            if (result instanceof Result statementResult && run) {
+                ResultHandler handler = new ResultHandler(statementResult, rawDriver, monitor.get(),
+                        queryText(args), () -> parameters(args), start, streaming, open);
+                open.add(handler);
+                return proxy(Result.class, result, handler);
+            }
+            if (result instanceof Session session) {
+                return proxy(Session.class, session, new Handler(session, rawDriver, monitor, hasFetchSize(args)));
+            }
+            if (result instanceof Transaction transaction) {
+                return proxy(Transaction.class, transaction, new Handler(transaction, rawDriver, monitor, streaming));
+            }
+            return result;
+        }
+
+        private void abandonOpen() {
+            for (ResultHandler handler : List.copyOf(open)) {
+                handler.abandon();
+            }
+            open.clear();
+        }
+
+        @SuppressWarnings("unchecked")
+        private void wrapCallback(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof TransactionCallback<?> callback) {
+                args[0] = (TransactionCallback<Object>) context -> {
+                    Handler handler = contextHandler(context);
+                    try {
+                        return ((TransactionCallback<Object>) callback)
+                                .execute(proxy(TransactionContext.class, context, handler));
+                    } finally {
+                        handler.abandonOpen();
+                    }
+                };
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void wrapConsumer(Object[] args) {
+            if (args != null && args.length > 0 && args[0] instanceof Consumer<?> consumer) {
+                args[0] = (Consumer<TransactionContext>) context -> {
+                    Handler handler = contextHandler(context);
+                    try {
+                        ((Consumer<TransactionContext>) consumer)
+                                .accept(proxy(TransactionContext.class, context, handler));
+                    } finally {
+                        handler.abandonOpen();
+                    }
+                };
+            }
+        }
+
+        private Handler contextHandler(TransactionContext context) {
+            return new Handler(context, rawDriver, monitor, streaming);
+        }
+    }
+
+    /**
+     * Result : signale la fin de la lecture (ou l'échec) au moniteur, une seule fois
+     */
+    private static final class ResultHandler implements InvocationHandler {
+
+        private final Result target;
+        private final Driver rawDriver;
+        private final CypherStatementMonitor monitor;
+        private final String query;
+        // Paramètres convertis seulement si la requête est journalisée ou profilée
+        private final Supplier<Map<String, Object>> parameters;
+        private final long start;
+        private final boolean streaming;
+        private final List<ResultHandler> open;
+        private boolean completed;
+
+        private ResultHandler(Result target, Driver rawDriver, CypherStatementMonitor monitor, String query,
+                              Supplier<Map<String, Object>> parameters, long start, boolean streaming,
+                              List<ResultHandler> open) {
+            this.target = target;
+            this.rawDriver = rawDriver;
+            this.monitor = monitor;
+            this.query = query;
+            this.parameters = parameters;
+            this.start = start;
+            this.streaming = streaming;
+            this.open = open;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                default -> {
+                }
+            }
+            boolean failed = true;
+            try {
+                Object result = call(target, method, args);
+                if (!completed) {
+                    switch (method.getName()) {
+                        case "consume" -> complete((ResultSummary) result, CypherStatementMonitor.Outcome.SUCCESS);
+                        case "hasNext" -> {
+                            if (!(Boolean) result) {
+                                complete(target.consume(), CypherStatementMonitor.Outcome.SUCCESS);
+                            }
+                        }
+                        case "list", "single" -> complete(target.consume(), CypherStatementMonitor.Outcome.SUCCESS);
+                        default -> {
+                        }
+                    }
+                }
+                failed = false;
+                return result;
+            } finally {
+                if (failed && !completed) {
+                    complete(null, CypherStatementMonitor.Outcome.ERROR);
+                }
+            }
+        }
+
+        private void abandon() {
+            if (!completed) {
+                complete(null, CypherStatementMonitor.Outcome.ABANDONED);
+            }
+        }
+
+        private void complete(ResultSummary summary, CypherStatementMonitor.Outcome outcome) {
+            completed = true;
+            open.remove(this);
+            monitor.record(rawDriver, query, parameters, System.nanoTime() - start, summary, outcome, streaming);
+        }
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * driver.session(..., SessionConfig) avec une fetch size explicite : lecture en flux
+     */
+    private static boolean hasFetchSize(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof SessionConfig config && config.fetchSize().isPresent()) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String queryText(Object[] args) {
+        if (args[0] instanceof Query query) {
+            return query.text();
+        }
+        return String.valueOf(args[0]);
+    }
+
+    /**
+     * Paramètres d'un appel run(...), quelle que soit la surcharge utilisée
+     */
+    private static Map<String, Object> parameters(Object[] args) {
+        if (args[0] instanceof Query query) {
+            return query.parameters().asMap();
+        }
+        Object second = args.length > 1 ? args[1] : null;
+        if (second instanceof Value value) {
+            return value.asMap();
+        }
+        if (second instanceof Record record) {
+            return record.asMap();
+        }
+        if (second instanceof Map<?, ?> map) {
+            @SuppressWarnings("unchecked")
+            Map<String, Object> parameters = (Map<String, Object>) map;
+            return parameters;
+        }
+        return Map.of();
+    }
+}
@@ -0,0 +1,71 @@
+package com.connecthub.socialnetwork.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durée de chaque méthode publique des services et des lecteurs Neo4j hors Spring Data
+ * (GraphSource, PersonalDataReader).
+ *
+ * Les repositories Spring Data sont déjà mesurés par Spring Boot (spring.data.repository.invocations).
+ * Timers connecthub.service.invocations et connecthub.repository.invocations, étiquetés
+ * class / method / outcome ; histogrammes et percentiles configurés dans application.properties
+ * (management.metrics.distribution.*). Les Timer sont résolus une fois par méthode.
+ */
+@Aspect
+@Component
+public class MetricsAspect {
+
+    private final MeterRegistry registry;
+    // méthode -> { succès, échec }
+    private final Map<Method, Timer[]> timers = new ConcurrentHashMap<>();
+
+    public MetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Around("execution(public * com.connecthub.socialnetwork.service..*(..))")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("connecthub.service.invocations", joinPoint);
+    }
+
+    @Around("@within(org.springframework.stereotype.Repository) && within(com.connecthub.socialnetwork.repository..*)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("connecthub.repository.invocations", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Timer[] pair = timers.computeIfAbsent(method, m -> new Timer[] {
+                timer(name, joinPoint, m, "SUCCESS"),
+                timer(name, joinPoint, m, "ERROR")
+        });
+        long start = System.nanoTime();
+        boolean success = false;
+        try {
+            Object result = joinPoint.proceed();
+            success = true;
+            return result;
+        } finally {
+            (success ? pair[0] : pair[1]).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Timer timer(String name, ProceedingJoinPoint joinPoint, Method method, String outcome) {
+        return Timer.builder(name)
+                .tag("class", joinPoint.getTarget().getClass().getSimpleName())
+                .tag("method", method.getName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
@@ -1,9 +1,70 @@
 package com.connecthub.socialnetwork.config;
 
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.MetricsAdapter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.neo4j.ConfigBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Primary;
+import org.springframework.data.neo4j.core.DatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.ReactiveDatabaseSelectionProvider;
+import org.springframework.data.neo4j.core.transaction.Neo4jTransactionManager;
+import org.springframework.data.neo4j.core.transaction.ReactiveNeo4jTransactionManager;
 import org.springframework.data.neo4j.repository.config.EnableNeo4jRepositories;
+import org.springframework.data.neo4j.repository.config.EnableReactiveNeo4jRepositories;
 
+/**
+ * Repositories bloquants (repository) et réactifs (repository.reactive).
+ *
+ * Les deux gestionnaires de transactions sont déclarés explicitement : l'auto-configuration
+ * ne crée le gestionnaire bloquant qu'en l'absence de tout TransactionManager, et
+ * les @Transactional existants doivent continuer à utiliser le gestionnaire bloquant.
+ *
+ * Les métriques du driver (pool de connexions : acquises, inactives, en attente, temps
+ * d'acquisition) sont publiées dans le registre Micrometer global, exposé par /actuator/prometheus.
+ * Chaque requête Cypher est chronométrée par CypherTimingDriver (requêtes lentes : /actuator/cypher).
+ */
 @Configuration
-@EnableNeo4jRepositories(basePackages = "com.connecthub.socialnetwork.repository")
+@EnableNeo4jRepositories(
+        basePackages = "com.connecthub.socialnetwork.repository",
+        excludeFilters = @ComponentScan.Filter(
+                type = FilterType.REGEX,
+                pattern = "com\\.connecthub\\.socialnetwork\\.repository\\.reactive\\..*"))
+@EnableReactiveNeo4jRepositories(basePackages = "com.connecthub.socialnetwork.repository.reactive")
 public class Neo4jConfig {
-}
\ No newline at end of file
+
+    @Bean
+    public ConfigBuilderCustomizer driverMetrics() {
+        return builder -> builder.withDriverMetrics().withMetricsAdapter(MetricsAdapter.MICROMETER);
+    }
+
+    /**
+     * Enveloppe le Driver avant toute utilisation (Neo4jClient, repositories, gestionnaires de transactions)
+     */
+    @Bean
+    public static BeanPostProcessor cypherTimingDriver(ObjectProvider<CypherStatementMonitor> monitor) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof Driver driver ? CypherTimingDriver.wrap(driver, monitor::getObject) : bean;
+            }
+        };
+    }
+
+    @Primary
+    @Bean(name = "transactionManager")
+    public Neo4jTransactionManager transactionManager(Driver driver,
+                                                      DatabaseSelectionProvider databaseSelectionProvider) {
+        return new Neo4jTransactionManager(driver, databaseSelectionProvider);
+    }
+
+    @Bean(name = "reactiveTransactionManager")
+    public ReactiveNeo4jTransactionManager reactiveTransactionManager(Driver driver,
+                                                                      ReactiveDatabaseSelectionProvider databaseSelectionProvider) {
+        return new ReactiveNeo4jTransactionManager(driver, databaseSelectionProvider);
+    }
+}
@@ -36,8 +36,15 @@ public class SecurityConfig {
                                 .authorizeHttpRequests(auth -> auth
                                                 // Routes publiques
                                                 .requestMatchers("/", "/index", "/login", "/register", "/css/**",
-                                                                "/js/**", "/images/**", "/static/**", "/api/test")
+                                                                "/js/**", "/images/**", "/static/**", "/avatars", "/api/test")
                                                 .permitAll()
+                                                // Sondes et collecte Prometheus (port de management interne en prod)
+                                                .requestMatchers("/actuator/health/**", "/actuator/prometheus")
+                                                .permitAll()
+                                                // Autres endpoints (texte des requêtes Cypher, métriques, remise
+                                                // à zéro) : administrateurs uniquement (connecthub.security.admin-emails)
+                                                .requestMatchers("/actuator/**")
+                                                .hasRole("ADMIN")
                                                 // Toutes les autres routes nécessitent une authentification
                                                 .anyRequest().authenticated())
                                 // Configuration du formulaire de connexion
@@ -0,0 +1,78 @@
+package com.connecthub.socialnetwork.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mesure du temps de rendu Thymeleaf par vue (entre la fin du contrôleur et la fin de la réponse).
+ * Un résumé (nombre, moyenne, max) est journalisé toutes les {@code reportEvery} rendus d'une vue,
+ * ce qui permet de comparer les modes dev (cache désactivé) et prod sur le même trafic.
+ */
+public class ViewRenderTimingInterceptor implements HandlerInterceptor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ViewRenderTimingInterceptor.class);
+
+    private static final String START_ATTRIBUTE = ViewRenderTimingInterceptor.class.getName() + ".start";
+    private static final String VIEW_ATTRIBUTE = ViewRenderTimingInterceptor.class.getName() + ".view";
+
+    private final int reportEvery;
+    private final Map<String, ViewStats> statsByView = new ConcurrentHashMap<>();
+
+    public ViewRenderTimingInterceptor(int reportEvery) {
+        this.reportEvery = reportEvery;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (modelAndView != null && modelAndView.getViewName() != null
+                && !modelAndView.getViewName().startsWith("redirect:")) {
+            request.setAttribute(VIEW_ATTRIBUTE, modelAndView.getViewName());
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long startNanos)) {
+            return;
+        }
+        String view = (String) request.getAttribute(VIEW_ATTRIBUTE);
+        long elapsed = System.nanoTime() - startNanos;
+
+        ViewStats stats = statsByView.computeIfAbsent(view, v -> new ViewStats());
+        long count = stats.record(elapsed);
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("Rendu {} : {} µs", view, elapsed / 1_000);
+        }
+        if (count % reportEvery == 0) {
+            logger.info("Rendu {} : n={}, moyenne={} µs, max={} µs",
+                    view, count, stats.totalNanos.sum() / count / 1_000, stats.maxNanos.get() / 1_000);
+        }
+    }
+
+    private static final class ViewStats {
+        private final AtomicLong count = new AtomicLong();
+        private final LongAdder totalNanos = new LongAdder();
+        private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+        private long record(long nanos) {
+            totalNanos.add(nanos);
+            maxNanos.accumulate(nanos);
+            return count.incrementAndGet();
+        }
+    }
+}
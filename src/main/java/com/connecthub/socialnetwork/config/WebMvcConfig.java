@@ -1,27 +1,103 @@
 package com.connecthub.socialnetwork.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceChainRegistration;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistration;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.CssLinkResourceTransformer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Configuration Web MVC pour gérer les ressources statiques
  * Les contrôleurs gèrent les routes principales, pas les ressources statiques
+ *
+ * Les ressources sont servies avec une URL empreinte (hash du contenu, ex.
+ * /css/style-3f2a....css) résolue par Thymeleaf via @{...}, ce qui permet un
+ * Cache-Control immutable d'un an. Les variantes .gz/.br précompressées au build
+ * sont servies en priorité selon l'en-tête Accept-Encoding.
+ *
+ * Les images des publications (/images/posts/**) sont des envois d'utilisateurs, référencés
+ * sans empreinte et retirés à la suppression de la publication : jamais immutables, elles
+ * sont mises en cache upload-max-age-minutes (cache privé) puis revalidées par ETag.
  */
 @Configuration
 public class WebMvcConfig implements WebMvcConfigurer {
 
+    private static final CacheControl IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS)
+            .cachePublic()
+            .immutable();
+
+    @Value("${connecthub.render-timing.report-every:500}")
+    private int renderTimingReportEvery;
+
+    @Value("${connecthub.images.upload-max-age-minutes:10}")
+    private long uploadMaxAgeMinutes;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new ViewRenderTimingInterceptor(renderTimingReportEvery));
+    }
+
     @Override
     public void addResourceHandlers(ResourceHandlerRegistry registry) {
         // Configuration explicite des ressources statiques
         // Cela évite que Spring Boot cherche automatiquement index.html
-        registry.addResourceHandler("/css/**")
-                .addResourceLocations("classpath:/static/css/");
-        registry.addResourceHandler("/images/**")
-                .addResourceLocations("classpath:/static/images/");
-        registry.addResourceHandler("/js/**")
-                .addResourceLocations("classpath:/static/js/");
-        registry.addResourceHandler("/static/**")
-                .addResourceLocations("classpath:/static/");
+        // Motif plus précis que /images/** : prioritaire pour les envois d'utilisateurs
+        registry.addResourceHandler("/images/posts/**")
+                .addResourceLocations("classpath:/static/images/posts/")
+                .setCacheControl(CacheControl.maxAge(uploadMaxAgeMinutes, TimeUnit.MINUTES).cachePrivate())
+                .setEtagGenerator(WebMvcConfig::uploadEtag);
+        fingerprinted(registry.addResourceHandler("/css/**")
+                .addResourceLocations("classpath:/static/css/"), true);
+        fingerprinted(registry.addResourceHandler("/images/**")
+                .addResourceLocations("classpath:/static/images/"), false);
+        fingerprinted(registry.addResourceHandler("/js/**")
+                .addResourceLocations("classpath:/static/js/"), false);
+        fingerprinted(registry.addResourceHandler("/static/**")
+                .addResourceLocations("classpath:/static/"), false);
+    }
+
+    private void fingerprinted(ResourceHandlerRegistration registration, boolean css) {
+        ResourceChainRegistration chain = registration
+                .setCacheControl(IMMUTABLE)
+                .resourceChain(true)
+                .addResolver(new EncodedResourceResolver())
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+        if (css) {
+            // Réécrit les url(...) des feuilles de style vers les URL empreintes
+            chain.addTransformer(new CssLinkResourceTransformer());
+        }
+    }
+
+    /**
+     * Date de modification et taille : change à chaque remplacement du fichier, sans le relire
+     */
+    private static String uploadEtag(Resource resource) {
+        try {
+            return "\"" + Long.toHexString(resource.lastModified()) + "-"
+                    + Long.toHexString(resource.contentLength()) + "\"";
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Réécrit les URL générées par Thymeleaf (@{/css/...}) vers leur version empreinte
+     */
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
     }
 }
@@ -0,0 +1,47 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.service.AvatarService;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sert les avatars à initiales générés localement.
+ * Le rendu ne dépend que du nom : la réponse est cacheable indéfiniment par le navigateur.
+ * Un nom plus long que AvatarService.MAX_NAME_LENGTH est refusé (400) : les URL produites par
+ * AvatarService.avatarUrl restent toujours en deçà.
+ */
+@RestController
+public class AvatarController {
+
+    private final AvatarService avatarService;
+
+    public AvatarController(AvatarService avatarService) {
+        this.avatarService = avatarService;
+    }
+
+    @GetMapping("/avatars")
+    public ResponseEntity<byte[]> getAvatar(@RequestParam(defaultValue = "") String name, WebRequest request) {
+        if (!AvatarService.isValidName(name)) {
+            return ResponseEntity.badRequest().build();
+        }
+        String etag = "\"" + avatarService.cacheKey(name) + "\"";
+        CacheControl cacheControl = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable();
+
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(304).cacheControl(cacheControl).eTag(etag).build();
+        }
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.IMAGE_PNG)
+                .cacheControl(cacheControl)
+                .eTag(etag)
+                .body(avatarService.getAvatar(name));
+    }
+}
@@ -0,0 +1,68 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.dto.TrendingSnapshot;
+import com.connecthub.socialnetwork.service.BlockedPairIndex;
+import com.connecthub.socialnetwork.service.TagService;
+import com.connecthub.socialnetwork.service.TrendingService;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Tendances : page /explore et endpoint /api/explore
+ * Le contenu vient de l'instantané du TrendingService, seul le filtrage des blocages
+ * est fait à la requête (sur au plus top-K publications, avec l'index des blocages en mémoire).
+ */
+@Controller
+public class ExploreController {
+
+    private final TrendingService trendingService;
+    private final TagService tagService;
+    private final BlockedPairIndex blockedPairIndex;
+
+    public ExploreController(TrendingService trendingService, TagService tagService,
+                             BlockedPairIndex blockedPairIndex) {
+        this.trendingService = trendingService;
+        this.tagService = tagService;
+        this.blockedPairIndex = blockedPairIndex;
+    }
+
+    @GetMapping("/explore")
+    public String explorePage(@RequestParam(required = false) String interest, Principal principal, Model model) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        TrendingSnapshot snapshot = trendingService.getSnapshot();
+
+        model.addAttribute("posts", visiblePosts(snapshot, interest, principal.getName()));
+        model.addAttribute("interest", interest);
+        model.addAttribute("interests", snapshot.getByInterest().keySet().stream().sorted().toList());
+        model.addAttribute("generatedAt", snapshot.getGeneratedAt());
+        model.addAttribute("trendingTags", tagService.getTrendingTags(10));
+        return "explore";
+    }
+
+    @GetMapping("/api/explore")
+    @ResponseBody
+    public List<PostView> exploreApi(@RequestParam(required = false) String interest, Principal principal) {
+        return visiblePosts(trendingService.getSnapshot(), interest, principal.getName());
+    }
+
+    private List<PostView> visiblePosts(TrendingSnapshot snapshot, String interest, String email) {
+        List<PostView> posts = snapshot.get(interest);
+        if (posts.isEmpty()) {
+            return posts;
+        }
+        Set<String> blocked = blockedPairIndex.hiddenAuthorIds(email);
+        return blocked.isEmpty()
+                ? posts
+                : posts.stream().filter(post -> !blocked.contains(post.getAuthorId())).toList();
+    }
+}
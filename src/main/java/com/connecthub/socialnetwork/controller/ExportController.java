@@ -0,0 +1,76 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.dto.ExportJob;
+import com.connecthub.socialnetwork.dto.NavbarView;
+import com.connecthub.socialnetwork.service.DataExportService;
+import com.connecthub.socialnetwork.service.NavbarService;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Export des données personnelles : lancement, suivi et téléchargement de l'archive ZIP
+ */
+@RestController
+public class ExportController {
+
+    private final DataExportService dataExportService;
+    private final NavbarService navbarService;
+
+    public ExportController(DataExportService dataExportService, NavbarService navbarService) {
+        this.dataExportService = dataExportService;
+        this.navbarService = navbarService;
+    }
+
+    @PostMapping("/api/export")
+    public ExportJob startExport(@AuthenticationPrincipal UserDetails userDetails) {
+        return dataExportService.startExport(currentUserId(userDetails));
+    }
+
+    @GetMapping("/api/export/{jobId}")
+    public ExportJob exportStatus(@PathVariable String jobId, @AuthenticationPrincipal UserDetails userDetails) {
+        return findJob(jobId, userDetails);
+    }
+
+    /**
+     * Archive servie depuis le disque par morceaux (pas de chargement en mémoire)
+     */
+    @GetMapping("/export/{jobId}/download")
+    public ResponseEntity<Resource> download(@PathVariable String jobId,
+                                             @AuthenticationPrincipal UserDetails userDetails) {
+        ExportJob job = findJob(jobId, userDetails);
+        if (job.getStatus() != ExportJob.Status.DONE) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Export pas encore prêt");
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/zip"))
+                .contentLength(job.getSizeBytes())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("connecthub-export.zip").build().toString())
+                .body(new FileSystemResource(job.getFile()));
+    }
+
+    private ExportJob findJob(String jobId, UserDetails userDetails) {
+        return dataExportService.findJob(currentUserId(userDetails), jobId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+    }
+
+    private String currentUserId(UserDetails userDetails) {
+        NavbarView navbar = navbarService.getNavbar(userDetails.getUsername());
+        if (navbar == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return navbar.getUserId();
+    }
+}
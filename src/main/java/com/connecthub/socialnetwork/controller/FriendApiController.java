@@ -3,6 +3,7 @@ package com.connecthub.socialnetwork.controller;
 import com.connecthub.socialnetwork.dto.UserResponse;
 import com.connecthub.socialnetwork.model.User;
 import com.connecthub.socialnetwork.service.FriendService;
+import com.connecthub.socialnetwork.service.ParallelLookups;
 import com.connecthub.socialnetwork.service.UserService;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -22,10 +23,13 @@ public class FriendApiController {
 
     private final FriendService friendService;
     private final UserService userService;
+    private final ParallelLookups parallelLookups;
 
-    public FriendApiController(FriendService friendService, UserService userService) {
+    public FriendApiController(FriendService friendService, UserService userService,
+                               ParallelLookups parallelLookups) {
         this.friendService = friendService;
         this.userService = userService;
+        this.parallelLookups = parallelLookups;
     }
 
     /**
@@ -147,17 +151,16 @@ public class FriendApiController {
 
         User current = getCurrentUser(userDetails);
 
-        List<UserResponse> response = friendService
-                .getFriendRecommendationsWithInterests(current.getId(), limit)
-                .stream()
-                .map(user -> {
+        // Chaque suggestion nécessite ses propres lectures (amis, amis en commun) : traitées en parallèle
+        List<UserResponse> response = parallelLookups.map(
+                friendService.getFriendRecommendationsWithInterests(current.getId(), limit),
+                user -> {
                     UserResponse dto = userService.toUserResponse(user);
                     dto.setRelationStatus(friendService.getRelationStatus(current, user));
                     dto.setMutualFriendsCount(
                             friendService.getMutualFriendsCount(current.getId(), user.getId()));
                     return dto;
-                })
-                .toList();
+                });
 
         return ResponseEntity.ok(response);
     }
@@ -3,6 +3,8 @@ package com.connecthub.socialnetwork.controller;
 import com.connecthub.socialnetwork.model.User;
 import com.connecthub.socialnetwork.service.FriendService;
 import com.connecthub.socialnetwork.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -21,6 +23,9 @@ import java.util.Map;
 @Controller
 @RequestMapping("/friends")
 public class FriendController {
+
+    private static final Logger log = LoggerFactory.getLogger(FriendController.class);
+
     private final FriendService friendService;
     private final UserService userService;
 
@@ -56,9 +61,8 @@ public class FriendController {
             try {
                 recommendations = friendService.getFriendRecommendationsWithInterests(userId, 100);
             } catch (Exception e) {
-                // Log failure quietly and continue
-                // Ideally log.error(), but for now just suppress to keep page alive.
-                System.err.println("Failed to load recommendations: " + e.getMessage());
+                // La page reste affichée sans recommandations
+                log.warn("Chargement des recommandations impossible : {}", e.getMessage());
             }
 
             // Ajouter au modèle
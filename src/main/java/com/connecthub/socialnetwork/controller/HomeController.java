@@ -1,9 +1,7 @@
 package com.connecthub.socialnetwork.controller;
 
-import com.connecthub.socialnetwork.model.Post;
-import com.connecthub.socialnetwork.model.User;
+import com.connecthub.socialnetwork.dto.PostView;
 import com.connecthub.socialnetwork.service.FeedService;
-import com.connecthub.socialnetwork.service.UserService;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -15,11 +13,9 @@ import java.util.List;
 public class HomeController {
 
     private final FeedService feedService;
-    private final UserService userService;
 
-    public HomeController(FeedService feedService, UserService userService) {
+    public HomeController(FeedService feedService) {
         this.feedService = feedService;
-        this.userService = userService;
     }
 
     @GetMapping("/home")
@@ -30,12 +26,11 @@ public class HomeController {
 
         try {
             String email = principal.getName(); // email de l'utilisateur connecté
-            User currentUser = userService.getUserByEmail(email);
-            List<Post> feed = feedService.getFeed(email);
+            // L'identité affichée vient du fragment "navbar" (NavbarAdvice), inutile de charger l'agrégat User
+            List<PostView> feed = feedService.getFeed(email);
 
             model.addAttribute("posts", feed != null ? feed : List.of());
             model.addAttribute("username", email);
-            model.addAttribute("currentUser", currentUser);
         } catch (Exception e) {
             // En cas d'erreur, initialiser avec des listes vides
             model.addAttribute("posts", List.of());
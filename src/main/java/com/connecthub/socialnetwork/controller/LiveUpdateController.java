@@ -0,0 +1,39 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.dto.NavbarView;
+import com.connecthub.socialnetwork.service.LiveUpdateHub;
+import com.connecthub.socialnetwork.service.NavbarService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Flux Server-Sent Events de l'utilisateur connecté (EventSource sur /api/events)
+ * Événements : posts, counts, friend-request
+ */
+@RestController
+public class LiveUpdateController {
+
+    private final LiveUpdateHub liveUpdateHub;
+    private final NavbarService navbarService;
+
+    public LiveUpdateController(LiveUpdateHub liveUpdateHub, NavbarService navbarService) {
+        this.liveUpdateHub = liveUpdateHub;
+        this.navbarService = navbarService;
+    }
+
+    @GetMapping(value = "/api/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@AuthenticationPrincipal UserDetails userDetails) {
+        // Identifiant résolu via le fragment navbar en cache : pas de lecture Neo4j par reconnexion
+        NavbarView navbar = navbarService.getNavbar(userDetails.getUsername());
+        if (navbar == null) {
+            throw new ResponseStatusException(HttpStatus.UNAUTHORIZED);
+        }
+        return liveUpdateHub.subscribe(navbar.getUserId());
+    }
+}
@@ -0,0 +1,34 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.dto.NavbarView;
+import com.connecthub.socialnetwork.service.NavbarService;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ModelAttribute;
+
+import java.security.Principal;
+
+/**
+ * Expose le fragment "navbar" (mis en cache) à toutes les pages post-login
+ */
+@ControllerAdvice(assignableTypes = {
+        HomeController.class,
+        ExploreController.class,
+        FriendController.class,
+        NotificationController.class,
+        SearchController.class,
+        TagController.class,
+        UserController.class
+})
+public class NavbarAdvice {
+
+    private final NavbarService navbarService;
+
+    public NavbarAdvice(NavbarService navbarService) {
+        this.navbarService = navbarService;
+    }
+
+    @ModelAttribute("navbar")
+    public NavbarView navbar(Principal principal) {
+        return principal == null ? null : navbarService.getNavbar(principal.getName());
+    }
+}
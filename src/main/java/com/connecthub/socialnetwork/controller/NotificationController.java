@@ -0,0 +1,68 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.dto.NavbarView;
+import com.connecthub.socialnetwork.dto.NotificationView;
+import com.connecthub.socialnetwork.service.NavbarService;
+import com.connecthub.socialnetwork.service.NotificationService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contrôleur des notifications : page /notifications et endpoints /api/notifications/*
+ */
+@Controller
+public class NotificationController {
+
+    private final NotificationService notificationService;
+    private final NavbarService navbarService;
+
+    public NotificationController(NotificationService notificationService, NavbarService navbarService) {
+        this.notificationService = notificationService;
+        this.navbarService = navbarService;
+    }
+
+    /**
+     * Affiche la boîte de notifications puis la marque comme lue
+     */
+    @GetMapping("/notifications")
+    public String notificationsPage(Principal principal, Model model) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        model.addAttribute("notifications", notificationService.getNotifications(principal.getName()));
+
+        NavbarView navbar = navbarService.getNavbar(principal.getName());
+        if (navbar != null && navbar.getUnreadNotifications() > 0) {
+            notificationService.markAllRead(principal.getName(), navbar.getUserId());
+        }
+        return "notifications";
+    }
+
+    @GetMapping("/api/notifications")
+    @ResponseBody
+    public List<NotificationView> getNotifications(Principal principal) {
+        return notificationService.getNotifications(principal.getName());
+    }
+
+    @GetMapping("/api/notifications/unread-count")
+    @ResponseBody
+    public Map<String, Integer> getUnreadCount(Principal principal) {
+        return Map.of("unread", notificationService.getUnreadCount(principal.getName()));
+    }
+
+    @PostMapping("/api/notifications/read")
+    @ResponseBody
+    public ResponseEntity<Map<String, String>> markAllRead(Principal principal) {
+        NavbarView navbar = navbarService.getNavbar(principal.getName());
+        notificationService.markAllRead(principal.getName(), navbar != null ? navbar.getUserId() : null);
+        return ResponseEntity.ok(Map.of("status", "success"));
+    }
+}
@@ -1,9 +1,13 @@
 package com.connecthub.socialnetwork.controller;
 
 import com.connecthub.socialnetwork.model.Comment;
+import com.connecthub.socialnetwork.model.Post;
 import com.connecthub.socialnetwork.model.User;
+import com.connecthub.socialnetwork.service.ImageVariantService;
 import com.connecthub.socialnetwork.service.PostService;
 import com.connecthub.socialnetwork.service.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
@@ -29,16 +33,21 @@ import java.util.UUID;
 @Controller
 public class PostController {
 
+    private static final Logger log = LoggerFactory.getLogger(PostController.class);
+
     private final PostService postService;
     private final UserService userService;
+    private final ImageVariantService imageVariantService;
     
     // Dossier de stockage des images (dans le classpath)
     private static final String UPLOAD_DIR = "src/main/resources/static/images/posts/";
     private static final String STATIC_DIR = "static/images/posts/";
 
-    public PostController(PostService postService, UserService userService) {
+    public PostController(PostService postService, UserService userService,
+                          ImageVariantService imageVariantService) {
         this.postService = postService;
         this.userService = userService;
+        this.imageVariantService = imageVariantService;
         
         // Créer le dossier s'il n'existe pas
         try {
@@ -47,7 +56,7 @@ public class PostController {
                 Files.createDirectories(uploadPath);
             }
         } catch (IOException e) {
-            System.err.println("Erreur lors de la création du dossier d'upload: " + e.getMessage());
+            log.warn("Erreur lors de la création du dossier d'upload : {}", e.getMessage());
         }
     }
 
@@ -72,11 +81,16 @@ public class PostController {
                 imageUrl = saveImage(image);
             } catch (IOException e) {
                 // En cas d'erreur, on continue sans l'image
-                System.err.println("Erreur lors de l'upload de l'image: " + e.getMessage());
+                log.warn("Erreur lors de l'upload de l'image : {}", e.getMessage());
             }
         }
 
-        postService.createPost(currentUser, content, imageUrl);
+        Post post = postService.createPost(currentUser, content, imageUrl);
+
+        // Miniatures générées en arrière-plan : l'upload n'attend jamais le redimensionnement
+        if (imageUrl != null) {
+            imageVariantService.submit(post.getId(), resolveUploadedFile(imageUrl), imageUrl);
+        }
 
         return "redirect:/home";
     }
@@ -229,4 +243,11 @@ public class PostController {
         // Retourner l'URL relative
         return "/images/posts/" + filename;
     }
+
+    /**
+     * Retrouve le fichier sur disque correspondant à une URL d'image uploadée
+     */
+    private Path resolveUploadedFile(String imageUrl) {
+        return Paths.get(UPLOAD_DIR + imageUrl.substring(imageUrl.lastIndexOf('/') + 1));
+    }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.connecthub.socialnetwork.controller;
 
+import com.connecthub.socialnetwork.dto.PostSearchPage;
+import com.connecthub.socialnetwork.dto.Separation;
 import com.connecthub.socialnetwork.dto.UserResponse;
 import com.connecthub.socialnetwork.model.User;
 import com.connecthub.socialnetwork.repository.UserRepository;
 import com.connecthub.socialnetwork.service.FriendService;
+import com.connecthub.socialnetwork.service.PostSearchService;
+import com.connecthub.socialnetwork.service.SeparationService;
 import com.connecthub.socialnetwork.service.UserService;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -13,6 +17,8 @@ import org.springframework.web.bind.annotation.*;
 
 import java.security.Principal;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Controller
 public class SearchController {
@@ -20,13 +26,19 @@ public class SearchController {
     private final UserRepository userRepository;
     private final UserService userService;
     private final FriendService friendService;
+    private final PostSearchService postSearchService;
+    private final SeparationService separationService;
 
     public SearchController(UserRepository userRepository,
                             UserService userService,
-                            FriendService friendService) {
+                            FriendService friendService,
+                            PostSearchService postSearchService,
+                            SeparationService separationService) {
         this.userRepository = userRepository;
         this.userService = userService;
         this.friendService = friendService;
+        this.postSearchService = postSearchService;
+        this.separationService = separationService;
     }
 
     /* =========================
@@ -56,7 +68,8 @@ public class SearchController {
         }
 
         // Filtrage sécurisé
-        results.removeIf(user -> shouldExcludeUser(user, currentUser));
+        Set<String> blockedIds = friendService.getBlockedEitherWayIds(currentUser.getId());
+        results.removeIf(user -> shouldExcludeUser(user, currentUser, blockedIds));
 
         if (results.size() > 50) {
             results = results.subList(0, 50);
@@ -66,6 +79,8 @@ public class SearchController {
         model.addAttribute("filter", filter);
         model.addAttribute("results", results);
         model.addAttribute("resultsCount", results.size());
+        model.addAttribute("separations",
+                separationService.findAll(currentUser.getId(), results.stream().map(User::getId).toList()));
 
         return "search";
     }
@@ -82,7 +97,8 @@ public class SearchController {
         User currentUser = userService.getUserByEmail(userDetails.getUsername());
         List<User> results = userRepository.searchUsers(q);
 
-        results.removeIf(user -> shouldExcludeUser(user, currentUser));
+        Set<String> blockedIds = friendService.getBlockedEitherWayIds(currentUser.getId());
+        results.removeIf(user -> shouldExcludeUser(user, currentUser, blockedIds));
 
         return results;
     }
@@ -102,7 +118,10 @@ public class SearchController {
                 ? userRepository.searchUsers(q.trim())
                 : userRepository.findSomeUsers(50);
 
-        users.removeIf(user -> shouldExcludeUser(user, currentUser));
+        Set<String> blockedIds = friendService.getBlockedEitherWayIds(currentUser.getId());
+        users.removeIf(user -> shouldExcludeUser(user, currentUser, blockedIds));
+        Map<String, Separation> separations =
+                separationService.findAll(currentUser.getId(), users.stream().map(User::getId).toList());
 
         return users.stream().map(user -> {
             UserResponse dto = userService.toUserResponse(user);
@@ -113,14 +132,51 @@ public class SearchController {
                             user.getId()
                     )
             );
+            Separation separation = separations.get(user.getId());
+            if (separation != null) {
+                dto.setSeparationDegree(separation.getDegree());
+                dto.setSeparationVia(separation.getViaName());
+            }
             return dto;
         }).toList();
     }
 
+    /* =========================
+       PAGE /search/posts
+       ========================= */
+    @GetMapping("/search/posts")
+    public String searchPostsPage(
+            @RequestParam(required = false) String q,
+            @RequestParam(defaultValue = "0") int page,
+            Principal principal,
+            Model model) {
+
+        if (principal == null) {
+            return "redirect:/login";
+        }
+
+        model.addAttribute("query", q);
+        model.addAttribute("results", postSearchService.search(principal.getName(), q, page));
+        return "search-posts";
+    }
+
+    /* =========================
+       API /api/posts/search
+       ========================= */
+    @GetMapping("/api/posts/search")
+    @ResponseBody
+    public PostSearchPage searchPostsApi(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @AuthenticationPrincipal UserDetails userDetails) {
+
+        return postSearchService.search(userDetails.getUsername(), q, page);
+    }
+
     /* =========================
        MÉTHODE UTILITAIRE SAFE
        ========================= */
-    private boolean shouldExcludeUser(User user, User currentUser) {
+    static boolean shouldExcludeUser(User user, User currentUser, Set<String> blockedIds) {
 
         if (user == null || user.getId() == null) return true;
         if (currentUser == null || currentUser.getId() == null) return true;
@@ -128,16 +184,7 @@ public class SearchController {
         // Ne pas afficher moi-même
         if (currentUser.getId().equals(user.getId())) return true;
 
-        // Utilisateurs bloqués
-        if (currentUser.getBlockedUsers() != null) {
-            return currentUser.getBlockedUsers().stream()
-                    .anyMatch(blocked ->
-                            blocked != null &&
-                                    blocked.getId() != null &&
-                                    blocked.getId().equals(user.getId())
-                    );
-        }
-
-        return false;
+        // Utilisateurs bloqués, dans un sens ou dans l'autre (BlockedPairIndex)
+        return blockedIds.contains(user.getId());
     }
 }
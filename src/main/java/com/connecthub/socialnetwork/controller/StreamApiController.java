@@ -0,0 +1,54 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.dto.UserResponse;
+import com.connecthub.socialnetwork.repository.reactive.ReactiveUserRepository;
+import com.connecthub.socialnetwork.service.FeedService;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Contrôleur REST API en streaming (NDJSON : un objet JSON par ligne)
+ * Endpoints: /api/stream/*
+ *
+ * Les Flux sont écrits élément par élément sur la réponse asynchrone : l'élément suivant
+ * n'est demandé au driver Bolt qu'une fois le précédent écrit sur la socket, et aucun
+ * thread n'est bloqué pendant l'attente d'un client lent.
+ */
+@RestController
+@RequestMapping(value = "/api/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+public class StreamApiController {
+
+    private static final int SEARCH_LIMIT = 50;
+
+    private final FeedService feedService;
+    private final ReactiveUserRepository reactiveUserRepository;
+
+    public StreamApiController(FeedService feedService, ReactiveUserRepository reactiveUserRepository) {
+        this.feedService = feedService;
+        this.reactiveUserRepository = reactiveUserRepository;
+    }
+
+    @GetMapping("/feed")
+    public Flux<PostView> streamFeed(@AuthenticationPrincipal UserDetails userDetails) {
+        return feedService.streamFeed(userDetails.getUsername());
+    }
+
+    @GetMapping("/friends")
+    public Flux<UserResponse> streamFriends(@AuthenticationPrincipal UserDetails userDetails) {
+        return reactiveUserRepository.streamFriends(userDetails.getUsername());
+    }
+
+    @GetMapping("/search")
+    public Flux<UserResponse> streamSearch(
+            @RequestParam(defaultValue = "") String q,
+            @AuthenticationPrincipal UserDetails userDetails) {
+        return reactiveUserRepository.streamSearch(userDetails.getUsername(), q.trim(), SEARCH_LIMIT);
+    }
+}
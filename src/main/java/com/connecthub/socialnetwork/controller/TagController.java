@@ -0,0 +1,64 @@
+package com.connecthub.socialnetwork.controller;
+
+import com.connecthub.socialnetwork.dto.TagCount;
+import com.connecthub.socialnetwork.dto.TagFeedPage;
+import com.connecthub.socialnetwork.service.TagService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Controller;
+import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hashtags : fil d'un tag (pagination par curseur) et tags en tendance
+ */
+@Controller
+public class TagController {
+
+    private final TagService tagService;
+
+    public TagController(TagService tagService) {
+        this.tagService = tagService;
+    }
+
+    @GetMapping("/tags/{tag}")
+    public String tagPage(@PathVariable String tag, @RequestParam(required = false) String cursor,
+                          Principal principal, Model model) {
+        if (principal == null) {
+            return "redirect:/login";
+        }
+        TagFeedPage page;
+        try {
+            page = tagService.getTagFeed(principal.getName(), tag, cursor);
+        } catch (IllegalArgumentException e) {
+            // Curseur altéré : retour à la première page
+            return "redirect:/tags/{tag}";
+        }
+        model.addAttribute("page", page);
+        model.addAttribute("trendingTags", tagService.getTrendingTags(10));
+        return "tag";
+    }
+
+    @GetMapping("/api/tags/{tag}/posts")
+    @ResponseBody
+    public ResponseEntity<?> tagFeed(@PathVariable String tag, @RequestParam(required = false) String cursor,
+                                     Principal principal) {
+        try {
+            return ResponseEntity.ok(tagService.getTagFeed(principal.getName(), tag, cursor));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    @GetMapping("/api/tags/trending")
+    @ResponseBody
+    public List<TagCount> trendingTags(@RequestParam(defaultValue = "10") int limit) {
+        return tagService.getTrendingTags(Math.min(Math.max(limit, 1), 50));
+    }
+}
@@ -1,14 +1,23 @@
 package com.connecthub.socialnetwork.controller;
 
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.dto.Separation;
 import com.connecthub.socialnetwork.dto.UserResponse;
 import com.connecthub.socialnetwork.model.User;
 import com.connecthub.socialnetwork.service.FriendService;
+import com.connecthub.socialnetwork.service.ParallelLookups;
 import com.connecthub.socialnetwork.service.PostService;
+import com.connecthub.socialnetwork.service.SeparationService;
 import com.connecthub.socialnetwork.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
@@ -18,6 +27,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Contrôleur pour la gestion des profils utilisateur
@@ -26,14 +36,21 @@ import java.util.Set;
 @Controller
 public class UserController {
 
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
     private final UserService userService;
     private final PostService postService;
     private final FriendService friendService;
+    private final SeparationService separationService;
+    private final ParallelLookups parallelLookups;
 
-    public UserController(UserService userService, PostService postService, FriendService friendService) {
+    public UserController(UserService userService, PostService postService, FriendService friendService,
+                          SeparationService separationService, ParallelLookups parallelLookups) {
         this.userService = userService;
         this.postService = postService;
         this.friendService = friendService;
+        this.separationService = separationService;
+        this.parallelLookups = parallelLookups;
     }
 
     // =========================
@@ -50,7 +67,7 @@ public class UserController {
         model.addAttribute("isOwnProfile", true);
 
         // Publications de l'utilisateur
-        model.addAttribute("myPosts", postService.getUserPosts(currentUser.getId()));
+        model.addAttribute("myPosts", postService.getUserPostViews(currentUser.getId()));
 
         // Statistiques
         UserService.UserStatistics stats = userService.getUserStatistics(currentUser.getId());
@@ -73,37 +90,44 @@ public class UserController {
             return "redirect:/login";
         }
 
-        Optional<User> userOpt = userService.findById(userId);
-        if (userOpt.isEmpty()) {
-            return "redirect:/home";
+        String currentUserId = currentUser.getId();
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            // Existence du profil et blocage (dans les deux sens, en mémoire une fois l'index chargé)
+            Supplier<Optional<User>> userOpt = scope.fork(() -> userService.findById(userId));
+            Supplier<Boolean> blocked = scope.fork(() -> friendService.isBlockedEitherWay(currentUserId, userId));
+            scope.join();
+
+            if (userOpt.get().isEmpty() || blocked.get()) {
+                return "redirect:/home";
+            }
+            model.addAttribute("user", userOpt.get().get());
         }
 
-        User user = userOpt.get();
+        model.addAttribute("isOwnProfile", currentUserId.equals(userId));
 
-        // Vérifier si l'utilisateur est bloqué
-        if (friendService.isBlocked(currentUser.getId(), userId) ||
-                friendService.isBlocked(userId, currentUser.getId())) {
-            return "redirect:/home";
-        }
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            // Posts de cet utilisateur
+            Supplier<List<PostView>> posts = scope.fork(() -> postService.getUserPostViews(userId));
 
-        model.addAttribute("user", user);
-        model.addAttribute("isOwnProfile", currentUser.getId().equals(userId));
+            // Vérifier si les utilisateurs sont amis (pour afficher les liens externes)
+            Supplier<Boolean> areFriends = scope.fork(() -> friendService.areFriends(currentUserId, userId));
 
-        // Posts de cet utilisateur
-        model.addAttribute("myPosts", postService.getUserPosts(userId));
+            // Amis en commun
+            Supplier<Integer> mutualFriends = scope.fork(() -> friendService.getMutualFriendsCount(currentUserId, userId));
 
-        // Statistiques
-        UserService.UserStatistics stats = userService.getUserStatistics(userId);
-        model.addAttribute("stats", stats);
+            // Degré de séparation ("2e degré via ..."), graphe en mémoire
+            Supplier<Optional<Separation>> separation = scope.fork(() -> separationService.find(currentUserId, userId));
 
-        // Vérifier si les utilisateurs sont amis (pour afficher les liens externes)
-        boolean areFriends = friendService.getFriends(currentUser.getId()).stream()
-                .anyMatch(friend -> friend.getId().equals(userId));
-        model.addAttribute("areFriends", areFriends);
+            // Statistiques : lancées depuis le thread de la requête (elles ouvrent leur propre scope)
+            UserService.UserStatistics stats = userService.getUserStatistics(userId);
+            scope.join();
 
-        // Amis en commun
-        int mutualFriends = friendService.getMutualFriendsCount(currentUser.getId(), userId);
-        model.addAttribute("mutualFriends", mutualFriends);
+            model.addAttribute("myPosts", posts.get());
+            model.addAttribute("stats", stats);
+            model.addAttribute("areFriends", areFriends.get());
+            model.addAttribute("mutualFriends", mutualFriends.get());
+            model.addAttribute("separation", separation.get().orElse(null));
+        }
 
         return "profile";
     }
@@ -203,6 +227,34 @@ public class UserController {
         return "redirect:/profile/edit";
     }
 
+    // =========================
+    // SUPPRESSION DU COMPTE
+    // =========================
+    @PostMapping("/profile/delete")
+    public String deleteAccount(
+            @RequestParam("password") String password,
+            HttpServletRequest request,
+            HttpServletResponse response,
+            RedirectAttributes redirectAttributes) {
+
+        User currentUser = getCurrentUser();
+        if (currentUser == null) {
+            return "redirect:/login";
+        }
+
+        try {
+            userService.deleteAccount(currentUser.getId(), password);
+        } catch (Exception e) {
+            redirectAttributes.addFlashAttribute("error", "Erreur: " + e.getMessage());
+            return "redirect:/profile/edit";
+        }
+
+        // Fin de la session courante : le compte ne peut plus se reconnecter
+        new SecurityContextLogoutHandler().logout(request, response,
+                SecurityContextHolder.getContext().getAuthentication());
+        return "redirect:/login?deleted";
+    }
+
     // =========================
     // RÉCUP USER CONNECTÉ
     // =========================
@@ -216,10 +268,8 @@ public class UserController {
         }
 
         User user = userService.findByEmail(authentication.getName()).orElse(null);
-        if (user != null) {
-            System.out.println("DEBUG: Current User loaded: " + user.getEmail() + " with ID: " + user.getId());
-        } else {
-            System.out.println("DEBUG: No current user found for email: " + authentication.getName());
+        if (user == null) {
+            log.debug("Aucun utilisateur pour l'email {}", authentication.getName());
         }
         return user;
     }
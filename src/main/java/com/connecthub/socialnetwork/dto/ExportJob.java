@@ -0,0 +1,90 @@
+package com.connecthub.socialnetwork.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Export des données personnelles en cours ou terminé (tâche de fond)
+ */
+public class ExportJob {
+
+    public enum Status { PENDING, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final String userId;
+    private final LocalDateTime createdAt;
+    private volatile Status status = Status.PENDING;
+    private volatile LocalDateTime finishedAt;
+    private volatile Path file;
+    private volatile long sizeBytes;
+    private volatile String error;
+
+    public ExportJob(String id, String userId) {
+        this.id = id;
+        this.userId = userId;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    @JsonIgnore
+    public String getUserId() {
+        return userId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getFinishedAt() {
+        return finishedAt;
+    }
+
+    public void setFinishedAt(LocalDateTime finishedAt) {
+        this.finishedAt = finishedAt;
+    }
+
+    @JsonIgnore
+    public Path getFile() {
+        return file;
+    }
+
+    public void setFile(Path file) {
+        this.file = file;
+    }
+
+    public long getSizeBytes() {
+        return sizeBytes;
+    }
+
+    public void setSizeBytes(long sizeBytes) {
+        this.sizeBytes = sizeBytes;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public void setError(String error) {
+        this.error = error;
+    }
+
+    /**
+     * Lien de téléchargement, une fois l'archive prête
+     */
+    public String getDownloadUrl() {
+        return status == Status.DONE ? "/export/" + id + "/download" : null;
+    }
+}
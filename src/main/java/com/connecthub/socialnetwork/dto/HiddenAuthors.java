@@ -0,0 +1,43 @@
+package com.connecthub.socialnetwork.dto;
+
+import java.util.Set;
+
+/**
+ * Auteurs à masquer pour un lecteur (blocages dans un sens ou dans l'autre), passés aux requêtes
+ * des fils et de la recherche.
+ *
+ * Index des blocages chargé (BlockedPairIndex) : la liste fait foi, la requête écarte ces
+ * auteurs (NOT author.id IN $hidden) sans parcourir de relation. Index pas encore chargé : la
+ * liste est vide et la requête teste elle-même NOT (me)-[:BLOCKED]-(author).
+ */
+public class HiddenAuthors {
+
+    private static final HiddenAuthors CHECKED_BY_QUERY = new HiddenAuthors(Set.of(), true);
+
+    private final Set<String> ids;
+    private final boolean checkedByQuery;
+
+    private HiddenAuthors(Set<String> ids, boolean checkedByQuery) {
+        this.ids = ids;
+        this.checkedByQuery = checkedByQuery;
+    }
+
+    public static HiddenAuthors of(Set<String> ids) {
+        return new HiddenAuthors(Set.copyOf(ids), false);
+    }
+
+    public static HiddenAuthors checkedByQuery() {
+        return CHECKED_BY_QUERY;
+    }
+
+    public Set<String> getIds() {
+        return ids;
+    }
+
+    /**
+     * La requête doit tester la relation BLOCKED elle-même
+     */
+    public boolean isCheckedByQuery() {
+        return checkedByQuery;
+    }
+}
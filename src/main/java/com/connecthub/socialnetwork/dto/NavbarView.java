@@ -0,0 +1,44 @@
+package com.connecthub.socialnetwork.dto;
+
+/**
+ * Données de la barre de navigation (partie par utilisateur, mise en cache)
+ */
+public class NavbarView {
+
+    private final String userId;
+    private final String name;
+    private final String profileImage;
+    // Nombre de demandes d'amis reçues (badge du lien "Amis")
+    private final int pendingRequests;
+    // Nombre de notifications non lues (badge du lien "Notifications")
+    private final int unreadNotifications;
+
+    public NavbarView(String userId, String name, String profileImage, int pendingRequests,
+                      int unreadNotifications) {
+        this.userId = userId;
+        this.name = name;
+        this.profileImage = profileImage;
+        this.pendingRequests = pendingRequests;
+        this.unreadNotifications = unreadNotifications;
+    }
+
+    public String getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getProfileImage() {
+        return profileImage;
+    }
+
+    public int getPendingRequests() {
+        return pendingRequests;
+    }
+
+    public int getUnreadNotifications() {
+        return unreadNotifications;
+    }
+}
@@ -0,0 +1,75 @@
+package com.connecthub.socialnetwork.dto;
+
+import com.connecthub.socialnetwork.model.NotificationType;
+
+import java.time.LocalDateTime;
+
+/**
+ * Notification regroupée, prête à afficher ("Karim et 12 autres ont aimé votre publication")
+ */
+public class NotificationView {
+
+    private final NotificationType type;
+    private final Long postId;
+    private final String lastActorId;
+    private final String lastActorName;
+    // Nombre d'auteurs distincts regroupés depuis la dernière lecture
+    private final int actorCount;
+    private final boolean read;
+    private final LocalDateTime updatedAt;
+
+    public NotificationView(NotificationType type, Long postId, String lastActorId, String lastActorName,
+                            int actorCount, boolean read, LocalDateTime updatedAt) {
+        this.type = type;
+        this.postId = postId;
+        this.lastActorId = lastActorId;
+        this.lastActorName = lastActorName;
+        this.actorCount = actorCount;
+        this.read = read;
+        this.updatedAt = updatedAt;
+    }
+
+    public String getMessage() {
+        String actors = lastActorName == null ? "Quelqu'un" : lastActorName;
+        if (actorCount > 1) {
+            actors += " et " + (actorCount - 1) + (actorCount == 2 ? " autre personne" : " autres personnes");
+        }
+        boolean plural = actorCount > 1;
+        return switch (type) {
+            case POST_LIKED -> actors + (plural ? " ont aimé" : " a aimé") + " votre publication";
+            case POST_COMMENTED -> actors + (plural ? " ont commenté" : " a commenté") + " votre publication";
+            case FRIEND_REQUEST -> actors + (plural ? " vous ont envoyé" : " vous a envoyé") + " une demande d'ami";
+            case FRIEND_ACCEPTED -> actors + (plural ? " ont accepté" : " a accepté") + " votre demande d'ami";
+        };
+    }
+
+    // ===== GETTERS =====
+
+    public NotificationType getType() {
+        return type;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public String getLastActorId() {
+        return lastActorId;
+    }
+
+    public String getLastActorName() {
+        return lastActorName;
+    }
+
+    public int getActorCount() {
+        return actorCount;
+    }
+
+    public boolean isRead() {
+        return read;
+    }
+
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,29 @@
+package com.connecthub.socialnetwork.dto;
+
+/**
+ * Compteurs d'une publication diffusés en direct (likes, commentaires)
+ */
+public class PostCounts {
+
+    private final Long postId;
+    private final int likeCount;
+    private final int commentCount;
+
+    public PostCounts(Long postId, int likeCount, int commentCount) {
+        this.postId = postId;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+    }
+
+    public Long getPostId() {
+        return postId;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+}
@@ -0,0 +1,37 @@
+package com.connecthub.socialnetwork.dto;
+
+import java.util.List;
+
+/**
+ * Page de résultats de la recherche de publications (page numérotée à partir de 0)
+ */
+public class PostSearchPage {
+
+    private final String query;
+    private final int page;
+    private final List<PostSearchResult> results;
+    private final boolean hasNext;
+
+    public PostSearchPage(String query, int page, List<PostSearchResult> results, boolean hasNext) {
+        this.query = query;
+        this.page = page;
+        this.results = results;
+        this.hasNext = hasNext;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public List<PostSearchResult> getResults() {
+        return results;
+    }
+
+    public boolean isHasNext() {
+        return hasNext;
+    }
+}
@@ -0,0 +1,24 @@
+package com.connecthub.socialnetwork.dto;
+
+/**
+ * Publication trouvée par la recherche plein texte, avec son extrait surligné.
+ * snippetHtml est déjà échappé : seuls les <mark> des termes trouvés sont du HTML.
+ */
+public class PostSearchResult {
+
+    private final PostView post;
+    private final String snippetHtml;
+
+    public PostSearchResult(PostView post, String snippetHtml) {
+        this.post = post;
+        this.snippetHtml = snippetHtml;
+    }
+
+    public PostView getPost() {
+        return post;
+    }
+
+    public String getSnippetHtml() {
+        return snippetHtml;
+    }
+}
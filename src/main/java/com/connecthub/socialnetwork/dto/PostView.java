@@ -0,0 +1,132 @@
+package com.connecthub.socialnetwork.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Vue à plat d'une publication pour l'affichage (feed, profil).
+ * Les compteurs sont calculés par la requête Cypher : le template n'a plus
+ * à parcourir le graphe d'entités (post.likes, post.comments, post.author).
+ */
+public class PostView {
+
+    private Long id;
+    private String content;
+    private LocalDateTime createdAt;
+    private String imageUrl;
+    private String imageSrcset;
+    private String authorId;
+    private String authorName;
+    private String authorEmail;
+    private String authorImage;
+    private int likeCount;
+    private int commentCount;
+
+    public PostView() {
+    }
+
+    public PostView(Long id, String content, LocalDateTime createdAt, String imageUrl, String imageSrcset,
+                    String authorId, String authorName, String authorEmail, String authorImage,
+                    int likeCount, int commentCount) {
+        this.id = id;
+        this.content = content;
+        this.createdAt = createdAt;
+        this.imageUrl = imageUrl;
+        this.imageSrcset = imageSrcset;
+        this.authorId = authorId;
+        this.authorName = authorName;
+        this.authorEmail = authorEmail;
+        this.authorImage = authorImage;
+        this.likeCount = likeCount;
+        this.commentCount = commentCount;
+    }
+
+    // ===== GETTERS & SETTERS =====
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public void setContent(String content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public String getImageUrl() {
+        return imageUrl;
+    }
+
+    public void setImageUrl(String imageUrl) {
+        this.imageUrl = imageUrl;
+    }
+
+    public String getImageSrcset() {
+        return imageSrcset;
+    }
+
+    public void setImageSrcset(String imageSrcset) {
+        this.imageSrcset = imageSrcset;
+    }
+
+    public String getAuthorId() {
+        return authorId;
+    }
+
+    public void setAuthorId(String authorId) {
+        this.authorId = authorId;
+    }
+
+    public String getAuthorName() {
+        return authorName;
+    }
+
+    public void setAuthorName(String authorName) {
+        this.authorName = authorName;
+    }
+
+    public String getAuthorEmail() {
+        return authorEmail;
+    }
+
+    public void setAuthorEmail(String authorEmail) {
+        this.authorEmail = authorEmail;
+    }
+
+    public String getAuthorImage() {
+        return authorImage;
+    }
+
+    public void setAuthorImage(String authorImage) {
+        this.authorImage = authorImage;
+    }
+
+    public int getLikeCount() {
+        return likeCount;
+    }
+
+    public void setLikeCount(int likeCount) {
+        this.likeCount = likeCount;
+    }
+
+    public int getCommentCount() {
+        return commentCount;
+    }
+
+    public void setCommentCount(int commentCount) {
+        this.commentCount = commentCount;
+    }
+}
@@ -0,0 +1,33 @@
+package com.connecthub.socialnetwork.dto;
+
+/**
+ * Degré de séparation entre l'utilisateur connecté et un autre : 1 pour un ami,
+ * 2 pour un ami d'ami (via l'ami commun), etc.
+ */
+public class Separation {
+
+    private final int degree;
+    private final String viaUserId;
+    private final String viaName;
+
+    public Separation(int degree, String viaUserId, String viaName) {
+        this.degree = degree;
+        this.viaUserId = viaUserId;
+        this.viaName = viaName;
+    }
+
+    public int getDegree() {
+        return degree;
+    }
+
+    /**
+     * Ami de l'utilisateur connecté par qui passe le chemin (null au 1er degré)
+     */
+    public String getViaUserId() {
+        return viaUserId;
+    }
+
+    public String getViaName() {
+        return viaName;
+    }
+}
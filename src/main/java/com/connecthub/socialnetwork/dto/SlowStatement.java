@@ -0,0 +1,85 @@
+package com.connecthub.socialnetwork.dto;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Requête Cypher lente, avec son plan PROFILE lorsqu'elle a été échantillonnée
+ * (le plan est renseigné en tâche de fond, après l'enregistrement)
+ */
+public class SlowStatement {
+
+    private final LocalDateTime at;
+    private final long millis;
+    private final long serverMillis;
+    private final String queryType;
+    private final String outcome;
+    private final String query;
+    private final Map<String, String> parameters;
+    private volatile Long dbHits;
+    private volatile String plan;
+
+    public SlowStatement(LocalDateTime at, long millis, long serverMillis, String queryType, String outcome,
+                         String query, Map<String, String> parameters) {
+        this.at = at;
+        this.millis = millis;
+        this.serverMillis = serverMillis;
+        this.queryType = queryType;
+        this.outcome = outcome;
+        this.query = query;
+        this.parameters = parameters;
+    }
+
+    public LocalDateTime getAt() {
+        return at;
+    }
+
+    /**
+     * Durée côté client, de run() à la fin de la lecture du résultat
+     */
+    public long getMillis() {
+        return millis;
+    }
+
+    /**
+     * Durée côté serveur (résultat disponible + résultat consommé), -1 si inconnue
+     */
+    public long getServerMillis() {
+        return serverMillis;
+    }
+
+    public String getQueryType() {
+        return queryType;
+    }
+
+    /**
+     * success, ou error si la requête a échoué (aucun résumé serveur dans ce cas)
+     */
+    public String getOutcome() {
+        return outcome;
+    }
+
+    public String getQuery() {
+        return query;
+    }
+
+    /**
+     * Paramètres masqués : nom -> type (et taille)
+     */
+    public Map<String, String> getParameters() {
+        return parameters;
+    }
+
+    public Long getDbHits() {
+        return dbHits;
+    }
+
+    public String getPlan() {
+        return plan;
+    }
+
+    public void setProfile(long dbHits, String plan) {
+        this.dbHits = dbHits;
+        this.plan = plan;
+    }
+}
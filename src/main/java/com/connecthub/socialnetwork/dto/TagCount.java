@@ -0,0 +1,23 @@
+package com.connecthub.socialnetwork.dto;
+
+/**
+ * Tag en tendance et son nombre (estimé) d'utilisations sur la fenêtre glissante
+ */
+public class TagCount {
+
+    private final String tag;
+    private final int count;
+
+    public TagCount(String tag, int count) {
+        this.tag = tag;
+        this.count = count;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
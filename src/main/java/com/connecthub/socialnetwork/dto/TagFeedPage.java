@@ -0,0 +1,31 @@
+package com.connecthub.socialnetwork.dto;
+
+import java.util.List;
+
+/**
+ * Page du fil d'un tag ; nextCursor est null sur la dernière page
+ */
+public class TagFeedPage {
+
+    private final String tag;
+    private final List<PostView> posts;
+    private final String nextCursor;
+
+    public TagFeedPage(String tag, List<PostView> posts, String nextCursor) {
+        this.tag = tag;
+        this.posts = posts;
+        this.nextCursor = nextCursor;
+    }
+
+    public String getTag() {
+        return tag;
+    }
+
+    public List<PostView> getPosts() {
+        return posts;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+}
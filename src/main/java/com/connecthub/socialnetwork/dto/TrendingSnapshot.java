@@ -0,0 +1,45 @@
+package com.connecthub.socialnetwork.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Instantané immuable des tendances, recalculé périodiquement et servi tel quel par /explore
+ */
+public class TrendingSnapshot {
+
+    public static final TrendingSnapshot EMPTY = new TrendingSnapshot(null, List.of(), Map.of());
+
+    private final LocalDateTime generatedAt;
+    private final List<PostView> global;
+    private final Map<String, List<PostView>> byInterest;
+
+    public TrendingSnapshot(LocalDateTime generatedAt, List<PostView> global, Map<String, List<PostView>> byInterest) {
+        this.generatedAt = generatedAt;
+        this.global = List.copyOf(global);
+        this.byInterest = Map.copyOf(byInterest);
+    }
+
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public List<PostView> getGlobal() {
+        return global;
+    }
+
+    public Map<String, List<PostView>> getByInterest() {
+        return byInterest;
+    }
+
+    /**
+     * Tendances d'un centre d'intérêt, ou globales si interest est vide ou inconnu
+     */
+    public List<PostView> get(String interest) {
+        if (interest == null || interest.isBlank()) {
+            return global;
+        }
+        return byInterest.getOrDefault(interest, List.of());
+    }
+}
@@ -12,6 +12,9 @@ public class UserResponse {
     private String relationStatus;
     // Nombre d'amis en commun avec l'utilisateur courant
     private Integer mutualFriendsCount;
+    // Degré de séparation avec l'utilisateur courant et ami intermédiaire (null si non relié)
+    private Integer separationDegree;
+    private String separationVia;
 
     public UserResponse() {
     }
@@ -89,4 +92,20 @@ public class UserResponse {
     public void setMutualFriendsCount(Integer mutualFriendsCount) {
         this.mutualFriendsCount = mutualFriendsCount;
     }
+
+    public Integer getSeparationDegree() {
+        return separationDegree;
+    }
+
+    public void setSeparationDegree(Integer separationDegree) {
+        this.separationDegree = separationDegree;
+    }
+
+    public String getSeparationVia() {
+        return separationVia;
+    }
+
+    public void setSeparationVia(String separationVia) {
+        this.separationVia = separationVia;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+/**
+ * Compte supprimé (suppression logique : le nettoyage du graphe Neo4j suit en arrière-plan)
+ */
+public record AccountDeleted(String userId, Instant occurredAt) implements DomainEvent {
+
+    public AccountDeleted(String userId) {
+        this(userId, Instant.now());
+    }
+}
@@ -0,0 +1,11 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+public record CommentAdded(Long postId, String postAuthorId, Long commentId, String authorId,
+                           Instant occurredAt) implements DomainEvent {
+
+    public CommentAdded(Long postId, String postAuthorId, Long commentId, String authorId) {
+        this(postId, postAuthorId, commentId, authorId, Instant.now());
+    }
+}
@@ -0,0 +1,13 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+/**
+ * Événement métier publié après le commit de l'écriture qui l'a produit (voir DomainEventBus)
+ */
+public sealed interface DomainEvent
+        permits PostCreated, PostTagged, PostLiked, PostViewed, PostDeleted, CommentAdded, FriendRequestSent,
+                FriendshipCreated, FriendshipRemoved, UserBlocked, ProfileUpdated, AccountDeleted {
+
+    Instant occurredAt();
+}
@@ -0,0 +1,223 @@
+package com.connecthub.socialnetwork.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bus d'événements métier en mémoire, adossé à un anneau préalloué (EventRingBuffer).
+ *
+ * Publication : dans une transaction, les événements sont mis de côté (outbox de la
+ * transaction) et ne sont poussés dans l'anneau qu'après le commit Neo4j ; un rollback
+ * les abandonne. Hors transaction, l'écriture est déjà validée et l'événement est
+ * publié immédiatement.
+ *
+ * Consommation : chaque DomainEventConsumer a un thread dédié qui lit l'anneau par lots
+ * (connecthub.events.batch-size) à partir de sa propre séquence.
+ *
+ * Saturation : si un consommateur ne suit plus, la publication (thread de la requête,
+ * après le commit) attend au plus connecthub.events.publish-timeout-millis puis abandonne
+ * l'événement, compté dans connecthub.events.dropped. Les consommateurs sont des
+ * projections reconstructibles : perdre un événement vaut mieux que bloquer les requêtes.
+ */
+@Component
+public class DomainEventBus implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(DomainEventBus.class);
+
+    private final EventRingBuffer ringBuffer;
+    private final WaitStrategy waitStrategy;
+    private final int batchSize;
+    private final long publishTimeoutNanos;
+    private final MeterRegistry meterRegistry;
+    private final List<ConsumerLoop> loops = new ArrayList<>();
+    private volatile boolean running;
+
+    public DomainEventBus(List<DomainEventConsumer> consumers,
+                          @Value("${connecthub.events.ring-size:4096}") int ringSize,
+                          @Value("${connecthub.events.batch-size:128}") int batchSize,
+                          @Value("${connecthub.events.wait-strategy:blocking}") String waitStrategy,
+                          @Value("${connecthub.events.publish-timeout-millis:100}") long publishTimeoutMillis,
+                          MeterRegistry meterRegistry) {
+        this.waitStrategy = WaitStrategy.of(waitStrategy);
+        this.ringBuffer = new EventRingBuffer(ringSize, this.waitStrategy);
+        this.batchSize = batchSize;
+        this.publishTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(publishTimeoutMillis);
+        this.meterRegistry = meterRegistry;
+
+        List<AtomicLong> sequences = new ArrayList<>();
+        for (DomainEventConsumer consumer : consumers) {
+            ConsumerLoop loop = new ConsumerLoop(consumer);
+            loops.add(loop);
+            sequences.add(loop.sequence);
+        }
+        ringBuffer.setGatingSequences(sequences);
+    }
+
+    /**
+     * Publie un événement après le commit de la transaction en cours (ou immédiatement hors transaction)
+     */
+    public void publish(DomainEvent event) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            publishNow(event);
+            return;
+        }
+        TransactionOutbox outbox = (TransactionOutbox) TransactionSynchronizationManager.getResource(this);
+        if (outbox == null) {
+            outbox = new TransactionOutbox();
+            TransactionSynchronizationManager.bindResource(this, outbox);
+            TransactionSynchronizationManager.registerSynchronization(outbox);
+        }
+        outbox.events.add(event);
+    }
+
+    private void publishNow(DomainEvent event) {
+        if (ringBuffer.publish(event, publishTimeoutNanos)) {
+            return;
+        }
+        String type = event.getClass().getSimpleName();
+        Counter dropped = Counter.builder("connecthub.events.dropped").tag("type", type).register(meterRegistry);
+        dropped.increment();
+        // Une trace par tranche de 1000 abandons : un consommateur bloqué ne doit pas inonder les journaux
+        if (dropped.count() % 1000 == 1) {
+            log.warn("Anneau plein depuis {} ms : événement {} abandonné ({} au total), retard {}",
+                    TimeUnit.NANOSECONDS.toMillis(publishTimeoutNanos), type, (long) dropped.count(), describeLag());
+        }
+    }
+
+    /**
+     * Retard de chaque consommateur (événements publiés non encore traités)
+     */
+    public List<String> describeLag() {
+        long claimed = ringBuffer.claimedSequence();
+        return loops.stream()
+                .map(loop -> loop.consumer.consumerName() + "=" + (claimed - loop.sequence.get()))
+                .toList();
+    }
+
+    // =========================
+    // CYCLE DE VIE
+    // =========================
+
+    @Override
+    public void start() {
+        running = true;
+        for (ConsumerLoop loop : loops) {
+            Thread thread = new Thread(loop, "events-" + loop.consumer.consumerName());
+            thread.setDaemon(true);
+            loop.thread = thread;
+            thread.start();
+        }
+        log.info("Bus d'événements démarré : anneau de {} emplacements, {} consommateur(s)",
+                ringBuffer.size(), loops.size());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        waitStrategy.signalAll();
+        for (ConsumerLoop loop : loops) {
+            try {
+                // Les événements déjà publiés sont traités avant l'arrêt
+                loop.thread.join(TimeUnit.SECONDS.toMillis(5));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Démarré avant les serveurs web et les tâches planifiées, arrêté après eux
+     */
+    @Override
+    public int getPhase() {
+        return Integer.MIN_VALUE + 1000;
+    }
+
+    // =========================
+    // OUTBOX ET CONSOMMATEURS
+    // =========================
+
+    private final class TransactionOutbox implements TransactionSynchronization {
+
+        private final List<DomainEvent> events = new ArrayList<>();
+
+        @Override
+        public void afterCommit() {
+            events.forEach(DomainEventBus.this::publishNow);
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(DomainEventBus.this);
+        }
+    }
+
+    private final class ConsumerLoop implements Runnable {
+
+        private final DomainEventConsumer consumer;
+        // Dernière séquence traitée par ce consommateur
+        private final AtomicLong sequence = new AtomicLong(-1);
+        // Lot réutilisé d'un appel à l'autre : valable uniquement pendant onEvents()
+        private final List<DomainEvent> batch;
+        private final List<DomainEvent> batchView;
+        private Thread thread;
+
+        private ConsumerLoop(DomainEventConsumer consumer) {
+            this.consumer = consumer;
+            this.batch = new ArrayList<>(batchSize);
+            this.batchView = Collections.unmodifiableList(batch);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            try {
+                while (true) {
+                    int attempt = 0;
+                    while (!ringBuffer.isPublished(next)) {
+                        if (!running && next > ringBuffer.claimedSequence()) {
+                            return;
+                        }
+                        waitStrategy.idle(attempt++);
+                    }
+
+                    long highest = ringBuffer.highestPublished(next, next + batchSize - 1);
+                    batch.clear();
+                    for (long s = next; s <= highest; s++) {
+                        batch.add(ringBuffer.get(s));
+                    }
+                    try {
+                        consumer.onEvents(batchView);
+                    } catch (Throwable e) {
+                        // Y compris les Error : la séquence doit avancer, sinon l'anneau se remplit et bloque les producteurs
+                        log.error("Consommateur {} : échec sur un lot de {} événement(s)",
+                                consumer.consumerName(), batch.size(), e);
+                    }
+                    sequence.set(highest);
+                    next = highest + 1;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.connecthub.socialnetwork.event;
+
+import java.util.List;
+
+/**
+ * Consommateur du bus d'événements. Chaque bean implémentant cette interface
+ * est enregistré automatiquement et dispose de son propre thread et de sa propre
+ * position (séquence) dans l'anneau.
+ */
+public interface DomainEventConsumer {
+
+    /**
+     * Nom du consommateur (nom du thread, journaux)
+     */
+    String consumerName();
+
+    /**
+     * Traite un lot d'événements consécutifs, dans l'ordre de publication.
+     * Une exception est journalisée et le lot est considéré comme traité.
+     */
+    void onEvents(List<DomainEvent> batch);
+}
@@ -0,0 +1,126 @@
+package com.connecthub.socialnetwork.event;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Anneau préalloué multi-producteurs / multi-consommateurs.
+ *
+ * Les producteurs réservent une séquence (compteur atomique), écrivent l'événement dans
+ * l'emplacement séquence & mask, puis marquent l'emplacement publié avec le numéro de tour
+ * (séquence >>> log2(taille)) : un consommateur ne lit un emplacement que si son tour
+ * correspond, ce qui tolère les publications achevées dans le désordre.
+ *
+ * Chaque consommateur avance sa propre séquence ; un producteur ne réécrit un
+ * emplacement qu'une fois que le consommateur le plus lent l'a dépassé, et renonce
+ * si l'anneau reste plein au-delà du délai de publication.
+ */
+final class EventRingBuffer {
+
+    private static final class Slot {
+        DomainEvent event;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final int shift;
+    private final AtomicIntegerArray publishedRound;
+    private final AtomicLong claimed = new AtomicLong(-1);
+    private final WaitStrategy waitStrategy;
+    private volatile List<AtomicLong> gatingSequences = List.of();
+
+    EventRingBuffer(int size, WaitStrategy waitStrategy) {
+        if (size < 2 || Integer.bitCount(size) != 1) {
+            throw new IllegalArgumentException("La taille de l'anneau doit être une puissance de 2 : " + size);
+        }
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.shift = Integer.numberOfTrailingZeros(size);
+        this.publishedRound = new AtomicIntegerArray(size);
+        for (int i = 0; i < size; i++) {
+            publishedRound.set(i, -1);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    /**
+     * Séquences des consommateurs qui bornent la réécriture des emplacements
+     */
+    void setGatingSequences(List<AtomicLong> sequences) {
+        this.gatingSequences = List.copyOf(sequences);
+    }
+
+    /**
+     * Publie un événement si un emplacement se libère avant l'échéance.
+     *
+     * La séquence n'est réservée qu'une fois la place garantie : un producteur qui
+     * abandonne ne laisse donc aucun trou que les consommateurs attendraient indéfiniment.
+     *
+     * @return false si l'anneau est resté plein pendant timeoutNanos (événement abandonné)
+     */
+    boolean publish(DomainEvent event, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long sequence;
+        while (true) {
+            long current = claimed.get();
+            sequence = current + 1;
+            if (sequence - slots.length > minimumGatingSequence()) {
+                // Anneau plein : le producteur attend le consommateur le plus lent, sans dépasser l'échéance
+                if (System.nanoTime() - deadline >= 0) {
+                    return false;
+                }
+                LockSupport.parkNanos(1_000);
+            } else if (claimed.compareAndSet(current, sequence)) {
+                break;
+            }
+        }
+
+        int index = (int) (sequence & mask);
+        slots[index].event = event;
+        // Écriture volatile : rend l'événement visible avant le marquage
+        publishedRound.set(index, (int) (sequence >>> shift));
+        waitStrategy.signalAll();
+        return true;
+    }
+
+    boolean isPublished(long sequence) {
+        return publishedRound.get((int) (sequence & mask)) == (int) (sequence >>> shift);
+    }
+
+    /**
+     * Plus haute séquence publiée sans trou entre from et to (from - 1 si from n'est pas publiée)
+     */
+    long highestPublished(long from, long to) {
+        for (long sequence = from; sequence <= to; sequence++) {
+            if (!isPublished(sequence)) {
+                return sequence - 1;
+            }
+        }
+        return to;
+    }
+
+    DomainEvent get(long sequence) {
+        return slots[(int) (sequence & mask)].event;
+    }
+
+    long claimedSequence() {
+        return claimed.get();
+    }
+
+    int size() {
+        return slots.length;
+    }
+
+    private long minimumGatingSequence() {
+        long minimum = Long.MAX_VALUE;
+        for (AtomicLong sequence : gatingSequences) {
+            minimum = Math.min(minimum, sequence.get());
+        }
+        return minimum == Long.MAX_VALUE ? claimed.get() : minimum;
+    }
+}
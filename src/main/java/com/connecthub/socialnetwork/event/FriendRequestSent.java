@@ -0,0 +1,10 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+public record FriendRequestSent(String fromUserId, String toUserId, Instant occurredAt) implements DomainEvent {
+
+    public FriendRequestSent(String fromUserId, String toUserId) {
+        this(fromUserId, toUserId, Instant.now());
+    }
+}
@@ -0,0 +1,13 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+/**
+ * Demande d'ami acceptée : requesterId a envoyé la demande, accepterId l'a acceptée
+ */
+public record FriendshipCreated(String requesterId, String accepterId, Instant occurredAt) implements DomainEvent {
+
+    public FriendshipCreated(String requesterId, String accepterId) {
+        this(requesterId, accepterId, Instant.now());
+    }
+}
@@ -0,0 +1,10 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+public record FriendshipRemoved(String userId, String friendId, Instant occurredAt) implements DomainEvent {
+
+    public FriendshipRemoved(String userId, String friendId) {
+        this(userId, friendId, Instant.now());
+    }
+}
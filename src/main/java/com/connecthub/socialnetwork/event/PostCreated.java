@@ -0,0 +1,10 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+public record PostCreated(Long postId, String authorId, Instant occurredAt) implements DomainEvent {
+
+    public PostCreated(Long postId, String authorId) {
+        this(postId, authorId, Instant.now());
+    }
+}
@@ -0,0 +1,13 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+/**
+ * Publication supprimée par son auteur (suppression logique : le nettoyage suit en arrière-plan)
+ */
+public record PostDeleted(Long postId, String authorId, Instant occurredAt) implements DomainEvent {
+
+    public PostDeleted(Long postId, String authorId) {
+        this(postId, authorId, Instant.now());
+    }
+}
@@ -0,0 +1,17 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+/**
+ * Like (liked = true) ou retrait du like (liked = false)
+ *
+ * @param likedAt date du like concerné : celui qui vient d'être posé, ou celui qui vient d'être
+ *                retiré (null pour un like antérieur à l'horodatage des likes)
+ */
+public record PostLiked(Long postId, String postAuthorId, String userId, boolean liked, Instant likedAt,
+                        Instant occurredAt) implements DomainEvent {
+
+    public PostLiked(Long postId, String postAuthorId, String userId, boolean liked, Instant likedAt) {
+        this(postId, postAuthorId, userId, liked, likedAt, Instant.now());
+    }
+}
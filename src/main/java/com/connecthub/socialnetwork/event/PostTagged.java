@@ -0,0 +1,11 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+import java.util.List;
+
+public record PostTagged(Long postId, String authorId, List<String> tags, Instant occurredAt) implements DomainEvent {
+
+    public PostTagged(Long postId, String authorId, List<String> tags) {
+        this(postId, authorId, List.copyOf(tags), Instant.now());
+    }
+}
@@ -0,0 +1,13 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+/**
+ * Consultation explicite d'une publication (ouverture de ses commentaires)
+ */
+public record PostViewed(Long postId, Instant occurredAt) implements DomainEvent {
+
+    public PostViewed(Long postId) {
+        this(postId, Instant.now());
+    }
+}
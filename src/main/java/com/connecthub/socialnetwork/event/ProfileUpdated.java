@@ -0,0 +1,10 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+public record ProfileUpdated(String userId, Instant occurredAt) implements DomainEvent {
+
+    public ProfileUpdated(String userId) {
+        this(userId, Instant.now());
+    }
+}
@@ -0,0 +1,10 @@
+package com.connecthub.socialnetwork.event;
+
+import java.time.Instant;
+
+public record UserBlocked(String userId, String blockedUserId, Instant occurredAt) implements DomainEvent {
+
+    public UserBlocked(String userId, String blockedUserId) {
+        this(userId, blockedUserId, Instant.now());
+    }
+}
@@ -0,0 +1,107 @@
+package com.connecthub.socialnetwork.event;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Attente d'un consommateur lorsque l'anneau est vide
+ * (connecthub.events.wait-strategy : blocking, sleeping, yielding, busy-spin).
+ *
+ * Du plus économe au plus réactif : blocking ne consomme aucun CPU au repos,
+ * busy-spin offre la latence la plus faible mais occupe un cœur par consommateur.
+ */
+public interface WaitStrategy {
+
+    /**
+     * Appelé en boucle tant que la séquence attendue n'est pas publiée
+     *
+     * @param attempt nombre de tentatives depuis le début de l'attente
+     */
+    void idle(int attempt) throws InterruptedException;
+
+    /**
+     * Appelé par les producteurs après chaque publication
+     */
+    void signalAll();
+
+    static WaitStrategy of(String name) {
+        return switch (name) {
+            case "busy-spin" -> new BusySpin();
+            case "yielding" -> new Yielding();
+            case "sleeping" -> new Sleeping();
+            case "blocking" -> new Blocking();
+            default -> throw new IllegalArgumentException("Stratégie d'attente inconnue : " + name);
+        };
+    }
+
+    final class BusySpin implements WaitStrategy {
+        @Override
+        public void idle(int attempt) {
+            Thread.onSpinWait();
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    final class Yielding implements WaitStrategy {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else {
+                Thread.yield();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    final class Sleeping implements WaitStrategy {
+        @Override
+        public void idle(int attempt) {
+            if (attempt < 100) {
+                Thread.onSpinWait();
+            } else if (attempt < 200) {
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(100_000);
+            }
+        }
+
+        @Override
+        public void signalAll() {
+        }
+    }
+
+    final class Blocking implements WaitStrategy {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition published = lock.newCondition();
+
+        @Override
+        public void idle(int attempt) throws InterruptedException {
+            lock.lock();
+            try {
+                // Borne l'attente : un signal émis juste avant await() ne bloque pas indéfiniment
+                published.await(10, TimeUnit.MILLISECONDS);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        @Override
+        public void signalAll() {
+            lock.lock();
+            try {
+                published.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,348 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Graphe figé pour les analyses hors ligne (influence, communautés) : les amitiés d'un
+ * GraphSnapshot (lignes non orientées) et les likes agrégés par paire d'utilisateurs, en deux
+ * lignes compressées (likes reçus : auteur -> likers, likes donnés : liker -> auteurs), chacune
+ * avec le nombre de likes. Uniquement des tableaux de primitifs, indexés par les ordinaux de
+ * l'instantané.
+ *
+ * Les calculs s'exécutent sur le ForkJoinPool fourni (ParallelRange) ; chaque sommet n'est
+ * écrit que par la tâche qui possède sa plage d'ordinaux.
+ */
+public final class AnalyticsGraph {
+
+    /**
+     * @param scores   score par ordinal, de moyenne 1 (2.0 = deux fois plus influent que la moyenne)
+     * @param residual écart L1 entre les deux dernières itérations (avant mise à l'échelle)
+     */
+    public record Ranking(double[] scores, int iterations, double residual) {
+    }
+
+    /**
+     * @param labels ordinal représentant la communauté de chaque ordinal
+     */
+    public record Communities(int[] labels, int count, int iterations) {
+    }
+
+    private static final long MIN_GRAIN = 16_384;
+    // Propagation arrêtée quand moins d'un sommet sur mille change encore de communauté
+    private static final double STABLE_FRACTION = 0.001;
+
+    private final GraphSnapshot users;
+    private final int[] friendOffsets;
+    private final int[] friends;
+    private final int[] likedByOffsets;
+    private final int[] likers;
+    private final int[] likedByCounts;
+    private final int[] likesOffsets;
+    private final int[] liked;
+    private final int[] likesCounts;
+    private final long likeCount;
+    private final long[] cost;
+
+    AnalyticsGraph(GraphSnapshot users, int[] likedByOffsets, int[] likers, int[] likedByCounts,
+                   int[] likesOffsets, int[] liked, int[] likesCounts, long likeCount) {
+        this.users = users;
+        this.friendOffsets = users.offsets();
+        this.friends = users.neighborArray();
+        this.likedByOffsets = likedByOffsets;
+        this.likers = likers;
+        this.likedByCounts = likedByCounts;
+        this.likesOffsets = likesOffsets;
+        this.liked = liked;
+        this.likesCounts = likesCounts;
+        this.likeCount = likeCount;
+
+        int size = users.size();
+        cost = new long[size + 1];
+        for (int u = 0; u < size; u++) {
+            cost[u + 1] = cost[u] + 1
+                    + (friendOffsets[u + 1] - friendOffsets[u])
+                    + (likedByOffsets[u + 1] - likedByOffsets[u])
+                    + (likesOffsets[u + 1] - likesOffsets[u]);
+        }
+    }
+
+    public int size() {
+        return users.size();
+    }
+
+    public String id(int ordinal) {
+        return users.id(ordinal);
+    }
+
+    /**
+     * Nombre de likes retenus (avant regroupement par paire)
+     */
+    public long likeCount() {
+        return likeCount;
+    }
+
+    /**
+     * Arêtes parcourues par itération : amitiés (dans les deux sens) et paires liker/auteur (idem)
+     */
+    public long edgeSlots() {
+        return cost[size()] - size();
+    }
+
+    // =========================
+    // INFLUENCE (PAGERANK)
+    // =========================
+
+    /**
+     * PageRank pondéré, calculé en tirant les contributions (chaque sommet somme celles de ses
+     * voisins : aucune écriture partagée). Une amitié transmet dans les deux sens avec un poids 1,
+     * un like transmet du liker vers l'auteur avec un poids likeWeight par like. La masse des
+     * sommets sans arête sortante est redistribuée uniformément.
+     *
+     * @param tolerance arrêt dès que l'écart L1 entre deux itérations passe sous ce seuil
+     */
+    public Ranking pageRank(ForkJoinPool pool, double damping, double likeWeight, int maxIterations,
+                            double tolerance) {
+        int n = size();
+        if (n == 0) {
+            return new Ranking(new double[0], 0, 0);
+        }
+        long grain = grain(pool);
+
+        double[] outWeight = new double[n];
+        ParallelRange.sum(pool, cost, grain, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                double given = 0;
+                for (int i = likesOffsets[u]; i < likesOffsets[u + 1]; i++) {
+                    given += likesCounts[i];
+                }
+                outWeight[u] = (friendOffsets[u + 1] - friendOffsets[u]) + likeWeight * given;
+            }
+            return 0;
+        });
+
+        double[] rank = new double[n];
+        Arrays.fill(rank, 1.0 / n);
+        double[] next = new double[n];
+        double[] share = new double[n];
+        int iterations = 0;
+        double residual = Double.MAX_VALUE;
+        while (iterations < maxIterations && residual > tolerance) {
+            double[] current = rank;
+            double dangling = ParallelRange.sum(pool, cost, grain, (from, to) -> {
+                double lost = 0;
+                for (int u = from; u < to; u++) {
+                    if (outWeight[u] > 0) {
+                        share[u] = current[u] / outWeight[u];
+                    } else {
+                        share[u] = 0;
+                        lost += current[u];
+                    }
+                }
+                return lost;
+            });
+
+            double teleport = ((1 - damping) + damping * dangling) / n;
+            double[] target = next;
+            residual = ParallelRange.sum(pool, cost, grain, (from, to) -> {
+                double delta = 0;
+                for (int v = from; v < to; v++) {
+                    double received = 0;
+                    for (int i = friendOffsets[v]; i < friendOffsets[v + 1]; i++) {
+                        received += share[friends[i]];
+                    }
+                    double fromLikes = 0;
+                    for (int i = likedByOffsets[v]; i < likedByOffsets[v + 1]; i++) {
+                        fromLikes += likedByCounts[i] * share[likers[i]];
+                    }
+                    target[v] = teleport + damping * (received + likeWeight * fromLikes);
+                    delta += Math.abs(target[v] - current[v]);
+                }
+                return delta;
+            });
+            next = current;
+            rank = target;
+            iterations++;
+        }
+
+        double[] scores = rank;
+        ParallelRange.sum(pool, cost, grain, (from, to) -> {
+            for (int u = from; u < to; u++) {
+                scores[u] *= n;
+            }
+            return 0;
+        });
+        return new Ranking(scores, iterations, residual);
+    }
+
+    // =========================
+    // COMMUNAUTÉS (PROPAGATION D'ÉTIQUETTES)
+    // =========================
+
+    /**
+     * Propagation d'étiquettes : chaque sommet part de sa propre étiquette puis adopte, à chaque
+     * passage, celle qui pèse le plus parmi ses voisins (amis : 1, likes donnés ou reçus :
+     * likeWeight par like). Mise à jour sur place : un sommet voit déjà les étiquettes choisies
+     * plus tôt dans le même passage, ce qui converge plus vite et évite les oscillations du
+     * mode synchrone. Les lectures concurrentes d'une étiquette en cours d'écriture sont sans
+     * danger (écriture atomique d'un int) : au pire, la valeur du passage précédent est lue.
+     *
+     * En cas d'égalité, l'étiquette courante est conservée, sinon le départage dépend du passage
+     * (pas toujours le plus petit ordinal, qui absorberait tout le graphe).
+     */
+    public Communities labelPropagation(ForkJoinPool pool, double likeWeight, int maxIterations) {
+        int n = size();
+        int[] labels = new int[n];
+        for (int u = 0; u < n; u++) {
+            labels[u] = u;
+        }
+        long grain = grain(pool);
+
+        int iterations = 0;
+        while (iterations < maxIterations) {
+            int round = iterations;
+            double changed = ParallelRange.sum(pool, cost, grain, (from, to) -> {
+                LabelCounter counter = new LabelCounter();
+                int moved = 0;
+                for (int v = from; v < to; v++) {
+                    counter.clear();
+                    for (int i = friendOffsets[v]; i < friendOffsets[v + 1]; i++) {
+                        counter.add(labels[friends[i]], 1);
+                    }
+                    if (likeWeight > 0) {
+                        for (int i = likedByOffsets[v]; i < likedByOffsets[v + 1]; i++) {
+                            counter.add(labels[likers[i]], likeWeight * likedByCounts[i]);
+                        }
+                        for (int i = likesOffsets[v]; i < likesOffsets[v + 1]; i++) {
+                            counter.add(labels[liked[i]], likeWeight * likesCounts[i]);
+                        }
+                    }
+                    int best = counter.best(labels[v], round);
+                    if (best != labels[v]) {
+                        labels[v] = best;
+                        moved++;
+                    }
+                }
+                return moved;
+            });
+            iterations++;
+            if (changed <= n * STABLE_FRACTION) {
+                break;
+            }
+        }
+
+        BitSet distinct = new BitSet(n);
+        for (int label : labels) {
+            distinct.set(label);
+        }
+        return new Communities(labels, distinct.cardinality(), iterations);
+    }
+
+    private long grain(ForkJoinPool pool) {
+        // Une trentaine de plages par thread : de quoi voler du travail sans multiplier les tâches
+        return Math.max(MIN_GRAIN, cost[size()] / (pool.getParallelism() * 32L));
+    }
+
+    /**
+     * Poids cumulé par étiquette parmi les voisins d'un sommet (adressage ouvert, réutilisé
+     * d'un sommet à l'autre au sein d'une plage)
+     */
+    private static final class LabelCounter {
+
+        private int[] keys = newKeys(64);
+        private double[] weights = new double[64];
+        private int[] used = new int[64];
+        private int size;
+
+        void add(int label, double weight) {
+            if ((size + 1) * 2 > keys.length) {
+                grow();
+            }
+            int slot = slot(label);
+            if (keys[slot] < 0) {
+                keys[slot] = label;
+                weights[slot] = 0;
+                used[size++] = slot;
+            }
+            weights[slot] += weight;
+        }
+
+        /**
+         * @return l'étiquette la plus lourde, current en cas d'égalité (ou sans voisin)
+         */
+        int best(int current, int round) {
+            if (size == 0) {
+                return current;
+            }
+            int best = current;
+            double bestWeight = -1;
+            for (int i = 0; i < size; i++) {
+                int slot = used[i];
+                double weight = weights[slot];
+                if (weight > bestWeight
+                        || (weight == bestWeight && tieBreak(keys[slot], round) < tieBreak(best, round))) {
+                    best = keys[slot];
+                    bestWeight = weight;
+                }
+            }
+            int currentSlot = slot(current);
+            if (keys[currentSlot] == current && weights[currentSlot] == bestWeight) {
+                return current;
+            }
+            return best;
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                keys[used[i]] = -1;
+            }
+            size = 0;
+        }
+
+        private int slot(int label) {
+            int mask = keys.length - 1;
+            int slot = mix(label) & mask;
+            while (keys[slot] >= 0 && keys[slot] != label) {
+                slot = (slot + 1) & mask;
+            }
+            return slot;
+        }
+
+        private void grow() {
+            int[] oldKeys = keys;
+            double[] oldWeights = weights;
+            int[] oldUsed = used;
+            int count = size;
+            keys = newKeys(oldKeys.length * 2);
+            weights = new double[keys.length];
+            used = new int[keys.length];
+            size = 0;
+            for (int i = 0; i < count; i++) {
+                int slot = slot(oldKeys[oldUsed[i]]);
+                keys[slot] = oldKeys[oldUsed[i]];
+                weights[slot] = oldWeights[oldUsed[i]];
+                used[size++] = slot;
+            }
+        }
+
+        private static int[] newKeys(int capacity) {
+            int[] keys = new int[capacity];
+            Arrays.fill(keys, -1);
+            return keys;
+        }
+
+        private static int tieBreak(int label, int round) {
+            return mix(label ^ (round * 0x9E3779B9));
+        }
+
+        private static int mix(int x) {
+            x ^= x >>> 16;
+            x *= 0x7FEB352D;
+            x ^= x >>> 15;
+            x *= 0x846CA68B;
+            x ^= x >>> 16;
+            return x;
+        }
+    }
+}
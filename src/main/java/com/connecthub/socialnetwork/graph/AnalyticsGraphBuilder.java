@@ -0,0 +1,100 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.util.Arrays;
+
+/**
+ * Construction d'un AnalyticsGraph : les amitiés et les ordinaux viennent d'un GraphSnapshot,
+ * les likes (auteur du like -> auteur de la publication) sont ajoutés un par un.
+ * Plusieurs likes entre deux mêmes utilisateurs deviennent une seule arête pondérée.
+ */
+public final class AnalyticsGraphBuilder {
+
+    private final GraphSnapshot users;
+
+    // Likes (liker, author) stockés à plat
+    private int[] likes = new int[2048];
+    private int likeCount;
+
+    public AnalyticsGraphBuilder(GraphSnapshot users) {
+        this.users = users;
+    }
+
+    /**
+     * @return false si l'un des deux utilisateurs n'est pas dans l'instantané (like ignoré),
+     * ou s'il s'agit d'un like sur sa propre publication
+     */
+    public boolean addLike(String likerId, String authorId) {
+        int liker = users.ordinal(likerId);
+        int author = users.ordinal(authorId);
+        if (liker < 0 || author < 0 || liker == author) {
+            return false;
+        }
+        if (likeCount * 2 + 2 > likes.length) {
+            likes = Arrays.copyOf(likes, likes.length * 2);
+        }
+        likes[likeCount * 2] = liker;
+        likes[likeCount * 2 + 1] = author;
+        likeCount++;
+        return true;
+    }
+
+    public AnalyticsGraph build() {
+        int size = users.size();
+
+        // Likes reçus : ligne de l'auteur = ses likers, triés puis regroupés avec leur nombre de likes
+        int[] inOffsets = new int[size + 1];
+        for (int i = 0; i < likeCount; i++) {
+            inOffsets[likes[i * 2 + 1] + 1]++;
+        }
+        for (int u = 0; u < size; u++) {
+            inOffsets[u + 1] += inOffsets[u];
+        }
+        int[] sources = new int[likeCount];
+        int[] cursor = Arrays.copyOf(inOffsets, size);
+        for (int i = 0; i < likeCount; i++) {
+            sources[cursor[likes[i * 2 + 1]]++] = likes[i * 2];
+        }
+        likes = null;
+
+        int[] counts = new int[likeCount];
+        int write = 0;
+        for (int u = 0; u < size; u++) {
+            int start = inOffsets[u];
+            int end = inOffsets[u + 1];
+            Arrays.sort(sources, start, end);
+            inOffsets[u] = write;
+            for (int i = start; i < end; i++) {
+                if (i == start || sources[i] != sources[i - 1]) {
+                    sources[write] = sources[i];
+                    counts[write++] = 1;
+                } else {
+                    counts[write - 1]++;
+                }
+            }
+        }
+        inOffsets[size] = write;
+        sources = Arrays.copyOf(sources, write);
+        counts = Arrays.copyOf(counts, write);
+
+        // Likes donnés : transposée de la précédente, lignes triées par construction
+        int[] outOffsets = new int[size + 1];
+        for (int i = 0; i < write; i++) {
+            outOffsets[sources[i] + 1]++;
+        }
+        for (int u = 0; u < size; u++) {
+            outOffsets[u + 1] += outOffsets[u];
+        }
+        int[] targets = new int[write];
+        int[] outCounts = new int[write];
+        cursor = Arrays.copyOf(outOffsets, size);
+        for (int author = 0; author < size; author++) {
+            for (int i = inOffsets[author]; i < inOffsets[author + 1]; i++) {
+                int slot = cursor[sources[i]]++;
+                targets[slot] = author;
+                outCounts[slot] = counts[i];
+            }
+        }
+
+        return new AnalyticsGraph(users, inOffsets, sources, counts, outOffsets, targets, outCounts, likeCount);
+    }
+}
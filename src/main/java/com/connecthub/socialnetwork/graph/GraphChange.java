@@ -0,0 +1,27 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.util.List;
+
+/**
+ * Modification du graphe d'amitié, appliquée en mémoire et consignée dans le journal
+ */
+public record GraphChange(Type type, String userId, String otherUserId, List<String> interests) {
+
+    public enum Type { UPSERT_USER, REMOVE_USER, ADD_FRIENDSHIP, REMOVE_FRIENDSHIP }
+
+    public static GraphChange upsertUser(String userId, List<String> interests) {
+        return new GraphChange(Type.UPSERT_USER, userId, null, List.copyOf(interests));
+    }
+
+    public static GraphChange removeUser(String userId) {
+        return new GraphChange(Type.REMOVE_USER, userId, null, List.of());
+    }
+
+    public static GraphChange addFriendship(String userId, String otherUserId) {
+        return new GraphChange(Type.ADD_FRIENDSHIP, userId, otherUserId, List.of());
+    }
+
+    public static GraphChange removeFriendship(String userId, String otherUserId) {
+        return new GraphChange(Type.REMOVE_FRIENDSHIP, userId, otherUserId, List.of());
+    }
+}
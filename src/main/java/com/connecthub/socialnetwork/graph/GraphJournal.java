@@ -0,0 +1,179 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Journal des modifications du graphe postérieures au dernier instantané.
+ *
+ * Le journal est découpé en segments "journal-&lt;première séquence&gt;.bin", en ajout seul.
+ * Un instantané ouvre un nouveau segment ; une fois l'instantané écrit, les segments
+ * qu'il couvre sont supprimés. Au démarrage, les entrées de séquence supérieure à celle
+ * de l'instantané sont rejouées ; une entrée tronquée en fin de segment (arrêt brutal)
+ * est ignorée.
+ */
+public final class GraphJournal implements Closeable {
+
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".bin";
+
+    private final Path directory;
+    private DataOutputStream out;
+    private long nextSequence;
+
+    public GraphJournal(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Ouvre un nouveau segment ; la prochaine entrée portera la séquence indiquée
+     */
+    public synchronized void open(long nextSequence) throws IOException {
+        close();
+        Files.createDirectories(directory);
+        this.nextSequence = nextSequence;
+        Path segment = segmentPath(directory, nextSequence);
+        out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(segment,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+    }
+
+    /**
+     * Ajoute une entrée (mise en tampon, voir {@link #flush})
+     *
+     * @return séquence attribuée
+     */
+    public synchronized long append(GraphChange change) throws IOException {
+        long sequence = nextSequence++;
+        out.writeLong(sequence);
+        out.writeByte(change.type().ordinal());
+        out.writeUTF(change.userId());
+        out.writeUTF(change.otherUserId() == null ? "" : change.otherUserId());
+        out.writeShort(change.interests().size());
+        for (String interest : change.interests()) {
+            out.writeUTF(interest);
+        }
+        return sequence;
+    }
+
+    public Path directory() {
+        return directory;
+    }
+
+    public synchronized void flush() throws IOException {
+        if (out != null) {
+            out.flush();
+        }
+    }
+
+    /**
+     * Dernière séquence attribuée
+     */
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    /**
+     * Supprime les segments dont toutes les entrées sont incluses dans un instantané (séquence &lt;= upTo)
+     */
+    public synchronized void deleteSegmentsUpTo(long upTo) throws IOException {
+        List<Long> starts = segmentStarts(directory);
+        for (int i = 0; i < starts.size() - 1; i++) {
+            // Le segment i couvre [starts[i], starts[i+1] - 1]
+            if (starts.get(i + 1) - 1 <= upTo) {
+                Files.deleteIfExists(segmentPath(directory, starts.get(i)));
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (out != null) {
+            out.close();
+            out = null;
+        }
+    }
+
+    /**
+     * Rejoue, dans l'ordre, les entrées de séquence strictement supérieure à after
+     *
+     * @return dernière séquence lue (after si rien à rejouer)
+     */
+    public static long replay(Path directory, long after, Consumer<GraphChange> consumer) throws IOException {
+        long last = after;
+        if (!Files.isDirectory(directory)) {
+            return last;
+        }
+        GraphChange.Type[] types = GraphChange.Type.values();
+        for (long start : segmentStarts(directory)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(segmentPath(directory, start))))) {
+                while (true) {
+                    long sequence;
+                    GraphChange change;
+                    try {
+                        sequence = in.readLong();
+                        GraphChange.Type type = types[in.readUnsignedByte()];
+                        String userId = in.readUTF();
+                        String other = in.readUTF();
+                        int count = in.readUnsignedShort();
+                        List<String> interests = new ArrayList<>(count);
+                        for (int i = 0; i < count; i++) {
+                            interests.add(in.readUTF());
+                        }
+                        change = new GraphChange(type, userId, other.isEmpty() ? null : other, interests);
+                    } catch (EOFException truncated) {
+                        break;
+                    }
+                    if (sequence > after) {
+                        consumer.accept(change);
+                        last = Math.max(last, sequence);
+                    }
+                }
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Première séquence du segment le plus récent (0 si aucun segment)
+     */
+    public static long lastSegmentStart(Path directory) throws IOException {
+        List<Long> starts = segmentStarts(directory);
+        return starts.isEmpty() ? 0 : starts.get(starts.size() - 1);
+    }
+
+    private static List<Long> segmentStarts(Path directory) throws IOException {
+        List<Long> starts = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return starts;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : stream) {
+                String name = path.getFileName().toString();
+                try {
+                    starts.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length())));
+                } catch (NumberFormatException ignored) {
+                    // fichier étranger au journal
+                }
+            }
+        }
+        starts.sort(null);
+        return starts;
+    }
+
+    private static Path segmentPath(Path directory, long start) {
+        return directory.resolve(PREFIX + String.format("%019d", start) + SUFFIX);
+    }
+}
@@ -0,0 +1,165 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Graphe d'amitié immuable au format CSR (compressed sparse row).
+ *
+ * Les utilisateurs sont numérotés par ordinal (0..size-1) dans l'ordre de leur identifiant
+ * UUID ; le dictionnaire ordinal -> id tient dans deux tableaux de long (16 octets par
+ * utilisateur). Les voisins de l'ordinal u occupent neighbors[offsets[u] .. offsets[u+1]),
+ * triés : l'adjacence d'un million d'utilisateurs tient dans quelques tableaux primitifs.
+ * Les centres d'intérêt sont un masque de bits par utilisateur (words longs chacun).
+ */
+public final class GraphSnapshot {
+
+    private final long[] idHigh;
+    private final long[] idLow;
+    private final int[] offsets;
+    private final int[] neighbors;
+    private final List<String> interests;
+    private final int words;
+    private final long[] interestMasks;
+    private final long journalSequence;
+    private final Instant createdAt;
+
+    GraphSnapshot(long[] idHigh, long[] idLow, int[] offsets, int[] neighbors, List<String> interests,
+                  long[] interestMasks, long journalSequence, Instant createdAt) {
+        this.idHigh = idHigh;
+        this.idLow = idLow;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.interests = List.copyOf(interests);
+        this.words = wordsFor(interests.size());
+        this.interestMasks = interestMasks;
+        this.journalSequence = journalSequence;
+        this.createdAt = createdAt;
+    }
+
+    static GraphSnapshot empty() {
+        return new GraphSnapshot(new long[0], new long[0], new int[1], new int[0], List.of(), new long[0],
+                0, Instant.now());
+    }
+
+    static int wordsFor(int interestCount) {
+        return Math.max(1, (interestCount + 63) >>> 6);
+    }
+
+    public int size() {
+        return idHigh.length;
+    }
+
+    public int edgeSlots() {
+        return neighbors.length;
+    }
+
+    /**
+     * Séquence du journal déjà incluse dans cet instantané
+     */
+    public long journalSequence() {
+        return journalSequence;
+    }
+
+    public Instant createdAt() {
+        return createdAt;
+    }
+
+    /**
+     * Ordinal d'un utilisateur, ou -1 s'il n'est pas dans l'instantané
+     */
+    public int ordinal(String id) {
+        UUID uuid = parse(id);
+        return uuid == null ? -1 : ordinal(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    int ordinal(long high, long low) {
+        int lo = 0;
+        int hi = idHigh.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = compare(idHigh[mid], idLow[mid], high, low);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public String id(int ordinal) {
+        return new UUID(idHigh[ordinal], idLow[ordinal]).toString();
+    }
+
+    public int degree(int ordinal) {
+        return offsets[ordinal + 1] - offsets[ordinal];
+    }
+
+    /**
+     * Voisins triés (copie)
+     */
+    public int[] neighbors(int ordinal) {
+        return Arrays.copyOfRange(neighbors, offsets[ordinal], offsets[ordinal + 1]);
+    }
+
+    public boolean hasEdge(int a, int b) {
+        return Arrays.binarySearch(neighbors, offsets[a], offsets[a + 1], b) >= 0;
+    }
+
+    public List<String> interests() {
+        return interests;
+    }
+
+    /**
+     * Masque des centres d'intérêt (copie de words longs ; bit i = interests().get(i))
+     */
+    public long[] interestMask(int ordinal) {
+        return Arrays.copyOfRange(interestMasks, ordinal * words, (ordinal + 1) * words);
+    }
+
+    // Accès directs pour les parcours (lecture seule)
+    int[] offsets() {
+        return offsets;
+    }
+
+    int[] neighborArray() {
+        return neighbors;
+    }
+
+    long idHigh(int ordinal) {
+        return idHigh[ordinal];
+    }
+
+    long idLow(int ordinal) {
+        return idLow[ordinal];
+    }
+
+    int words() {
+        return words;
+    }
+
+    long[] interestMasks() {
+        return interestMasks;
+    }
+
+    static int compare(long highA, long lowA, long highB, long lowB) {
+        int cmp = Long.compare(highA, highB);
+        return cmp != 0 ? cmp : Long.compare(lowA, lowB);
+    }
+
+    static UUID parse(String id) {
+        if (id == null) {
+            return null;
+        }
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
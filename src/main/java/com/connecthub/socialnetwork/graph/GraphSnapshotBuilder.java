@@ -0,0 +1,203 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Construction d'un GraphSnapshot en deux temps : les utilisateurs d'abord
+ * ({@link #addUser}, puis {@link #freezeUsers} qui fixe les ordinaux), les amitiés ensuite.
+ * Les arêtes sont non orientées, les doublons et boucles sont ignorés.
+ */
+public final class GraphSnapshotBuilder {
+
+    private long[] high = new long[1024];
+    private long[] low = new long[1024];
+    private final List<Collection<String>> userInterests = new ArrayList<>();
+    private int userCount;
+
+    private final List<String> interests = new ArrayList<>();
+    private final Map<String, Integer> interestIndex = new HashMap<>();
+
+    private boolean frozen;
+    private long[] sortedHigh;
+    private long[] sortedLow;
+    private long[] masks;
+
+    // Arêtes (a, b) stockées à plat, une seule fois par paire
+    private int[] edges = new int[2048];
+    private int edgeCount;
+
+    /**
+     * @return false si l'identifiant n'est pas un UUID (utilisateur ignoré)
+     */
+    public boolean addUser(String id, Collection<String> userInterestNames) {
+        UUID uuid = GraphSnapshot.parse(id);
+        if (uuid == null) {
+            return false;
+        }
+        addUser(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), userInterestNames);
+        return true;
+    }
+
+    void addUser(long idHigh, long idLow, Collection<String> userInterestNames) {
+        if (frozen) {
+            throw new IllegalStateException("Utilisateurs déjà figés par freezeUsers()");
+        }
+        if (userCount == high.length) {
+            high = Arrays.copyOf(high, userCount * 2);
+            low = Arrays.copyOf(low, userCount * 2);
+        }
+        high[userCount] = idHigh;
+        low[userCount] = idLow;
+        userInterests.add(userInterestNames == null ? List.of() : userInterestNames);
+        userCount++;
+    }
+
+    /**
+     * Trie le dictionnaire des identifiants : les ordinaux sont fixés à partir d'ici
+     */
+    public void freezeUsers() {
+        Integer[] order = new Integer[userCount];
+        for (int i = 0; i < userCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> GraphSnapshot.compare(high[a], low[a], high[b], low[b]));
+
+        for (Collection<String> names : userInterests) {
+            for (String name : names) {
+                interestIndex.computeIfAbsent(name, key -> {
+                    interests.add(key);
+                    return interests.size() - 1;
+                });
+            }
+        }
+        int words = GraphSnapshot.wordsFor(interests.size());
+
+        // Doublons éventuels : seule la première occurrence est conservée
+        sortedHigh = new long[userCount];
+        sortedLow = new long[userCount];
+        masks = new long[userCount * words];
+        int size = 0;
+        for (int i = 0; i < userCount; i++) {
+            int source = order[i];
+            if (size > 0 && sortedHigh[size - 1] == high[source] && sortedLow[size - 1] == low[source]) {
+                continue;
+            }
+            sortedHigh[size] = high[source];
+            sortedLow[size] = low[source];
+            for (String name : userInterests.get(source)) {
+                int bit = interestIndex.get(name);
+                masks[size * words + (bit >>> 6)] |= 1L << (bit & 63);
+            }
+            size++;
+        }
+        sortedHigh = Arrays.copyOf(sortedHigh, size);
+        sortedLow = Arrays.copyOf(sortedLow, size);
+        masks = Arrays.copyOf(masks, size * words);
+        userInterests.clear();
+        high = null;
+        low = null;
+        frozen = true;
+    }
+
+    /**
+     * Ordinal attribué à un identifiant (après freezeUsers), -1 si inconnu
+     */
+    public int ordinal(String id) {
+        UUID uuid = GraphSnapshot.parse(id);
+        return uuid == null ? -1 : ordinal(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+    }
+
+    int ordinal(long idHigh, long idLow) {
+        checkFrozen();
+        int lo = 0;
+        int hi = sortedHigh.length - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int cmp = GraphSnapshot.compare(sortedHigh[mid], sortedLow[mid], idHigh, idLow);
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    public void addEdge(String a, String b) {
+        addEdge(ordinal(a), ordinal(b));
+    }
+
+    /**
+     * Arête entre deux ordinaux (ignorée si l'un est inconnu)
+     */
+    public void addEdge(int a, int b) {
+        checkFrozen();
+        if (a < 0 || b < 0 || a == b) {
+            return;
+        }
+        if (edgeCount * 2 + 2 > edges.length) {
+            edges = Arrays.copyOf(edges, edges.length * 2);
+        }
+        edges[edgeCount * 2] = a;
+        edges[edgeCount * 2 + 1] = b;
+        edgeCount++;
+    }
+
+    public GraphSnapshot build(long journalSequence) {
+        checkFrozen();
+        int size = sortedHigh.length;
+
+        // Tri par dénombrement : degré de chaque sommet, puis placement des deux extrémités
+        int[] offsets = new int[size + 1];
+        for (int i = 0; i < edgeCount; i++) {
+            offsets[edges[i * 2] + 1]++;
+            offsets[edges[i * 2 + 1] + 1]++;
+        }
+        for (int u = 0; u < size; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int[] neighbors = new int[offsets[size]];
+        int[] cursor = Arrays.copyOf(offsets, size);
+        for (int i = 0; i < edgeCount; i++) {
+            int a = edges[i * 2];
+            int b = edges[i * 2 + 1];
+            neighbors[cursor[a]++] = b;
+            neighbors[cursor[b]++] = a;
+        }
+        edges = null;
+
+        // Lignes triées et dédoublonnées (une amitié peut exister dans les deux sens dans Neo4j)
+        int[] compactOffsets = new int[size + 1];
+        int write = 0;
+        for (int u = 0; u < size; u++) {
+            int start = offsets[u];
+            int end = offsets[u + 1];
+            Arrays.sort(neighbors, start, end);
+            compactOffsets[u] = write;
+            for (int i = start; i < end; i++) {
+                if (i == start || neighbors[i] != neighbors[i - 1]) {
+                    neighbors[write++] = neighbors[i];
+                }
+            }
+        }
+        compactOffsets[size] = write;
+
+        return new GraphSnapshot(sortedHigh, sortedLow, compactOffsets, Arrays.copyOf(neighbors, write),
+                interests, masks, journalSequence, Instant.now());
+    }
+
+    private void checkFrozen() {
+        if (!frozen) {
+            throw new IllegalStateException("freezeUsers() doit être appelé avant d'ajouter des amitiés");
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Fichier binaire d'un GraphSnapshot.
+ *
+ * Format (big-endian, version 1) :
+ * <pre>
+ *   int    magic "CHGS"         int    version
+ *   long   séquence du journal  long   date (epoch ms)
+ *   int    utilisateurs (n)     int    cases d'adjacence (m)     int    centres d'intérêt (k)
+ *   k x    (short longueur, UTF-8)                   dictionnaire des centres d'intérêt
+ *   n x    (long, long)                              dictionnaire ordinal -> UUID, trié
+ *   n x w  long                                      masques d'intérêts (w = ceil(k / 64))
+ *   n x    (varint degré, varint écarts)             adjacence triée, encodée en écarts
+ *   int    CRC32 de tout ce qui précède
+ * </pre>
+ * Les écarts entre voisins triés sont petits : un varint d'un ou deux octets remplace
+ * la plupart des entiers de quatre octets.
+ */
+public final class GraphSnapshotFile {
+
+    static final int MAGIC = 0x43484753; // "CHGS"
+    static final int VERSION = 1;
+
+    private GraphSnapshotFile() {
+    }
+
+    /**
+     * Écrit l'instantané dans un fichier temporaire puis le renomme (jamais de fichier partiel)
+     */
+    public static void write(GraphSnapshot snapshot, Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        CRC32 crc = new CRC32();
+        try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16), crc))) {
+            int size = snapshot.size();
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeLong(snapshot.journalSequence());
+            out.writeLong(snapshot.createdAt().toEpochMilli());
+            out.writeInt(size);
+            out.writeInt(snapshot.edgeSlots());
+            out.writeInt(snapshot.interests().size());
+            for (String interest : snapshot.interests()) {
+                byte[] bytes = interest.getBytes(StandardCharsets.UTF_8);
+                out.writeShort(bytes.length);
+                out.write(bytes);
+            }
+            for (int u = 0; u < size; u++) {
+                out.writeLong(snapshot.idHigh(u));
+                out.writeLong(snapshot.idLow(u));
+            }
+            for (long mask : snapshot.interestMasks()) {
+                out.writeLong(mask);
+            }
+            int[] offsets = snapshot.offsets();
+            int[] neighbors = snapshot.neighborArray();
+            for (int u = 0; u < size; u++) {
+                writeVarint(out, offsets[u + 1] - offsets[u]);
+                int previous = 0;
+                for (int i = offsets[u]; i < offsets[u + 1]; i++) {
+                    writeVarint(out, neighbors[i] - previous);
+                    previous = neighbors[i];
+                }
+            }
+            out.flush();
+            // Le CRC n'entre pas dans son propre calcul
+            int checksum = (int) crc.getValue();
+            out.writeInt(checksum);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Charge un instantané via un mapping mémoire du fichier (pas de copie dans un tampon Java)
+     *
+     * @throws IOException fichier absent, tronqué, corrompu ou d'une autre version
+     */
+    public static GraphSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (length < 40 || length > Integer.MAX_VALUE) {
+                throw new IOException("Taille d'instantané invalide : " + length);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+
+            CRC32 crc = new CRC32();
+            ByteBuffer body = buffer.duplicate().limit((int) length - 4);
+            crc.update(body);
+            if ((int) crc.getValue() != buffer.getInt((int) length - 4)) {
+                throw new IOException("Instantané corrompu (CRC)");
+            }
+
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Fichier d'instantané inconnu");
+            }
+            int version = buffer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Version d'instantané non prise en charge : " + version);
+            }
+            long journalSequence = buffer.getLong();
+            Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+            int size = buffer.getInt();
+            int edgeSlots = buffer.getInt();
+            int interestCount = buffer.getInt();
+
+            List<String> interests = new ArrayList<>(interestCount);
+            for (int i = 0; i < interestCount; i++) {
+                byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(bytes);
+                interests.add(new String(bytes, StandardCharsets.UTF_8));
+            }
+
+            long[] idHigh = new long[size];
+            long[] idLow = new long[size];
+            for (int u = 0; u < size; u++) {
+                idHigh[u] = buffer.getLong();
+                idLow[u] = buffer.getLong();
+            }
+            long[] masks = new long[size * GraphSnapshot.wordsFor(interestCount)];
+            buffer.asLongBuffer().get(masks);
+            buffer.position(buffer.position() + masks.length * Long.BYTES);
+
+            int[] offsets = new int[size + 1];
+            int[] neighbors = new int[edgeSlots];
+            int slot = 0;
+            for (int u = 0; u < size; u++) {
+                offsets[u] = slot;
+                int degree = readVarint(buffer);
+                int previous = 0;
+                for (int i = 0; i < degree; i++) {
+                    previous += readVarint(buffer);
+                    neighbors[slot++] = previous;
+                }
+            }
+            offsets[size] = slot;
+            if (slot != edgeSlots) {
+                throw new IOException("Adjacence incohérente dans l'instantané");
+            }
+            return new GraphSnapshot(idHigh, idLow, offsets, neighbors, interests, masks, journalSequence, createdAt);
+        } catch (RuntimeException e) {
+            // BufferUnderflowException, IndexOutOfBounds... : fichier tronqué
+            throw new IOException("Instantané illisible : " + e.getMessage(), e);
+        }
+    }
+
+    private static void writeVarint(DataOutputStream out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static int readVarint(ByteBuffer buffer) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,68 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Traitement parallèle des ordinaux [from, to) sur un ForkJoinPool, avec somme des résultats
+ * partiels (résidu, masse perdue, nombre de changements).
+ *
+ * La plage est coupée en deux moitiés de même coût (cost[o] = coût cumulé des ordinaux avant o,
+ * sommets et arêtes) tant que ce coût dépasse grain : une ligne de hub compte pour ce qu'elle
+ * pèse. Une moitié est confiée à la file du thread courant, où les threads inoccupés viennent
+ * la voler.
+ */
+final class ParallelRange extends RecursiveTask<Double> {
+
+    interface Body {
+        double run(int from, int to);
+    }
+
+    private final long[] cost;
+    private final long grain;
+    private final Body body;
+    private final int from;
+    private final int to;
+
+    private ParallelRange(long[] cost, long grain, Body body, int from, int to) {
+        this.cost = cost;
+        this.grain = grain;
+        this.body = body;
+        this.from = from;
+        this.to = to;
+    }
+
+    static double sum(ForkJoinPool pool, long[] cost, long grain, Body body) {
+        return pool.invoke(new ParallelRange(cost, grain, body, 0, cost.length - 1));
+    }
+
+    @Override
+    protected Double compute() {
+        if (to - from <= 1 || cost[to] - cost[from] <= grain) {
+            return body.run(from, to);
+        }
+        int mid = split();
+        ParallelRange right = new ParallelRange(cost, grain, body, mid, to);
+        right.fork();
+        double left = new ParallelRange(cost, grain, body, from, mid).compute();
+        return left + right.join();
+    }
+
+    /**
+     * Premier ordinal dont le coût cumulé atteint la moitié de la plage, dans ]from, to[
+     */
+    private int split() {
+        long half = cost[from] + (cost[to] - cost[from]) / 2;
+        int lo = from + 1;
+        int hi = to - 1;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (cost[mid] < half) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+}
@@ -0,0 +1,156 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.util.Arrays;
+import java.util.function.IntFunction;
+
+/**
+ * Parcours en largeur bidirectionnel sur les ordinaux du graphe d'amitié.
+ *
+ * À chaque niveau, le côté dont la frontière est la plus petite est étendu ; le premier nœud
+ * atteint par les deux côtés donne un plus court chemin. Les tampons (marques, parents, files)
+ * sont conservés d'une recherche à l'autre : une marque vaut le numéro de la recherche en cours,
+ * rien n'est remis à zéro ni alloué tant que le graphe ne grandit pas.
+ *
+ * Une instance sert une seule recherche à la fois (SocialGraph en garde un petit stock).
+ */
+final class PathSearch {
+
+    private static final int[] EMPTY = new int[0];
+
+    private final class Side {
+
+        private int[] seen = EMPTY;
+        private int[] parent = EMPTY;
+        private int[] queue = EMPTY;
+        // Niveau courant : queue[head, end) ; niveau suivant : queue[end, tail)
+        private int head;
+        private int end;
+        private int tail;
+        private int depth;
+
+        private void reset(int size, int root) {
+            if (seen.length < size) {
+                int capacity = Math.max(size, seen.length + (seen.length >> 1));
+                seen = new int[capacity];
+                parent = new int[capacity];
+                queue = new int[capacity];
+            }
+            seen[root] = stamp;
+            parent[root] = -1;
+            queue[0] = root;
+            head = 0;
+            end = 1;
+            tail = 1;
+            depth = 0;
+        }
+
+        private int frontier() {
+            return end - head;
+        }
+    }
+
+    private final Side forward = new Side();
+    private final Side backward = new Side();
+    private int stamp;
+
+    /**
+     * @param offsets  lignes de l'instantané : voisins de o dans neighbors[offsets[o], offsets[o + 1])
+     * @param baseSize nombre d'ordinaux de l'instantané
+     * @param overlay  ligne modifiée depuis l'instantané, ou null
+     * @param size     nombre total d'ordinaux
+     * @return les ordinaux du chemin, extrémités comprises, ou null au-delà de maxDepth relations
+     */
+    int[] run(int[] offsets, int[] neighbors, int baseSize, IntFunction<int[]> overlay, int size,
+              int source, int target, int maxDepth) {
+        if (source == target) {
+            return new int[]{source};
+        }
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(forward.seen, 0);
+            Arrays.fill(backward.seen, 0);
+            stamp = 1;
+        }
+        forward.reset(size, source);
+        backward.reset(size, target);
+
+        while (forward.depth + backward.depth < maxDepth) {
+            Side side = forward.frontier() <= backward.frontier() ? forward : backward;
+            Side other = side == forward ? backward : forward;
+            int meet = expand(side, other, offsets, neighbors, baseSize, overlay);
+            if (meet >= 0) {
+                return path(meet);
+            }
+            if (side.frontier() == 0) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Étend le niveau courant d'un côté
+     *
+     * @return le nœud de rencontre, ou -1
+     */
+    private int expand(Side side, Side other, int[] offsets, int[] neighbors, int baseSize,
+                       IntFunction<int[]> overlay) {
+        for (int i = side.head; i < side.end; i++) {
+            int u = side.queue[i];
+            int[] row = overlay.apply(u);
+            if (row != null) {
+                for (int n : row) {
+                    if (visit(side, other, u, n)) {
+                        return n;
+                    }
+                }
+            } else if (u < baseSize) {
+                for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                    if (visit(side, other, u, neighbors[k])) {
+                        return neighbors[k];
+                    }
+                }
+            }
+        }
+        side.head = side.end;
+        side.end = side.tail;
+        side.depth++;
+        return -1;
+    }
+
+    /**
+     * @return true si n a déjà été atteint par l'autre côté
+     */
+    private boolean visit(Side side, Side other, int u, int n) {
+        if (side.seen[n] == stamp) {
+            return false;
+        }
+        side.seen[n] = stamp;
+        side.parent[n] = u;
+        if (other.seen[n] == stamp) {
+            return true;
+        }
+        side.queue[side.tail++] = n;
+        return false;
+    }
+
+    private int[] path(int meet) {
+        int before = 0;
+        for (int o = meet; o >= 0; o = forward.parent[o]) {
+            before++;
+        }
+        int after = 0;
+        for (int o = backward.parent[meet]; o >= 0; o = backward.parent[o]) {
+            after++;
+        }
+        int[] path = new int[before + after];
+        int i = before - 1;
+        for (int o = meet; o >= 0; o = forward.parent[o]) {
+            path[i--] = o;
+        }
+        i = before;
+        for (int o = backward.parent[meet]; o >= 0; o = backward.parent[o]) {
+            path[i++] = o;
+        }
+        return path;
+    }
+}
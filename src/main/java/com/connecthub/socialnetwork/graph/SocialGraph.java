@@ -0,0 +1,564 @@
+package com.connecthub.socialnetwork.graph;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.IntFunction;
+
+/**
+ * Graphe d'amitié vivant : un instantané immuable (GraphSnapshot) plus les modifications
+ * appliquées depuis, chacune consignée dans le journal avant d'être visible.
+ *
+ * Les modifications ne touchent pas l'instantané : les lignes d'adjacence modifiées sont
+ * recopiées dans une surcouche (ordinal -> voisins triés), les nouveaux utilisateurs reçoivent
+ * des ordinaux à partir de base.size(). {@link #checkpoint} fusionne le tout dans un nouvel
+ * instantané, l'écrit sur disque et purge le journal.
+ *
+ * Lectures concurrentes, écritures sérialisées (ReentrantReadWriteLock).
+ */
+public final class SocialGraph {
+
+    private static final int[] NO_NEIGHBORS = new int[0];
+
+    private final Path snapshotFile;
+    private final GraphJournal journal;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private GraphSnapshot base;
+    private final Map<String, Integer> addedOrdinals = new HashMap<>();
+    private final List<String> addedIds = new ArrayList<>();
+    private final Map<Integer, int[]> rows = new HashMap<>();
+    // Ordinaux présents dans rows : test sans boxing pendant les parcours
+    private final BitSet overridden = new BitSet();
+    private final IntFunction<int[]> overlay = o -> overridden.get(o) ? rows.get(o) : null;
+    // Tampons de parcours réutilisés (au plus un par cœur, les autres sont abandonnés au GC)
+    private final BlockingQueue<PathSearch> searches =
+            new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+    private final Map<Integer, List<String>> interestOverrides = new HashMap<>();
+    private final BitSet removed = new BitSet();
+
+    private SocialGraph(Path directory, GraphSnapshot base) {
+        this.snapshotFile = directory.resolve("snapshot.bin");
+        this.journal = new GraphJournal(directory.resolve("journal"));
+        this.base = base;
+    }
+
+    /**
+     * Ouvre le graphe à partir de l'instantané du répertoire et rejoue le journal.
+     *
+     * @return null s'il n'existe pas d'instantané lisible (reconstruction nécessaire, voir {@link #create})
+     */
+    public static SocialGraph open(Path directory) throws IOException {
+        Path file = directory.resolve("snapshot.bin");
+        if (!Files.exists(file)) {
+            return null;
+        }
+        GraphSnapshot snapshot;
+        try {
+            snapshot = GraphSnapshotFile.read(file);
+        } catch (IOException e) {
+            // Fichier corrompu ou d'une autre version : reconstruction
+            return null;
+        }
+        SocialGraph graph = new SocialGraph(directory, snapshot);
+        long last = GraphJournal.replay(graph.journal.directory(), snapshot.journalSequence(), graph::applyUnlogged);
+        graph.journal.open(last + 1);
+        return graph;
+    }
+
+    /**
+     * Crée le graphe à partir d'un instantané reconstruit (depuis Neo4j), l'écrit sur disque
+     * et abandonne le journal existant
+     */
+    public static SocialGraph create(Path directory, GraphSnapshotBuilder builder) throws IOException {
+        Path journalDirectory = directory.resolve("journal");
+        // Les séquences déjà attribuées ne sont pas réutilisées
+        long last = GraphJournal.replay(journalDirectory, 0, change -> { });
+        long sequence = Math.max(last, GraphJournal.lastSegmentStart(journalDirectory) - 1);
+        GraphSnapshot snapshot = builder.build(sequence);
+        Files.createDirectories(directory);
+        GraphSnapshotFile.write(snapshot, directory.resolve("snapshot.bin"));
+
+        SocialGraph graph = new SocialGraph(directory, snapshot);
+        graph.journal.open(sequence + 1);
+        graph.journal.deleteSegmentsUpTo(sequence);
+        return graph;
+    }
+
+    // =========================
+    // LECTURE
+    // =========================
+
+    public boolean contains(String userId) {
+        lock.readLock().lock();
+        try {
+            return ordinal(userId) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public boolean areFriends(String userId, String otherUserId) {
+        lock.readLock().lock();
+        try {
+            int a = ordinal(userId);
+            int b = ordinal(otherUserId);
+            return a >= 0 && b >= 0 && Arrays.binarySearch(row(a), b) >= 0;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int degree(String userId) {
+        lock.readLock().lock();
+        try {
+            int o = ordinal(userId);
+            return o < 0 ? 0 : row(o).length;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<String> friendIds(String userId) {
+        lock.readLock().lock();
+        try {
+            int o = ordinal(userId);
+            if (o < 0) {
+                return List.of();
+            }
+            int[] neighbors = row(o);
+            List<String> ids = new ArrayList<>(neighbors.length);
+            for (int n : neighbors) {
+                ids.add(id(n));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre d'amis communs : intersection de deux lignes triées
+     */
+    public int mutualCount(String userId, String otherUserId) {
+        lock.readLock().lock();
+        try {
+            int a = ordinal(userId);
+            int b = ordinal(otherUserId);
+            if (a < 0 || b < 0) {
+                return 0;
+            }
+            int[] left = row(a);
+            int[] right = row(b);
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < left.length && j < right.length) {
+                if (left[i] < right[j]) {
+                    i++;
+                } else if (left[i] > right[j]) {
+                    j++;
+                } else {
+                    count++;
+                    i++;
+                    j++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Plus court chemin d'amitié entre deux utilisateurs, extrémités comprises (parcours en
+     * largeur bidirectionnel, voir PathSearch)
+     *
+     * @return liste vide si aucun chemin d'au plus maxDepth relations
+     */
+    public List<String> shortestPath(String userId, String otherUserId, int maxDepth) {
+        PathSearch search = searches.poll();
+        if (search == null) {
+            search = new PathSearch();
+        }
+        lock.readLock().lock();
+        try {
+            int a = ordinal(userId);
+            int b = ordinal(otherUserId);
+            if (a < 0 || b < 0) {
+                return List.of();
+            }
+            int[] path = search.run(base.offsets(), base.neighborArray(), base.size(), overlay,
+                    base.size() + addedIds.size(), a, b, maxDepth);
+            if (path == null) {
+                return List.of();
+            }
+            List<String> ids = new ArrayList<>(path.length);
+            for (int o : path) {
+                ids.add(id(o));
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+            searches.offer(search);
+        }
+    }
+
+    public List<String> interests(String userId) {
+        lock.readLock().lock();
+        try {
+            int o = ordinal(userId);
+            return o < 0 ? List.of() : interestsOf(o);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return base.size() + addedIds.size() - removed.cardinality();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Nombre d'amitiés (chaque amitié figure dans les deux lignes), pour la comparaison avec Neo4j
+     */
+    public long friendshipCount() {
+        lock.readLock().lock();
+        try {
+            long slots = 0;
+            int total = base.size() + addedIds.size();
+            for (int o = 0; o < total; o++) {
+                if (removed.get(o)) {
+                    continue;
+                }
+                if (overridden.get(o)) {
+                    slots += rows.get(o).length;
+                } else if (o < base.size()) {
+                    slots += base.degree(o);
+                }
+            }
+            return slots / 2;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // =========================
+    // ÉCRITURE
+    // =========================
+
+    /**
+     * Consigne la modification dans le journal puis l'applique
+     */
+    public void apply(GraphChange change) throws IOException {
+        lock.writeLock().lock();
+        try {
+            journal.append(change);
+            applyUnlogged(change);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Pousse le journal vers le système de fichiers (appelé après chaque lot d'événements)
+     */
+    public void flush() throws IOException {
+        journal.flush();
+    }
+
+    /**
+     * Fusionne l'état courant dans un nouvel instantané, l'écrit sur disque et purge le journal.
+     * Les écritures ne sont bloquées ni pendant la fusion ni pendant l'écriture du fichier, seulement
+     * pendant la copie de la surcouche puis le rejeu des entrées arrivées entre-temps.
+     */
+    public GraphSnapshot checkpoint() throws IOException {
+        Overlay state;
+        lock.readLock().lock();
+        try {
+            // Nouveau segment : les entrées suivantes ne sont pas dans cet instantané
+            long sequence = journal.lastSequence();
+            journal.open(sequence + 1);
+            state = copyOverlay(sequence);
+        } finally {
+            lock.readLock().unlock();
+        }
+        GraphSnapshot snapshot = state.merge();
+
+        GraphSnapshotFile.write(snapshot, snapshotFile);
+        journal.deleteSegmentsUpTo(snapshot.journalSequence());
+
+        lock.writeLock().lock();
+        try {
+            // Nouvelle base, puis les écritures arrivées pendant la fusion rejouées depuis le journal :
+            // la surcouche repart de ces seules entrées au lieu de grossir d'un checkpoint à l'autre
+            base = snapshot;
+            addedOrdinals.clear();
+            addedIds.clear();
+            rows.clear();
+            overridden.clear();
+            interestOverrides.clear();
+            removed.clear();
+            if (journal.lastSequence() > snapshot.journalSequence()) {
+                journal.flush();
+                GraphJournal.replay(journal.directory(), snapshot.journalSequence(), this::applyUnlogged);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return snapshot;
+    }
+
+    /**
+     * État courant sous forme d'instantané immuable, sans écriture sur disque (analyses hors ligne).
+     * Sans modification depuis le dernier instantané, celui-ci est renvoyé tel quel ; sinon la
+     * surcouche est copiée sous le verrou et fusionnée ensuite, sans bloquer les écritures.
+     */
+    public GraphSnapshot snapshot() {
+        Overlay state;
+        lock.readLock().lock();
+        try {
+            if (addedIds.isEmpty() && rows.isEmpty() && interestOverrides.isEmpty() && removed.isEmpty()) {
+                return base;
+            }
+            state = copyOverlay(journal.lastSequence());
+        } finally {
+            lock.readLock().unlock();
+        }
+        return state.merge();
+    }
+
+    public void close() throws IOException {
+        journal.close();
+    }
+
+    // =========================
+    // INTERNE
+    // =========================
+
+    private void applyUnlogged(GraphChange change) {
+        switch (change.type()) {
+            case UPSERT_USER -> {
+                int o = ensureOrdinal(change.userId());
+                if (o >= 0) {
+                    interestOverrides.put(o, List.copyOf(change.interests()));
+                }
+            }
+            case REMOVE_USER -> {
+                int o = ordinal(change.userId());
+                if (o >= 0) {
+                    for (int n : row(o)) {
+                        setRow(n, without(row(n), o));
+                    }
+                    setRow(o, NO_NEIGHBORS);
+                    removed.set(o);
+                }
+            }
+            case ADD_FRIENDSHIP -> {
+                int a = ensureOrdinal(change.userId());
+                int b = ensureOrdinal(change.otherUserId());
+                if (a >= 0 && b >= 0 && a != b) {
+                    setRow(a, with(row(a), b));
+                    setRow(b, with(row(b), a));
+                }
+            }
+            case REMOVE_FRIENDSHIP -> {
+                int a = ordinal(change.userId());
+                int b = ordinal(change.otherUserId());
+                if (a >= 0 && b >= 0) {
+                    setRow(a, without(row(a), b));
+                    setRow(b, without(row(b), a));
+                }
+            }
+        }
+    }
+
+    private int ordinal(String id) {
+        UUID uuid = GraphSnapshot.parse(id);
+        if (uuid == null) {
+            return -1;
+        }
+        int o = base.ordinal(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (o < 0) {
+            o = addedOrdinals.getOrDefault(uuid.toString(), -1);
+        }
+        return o >= 0 && removed.get(o) ? -1 : o;
+    }
+
+    /**
+     * Ordinal existant, ou nouvel ordinal (utilisateur inconnu ou supprimé puis recréé)
+     */
+    private int ensureOrdinal(String id) {
+        UUID uuid = GraphSnapshot.parse(id);
+        if (uuid == null) {
+            return -1;
+        }
+        String key = uuid.toString();
+        int o = base.ordinal(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits());
+        if (o < 0) {
+            o = addedOrdinals.getOrDefault(key, -1);
+        }
+        if (o >= 0 && !removed.get(o)) {
+            return o;
+        }
+        if (o >= 0) {
+            removed.clear(o);
+            interestOverrides.put(o, List.of());
+            return o;
+        }
+        o = base.size() + addedIds.size();
+        addedIds.add(key);
+        addedOrdinals.put(key, o);
+        return o;
+    }
+
+    private void setRow(int ordinal, int[] row) {
+        rows.put(ordinal, row);
+        overridden.set(ordinal);
+    }
+
+    private String id(int ordinal) {
+        return ordinal < base.size() ? base.id(ordinal) : addedIds.get(ordinal - base.size());
+    }
+
+    private int[] row(int ordinal) {
+        int[] row = rows.get(ordinal);
+        if (row != null) {
+            return row;
+        }
+        return ordinal < base.size() ? base.neighbors(ordinal) : NO_NEIGHBORS;
+    }
+
+    private List<String> interestsOf(int ordinal) {
+        return interestsOf(base, interestOverrides, ordinal);
+    }
+
+    private static List<String> interestsOf(GraphSnapshot base, Map<Integer, List<String>> interestOverrides,
+                                            int ordinal) {
+        List<String> override = interestOverrides.get(ordinal);
+        if (override != null) {
+            return override;
+        }
+        if (ordinal >= base.size()) {
+            return List.of();
+        }
+        List<String> names = new ArrayList<>();
+        long[] masks = base.interestMasks();
+        int words = base.words();
+        for (int w = 0; w < words; w++) {
+            long word = masks[ordinal * words + w];
+            while (word != 0) {
+                names.add(base.interests().get(w * 64 + Long.numberOfTrailingZeros(word)));
+                word &= word - 1;
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Copie de la surcouche, à faire sous le verrou : les lignes et les listes d'intérêts ne sont
+     * jamais modifiées sur place (with, without, List.copyOf), seules les tables sont recopiées
+     */
+    private Overlay copyOverlay(long sequence) {
+        return new Overlay(base, List.copyOf(addedIds), new HashMap<>(rows), new HashMap<>(interestOverrides),
+                (BitSet) removed.clone(), sequence);
+    }
+
+    /**
+     * Surcouche figée, fusionnée hors du verrou dans un nouvel instantané
+     */
+    private record Overlay(GraphSnapshot base, List<String> addedIds, Map<Integer, int[]> rows,
+                           Map<Integer, List<String>> interestOverrides, BitSet removed, long sequence) {
+
+        GraphSnapshot merge() {
+            int total = base.size() + addedIds.size();
+            GraphSnapshotBuilder builder = new GraphSnapshotBuilder();
+            for (int o = 0; o < total; o++) {
+                if (removed.get(o)) {
+                    continue;
+                }
+                if (o < base.size()) {
+                    builder.addUser(base.idHigh(o), base.idLow(o), interestsOf(base, interestOverrides, o));
+                } else {
+                    builder.addUser(addedIds.get(o - base.size()), interestsOf(base, interestOverrides, o));
+                }
+            }
+            builder.freezeUsers();
+
+            // Ancien ordinal -> nouvel ordinal
+            int[] remap = new int[total];
+            for (int o = 0; o < total; o++) {
+                if (removed.get(o)) {
+                    remap[o] = -1;
+                } else if (o < base.size()) {
+                    remap[o] = builder.ordinal(base.idHigh(o), base.idLow(o));
+                } else {
+                    remap[o] = builder.ordinal(addedIds.get(o - base.size()));
+                }
+            }
+            int[] offsets = base.offsets();
+            int[] neighbors = base.neighborArray();
+            for (int o = 0; o < total; o++) {
+                if (remap[o] < 0) {
+                    continue;
+                }
+                int[] row = rows.get(o);
+                if (row != null) {
+                    for (int n : row) {
+                        addOnce(builder, remap, o, n);
+                    }
+                } else if (o < base.size()) {
+                    for (int i = offsets[o]; i < offsets[o + 1]; i++) {
+                        addOnce(builder, remap, o, neighbors[i]);
+                    }
+                }
+            }
+            return builder.build(sequence);
+        }
+    }
+
+    private static void addOnce(GraphSnapshotBuilder builder, int[] remap, int from, int to) {
+        // Chaque amitié est présente dans les deux lignes : une seule suffit
+        if (from < to && remap[to] >= 0) {
+            builder.addEdge(remap[from], remap[to]);
+        }
+    }
+
+    private static int[] with(int[] row, int value) {
+        int index = Arrays.binarySearch(row, value);
+        if (index >= 0) {
+            return row;
+        }
+        int insert = -index - 1;
+        int[] copy = new int[row.length + 1];
+        System.arraycopy(row, 0, copy, 0, insert);
+        copy[insert] = value;
+        System.arraycopy(row, insert, copy, insert + 1, row.length - insert);
+        return copy;
+    }
+
+    private static int[] without(int[] row, int value) {
+        int index = Arrays.binarySearch(row, value);
+        if (index < 0) {
+            return row;
+        }
+        int[] copy = new int[row.length - 1];
+        System.arraycopy(row, 0, copy, 0, index);
+        System.arraycopy(row, index + 1, copy, index, row.length - index - 1);
+        return copy;
+    }
+}
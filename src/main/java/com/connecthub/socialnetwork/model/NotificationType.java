@@ -0,0 +1,11 @@
+package com.connecthub.socialnetwork.model;
+
+/**
+ * Types de notifications (un nœud :Notification regroupe les événements similaires)
+ */
+public enum NotificationType {
+    POST_LIKED,
+    POST_COMMENTED,
+    FRIEND_REQUEST,
+    FRIEND_ACCEPTED
+}
@@ -4,7 +4,9 @@ import lombok.*;
 import org.springframework.data.neo4j.core.schema.*;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -38,6 +40,12 @@ public class Post {
     private LocalDateTime createdAt;
     private String imageUrl; // URL de l'image optionnelle
 
+    // Suppression logique : la publication est masquée, le ContentReaper la retire du graphe
+    private LocalDateTime deletedAt;
+
+    // Variantes redimensionnées de l'image, au format srcset ("url largeurw")
+    private List<String> imageVariants = new ArrayList<>();
+
     @Relationship(type = "POSTED", direction = Relationship.Direction.INCOMING)
     private User author;
 
@@ -64,6 +72,17 @@ public class Post {
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
     public String getImageUrl() { return imageUrl; }
     public void setImageUrl(String imageUrl) { this.imageUrl = imageUrl; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
+    public List<String> getImageVariants() { return imageVariants; }
+    public void setImageVariants(List<String> imageVariants) { this.imageVariants = imageVariants; }
+
+    /**
+     * Valeur de l'attribut srcset, ou null tant que les variantes ne sont pas générées
+     */
+    public String getImageSrcset() {
+        return imageVariants == null || imageVariants.isEmpty() ? null : String.join(", ", imageVariants);
+    }
     public User getAuthor() { return author; }
     public void setAuthor(User author) { this.author = author; }
     public Set<User> getLikes() { return likes; }
@@ -7,6 +7,7 @@ import org.springframework.data.neo4j.core.schema.Relationship;
 import org.springframework.data.neo4j.core.support.UUIDStringGenerator;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.UUID;
 import java.time.LocalDateTime;
 @Node("User")
 public class User {
@@ -17,11 +18,16 @@ public class User {
 
     private String name;
     private String email;
+    // Handle de mention (@handle), unique : attribué à la création du compte
+    private String handle;
     private String password;
     private String bio;
     private LocalDateTime createdAt;
     private String profileImage;
 
+    // Compte supprimé (suppression logique) : connexion refusée, contenu retiré par le ContentReaper
+    private LocalDateTime deletedAt;
+
     // Intérêts de l'utilisateur (pour recommandations et recherche)
     private Set<String> interests = new HashSet<>();
 
@@ -30,7 +36,8 @@ public class User {
     private String instagramLink;
     private String messengerLink;
 
-    // Amis (relation bidirectionnelle)
+    // Amis : une relation par amitié, portée par l'identifiant le plus petit. Ne contient donc que
+    // les amis d'identifiant plus grand ; liste complète via UserRepository.findFriends
     @Relationship(type = "CONNECTED_TO", direction = Relationship.Direction.OUTGOING)
     private Set<User> friends = new HashSet<>();
 
@@ -61,7 +68,12 @@ public class User {
     public User() {
     }
 
+    /**
+     * Nouvel utilisateur : l'identifiant est attribué dès la création (même format que
+     * UUIDStringGenerator), le hachage ne change donc pas au premier save()
+     */
     public User(String name, String email, String password) {
+        this.id = UUID.randomUUID().toString();
         this.name = name;
         this.email = email;
         this.password = password;
@@ -75,12 +87,16 @@ public class User {
     public void setName(String name) { this.name = name; }
     public String getEmail() { return email; }
     public void setEmail(String email) { this.email = email; }
+    public String getHandle() { return handle; }
+    public void setHandle(String handle) { this.handle = handle; }
     public String getPassword() { return password; }
     public void setPassword(String password) { this.password = password; }
     public String getBio() { return bio; }
     public void setBio(String bio) { this.bio = bio; }
     public LocalDateTime getCreatedAt() { return createdAt; }
     public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+    public LocalDateTime getDeletedAt() { return deletedAt; }
+    public void setDeletedAt(LocalDateTime deletedAt) { this.deletedAt = deletedAt; }
     public String getProfileImage() { return profileImage; }
     public void setProfileImage(String profileImage) { this.profileImage = profileImage; }
     public Set<String> getInterests() { return interests; }
@@ -115,6 +131,10 @@ public class User {
                 '}';
     }
 
+    /**
+     * Égalité par identifiant, comme SDN qui recharge plusieurs instances d'un même nœud.
+     * Une instance sans identifiant n'est égale qu'à elle-même.
+     */
     @Override
     public boolean equals(Object o) {
         if (this == o)
@@ -125,8 +145,12 @@ public class User {
         return id != null && id.equals(user.id);
     }
 
+    /**
+     * Haché sur l'identifiant : les Set&lt;User&gt; (amis, demandes, bloqués, likes) restent en O(1).
+     * Sans identifiant, hachage d'identité, cohérent avec equals.
+     */
     @Override
     public int hashCode() {
-        return getClass().hashCode();
+        return id != null ? id.hashCode() : System.identityHashCode(this);
     }
 }
@@ -0,0 +1,72 @@
+package com.connecthub.socialnetwork.repository;
+
+/**
+ * Sections de l'export des données personnelles : un fichier de l'archive par section,
+ * une requête par section (paramètre $userId), lue en flux par PersonalDataReader.
+ */
+public enum ExportSection {
+
+    PROFILE("profile.json", """
+                MATCH (u:User {id: $userId})
+                RETURN u.id AS id, u.name AS name, u.email AS email, u.bio AS bio,
+                       u.createdAt AS createdAt, u.profileImage AS profileImage,
+                       coalesce(u.interests, []) AS interests,
+                       u.whatsappLink AS whatsappLink, u.instagramLink AS instagramLink,
+                       u.messengerLink AS messengerLink
+            """),
+
+    FRIENDS("friends.json", """
+                MATCH (:User {id: $userId})-[:CONNECTED_TO]-(f:User)
+                WHERE f.deletedAt IS NULL
+                RETURN DISTINCT f.id AS id, f.name AS name, f.email AS email
+            """),
+
+    POSTS("posts.json", """
+                MATCH (:User {id: $userId})-[:POSTED]->(p:Post)
+                WHERE p.deletedAt IS NULL
+                RETURN id(p) AS id, p.content AS content, p.createdAt AS createdAt,
+                       p.imageUrl AS imageUrl,
+                       size([(p)<-[:LIKED_BY]-(:User) | 1]) AS likeCount,
+                       size([(p)-[:HAS_COMMENT]->(:Comment) | 1]) AS commentCount
+                ORDER BY p.createdAt
+            """),
+
+    COMMENTS("comments.json", """
+                MATCH (:User {id: $userId})-[:COMMENTED]->(c:Comment)
+                OPTIONAL MATCH (c)-[:ON_POST]->(p:Post)
+                RETURN id(c) AS id, c.content AS content, c.createdAt AS createdAt, id(p) AS postId
+                ORDER BY c.createdAt
+            """),
+
+    LIKES("likes.json", """
+                MATCH (:User {id: $userId})-[:LIKED_BY]->(p:Post)<-[:POSTED]-(author:User)
+                WHERE p.deletedAt IS NULL
+                RETURN id(p) AS postId, author.name AS authorName, p.createdAt AS postCreatedAt
+            """),
+
+    // Images des publications : copiées dans media/ (pas de fichier JSON)
+    MEDIA(null, """
+                MATCH (:User {id: $userId})-[:POSTED]->(p:Post)
+                WHERE p.deletedAt IS NULL AND p.imageUrl IS NOT NULL
+                RETURN id(p) AS postId, p.imageUrl AS imageUrl
+            """);
+
+    private final String fileName;
+    private final String cypher;
+
+    ExportSection(String fileName, String cypher) {
+        this.fileName = fileName;
+        this.cypher = cypher;
+    }
+
+    /**
+     * Nom du fichier JSON dans l'archive (null pour MEDIA)
+     */
+    public String fileName() {
+        return fileName;
+    }
+
+    String cypher() {
+        return cypher;
+    }
+}
@@ -0,0 +1,141 @@
+package com.connecthub.socialnetwork.repository;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Lecture en flux du graphe d'amitié complet (reconstruction de l'instantané en mémoire),
+ * des blocages (BlockedPairIndex) et des likes (GraphAnalyticsService).
+ *
+ * Les enregistrements sont tirés par paquets de connecthub.graph.fetch-size : un million
+ * d'utilisateurs ne sont jamais matérialisés côté client sous forme d'entités.
+ */
+@Repository
+public class GraphSource {
+
+    private static final String USERS = """
+            MATCH (u:User)
+            WHERE u.deletedAt IS NULL
+            RETURN u.id AS id, coalesce(u.interests, []) AS interests
+            """;
+
+    // Une relation par amitié, dans le sens canonique (identifiant le plus petit vers le plus grand)
+    private static final String FRIENDSHIPS = """
+            MATCH (a:User)-[:CONNECTED_TO]->(b:User)
+            WHERE a.deletedAt IS NULL AND b.deletedAt IS NULL
+            RETURN a.id AS a, b.id AS b
+            """;
+
+    private static final String BLOCKS = """
+            MATCH (a:User)-[:BLOCKED]->(b:User)
+            RETURN a.id AS a, b.id AS b
+            """;
+
+    // Un enregistrement par like, sans agrégation côté serveur : les doublons sont regroupés
+    // par AnalyticsGraphBuilder, Neo4j se contente de suivre les relations
+    private static final String LIKES = """
+            MATCH (liker:User)-[:LIKED_BY]->(p:Post)<-[:POSTED]-(author:User)
+            WHERE p.deletedAt IS NULL AND liker.deletedAt IS NULL AND author.deletedAt IS NULL
+            RETURN liker.id AS a, author.id AS b
+            """;
+
+    // Comptes sans parcours : magasin de comptage pour les totaux, index deletedAt pour les
+    // comptes supprimés logiquement (peu nombreux, en attente du ContentReaper) et leurs amitiés
+    private static final String COUNTS = """
+            CALL { MATCH (u:User) RETURN count(u) AS users }
+            CALL { MATCH ()-[r:CONNECTED_TO]->() RETURN count(r) AS friendships }
+            CALL {
+                MATCH (d:User) WHERE d.deletedAt IS NOT NULL
+                OPTIONAL MATCH (d)-[r:CONNECTED_TO]-(:User)
+                RETURN count(DISTINCT d) AS deleted, count(DISTINCT r) AS deadFriendships
+            }
+            RETURN users - deleted AS users, friendships - deadFriendships AS friendships
+            """;
+
+    private static final String INTERESTS = """
+            MATCH (u:User {id: $userId})
+            WHERE u.deletedAt IS NULL
+            RETURN coalesce(u.interests, []) AS interests
+            """;
+
+    /**
+     * Utilisateurs non supprimés et amitiés entre eux : ce que contient une reconstruction
+     */
+    public record Counts(long users, long friendships) {
+    }
+
+    private final Driver driver;
+    private final long fetchSize;
+
+    public GraphSource(Driver driver, @Value("${connecthub.graph.fetch-size:10000}") long fetchSize) {
+        this.driver = driver;
+        this.fetchSize = fetchSize;
+    }
+
+    public void streamUsers(BiConsumer<String, List<String>> consumer) {
+        stream(USERS, Map.of(), row -> consumer.accept(row.get("id").asString(),
+                row.get("interests").asList(value -> value.asString())));
+    }
+
+    public void streamFriendships(BiConsumer<String, String> consumer) {
+        stream(FRIENDSHIPS, Map.of(), row -> consumer.accept(row.get("a").asString(), row.get("b").asString()));
+    }
+
+    /**
+     * Paires (bloqueur, bloqué), pour BlockedPairIndex
+     */
+    public void streamBlocks(BiConsumer<String, String> consumer) {
+        stream(BLOCKS, Map.of(), row -> consumer.accept(row.get("a").asString(), row.get("b").asString()));
+    }
+
+    /**
+     * Paires (auteur du like, auteur de la publication), une par like
+     */
+    public void streamLikes(BiConsumer<String, String> consumer) {
+        stream(LIKES, Map.of(), row -> consumer.accept(row.get("a").asString(), row.get("b").asString()));
+    }
+
+    public Counts counts() {
+        try (Session session = driver.session(config())) {
+            Record row = session.run(COUNTS).single();
+            return new Counts(row.get("users").asLong(), row.get("friendships").asLong());
+        }
+    }
+
+    /**
+     * @return null si l'utilisateur n'existe pas ou est supprimé
+     */
+    public List<String> findInterests(String userId) {
+        try (Session session = driver.session(config())) {
+            Result result = session.run(INTERESTS, Map.of("userId", userId));
+            return result.hasNext() ? result.next().get("interests").asList(value -> value.asString()) : null;
+        }
+    }
+
+    private void stream(String cypher, Map<String, Object> parameters, Consumer<Record> consumer) {
+        try (Session session = driver.session(config())) {
+            Result result = session.run(cypher, parameters);
+            while (result.hasNext()) {
+                consumer.accept(result.next());
+            }
+        }
+    }
+
+    private SessionConfig config() {
+        return SessionConfig.builder()
+                .withDefaultAccessMode(AccessMode.READ)
+                .withFetchSize(fetchSize)
+                .build();
+    }
+}
@@ -0,0 +1,23 @@
+package com.connecthub.socialnetwork.repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Likes horodatés : (:User)-[:LIKED_BY {likedAt}]->(:Post).
+ * Fragment de PostRepository.
+ */
+public interface LikeRepository {
+
+    /**
+     * Pose le like s'il n'existe pas déjà (la date d'un like existant est conservée)
+     */
+    void addLike(Long postId, String userId, LocalDateTime likedAt);
+
+    /**
+     * Retire le like
+     *
+     * @return date du like retiré ; vide si aucun like, ou like antérieur à l'horodatage
+     */
+    Optional<LocalDateTime> removeLike(Long postId, String userId);
+}
@@ -0,0 +1,47 @@
+package com.connecthub.socialnetwork.repository;
+
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implémentation du fragment LikeRepository via Neo4jClient
+ */
+class LikeRepositoryImpl implements LikeRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    LikeRepositoryImpl(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public void addLike(Long postId, String userId, LocalDateTime likedAt) {
+        neo4jClient.query("""
+                    MATCH (u:User {id: $userId}), (p:Post)
+                    WHERE id(p) = $postId
+                    MERGE (u)-[r:LIKED_BY]->(p)
+                    ON CREATE SET r.likedAt = $likedAt
+                """)
+                .bindAll(Map.of("postId", postId, "userId", userId, "likedAt", likedAt))
+                .run();
+    }
+
+    @Override
+    public Optional<LocalDateTime> removeLike(Long postId, String userId) {
+        return neo4jClient.query("""
+                    MATCH (:User {id: $userId})-[r:LIKED_BY]->(p:Post)
+                    WHERE id(p) = $postId
+                    WITH r, r.likedAt AS likedAt
+                    DELETE r
+                    RETURN likedAt
+                """)
+                .bindAll(Map.of("postId", postId, "userId", userId))
+                .fetchAs(LocalDateTime.class)
+                .mappedBy((typeSystem, record) -> record.get("likedAt").isNull() ? null
+                        : record.get("likedAt").asLocalDateTime())
+                .first();
+    }
+}
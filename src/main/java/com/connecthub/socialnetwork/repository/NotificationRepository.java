@@ -0,0 +1,37 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.NotificationView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Boîte de notifications par utilisateur : (:User)-[:HAS_NOTIFICATION]->(:Notification).
+ * Fragment de UserRepository.
+ *
+ * Le nombre de notifications non lues est tenu à jour dans u.unreadNotifications
+ * par les écritures : sa lecture ne parcourt pas la boîte.
+ */
+public interface NotificationRepository {
+
+    /**
+     * Fusionne un lot de notifications en une seule requête.
+     * Chaque ligne : recipientId, key, type, postId (ou null), actorIds (du plus récent au plus ancien), at.
+     * Seules les notifications non lues sont regroupées : après lecture, une clé repart de zéro.
+     *
+     * @param maxActors nombre d'auteurs conservés par notification
+     */
+    void mergeNotifications(List<Map<String, Object>> rows, int maxActors);
+
+    /**
+     * Supprime les notifications les plus anciennes au-delà de maxPerUser
+     */
+    void pruneInboxes(Collection<String> userIds, int maxPerUser);
+
+    List<NotificationView> findNotifications(String email, int limit);
+
+    int countUnreadNotifications(String email);
+
+    void markNotificationsRead(String email);
+}
@@ -0,0 +1,122 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.NotificationView;
+import com.connecthub.socialnetwork.model.NotificationType;
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation du fragment NotificationRepository via Neo4jClient
+ */
+class NotificationRepositoryImpl implements NotificationRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    NotificationRepositoryImpl(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public void mergeNotifications(List<Map<String, Object>> rows, int maxActors) {
+        if (rows.isEmpty()) {
+            return;
+        }
+        neo4jClient.query("""
+                    UNWIND $rows AS row
+                    MATCH (u:User {id: row.recipientId})
+                    MERGE (u)-[:HAS_NOTIFICATION]->(n:Notification {key: row.key})
+                      ON CREATE SET n.type = row.type, n.postId = row.postId,
+                                    n.actorIds = [], n.actorCount = 0, n.read = true
+                    WITH u, n, row, n.read AS wasRead,
+                         CASE WHEN n.read THEN [] ELSE n.actorIds END AS previousActors,
+                         CASE WHEN n.read THEN 0 ELSE n.actorCount END AS previousCount
+                    WITH u, n, row, wasRead, previousActors, previousCount,
+                         [a IN row.actorIds WHERE NOT a IN previousActors] AS fresh
+                    WHERE size(fresh) > 0
+                    SET n.actorIds = (fresh + [a IN previousActors WHERE NOT a IN fresh])[0..$maxActors],
+                        n.actorCount = previousCount + size(fresh),
+                        n.read = false,
+                        n.updatedAt = row.at,
+                        u.unreadNotifications = coalesce(u.unreadNotifications, 0)
+                                                + CASE WHEN wasRead THEN 1 ELSE 0 END
+                """)
+                .bindAll(Map.of("rows", rows, "maxActors", maxActors))
+                .run();
+    }
+
+    @Override
+    public void pruneInboxes(Collection<String> userIds, int maxPerUser) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        neo4jClient.query("""
+                    UNWIND $userIds AS userId
+                    MATCH (u:User {id: userId})-[:HAS_NOTIFICATION]->(n:Notification)
+                    WITH u, n ORDER BY n.updatedAt DESC
+                    WITH u, collect(n) AS notifications
+                    WHERE size(notifications) > $max
+                    WITH u, notifications[$max..] AS overflow
+                    SET u.unreadNotifications = coalesce(u.unreadNotifications, 0)
+                                                - size([n IN overflow WHERE NOT n.read])
+                    FOREACH (n IN overflow | DETACH DELETE n)
+                """)
+                .bindAll(Map.of("userIds", List.copyOf(userIds), "max", maxPerUser))
+                .run();
+    }
+
+    @Override
+    public List<NotificationView> findNotifications(String email, int limit) {
+        return List.copyOf(neo4jClient.query("""
+                    MATCH (u:User {email: $email})-[:HAS_NOTIFICATION]->(n:Notification)
+                    WITH n ORDER BY n.updatedAt DESC LIMIT $limit
+                    RETURN n.type AS type, n.postId AS postId, n.actorIds[0] AS lastActorId,
+                           head([(a:User {id: n.actorIds[0]}) | a.name]) AS lastActorName,
+                           n.actorCount AS actorCount, n.read AS read, n.updatedAt AS updatedAt
+                """)
+                .bindAll(Map.of("email", email, "limit", limit))
+                .fetchAs(NotificationView.class)
+                .mappedBy((typeSystem, record) -> {
+                    Value postId = record.get("postId");
+                    Value updatedAt = record.get("updatedAt");
+                    return new NotificationView(
+                            NotificationType.valueOf(record.get("type").asString()),
+                            postId.isNull() ? null : postId.asLong(),
+                            ViewRecords.string(record.get("lastActorId")),
+                            ViewRecords.string(record.get("lastActorName")),
+                            record.get("actorCount").asInt(),
+                            record.get("read").asBoolean(),
+                            updatedAt.isNull() ? null : updatedAt.asLocalDateTime());
+                })
+                .all());
+    }
+
+    @Override
+    public int countUnreadNotifications(String email) {
+        return neo4jClient.query("""
+                    MATCH (u:User {email: $email})
+                    RETURN coalesce(u.unreadNotifications, 0) AS unread
+                """)
+                .bind(email).to("email")
+                .fetchAs(Integer.class)
+                .mappedBy((typeSystem, record) -> record.get("unread").asInt())
+                .one()
+                .orElse(0);
+    }
+
+    @Override
+    public void markNotificationsRead(String email) {
+        neo4jClient.query("""
+                    MATCH (u:User {email: $email})
+                    SET u.unreadNotifications = 0
+                    WITH u
+                    MATCH (u)-[:HAS_NOTIFICATION]->(n:Notification {read: false})
+                    SET n.read = true
+                """)
+                .bind(email).to("email")
+                .run();
+    }
+}
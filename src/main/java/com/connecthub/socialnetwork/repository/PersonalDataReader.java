@@ -0,0 +1,52 @@
+package com.connecthub.socialnetwork.repository;
+
+import org.neo4j.driver.AccessMode;
+import org.neo4j.driver.Driver;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Result;
+import org.neo4j.driver.Session;
+import org.neo4j.driver.SessionConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Lecture en flux des données personnelles d'un utilisateur (export).
+ *
+ * Les enregistrements sont tirés du serveur par paquets de connecthub.export.fetch-size
+ * (curseur Bolt) et passés un par un au consommateur : la mémoire utilisée ne dépend pas
+ * du nombre de publications du compte. Requête hors transaction gérée (auto-commit) :
+ * une relecture automatique après erreur écrirait deux fois les mêmes lignes.
+ */
+@Repository
+public class PersonalDataReader {
+
+    private final Driver driver;
+    private final long fetchSize;
+
+    public PersonalDataReader(Driver driver, @Value("${connecthub.export.fetch-size:500}") long fetchSize) {
+        this.driver = driver;
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * @return nombre d'enregistrements lus
+     */
+    public long stream(ExportSection section, String userId, Consumer<Record> consumer) {
+        SessionConfig config = SessionConfig.builder()
+                .withDefaultAccessMode(AccessMode.READ)
+                .withFetchSize(fetchSize)
+                .build();
+        try (Session session = driver.session(config)) {
+            Result result = session.run(section.cypher(), Map.of("userId", userId));
+            long count = 0;
+            while (result.hasNext()) {
+                consumer.accept(result.next());
+                count++;
+            }
+            return count;
+        }
+    }
+}
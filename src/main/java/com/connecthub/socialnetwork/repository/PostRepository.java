@@ -5,13 +5,15 @@ import com.connecthub.socialnetwork.model.User;
 import org.springframework.data.neo4j.repository.Neo4jRepository;
 import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 /**
  * Repository pour les publications avec requêtes Cypher optimisées
  */
-public interface PostRepository extends Neo4jRepository<Post, Long> {
+public interface PostRepository extends Neo4jRepository<Post, Long>, PostViewRepository, TagRepository,
+        TombstoneRepository, LikeRepository {
 
     /**
      * Récupère le feed des amis de l'utilisateur connecté
@@ -20,9 +22,10 @@ public interface PostRepository extends Neo4jRepository<Post, Long> {
      * Exclut les utilisateurs bloqués
      */
     @Query("""
-                MATCH (me:User {name: $username})-[:CONNECTED_TO]->(f:User)
+                MATCH (me:User {name: $username})-[:CONNECTED_TO]-(f:User)
                 WHERE NOT (me)-[:BLOCKED]->(f) AND NOT (f)-[:BLOCKED]->(me)
                 MATCH (f)-[:POSTED]->(p:Post)
+                WHERE p.deletedAt IS NULL AND f.deletedAt IS NULL
                 WITH p, f
                 ORDER BY p.createdAt DESC
                 LIMIT 50
@@ -38,7 +41,8 @@ public interface PostRepository extends Neo4jRepository<Post, Long> {
     @Query("""
                 MATCH (me:User {email: $email})
                 MATCH (author:User)-[:POSTED]->(p:Post)
-                WHERE NOT (me)-[:BLOCKED]->(author)
+                WHERE p.deletedAt IS NULL AND author.deletedAt IS NULL
+                  AND NOT (me)-[:BLOCKED]->(author)
                   AND NOT (author)-[:BLOCKED]->(me)
                 WITH p, author
                 ORDER BY p.createdAt DESC
@@ -54,6 +58,7 @@ public interface PostRepository extends Neo4jRepository<Post, Long> {
      */
     @Query("""
                 MATCH (u:User {email: $email})-[:POSTED]->(p:Post)
+                WHERE p.deletedAt IS NULL
                 WITH p, u
                 ORDER BY p.createdAt DESC
                 OPTIONAL MATCH (p)<-[:LIKED_BY]-(liker:User)
@@ -67,6 +72,7 @@ public interface PostRepository extends Neo4jRepository<Post, Long> {
      */
     @Query("""
                 MATCH (u:User {id: $userId})-[:POSTED]->(p:Post)
+                WHERE p.deletedAt IS NULL
                 WITH p, u
                 ORDER BY p.createdAt DESC
                 OPTIONAL MATCH (p)<-[:LIKED_BY]-(liker:User)
@@ -75,18 +81,12 @@ public interface PostRepository extends Neo4jRepository<Post, Long> {
             """)
     List<Post> findPostsByUserId(@Param("userId") String userId);
 
-    @Query("""
-                MATCH (p:Post {id: $postId})
-                OPTIONAL MATCH (p)-[:HAS_COMMENT]->(c:Comment)
-                DETACH DELETE p, c
-            """)
-    void deletePostById(@Param("postId") Long postId);
-
     /**
      * Vérifie si un utilisateur a déjà liké une publication
      */
     @Query("""
-                MATCH (u:User {id: $userId})-[:LIKED_BY]->(p:Post {id: $postId})
+                MATCH (u:User {id: $userId})-[:LIKED_BY]->(p:Post)
+                WHERE id(p) = $postId
                 RETURN count(u) > 0
             """)
     boolean hasUserLikedPost(@Param("userId") String userId, @Param("postId") Long postId);
@@ -118,4 +118,15 @@ public interface PostRepository extends Neo4jRepository<Post, Long> {
                 ORDER BY u.name
             """)
     List<User> findLikers(@Param("postId") Long postId);
+
+    /**
+     * Enregistre les variantes redimensionnées de l'image d'une publication
+     * (appelé hors requête HTTP par les workers d'images, d'où la transaction explicite)
+     */
+    @Transactional
+    @Query("""
+                MATCH (p:Post) WHERE id(p) = $postId
+                SET p.imageVariants = $variants
+            """)
+    void updateImageVariants(@Param("postId") Long postId, @Param("variants") List<String> variants);
 }
\ No newline at end of file
@@ -0,0 +1,60 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.HiddenAuthors;
+import com.connecthub.socialnetwork.dto.PostCounts;
+import com.connecthub.socialnetwork.dto.PostView;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lectures "à plat" des publications pour l'affichage.
+ * Fragment de PostRepository : une seule requête renvoie les publications
+ * avec auteur et compteurs, sans matérialiser le graphe d'entités.
+ */
+public interface PostViewRepository {
+
+    /**
+     * Feed global de l'utilisateur connecté (auteurs bloqués exclus)
+     *
+     * @param hidden auteurs masqués (BlockedPairIndex.hiddenAuthors)
+     */
+    List<PostView> findFeedViews(String email, HiddenAuthors hidden, int limit);
+
+    /**
+     * Publications d'un utilisateur, les plus récentes en premier
+     */
+    List<PostView> findViewsByAuthorId(String userId);
+
+    /**
+     * Compteurs de likes et commentaires d'un lot de publications (une seule requête)
+     */
+    List<PostCounts> findCounts(Collection<Long> postIds);
+
+    /**
+     * Vues d'un ensemble de publications (ordre non garanti)
+     */
+    List<PostView> findViewsByIds(Collection<Long> postIds);
+
+    /**
+     * Auteur d'une publication et ses centres d'intérêt (classement par intérêt des tendances)
+     */
+    record PostAuthor(String authorId, List<String> interests) {
+    }
+
+    /**
+     * Auteur de chaque publication encore visible (publications et comptes supprimés absents)
+     */
+    Map<Long, PostAuthor> findAuthors(Collection<Long> postIds);
+
+    /**
+     * Recherche plein texte (index "post_content") parmi les publications visibles par $email,
+     * par pertinence décroissante. La requête est déjà au format Lucene (échappée).
+     *
+     * @param candidates nombre de hits lus dans l'index (les meilleurs scores) avant filtrage
+     *                   et pagination ; au moins skip + limit
+     */
+    List<PostView> searchPostViews(String email, HiddenAuthors hidden, String luceneQuery, int skip,
+                                   int limit, int candidates);
+}
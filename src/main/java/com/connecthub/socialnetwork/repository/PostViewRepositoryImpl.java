@@ -0,0 +1,110 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.HiddenAuthors;
+import com.connecthub.socialnetwork.dto.PostCounts;
+import com.connecthub.socialnetwork.dto.PostView;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation du fragment PostViewRepository via Neo4jClient
+ */
+class PostViewRepositoryImpl implements PostViewRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    PostViewRepositoryImpl(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public List<PostView> findFeedViews(String email, HiddenAuthors hidden, int limit) {
+        return query(ViewRecords.feedMatch(hidden) + ViewRecords.POST_VIEW_COLUMNS,
+                Map.of("email", email, "hidden", List.copyOf(hidden.getIds()), "limit", limit));
+    }
+
+    @Override
+    public List<PostView> findViewsByAuthorId(String userId) {
+        return query("""
+                MATCH (author:User {id: $userId})-[:POSTED]->(p:Post)
+                WHERE p.deletedAt IS NULL AND author.deletedAt IS NULL
+            """ + ViewRecords.POST_VIEW_COLUMNS, Map.of("userId", userId));
+    }
+
+    @Override
+    public List<PostCounts> findCounts(Collection<Long> postIds) {
+        return List.copyOf(neo4jClient.query("""
+                    MATCH (p:Post) WHERE id(p) IN $postIds
+                    RETURN id(p) AS id,
+                           size([(p)<-[:LIKED_BY]-(:User) | 1]) AS likeCount,
+                           size([(p)-[:HAS_COMMENT]->(:Comment) | 1]) AS commentCount
+                """)
+                .bind(List.copyOf(postIds)).to("postIds")
+                .fetchAs(PostCounts.class)
+                .mappedBy((typeSystem, record) -> new PostCounts(
+                        record.get("id").asLong(),
+                        record.get("likeCount").asInt(),
+                        record.get("commentCount").asInt()))
+                .all());
+    }
+
+    @Override
+    public List<PostView> findViewsByIds(Collection<Long> postIds) {
+        return query("""
+                MATCH (author:User)-[:POSTED]->(p:Post)
+                WHERE id(p) IN $postIds AND p.deletedAt IS NULL AND author.deletedAt IS NULL
+            """ + ViewRecords.POST_VIEW_COLUMNS, Map.of("postIds", List.copyOf(postIds)));
+    }
+
+    @Override
+    public Map<Long, PostAuthor> findAuthors(Collection<Long> postIds) {
+        Map<Long, PostAuthor> authors = new HashMap<>();
+        neo4jClient.query("""
+                    MATCH (author:User)-[:POSTED]->(p:Post)
+                    WHERE id(p) IN $postIds AND p.deletedAt IS NULL AND author.deletedAt IS NULL
+                    RETURN id(p) AS id, author.id AS authorId, coalesce(author.interests, []) AS interests
+                """)
+                .bind(List.copyOf(postIds)).to("postIds")
+                .fetch()
+                .all()
+                .forEach(row -> authors.put(((Number) row.get("id")).longValue(),
+                        new PostAuthor(String.valueOf(row.get("authorId")),
+                                ((List<?>) row.get("interests")).stream().map(String::valueOf).toList())));
+        return authors;
+    }
+
+    @Override
+    public List<PostView> searchPostViews(String email, HiddenAuthors hidden, String luceneQuery, int skip,
+                                          int limit, int candidates) {
+        // L'index renvoie ses hits par score décroissant : l'option limit borne la lecture aux
+        // candidates meilleurs, et le tri, le filtrage et SKIP/LIMIT ne portent que sur eux.
+        // Sans elle, tous les hits seraient lus et triés avant SKIP/LIMIT.
+        return query(ViewRecords.viewer(hidden) + """
+                CALL db.index.fulltext.queryNodes('post_content', $query, {limit: $candidates})
+                YIELD node AS p, score
+                MATCH (author:User)-[:POSTED]->(p)
+                WHERE p.deletedAt IS NULL AND author.deletedAt IS NULL
+                """ + ViewRecords.notHidden(hidden) + """
+                WITH p, author, score
+                ORDER BY score DESC, id(p) DESC
+                SKIP $skip
+                LIMIT $limit
+            """ + ViewRecords.POST_VIEW_FIELDS + """
+                       , score
+                ORDER BY score DESC, id DESC
+            """, Map.of("email", email, "hidden", List.copyOf(hidden.getIds()), "query", luceneQuery,
+                "skip", skip, "limit", limit, "candidates", Math.max(candidates, skip + limit)));
+    }
+
+    private List<PostView> query(String cypher, Map<String, Object> parameters) {
+        return List.copyOf(neo4jClient.query(cypher)
+                .bindAll(parameters)
+                .fetchAs(PostView.class)
+                .mappedBy((typeSystem, record) -> ViewRecords.toPostView(record))
+                .all());
+    }
+}
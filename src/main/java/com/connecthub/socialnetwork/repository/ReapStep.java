@@ -0,0 +1,95 @@
+package com.connecthub.socialnetwork.repository;
+
+/**
+ * Étapes du nettoyage des éléments supprimés logiquement (deletedAt), dans l'ordre d'exécution.
+ *
+ * Chaque étape traite au plus $batch éléments par transaction et renvoie le nombre traité :
+ * une étape est terminée lorsqu'un lot revient incomplet. Les nœuds ne sont supprimés
+ * qu'une fois toutes leurs relations retirées, si bien qu'aucune transaction ne porte
+ * l'ensemble des likes ou commentaires d'une publication populaire. Une étape qui retire
+ * des fichiers du disque renvoie aussi leurs URL (colonne images).
+ */
+public enum ReapStep {
+
+    // Publications d'un compte supprimé : marquées à leur tour (déjà masquées via author.deletedAt)
+    TOMBSTONE_POSTS_OF_DELETED_USERS("""
+                MATCH (u:User)-[:POSTED]->(p:Post)
+                WHERE u.deletedAt IS NOT NULL AND p.deletedAt IS NULL
+                WITH p, u LIMIT $batch
+                SET p.deletedAt = u.deletedAt
+                RETURN count(p) AS processed
+            """),
+
+    // Commentaires écrits par un compte supprimé, y compris sous les publications des autres
+    DELETE_COMMENTS_OF_DELETED_USERS("""
+                MATCH (u:User)-[:COMMENTED]->(c:Comment)
+                WHERE u.deletedAt IS NOT NULL
+                WITH c LIMIT $batch
+                DETACH DELETE c
+                RETURN count(*) AS processed
+            """),
+
+    DELETE_COMMENTS_OF_DELETED_POSTS("""
+                MATCH (p:Post)-[:HAS_COMMENT]->(c:Comment)
+                WHERE p.deletedAt IS NOT NULL
+                WITH c LIMIT $batch
+                DETACH DELETE c
+                RETURN count(*) AS processed
+            """),
+
+    // Likes, tags, mentions, auteur...
+    DELETE_POST_RELATIONSHIPS("""
+                MATCH (p:Post)-[r]-()
+                WHERE p.deletedAt IS NOT NULL
+                WITH r LIMIT $batch
+                DELETE r
+                RETURN count(*) AS processed
+            """),
+
+    // Renvoie aussi les URL de l'image et de ses variantes ("url 320w") : fichiers supprimés par le ContentReaper
+    DELETE_POSTS("""
+                MATCH (p:Post)
+                WHERE p.deletedAt IS NOT NULL AND NOT (p)--()
+                WITH p LIMIT $batch
+                WITH p, [variant IN coalesce(p.imageVariants, []) | split(variant, ' ')[0]]
+                        + CASE WHEN p.imageUrl IS NULL THEN [] ELSE [p.imageUrl] END AS images
+                DELETE p
+                RETURN count(*) AS processed, collect(images) AS images
+            """),
+
+    DELETE_NOTIFICATIONS_OF_DELETED_USERS("""
+                MATCH (u:User)-[:HAS_NOTIFICATION]->(n:Notification)
+                WHERE u.deletedAt IS NOT NULL
+                WITH n LIMIT $batch
+                DETACH DELETE n
+                RETURN count(*) AS processed
+            """),
+
+    // Amitiés, demandes, blocages, likes donnés ; POSTED disparaît avec les publications.
+    // Le degree des amis a déjà été décrémenté à la suppression logique (tombstoneUser).
+    DELETE_USER_RELATIONSHIPS("""
+                MATCH (u:User)-[r]-()
+                WHERE u.deletedAt IS NOT NULL AND type(r) <> 'POSTED'
+                WITH r LIMIT $batch
+                DELETE r
+                RETURN count(*) AS processed
+            """),
+
+    DELETE_USERS("""
+                MATCH (u:User)
+                WHERE u.deletedAt IS NOT NULL AND NOT (u)--()
+                WITH u LIMIT $batch
+                DELETE u
+                RETURN count(*) AS processed
+            """);
+
+    private final String cypher;
+
+    ReapStep(String cypher) {
+        this.cypher = cypher;
+    }
+
+    String cypher() {
+        return cypher;
+    }
+}
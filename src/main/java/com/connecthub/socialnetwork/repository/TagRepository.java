@@ -0,0 +1,34 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.HiddenAuthors;
+import com.connecthub.socialnetwork.dto.PostView;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Hashtags et mentions des publications.
+ * Fragment de PostRepository : (:Post)-[:TAGGED]->(:Tag {name}) et (:Post)-[:MENTIONS]->(:User).
+ * TAGGED porte le nom du tag et la date de la publication (tag, createdAt), clés de l'index
+ * qui sert le fil d'un tag.
+ */
+public interface TagRepository {
+
+    /**
+     * Relie une publication à ses tags (créés au besoin) et aux utilisateurs mentionnés
+     * (par handle, auteur et comptes supprimés exclus), en une seule requête.
+     */
+    void linkTagsAndMentions(Long postId, Collection<String> tags, Collection<String> mentions);
+
+    /**
+     * Page de publications d'un tag visibles par $email, les plus récentes en premier.
+     * Pagination par clé (createdAt, id) : la page suivante commence strictement après
+     * le dernier élément de la précédente, sans OFFSET.
+     *
+     * @param beforeCreatedAt date du dernier élément de la page précédente (null : première page)
+     * @param beforeId        identifiant du dernier élément de la page précédente
+     */
+    List<PostView> findTagFeed(String email, HiddenAuthors hidden, String tag, LocalDateTime beforeCreatedAt,
+                               Long beforeId, int limit);
+}
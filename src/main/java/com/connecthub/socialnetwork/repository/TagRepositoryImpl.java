@@ -0,0 +1,85 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.HiddenAuthors;
+import com.connecthub.socialnetwork.dto.PostView;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation du fragment TagRepository via Neo4jClient
+ */
+class TagRepositoryImpl implements TagRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    TagRepositoryImpl(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public void linkTagsAndMentions(Long postId, Collection<String> tags, Collection<String> mentions) {
+        neo4jClient.query("""
+                    MATCH (author:User)-[:POSTED]->(p:Post) WHERE id(p) = $postId
+                    CALL {
+                        WITH p
+                        UNWIND $tags AS name
+                        MERGE (t:Tag {name: name})
+                        MERGE (p)-[r:TAGGED]->(t)
+                        SET r.tag = name, r.createdAt = p.createdAt
+                        RETURN count(*) AS tagged
+                    }
+                    CALL {
+                        WITH p, author
+                        UNWIND $mentions AS handle
+                        MATCH (u:User {handle: handle})
+                        WHERE u <> author AND u.deletedAt IS NULL
+                        MERGE (p)-[:MENTIONS]->(u)
+                        RETURN count(*) AS mentioned
+                    }
+                    RETURN tagged, mentioned
+                """)
+                .bindAll(Map.of("postId", postId, "tags", List.copyOf(tags), "mentions", List.copyOf(mentions)))
+                .run();
+    }
+
+    @Override
+    public List<PostView> findTagFeed(String email, HiddenAuthors hidden, String tag,
+                                      LocalDateTime beforeCreatedAt, Long beforeId, int limit) {
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put("email", email);
+        parameters.put("hidden", List.copyOf(hidden.getIds()));
+        parameters.put("tag", tag);
+        parameters.put("beforeCreatedAt", beforeCreatedAt);
+        parameters.put("beforeId", beforeId);
+        parameters.put("limit", limit);
+        // Seek sur l'index tagged_tag_created_at (tag, createdAt) lu dans l'ordre décroissant : la borne
+        // du curseur est une plage de l'index, une date égale est départagée par id(p)
+        String keyset = beforeCreatedAt == null ? """
+                      AND r.createdAt IS NOT NULL
+                """ : """
+                      AND r.createdAt <= $beforeCreatedAt
+                      AND (r.createdAt < $beforeCreatedAt OR id(p) < $beforeId)
+                """;
+        return List.copyOf(neo4jClient.query(ViewRecords.viewer(hidden) + """
+                    MATCH (p:Post)-[r:TAGGED]->(:Tag)
+                    WHERE r.tag = $tag
+                """ + keyset + """
+                    MATCH (p)<-[:POSTED]-(author:User)
+                    WHERE p.deletedAt IS NULL AND author.deletedAt IS NULL
+                """ + ViewRecords.notHidden(hidden) + """
+                    WITH p, author, r
+                    ORDER BY r.createdAt DESC, id(p) DESC
+                    LIMIT $limit
+                    WITH p, author
+                """ + ViewRecords.POST_VIEW_COLUMNS)
+                .bindAll(parameters)
+                .fetchAs(PostView.class)
+                .mappedBy((typeSystem, record) -> ViewRecords.toPostView(record))
+                .all());
+    }
+}
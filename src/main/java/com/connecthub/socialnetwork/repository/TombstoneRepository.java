@@ -0,0 +1,36 @@
+package com.connecthub.socialnetwork.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Suppression logique des publications et des comptes, puis nettoyage par lots.
+ * Fragment de PostRepository et de UserRepository.
+ */
+public interface TombstoneRepository {
+
+    /**
+     * Marque une publication de l'auteur comme supprimée
+     *
+     * @return false si la publication n'existe pas, n'est pas de cet auteur ou est déjà supprimée
+     */
+    boolean tombstonePost(Long postId, String authorId, LocalDateTime deletedAt);
+
+    /**
+     * Marque un compte comme supprimé ; ses publications sont masquées immédiatement et il
+     * sort du degree de ses amis (les relations sont retirées plus tard par le ContentReaper)
+     */
+    boolean tombstoneUser(String userId, LocalDateTime deletedAt);
+
+    /**
+     * Lot validé d'une étape de nettoyage : nombre d'éléments traités (inférieur à batchSize :
+     * étape terminée) et URL des images des publications supprimées, à retirer du disque
+     */
+    record ReapBatch(int processed, List<String> imageUrls) {
+    }
+
+    /**
+     * Exécute un lot d'une étape de nettoyage, dans sa propre transaction
+     */
+    ReapBatch reap(ReapStep step, int batchSize);
+}
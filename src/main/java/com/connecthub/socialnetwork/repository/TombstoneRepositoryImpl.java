@@ -0,0 +1,70 @@
+package com.connecthub.socialnetwork.repository;
+
+import org.neo4j.driver.Value;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation du fragment TombstoneRepository via Neo4jClient
+ */
+class TombstoneRepositoryImpl implements TombstoneRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    TombstoneRepositoryImpl(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public boolean tombstonePost(Long postId, String authorId, LocalDateTime deletedAt) {
+        return count("""
+                    MATCH (:User {id: $authorId})-[:POSTED]->(p:Post)
+                    WHERE id(p) = $postId AND p.deletedAt IS NULL
+                    SET p.deletedAt = $deletedAt
+                    RETURN count(p) AS processed
+                """, Map.of("postId", postId, "authorId", authorId, "deletedAt", deletedAt)) > 0;
+    }
+
+    @Override
+    public boolean tombstoneUser(String userId, LocalDateTime deletedAt) {
+        return count("""
+                    MATCH (u:User {id: $userId})
+                    WHERE u.deletedAt IS NULL
+                    SET u.deletedAt = $deletedAt
+                    WITH u
+                    CALL {
+                        WITH u
+                        MATCH (u)-[:CONNECTED_TO]-(friend:User)
+                        WHERE friend.deletedAt IS NULL
+                        SET friend.degree = coalesce(friend.degree, 1) - 1
+                    }
+                    RETURN count(u) AS processed
+                """, Map.of("userId", userId, "deletedAt", deletedAt)) > 0;
+    }
+
+    @Override
+    public ReapBatch reap(ReapStep step, int batchSize) {
+        return neo4jClient.query(step.cypher())
+                .bind(batchSize).to("batch")
+                .fetchAs(ReapBatch.class)
+                .mappedBy((typeSystem, record) -> new ReapBatch(record.get("processed").asInt(),
+                        record.containsKey("images")
+                                ? record.get("images").asList(images -> images.asList(Value::asString)).stream()
+                                        .flatMap(List::stream).distinct().toList()
+                                : List.of()))
+                .one()
+                .orElse(new ReapBatch(0, List.of()));
+    }
+
+    private int count(String cypher, Map<String, Object> parameters) {
+        return neo4jClient.query(cypher)
+                .bindAll(parameters)
+                .fetchAs(Integer.class)
+                .mappedBy((typeSystem, record) -> record.get("processed").asInt())
+                .one()
+                .orElse(0);
+    }
+}
@@ -6,17 +6,26 @@ import org.springframework.data.neo4j.repository.query.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
  * Repository pour les utilisateurs avec requêtes Cypher optimisées
  */
 @Repository
-public interface UserRepository extends Neo4jRepository<User, String> {
+public interface UserRepository extends Neo4jRepository<User, String>, UserViewRepository,
+        NotificationRepository, TombstoneRepository {
 
     Optional<User> findByEmail(String email);
 
+    /**
+     * Handles existants commençant par prefix (index de la contrainte user_handle)
+     */
+    @Query("MATCH (u:User) WHERE u.handle STARTS WITH $prefix RETURN u.handle")
+    List<String> findHandlesStartingWith(@Param("prefix") String prefix);
+
     /**
      * Recherche d'utilisateurs par nom (insensible à la casse)
      */
@@ -24,21 +33,40 @@ public interface UserRepository extends Neo4jRepository<User, String> {
     List<User> searchByName(String name);
 
     /**
-     * Compte le nombre d'amis d'un utilisateur
+     * Compte le nombre d'amis d'un utilisateur : propriété degree, lue via l'index user_id
+     * sans parcourir les relations
      */
-    @Query("MATCH (u:User {id: $userId})-[:CONNECTED_TO]-(friend) RETURN COUNT(friend)")
+    @Query("MATCH (u:User {id: $userId}) RETURN coalesce(u.degree, 0)")
     int countFriends(String userId);
 
+    /**
+     * Amis d'un utilisateur, quel que soit le sens de la relation canonique
+     * (l'entité User ne charge que les relations sortantes), hors comptes supprimés
+     */
+    @Query("MATCH (:User {id: $userId})-[:CONNECTED_TO]-(friend:User) WHERE friend.deletedAt IS NULL RETURN DISTINCT friend")
+    List<User> findFriends(@Param("userId") String userId);
+
+    @Query("RETURN EXISTS { MATCH (:User {id: $userId})-[:CONNECTED_TO]-(:User {id: $otherUserId}) }")
+    boolean areFriends(@Param("userId") String userId, @Param("otherUserId") String otherUserId);
+
+    @Query("""
+                MATCH (:User {id: $userId})-[:CONNECTED_TO]-(mutual:User)-[:CONNECTED_TO]-(:User {id: $otherUserId})
+                WHERE mutual.deletedAt IS NULL
+                RETURN count(DISTINCT mutual)
+            """)
+    int countMutualFriends(@Param("userId") String userId, @Param("otherUserId") String otherUserId);
+
     /**
      * Recherche avancée par nom, email, bio et intérêts
      * Utilise CONTAINS pour une recherche flexible
      */
     @Query("""
                 MATCH (u:User)
-                WHERE toLower(u.name) CONTAINS toLower($keyword)
+                WHERE u.deletedAt IS NULL
+                  AND (toLower(u.name) CONTAINS toLower($keyword)
                    OR toLower(u.email) CONTAINS toLower($keyword)
                    OR toLower(u.bio) CONTAINS toLower($keyword)
-                   OR any(interest IN u.interests WHERE toLower(interest) CONTAINS toLower($keyword))
+                   OR any(interest IN u.interests WHERE toLower(interest) CONTAINS toLower($keyword)))
                 RETURN u
                 LIMIT 50
             """)
@@ -55,6 +83,7 @@ public interface UserRepository extends Neo4jRepository<User, String> {
                 MATCH (current:User {id: $userId})
                 MATCH (other:User)
                 WHERE other.id <> $userId
+                  AND other.deletedAt IS NULL
                   AND NOT (current)-[:CONNECTED_TO]-(other)
                   AND NOT (current)-[:FRIEND_REQUEST]-(other)
                   AND NOT (current)-[:BLOCKED]-(other)
@@ -71,6 +100,7 @@ public interface UserRepository extends Neo4jRepository<User, String> {
      */
     @Query("""
                 MATCH (u:User {id: $userId})-[:POSTED]->(p:Post)
+                WHERE p.deletedAt IS NULL
                 RETURN count(p)
             """)
     int countPosts(String userId);
@@ -80,12 +110,28 @@ public interface UserRepository extends Neo4jRepository<User, String> {
      */
     @Query("""
                 MATCH (u:User {id: $userId})-[:POSTED]->(p:Post)<-[:LIKED_BY]-(liker:User)
+                WHERE p.deletedAt IS NULL
                 RETURN count(liker)
             """)
     int countTotalLikesReceived(String userId);
 
-    @Query("MATCH (sender:User {id: $senderId})-[r:FRIEND_REQUEST]->(receiver:User {id: $receiverId}) DELETE r CREATE (sender)-[:CONNECTED_TO]->(receiver)")
-    void acceptFriendRequest(@Param("senderId") String senderId, @Param("receiverId") String receiverId);
+    /**
+     * Une amitié est une seule relation CONNECTED_TO, de l'identifiant le plus petit vers le plus grand :
+     * MERGE sur ce sens canonique ne crée jamais de doublon, et degree n'est incrémenté qu'à la création
+     *
+     * @return 0 si aucune demande de senderId vers receiverId n'existait (rien n'est créé)
+     */
+    @Query("""
+                MATCH (sender:User {id: $senderId})-[r:FRIEND_REQUEST]->(receiver:User {id: $receiverId})
+                DELETE r
+                WITH CASE WHEN sender.id < receiver.id THEN [sender, receiver] ELSE [receiver, sender] END AS pair
+                WITH pair[0] AS low, pair[1] AS high
+                MERGE (low)-[:CONNECTED_TO]->(high)
+                  ON CREATE SET low.degree = coalesce(low.degree, 0) + 1,
+                                high.degree = coalesce(high.degree, 0) + 1
+                RETURN count(*)
+            """)
+    int acceptFriendRequest(@Param("senderId") String senderId, @Param("receiverId") String receiverId);
 
     @Query("MATCH (sender:User {id: $senderId})-[r:FRIEND_REQUEST]->(receiver:User {id: $receiverId}) DELETE r")
     void rejectFriendRequest(@Param("senderId") String senderId, @Param("receiverId") String receiverId);
@@ -93,15 +139,81 @@ public interface UserRepository extends Neo4jRepository<User, String> {
     @Query("MATCH (sender:User {id: $fromUserId}), (receiver:User {id: $toUserId}) MERGE (sender)-[:FRIEND_REQUEST]->(receiver)")
     void createFriendRequest(@Param("fromUserId") String fromUserId, @Param("toUserId") String toUserId);
 
-    @Query("MATCH (u1:User {id: $userId})-[r:CONNECTED_TO]-(u2:User {id: $friendId}) DELETE r")
+    @Query("""
+                MATCH (u1:User {id: $userId})-[r:CONNECTED_TO]-(u2:User {id: $friendId})
+                DELETE r
+                WITH DISTINCT u1, u2
+                SET u1.degree = coalesce(u1.degree, 1) - 1, u2.degree = coalesce(u2.degree, 1) - 1
+            """)
     void removeFriend(@Param("userId") String userId, @Param("friendId") String friendId);
 
+    /**
+     * Recalcule degree à partir des relations (import en masse, migration) : amis dont le
+     * compte n'est pas supprimé, comme le maintient tombstoneUser
+     */
+    @Query("""
+                UNWIND $userIds AS userId
+                MATCH (u:User {id: userId})
+                SET u.degree = COUNT { (u)-[:CONNECTED_TO]-(friend:User) WHERE friend.deletedAt IS NULL }
+            """)
+    void refreshDegrees(@Param("userIds") Collection<String> userIds);
+
+    /**
+     * Résultats de l'analyse du graphe (GraphAnalyticsService), un lot par appel :
+     * lignes {id, influence, community}
+     */
+    @Query("""
+                UNWIND $rows AS row
+                MATCH (u:User {id: row.id})
+                SET u.influence = row.influence, u.community = row.community
+            """)
+    void saveAnalytics(@Param("rows") List<Map<String, Object>> rows);
+
+    /**
+     * Blocage en une requête : supprime l'amitié (en décrémentant degree) et les demandes entre
+     * les deux comptes (dans les deux sens) puis crée BLOCKED, sans toucher aux autres relations
+     * des deux utilisateurs
+     *
+     * @return 0 si l'un des deux utilisateurs n'existe pas
+     */
+    @Query("""
+                MATCH (u:User {id: $userId}), (blocked:User {id: $blockedUserId})
+                CALL {
+                    WITH u, blocked
+                    OPTIONAL MATCH (u)-[r:FRIEND_REQUEST]-(blocked)
+                    DELETE r
+                }
+                CALL {
+                    WITH u, blocked
+                    MATCH (u)-[f:CONNECTED_TO]-(blocked)
+                    DELETE f
+                    WITH DISTINCT u, blocked
+                    SET u.degree = coalesce(u.degree, 1) - 1, blocked.degree = coalesce(blocked.degree, 1) - 1
+                }
+                MERGE (u)-[:BLOCKED]->(blocked)
+                RETURN count(*)
+            """)
+    int blockUser(@Param("userId") String userId, @Param("blockedUserId") String blockedUserId);
+
+    @Query("MATCH (:User {id: $userId})-[r:BLOCKED]->(:User {id: $unblockedUserId}) DELETE r")
+    void unblockUser(@Param("userId") String userId, @Param("unblockedUserId") String unblockedUserId);
+
+    @Query("RETURN EXISTS { MATCH (:User {id: $userId})-[:BLOCKED]->(:User {id: $otherUserId}) }")
+    boolean isBlocked(@Param("userId") String userId, @Param("otherUserId") String otherUserId);
+
+    /**
+     * Utilisateurs bloqués par userId ou qui l'ont bloqué
+     */
+    @Query("MATCH (:User {id: $userId})-[:BLOCKED]-(other:User) RETURN DISTINCT other.id")
+    List<String> findBlockedEitherWayIds(@Param("userId") String userId);
+
     /**
      * Récupère un sous-ensemble d'utilisateurs (sans filtre), limité
      * Utilisé pour l'exploration /search sans surcharger le graphe complet.
      */
     @Query("""
                 MATCH (u:User)
+                WHERE u.deletedAt IS NULL
                 RETURN u
                 LIMIT $limit
             """)
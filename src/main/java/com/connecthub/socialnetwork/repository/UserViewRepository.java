@@ -0,0 +1,24 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.NavbarView;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Lectures légères sur les utilisateurs (sans charger l'agrégat User complet).
+ * Fragment de UserRepository.
+ */
+public interface UserViewRepository {
+
+    /**
+     * Données de la barre de navigation : identité, demandes reçues et notifications non lues
+     */
+    Optional<NavbarView> findNavbarByEmail(String email);
+
+    /**
+     * Noms d'un lot d'utilisateurs (identifiant -> nom), en une requête
+     */
+    Map<String, String> findNamesByIds(Collection<String> userIds);
+}
@@ -0,0 +1,56 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.NavbarView;
+import org.springframework.data.neo4j.core.Neo4jClient;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Implémentation du fragment UserViewRepository via Neo4jClient
+ */
+class UserViewRepositoryImpl implements UserViewRepository {
+
+    private final Neo4jClient neo4jClient;
+
+    UserViewRepositoryImpl(Neo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public Optional<NavbarView> findNavbarByEmail(String email) {
+        return neo4jClient.query("""
+                    MATCH (u:User {email: $email})
+                    RETURN u.id AS id, u.name AS name, u.profileImage AS profileImage,
+                           size([(u)<-[:FRIEND_REQUEST]-(:User) | 1]) AS pendingRequests,
+                           coalesce(u.unreadNotifications, 0) AS unreadNotifications
+                """)
+                .bind(email).to("email")
+                .fetchAs(NavbarView.class)
+                .mappedBy((typeSystem, record) -> new NavbarView(
+                        ViewRecords.string(record.get("id")),
+                        ViewRecords.string(record.get("name")),
+                        ViewRecords.string(record.get("profileImage")),
+                        record.get("pendingRequests").asInt(),
+                        record.get("unreadNotifications").asInt()))
+                .one();
+    }
+
+    @Override
+    public Map<String, String> findNamesByIds(Collection<String> userIds) {
+        Map<String, String> names = new HashMap<>();
+        neo4jClient.query("""
+                    MATCH (u:User)
+                    WHERE u.id IN $userIds
+                    RETURN u.id AS id, u.name AS name
+                """)
+                .bind(List.copyOf(userIds)).to("userIds")
+                .fetch()
+                .all()
+                .forEach(row -> names.put((String) row.get("id"), (String) row.get("name")));
+        return names;
+    }
+}
@@ -0,0 +1,112 @@
+package com.connecthub.socialnetwork.repository;
+
+import com.connecthub.socialnetwork.dto.HiddenAuthors;
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.dto.UserResponse;
+import org.neo4j.driver.Record;
+import org.neo4j.driver.Value;
+
+/**
+ * Fragments Cypher et conversion des lignes en vues à plat,
+ * partagés par les fragments bloquants et réactifs (repository.reactive)
+ */
+public final class ViewRecords {
+
+    /**
+     * Lecteur $email, à placer en tête de requête quand le test BLOCKED est fait par la requête
+     * (index des blocages pas encore chargé, voir HiddenAuthors)
+     */
+    public static String viewer(HiddenAuthors hidden) {
+        return hidden.isCheckedByQuery() ? "MATCH (me:User {email: $email})\n" : "";
+    }
+
+    /**
+     * Condition d'exclusion des auteurs bloqués (variable author), à la suite d'un WHERE :
+     * la liste $hidden, plus le test BLOCKED tant que l'index n'est pas chargé
+     */
+    public static String notHidden(HiddenAuthors hidden) {
+        return hidden.isCheckedByQuery()
+                ? " AND NOT author.id IN $hidden AND NOT (me)-[:BLOCKED]-(author)\n"
+                : " AND NOT author.id IN $hidden\n";
+    }
+
+    /**
+     * Publications visibles par $email (hors supprimées et auteurs bloqués dans un sens ou dans l'autre)
+     */
+    public static String feedMatch(HiddenAuthors hidden) {
+        return viewer(hidden) + """
+                MATCH (author:User)-[:POSTED]->(p:Post)
+                WHERE p.deletedAt IS NULL AND author.deletedAt IS NULL
+                """ + notHidden(hidden) + """
+                WITH p, author
+                ORDER BY p.createdAt DESC
+                LIMIT $limit
+                """;
+    }
+
+    // Colonnes communes : publication, auteur et compteurs calculés côté base
+    public static final String POST_VIEW_FIELDS = """
+                RETURN id(p) AS id, p.content AS content, p.createdAt AS createdAt,
+                       p.imageUrl AS imageUrl, p.imageVariants AS imageVariants,
+                       author.id AS authorId, author.name AS authorName,
+                       author.email AS authorEmail, author.profileImage AS authorImage,
+                       size([(p)<-[:LIKED_BY]-(:User) | 1]) AS likeCount,
+                       size([(p)-[:HAS_COMMENT]->(:Comment) | 1]) AS commentCount
+            """;
+
+    // Mêmes colonnes, publications les plus récentes en premier
+    public static final String POST_VIEW_COLUMNS = POST_VIEW_FIELDS + """
+                ORDER BY createdAt DESC, id DESC
+            """;
+
+    // Colonnes d'un utilisateur "u" vu par "me" : statut de relation calculé côté base
+    public static final String USER_VIEW_COLUMNS = """
+                RETURN u.id AS id, u.name AS name, u.email AS email, u.bio AS bio,
+                       u.profileImage AS profileImage,
+                       coalesce(u.degree, 0) AS friendsCount,
+                       CASE
+                           WHEN (me)-[:CONNECTED_TO]-(u) THEN 'FRIEND'
+                           WHEN (me)-[:FRIEND_REQUEST]->(u) THEN 'REQUEST_SENT'
+                           WHEN (u)-[:FRIEND_REQUEST]->(me) THEN 'REQUEST_RECEIVED'
+                           ELSE 'NONE'
+                       END AS relationStatus
+            """;
+
+    private ViewRecords() {
+    }
+
+    public static PostView toPostView(Record record) {
+        Value variants = record.get("imageVariants");
+        Value createdAt = record.get("createdAt");
+        return new PostView(
+                record.get("id").asLong(),
+                string(record.get("content")),
+                createdAt.isNull() ? null : createdAt.asLocalDateTime(),
+                string(record.get("imageUrl")),
+                variants.isNull() || variants.size() == 0
+                        ? null
+                        : String.join(", ", variants.asList(Value::asString)),
+                string(record.get("authorId")),
+                string(record.get("authorName")),
+                string(record.get("authorEmail")),
+                string(record.get("authorImage")),
+                record.get("likeCount").asInt(),
+                record.get("commentCount").asInt());
+    }
+
+    public static UserResponse toUserResponse(Record record) {
+        UserResponse response = new UserResponse(
+                string(record.get("id")),
+                string(record.get("name")),
+                string(record.get("email")),
+                string(record.get("bio")),
+                string(record.get("profileImage")));
+        response.setFriendsCount(record.get("friendsCount").asInt());
+        response.setRelationStatus(string(record.get("relationStatus")));
+        return response;
+    }
+
+    public static String string(Value value) {
+        return value.isNull() ? null : value.asString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.connecthub.socialnetwork.repository.reactive;
+
+import com.connecthub.socialnetwork.model.Post;
+import org.springframework.data.neo4j.repository.ReactiveNeo4jRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository réactif des publications (chemin de lecture non bloquant, /api/stream/**)
+ */
+@Repository
+public interface ReactivePostRepository extends ReactiveNeo4jRepository<Post, Long>, ReactivePostViewRepository {
+}
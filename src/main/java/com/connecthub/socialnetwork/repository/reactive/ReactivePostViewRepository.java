@@ -0,0 +1,16 @@
+package com.connecthub.socialnetwork.repository.reactive;
+
+import com.connecthub.socialnetwork.dto.HiddenAuthors;
+import com.connecthub.socialnetwork.dto.PostView;
+import reactor.core.publisher.Flux;
+
+/**
+ * Fragment réactif : vues à plat des publications, émises au fil de la lecture Bolt
+ */
+public interface ReactivePostViewRepository {
+
+    /**
+     * Feed de l'utilisateur $email, même requête que PostViewRepository.findFeedViews
+     */
+    Flux<PostView> streamFeedViews(String email, HiddenAuthors hidden, int limit);
+}
@@ -0,0 +1,32 @@
+package com.connecthub.socialnetwork.repository.reactive;
+
+import com.connecthub.socialnetwork.dto.HiddenAuthors;
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.repository.ViewRecords;
+import org.springframework.data.neo4j.core.ReactiveNeo4jClient;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Implémentation du fragment ReactivePostViewRepository via ReactiveNeo4jClient.
+ * Les enregistrements sont tirés du driver à la demande de l'abonné (backpressure).
+ */
+class ReactivePostViewRepositoryImpl implements ReactivePostViewRepository {
+
+    private final ReactiveNeo4jClient neo4jClient;
+
+    ReactivePostViewRepositoryImpl(ReactiveNeo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public Flux<PostView> streamFeedViews(String email, HiddenAuthors hidden, int limit) {
+        return neo4jClient.query(ViewRecords.feedMatch(hidden) + ViewRecords.POST_VIEW_COLUMNS)
+                .bindAll(Map.of("email", email, "hidden", List.copyOf(hidden.getIds()), "limit", limit))
+                .fetchAs(PostView.class)
+                .mappedBy((typeSystem, record) -> ViewRecords.toPostView(record))
+                .all();
+    }
+}
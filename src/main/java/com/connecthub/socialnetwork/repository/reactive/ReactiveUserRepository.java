@@ -0,0 +1,12 @@
+package com.connecthub.socialnetwork.repository.reactive;
+
+import com.connecthub.socialnetwork.model.User;
+import org.springframework.data.neo4j.repository.ReactiveNeo4jRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository réactif des utilisateurs (amis et recherche en streaming)
+ */
+@Repository
+public interface ReactiveUserRepository extends ReactiveNeo4jRepository<User, String>, ReactiveUserViewRepository {
+}
@@ -0,0 +1,22 @@
+package com.connecthub.socialnetwork.repository.reactive;
+
+import com.connecthub.socialnetwork.dto.UserResponse;
+import reactor.core.publisher.Flux;
+
+/**
+ * Fragment réactif : utilisateurs vus par l'utilisateur connecté ($email),
+ * avec nombre d'amis et statut de relation calculés par la requête
+ */
+public interface ReactiveUserViewRepository {
+
+    /**
+     * Amis de l'utilisateur, triés par nom
+     */
+    Flux<UserResponse> streamFriends(String email);
+
+    /**
+     * Recherche par nom, email, bio et intérêts (mêmes critères que UserRepository.searchUsers).
+     * Exclut l'utilisateur lui-même et les utilisateurs qu'il a bloqués.
+     */
+    Flux<UserResponse> streamSearch(String email, String keyword, int limit);
+}
@@ -0,0 +1,54 @@
+package com.connecthub.socialnetwork.repository.reactive;
+
+import com.connecthub.socialnetwork.dto.UserResponse;
+import com.connecthub.socialnetwork.repository.ViewRecords;
+import org.springframework.data.neo4j.core.ReactiveNeo4jClient;
+import reactor.core.publisher.Flux;
+
+import java.util.Map;
+
+/**
+ * Implémentation du fragment ReactiveUserViewRepository via ReactiveNeo4jClient
+ */
+class ReactiveUserViewRepositoryImpl implements ReactiveUserViewRepository {
+
+    private final ReactiveNeo4jClient neo4jClient;
+
+    ReactiveUserViewRepositoryImpl(ReactiveNeo4jClient neo4jClient) {
+        this.neo4jClient = neo4jClient;
+    }
+
+    @Override
+    public Flux<UserResponse> streamFriends(String email) {
+        return query("""
+                    MATCH (me:User {email: $email})-[:CONNECTED_TO]-(u:User)
+                    WHERE u.deletedAt IS NULL
+                    WITH DISTINCT me, u
+                    ORDER BY u.name ASC
+                """ + ViewRecords.USER_VIEW_COLUMNS, Map.of("email", email));
+    }
+
+    @Override
+    public Flux<UserResponse> streamSearch(String email, String keyword, int limit) {
+        return query("""
+                    MATCH (me:User {email: $email})
+                    MATCH (u:User)
+                    WHERE u <> me AND u.deletedAt IS NULL
+                      AND NOT (me)-[:BLOCKED]-(u)
+                      AND (toLower(u.name) CONTAINS toLower($keyword)
+                        OR toLower(u.email) CONTAINS toLower($keyword)
+                        OR toLower(u.bio) CONTAINS toLower($keyword)
+                        OR any(interest IN u.interests WHERE toLower(interest) CONTAINS toLower($keyword)))
+                    WITH me, u
+                    LIMIT $limit
+                """ + ViewRecords.USER_VIEW_COLUMNS, Map.of("email", email, "keyword", keyword, "limit", limit));
+    }
+
+    private Flux<UserResponse> query(String cypher, Map<String, Object> parameters) {
+        return neo4jClient.query(cypher)
+                .bindAll(parameters)
+                .fetchAs(UserResponse.class)
+                .mappedBy((typeSystem, record) -> ViewRecords.toUserResponse(record))
+                .all();
+    }
+}
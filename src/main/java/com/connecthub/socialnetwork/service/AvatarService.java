@@ -0,0 +1,260 @@
+package com.connecthub.socialnetwork.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Génération locale des avatars à initiales (remplace ui-avatars.com).
+ * Les images sont déterministes pour un nom donné : elles sont mises en cache
+ * en mémoire (LRU borné) puis sur disque (nombre de fichiers borné),
+ * avec pour clé un hash du nom normalisé.
+ *
+ * Les noms sont bornés à MAX_NAME_LENGTH caractères : chaque nom distinct coûte un rendu et une
+ * entrée de cache, un nom arbitrairement long ne doit pas coûter davantage.
+ */
+@Service
+public class AvatarService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AvatarService.class);
+
+    private static final int SIZE = 200;
+
+    /**
+     * Longueur maximale d'un nom, en points de code : au-delà, /avatars refuse la requête
+     */
+    public static final int MAX_NAME_LENGTH = 100;
+
+    private static final Color[] PALETTE = {
+            new Color(0x667EEA), new Color(0x764BA2), new Color(0xF56565), new Color(0xED8936),
+            new Color(0x38A169), new Color(0x319795), new Color(0x3182CE), new Color(0xD53F8C),
+            new Color(0x805AD5), new Color(0xDD6B20), new Color(0x2F855A), new Color(0x2B6CB0)
+    };
+
+    private final Map<String, byte[]> memoryCache;
+    private final Path cacheDir;
+    private final int maxDiskEntries;
+    private final AtomicInteger diskEntries = new AtomicInteger();
+
+    // cache.gets{cache=avatars} : result=hit (mémoire), disk (fichier), miss (rendu)
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter misses;
+
+    public AvatarService(MeterRegistry meterRegistry,
+                         @Value("${connecthub.avatars.memory-cache-size:1000}") int memoryCacheSize,
+                         @Value("${connecthub.avatars.cache-dir:${java.io.tmpdir}/connecthub-avatars}") String cacheDir,
+                         @Value("${connecthub.avatars.disk-cache-size:20000}") int maxDiskEntries) {
+        this.memoryCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                return size() > memoryCacheSize;
+            }
+        });
+        this.cacheDir = Paths.get(cacheDir);
+        this.maxDiskEntries = maxDiskEntries;
+        this.memoryHits = cacheGets(meterRegistry, "hit");
+        this.diskHits = cacheGets(meterRegistry, "disk");
+        this.misses = cacheGets(meterRegistry, "miss");
+        Gauge.builder("cache.size", memoryCache, Map::size).tag("cache", "avatars").register(meterRegistry);
+        Gauge.builder("cache.size", diskEntries, AtomicInteger::get).tag("cache", "avatars-disk").register(meterRegistry);
+
+        try {
+            Files.createDirectories(this.cacheDir);
+            try (Stream<Path> files = Files.list(this.cacheDir)) {
+                diskEntries.set((int) files.count());
+            }
+        } catch (IOException e) {
+            logger.warn("Cache disque des avatars indisponible ({}) : {}", cacheDir, e.getMessage());
+        }
+    }
+
+    /**
+     * URL locale de l'avatar d'un utilisateur
+     */
+    public String avatarUrl(String name) {
+        return "/avatars?name=" + URLEncoder.encode(truncate(name == null ? "" : name.trim()), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Clé de cache (et ETag) associée à un nom
+     */
+    public String cacheKey(String name) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest(normalize(name).getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(hash, 0, 12);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Retourne le PNG de l'avatar : mémoire, puis disque, puis rendu Java2D
+     */
+    public byte[] getAvatar(String name) {
+        String key = cacheKey(name);
+
+        byte[] png = memoryCache.get(key);
+        if (png != null) {
+            memoryHits.increment();
+            return png;
+        }
+
+        Path file = cacheDir.resolve(key + ".png");
+        try {
+            if (Files.exists(file)) {
+                png = Files.readAllBytes(file);
+            }
+        } catch (IOException e) {
+            logger.debug("Lecture du cache disque impossible pour {} : {}", key, e.getMessage());
+        }
+
+        if (png == null) {
+            misses.increment();
+            png = render(name, key);
+            storeOnDisk(file, png);
+        } else {
+            diskHits.increment();
+        }
+
+        memoryCache.put(key, png);
+        return png;
+    }
+
+    private static Counter cacheGets(MeterRegistry registry, String result) {
+        return Counter.builder("cache.gets").tag("cache", "avatars").tag("result", result).register(registry);
+    }
+
+    private byte[] render(String name, String key) {
+        BufferedImage image = new BufferedImage(SIZE, SIZE, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = image.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+
+            g.setColor(PALETTE[Integer.parseInt(key.substring(0, 4), 16) % PALETTE.length]);
+            g.fillRect(0, 0, SIZE, SIZE);
+
+            String initials = initials(name);
+            g.setFont(new Font(Font.SANS_SERIF, Font.BOLD, SIZE * 2 / 5));
+            FontMetrics metrics = g.getFontMetrics();
+            int x = (SIZE - metrics.stringWidth(initials)) / 2;
+            int y = (SIZE - metrics.getHeight()) / 2 + metrics.getAscent();
+            g.setColor(Color.WHITE);
+            g.drawString(initials, x, y);
+        } finally {
+            g.dispose();
+        }
+
+        try (ByteArrayOutputStream out = new ByteArrayOutputStream(4096)) {
+            ImageIO.write(image, "png", out);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Impossible d'encoder l'avatar", e);
+        }
+    }
+
+    private void storeOnDisk(Path file, byte[] png) {
+        try {
+            Path temp = Files.createTempFile(cacheDir, "avatar", ".tmp");
+            Files.write(temp, png);
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (diskEntries.incrementAndGet() > maxDiskEntries) {
+                evictOldestFromDisk();
+            }
+        } catch (IOException e) {
+            logger.debug("Écriture du cache disque impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Supprime les 10% de fichiers les plus anciens quand le cache disque dépasse sa limite
+     */
+    private synchronized void evictOldestFromDisk() {
+        if (diskEntries.get() <= maxDiskEntries) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(cacheDir)) {
+            List<Path> sorted = files
+                    .sorted(Comparator.comparingLong(p -> p.toFile().lastModified()))
+                    .toList();
+            int toDelete = Math.max(1, sorted.size() - maxDiskEntries + maxDiskEntries / 10);
+            for (int i = 0; i < toDelete && i < sorted.size(); i++) {
+                Files.deleteIfExists(sorted.get(i));
+            }
+            diskEntries.set(Math.max(0, sorted.size() - toDelete));
+        } catch (IOException e) {
+            logger.debug("Éviction du cache disque impossible : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Initiales du prénom et du nom de famille (dernier mot)
+     */
+    static String initials(String name) {
+        String normalized = normalize(name);
+        if (normalized.isEmpty()) {
+            return "?";
+        }
+        String[] words = normalized.split("\\s+");
+        StringBuilder initials = new StringBuilder(4).appendCodePoint(words[0].codePointAt(0));
+        if (words.length > 1) {
+            initials.appendCodePoint(words[words.length - 1].codePointAt(0));
+        }
+        return initials.toString().toUpperCase(Locale.ROOT);
+    }
+
+    private static String normalize(String name) {
+        return name == null ? "" : truncate(name.trim()).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * MAX_NAME_LENGTH premiers points de code (une paire de substitution n'est jamais coupée)
+     */
+    static String truncate(String name) {
+        if (name.length() <= MAX_NAME_LENGTH || name.codePointCount(0, name.length()) <= MAX_NAME_LENGTH) {
+            return name;
+        }
+        return name.substring(0, name.offsetByCodePoints(0, MAX_NAME_LENGTH));
+    }
+
+    /**
+     * Nom acceptable pour /avatars : au plus MAX_NAME_LENGTH points de code, espaces de bord exclus
+     */
+    public static boolean isValidName(String name) {
+        String trimmed = name.trim();
+        return trimmed.length() <= MAX_NAME_LENGTH || trimmed.codePointCount(0, trimmed.length()) <= MAX_NAME_LENGTH;
+    }
+}
@@ -0,0 +1,347 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.HiddenAuthors;
+import com.connecthub.socialnetwork.dto.NavbarView;
+import com.connecthub.socialnetwork.repository.GraphSource;
+import com.connecthub.socialnetwork.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Paires bloqueur → bloqué (relations BLOCKED) en mémoire, dans les deux sens de lecture.
+ *
+ * Le filtrage des blocages (fils d'actualité, recherche, profil, tendances) se fait ainsi sans
+ * requête Neo4j. Chaque utilisateur reçoit un ordinal ; ses blocages sont des tableaux d'ordinaux
+ * triés (recherche dichotomique), précédés d'un filtre de Bloom global qui écarte sans accès
+ * aux tableaux l'immense majorité des paires, qui ne sont pas bloquées.
+ *
+ * Une fois chargé, l'index fait foi partout : profil, recherche de personnes (FriendService)
+ * comme fils, tags et recherche de publications, dont les requêtes ne testent plus la relation
+ * BLOCKED ({@link #hiddenAuthors}). Il est exact parce que tous les blocages passent par
+ * FriendService dans cette instance (une seule instance par base, voir SocialGraphService).
+ *
+ * Chargé en tâche de fond au démarrage : tant que {@link #isReady} est faux, les appelants
+ * interrogent la base. Les blocages et déblocages sont appliqués après le commit de leur
+ * transaction, comme les événements du DomainEventBus.
+ */
+@Service
+public class BlockedPairIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(BlockedPairIndex.class);
+
+    private static final int[] NONE = new int[0];
+
+    private record Change(boolean blocked, String userId, String otherUserId) {
+    }
+
+    /**
+     * Écritures sérialisées (synchronized), lectures sans verrou. Une ligne d'ordinaux n'est
+     * jamais modifiée après publication : elle est remplacée (copie à l'écriture) par une
+     * écriture volatile dans un AtomicReferenceArray. Quand la capacité est atteinte, les
+     * tableaux sont recopiés puis publiés par leur champ volatile ; un lecteur qui tient encore
+     * l'ancien tableau voit un état antérieur mais cohérent.
+     */
+    private static final class Pairs {
+
+        private final Map<String, Integer> ordinals = new ConcurrentHashMap<>();
+        private volatile AtomicReferenceArray<String> ids = new AtomicReferenceArray<>(1024);
+        private volatile AtomicReferenceArray<int[]> blocking = new AtomicReferenceArray<>(1024);
+        private volatile AtomicReferenceArray<int[]> blockedBy = new AtomicReferenceArray<>(1024);
+        private volatile PairBloomFilter bloom;
+
+        private int count;
+        private int removed;
+
+        private Pairs(int expectedPairs) {
+            bloom = new PairBloomFilter(Math.max(1024, expectedPairs * 2));
+        }
+
+        private synchronized void apply(Change change) {
+            if (change.blocked()) {
+                add(change.userId(), change.otherUserId());
+            } else {
+                remove(change.userId(), change.otherUserId());
+            }
+        }
+
+        private void add(String userId, String blockedUserId) {
+            int user = ordinal(userId);
+            int blocked = ordinal(blockedUserId);
+            int[] current = row(blocking, user);
+            if (Arrays.binarySearch(current, blocked) >= 0) {
+                return;
+            }
+            // Bits posés avant la publication des lignes : un lecteur ne voit jamais la paire sans ses bits
+            bloom.add(userId, blockedUserId);
+            blocking.set(user, insert(current, blocked));
+            blockedBy.set(blocked, insert(row(blockedBy, blocked), user));
+            if (++count > bloom.capacity()) {
+                rebuildBloom();
+            }
+        }
+
+        private void remove(String userId, String unblockedUserId) {
+            Integer user = ordinals.get(userId);
+            Integer unblocked = ordinals.get(unblockedUserId);
+            if (user == null || unblocked == null) {
+                return;
+            }
+            int[] current = row(blocking, user);
+            int position = Arrays.binarySearch(current, unblocked);
+            if (position < 0) {
+                return;
+            }
+            blocking.set(user, delete(current, position));
+            int[] reverse = row(blockedBy, unblocked);
+            blockedBy.set(unblocked, delete(reverse, Arrays.binarySearch(reverse, user)));
+            count--;
+            // Les bits d'une paire retirée restent posés : reconstruction quand ces faux positifs s'accumulent
+            if (++removed > bloom.capacity() / 4) {
+                rebuildBloom();
+            }
+        }
+
+        private int ordinal(String userId) {
+            Integer existing = ordinals.get(userId);
+            if (existing != null) {
+                return existing;
+            }
+            int ordinal = ordinals.size();
+            if (ordinal == ids.length()) {
+                int capacity = ordinal * 2;
+                ids = grow(ids, capacity);
+                blocking = grow(blocking, capacity);
+                blockedBy = grow(blockedBy, capacity);
+            }
+            ids.set(ordinal, userId);
+            // Ordinal visible seulement une fois l'identifiant en place dans ids
+            ordinals.put(userId, ordinal);
+            return ordinal;
+        }
+
+        private void rebuildBloom() {
+            PairBloomFilter rebuilt = new PairBloomFilter(Math.max(1024, count * 2));
+            AtomicReferenceArray<String> names = ids;
+            AtomicReferenceArray<int[]> rows = blocking;
+            for (int user = 0; user < ordinals.size(); user++) {
+                for (int blocked : row(rows, user)) {
+                    rebuilt.add(names.get(user), names.get(blocked));
+                }
+            }
+            bloom = rebuilt;
+            removed = 0;
+        }
+
+        private boolean contains(String userId, String otherUserId) {
+            if (!bloom.mightContain(userId, otherUserId)) {
+                return false;
+            }
+            Integer user = ordinals.get(userId);
+            Integer other = ordinals.get(otherUserId);
+            return user != null && other != null && Arrays.binarySearch(row(blocking, user), other) >= 0;
+        }
+
+        private void collect(AtomicReferenceArray<int[]> rows, int user, Set<String> into) {
+            int[] others = row(rows, user);
+            // Lu après la ligne : contient forcément les identifiants des ordinaux qu'elle référence
+            AtomicReferenceArray<String> names = ids;
+            for (int other : others) {
+                into.add(names.get(other));
+            }
+        }
+
+        private static int[] row(AtomicReferenceArray<int[]> rows, int ordinal) {
+            int[] row = ordinal < rows.length() ? rows.get(ordinal) : null;
+            return row != null ? row : NONE;
+        }
+
+        private static <T> AtomicReferenceArray<T> grow(AtomicReferenceArray<T> array, int capacity) {
+            AtomicReferenceArray<T> grown = new AtomicReferenceArray<>(capacity);
+            for (int i = 0; i < array.length(); i++) {
+                grown.set(i, array.get(i));
+            }
+            return grown;
+        }
+
+        private static int[] insert(int[] row, int value) {
+            int position = -Arrays.binarySearch(row, value) - 1;
+            int[] updated = new int[row.length + 1];
+            System.arraycopy(row, 0, updated, 0, position);
+            updated[position] = value;
+            System.arraycopy(row, position, updated, position + 1, row.length - position);
+            return updated;
+        }
+
+        private static int[] delete(int[] row, int position) {
+            if (row.length == 1) {
+                return null;
+            }
+            int[] updated = new int[row.length - 1];
+            System.arraycopy(row, 0, updated, 0, position);
+            System.arraycopy(row, position + 1, updated, position, row.length - position - 1);
+            return updated;
+        }
+    }
+
+    private final GraphSource graphSource;
+    private final UserRepository userRepository;
+    private final NavbarService navbarService;
+
+    private volatile Pairs pairs;
+    private final List<Change> pending = new ArrayList<>();
+
+    public BlockedPairIndex(GraphSource graphSource, UserRepository userRepository, NavbarService navbarService) {
+        this.graphSource = graphSource;
+        this.userRepository = userRepository;
+        this.navbarService = navbarService;
+    }
+
+    public boolean isReady() {
+        return pairs != null;
+    }
+
+    // =========================
+    // CHARGEMENT
+    // =========================
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread thread = new Thread(this::load, "blocked-pairs-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            List<String[]> blocks = new ArrayList<>();
+            graphSource.streamBlocks((userId, blockedUserId) -> blocks.add(new String[]{userId, blockedUserId}));
+            Pairs loaded = new Pairs(blocks.size());
+            for (String[] block : blocks) {
+                loaded.apply(new Change(true, block[0], block[1]));
+            }
+            synchronized (pending) {
+                pending.forEach(loaded::apply);
+                pending.clear();
+                pairs = loaded;
+            }
+            log.info("Index des blocages chargé : {} paire(s), {} utilisateur(s) en {} ms", loaded.count,
+                    loaded.ordinals.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (RuntimeException e) {
+            log.error("Chargement de l'index des blocages impossible : les vérifications restent faites par Neo4j", e);
+        }
+    }
+
+    // =========================
+    // LECTURE (isReady() requis, sauf hiddenAuthors et hiddenAuthorIds)
+    // =========================
+
+    /**
+     * userId a bloqué otherUserId
+     */
+    public boolean isBlocked(String userId, String otherUserId) {
+        return pairs.contains(userId, otherUserId);
+    }
+
+    public boolean isBlockedEitherWay(String userId, String otherUserId) {
+        Pairs current = pairs;
+        return current.contains(userId, otherUserId) || current.contains(otherUserId, userId);
+    }
+
+    /**
+     * Utilisateurs que userId a bloqués ou qui l'ont bloqué
+     */
+    public Set<String> blockedEitherWay(String userId) {
+        Pairs current = pairs;
+        Integer user = current.ordinals.get(userId);
+        if (user == null) {
+            return Set.of();
+        }
+        Set<String> related = new HashSet<>();
+        current.collect(current.blocking, user, related);
+        current.collect(current.blockedBy, user, related);
+        return related.isEmpty() ? Set.of() : related;
+    }
+
+    /**
+     * Auteurs à masquer dans les fils et la recherche de l'utilisateur email, passés aux
+     * requêtes : la liste de l'index, ou, tant qu'il n'est pas chargé, le test BLOCKED fait
+     * par la requête elle-même
+     */
+    public HiddenAuthors hiddenAuthors(String email) {
+        if (!isReady()) {
+            return HiddenAuthors.checkedByQuery();
+        }
+        NavbarView navbar = navbarService.getNavbar(email);
+        return HiddenAuthors.of(navbar == null ? Set.of() : blockedEitherWay(navbar.getUserId()));
+    }
+
+    /**
+     * Auteurs à masquer pour l'utilisateur email, pour un filtrage en mémoire (tendances).
+     * Interroge la base tant que l'index n'est pas chargé.
+     */
+    public Set<String> hiddenAuthorIds(String email) {
+        NavbarView navbar = navbarService.getNavbar(email);
+        if (navbar == null) {
+            return Set.of();
+        }
+        if (isReady()) {
+            return blockedEitherWay(navbar.getUserId());
+        }
+        return new HashSet<>(userRepository.findBlockedEitherWayIds(navbar.getUserId()));
+    }
+
+    // =========================
+    // MISES À JOUR
+    // =========================
+
+    public void block(String userId, String blockedUserId) {
+        afterCommit(new Change(true, userId, blockedUserId));
+    }
+
+    public void unblock(String userId, String unblockedUserId) {
+        afterCommit(new Change(false, userId, unblockedUserId));
+    }
+
+    private void afterCommit(Change change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(change);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(change);
+            }
+        });
+    }
+
+    private void apply(Change change) {
+        Pairs current = pairs;
+        if (current == null) {
+            synchronized (pending) {
+                current = pairs;
+                if (current == null) {
+                    pending.add(change);
+                    return;
+                }
+            }
+        }
+        current.apply(change);
+    }
+}
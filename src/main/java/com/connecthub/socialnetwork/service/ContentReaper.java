@@ -0,0 +1,133 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.repository.PostRepository;
+import com.connecthub.socialnetwork.repository.ReapStep;
+import com.connecthub.socialnetwork.repository.TombstoneRepository.ReapBatch;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Retire du graphe les publications et comptes supprimés logiquement (deletedAt).
+ *
+ * Les étapes de ReapStep sont exécutées dans l'ordre, par lots de connecthub.reaper.batch-size
+ * éléments, chaque lot dans sa propre transaction courte. Une pause (pause-millis) sépare
+ * deux lots pour laisser passer les écritures des utilisateurs, et un passage traite au plus
+ * max-batches-per-run lots : le reste attend le passage suivant.
+ *
+ * Les fichiers des images (original et variantes) d'un lot de publications supprimées sont
+ * effacés de connecthub.images.upload-dir une fois ce lot validé : un échec laisse au pire
+ * un fichier orphelin, jamais une publication sans son image.
+ *
+ * Le passage tourne sur son propre thread, comme l'analyse du graphe : ses pauses ne
+ * retiennent pas le planificateur partagé (diffusion SSE, instantanés...). Un passage
+ * encore en cours à l'échéance suivante n'est pas doublé.
+ */
+@Service
+public class ContentReaper {
+
+    private static final Logger log = LoggerFactory.getLogger(ContentReaper.class);
+
+    private final PostRepository postRepository;
+    private final int batchSize;
+    private final int maxBatchesPerRun;
+    private final long pauseMillis;
+    private final Path uploadDir;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "content-reaper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ContentReaper(PostRepository postRepository,
+                         @Value("${connecthub.reaper.batch-size:500}") int batchSize,
+                         @Value("${connecthub.reaper.max-batches-per-run:200}") int maxBatchesPerRun,
+                         @Value("${connecthub.reaper.pause-millis:50}") long pauseMillis,
+                         @Value("${connecthub.images.upload-dir:src/main/resources/static/images/posts/}") String uploadDir) {
+        this.postRepository = postRepository;
+        this.batchSize = batchSize;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.pauseMillis = pauseMillis;
+        this.uploadDir = Paths.get(uploadDir);
+    }
+
+    @Scheduled(fixedDelayString = "${connecthub.reaper.interval-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void schedule() {
+        if (!running.compareAndSet(false, true)) {
+            return;
+        }
+        executor.execute(() -> {
+            try {
+                reap();
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void reap() {
+        Map<ReapStep, Integer> processed = new EnumMap<>(ReapStep.class);
+        int batches = 0;
+        try {
+            for (ReapStep step : ReapStep.values()) {
+                int count;
+                do {
+                    if (batches++ >= maxBatchesPerRun) {
+                        return;
+                    }
+                    ReapBatch batch = postRepository.reap(step, batchSize);
+                    count = batch.processed();
+                    processed.merge(step, count, Integer::sum);
+                    batch.imageUrls().forEach(this::deleteImage);
+                    if (count == batchSize) {
+                        TimeUnit.MILLISECONDS.sleep(pauseMillis);
+                    }
+                } while (count == batchSize);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Les lots déjà validés restent acquis ; le passage suivant reprend là où celui-ci s'est arrêté
+            log.error("Nettoyage des suppressions interrompu", e);
+        } finally {
+            processed.values().removeIf(count -> count == 0);
+            if (!processed.isEmpty()) {
+                log.info("Nettoyage des suppressions : {}", processed);
+            }
+        }
+    }
+
+    private void deleteImage(String imageUrl) {
+        // Nom de fichier seul : l'URL stockée ne peut pas faire sortir du dossier des images
+        String fileName = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+        if (fileName.isEmpty()) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(uploadDir.resolve(fileName));
+        } catch (IOException e) {
+            log.warn("Image {} non supprimée : {}", fileName, e.getMessage());
+        }
+    }
+}
@@ -3,34 +3,52 @@ package com.connecthub.socialnetwork.service;
 import com.connecthub.socialnetwork.model.User;
 import com.connecthub.socialnetwork.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    // Comptes administrateurs (endpoints /actuator hors sondes), par email
+    private final Set<String> adminEmails;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${connecthub.security.admin-emails:}") List<String> adminEmails) {
         this.userRepository = userRepository;
+        this.adminEmails = adminEmails.stream()
+                .map(email -> email.trim().toLowerCase(Locale.ROOT))
+                .filter(email -> !email.isEmpty())
+                .collect(Collectors.toUnmodifiableSet());
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         // Charger l'utilisateur depuis Neo4j par email
         User user = userRepository.findByEmail(email)
+                .filter(found -> found.getDeletedAt() == null) // compte supprimé, en attente de nettoyage
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé : " + email));
 
+        List<GrantedAuthority> authorities = adminEmails.contains(user.getEmail().toLowerCase(Locale.ROOT))
+                ? AuthorityUtils.createAuthorityList("ROLE_ADMIN")
+                : List.of();
+
         // Retourner un objet UserDetails pour Spring Security
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
-                new ArrayList<>()  // Pas de rôles pour l'instant
+                authorities
         );
     }
 }
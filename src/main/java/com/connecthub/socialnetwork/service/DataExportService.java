@@ -0,0 +1,225 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.ExportJob;
+import com.connecthub.socialnetwork.repository.ExportSection;
+import com.connecthub.socialnetwork.repository.PersonalDataReader;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.neo4j.driver.Record;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Export des données personnelles (profil, amis, publications, commentaires, likes, images)
+ * sous forme d'archive ZIP, produite en tâche de fond.
+ *
+ * Chaque section est lue en flux (PersonalDataReader) et écrite au fil de l'eau dans
+ * l'archive par un JsonGenerator : aucune section n'est chargée entièrement en mémoire,
+ * les images sont copiées fichier par fichier. La mémoire d'un export est donc bornée
+ * (tampons du curseur, du générateur JSON et du compresseur) quelle que soit la taille du compte.
+ */
+@Service
+public class DataExportService {
+
+    private static final Logger log = LoggerFactory.getLogger(DataExportService.class);
+
+    private final PersonalDataReader reader;
+    private final ObjectMapper objectMapper;
+    private final Path exportDir;
+    private final Path mediaDir;
+    private final long retentionHours;
+    private final ExecutorService executor;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+    // Dernier export lancé par utilisateur : la vérification et le lancement se font d'un bloc
+    private final Map<String, ExportJob> latestByUser = new ConcurrentHashMap<>();
+
+    public DataExportService(PersonalDataReader reader, ObjectMapper objectMapper,
+                             @Value("${connecthub.export.dir:${java.io.tmpdir}/connecthub-exports}") String exportDir,
+                             @Value("${connecthub.export.media-dir:src/main/resources/static/images/posts/}") String mediaDir,
+                             @Value("${connecthub.export.retention-hours:24}") long retentionHours,
+                             @Value("${connecthub.export.max-concurrent:2}") int maxConcurrent) {
+        this.reader = reader;
+        this.objectMapper = objectMapper;
+        this.exportDir = Paths.get(exportDir);
+        this.mediaDir = Paths.get(mediaDir);
+        this.retentionHours = retentionHours;
+
+        AtomicInteger count = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(maxConcurrent, runnable -> {
+            Thread thread = new Thread(runnable, "export-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Lance un export ; renvoie l'export déjà en cours de l'utilisateur s'il y en a un
+     */
+    public ExportJob startExport(String userId) {
+        // compute verrouille la clé de l'utilisateur : deux demandes simultanées ne lancent qu'un export
+        return latestByUser.compute(userId, (id, latest) -> {
+            if (latest != null && (latest.getStatus() == ExportJob.Status.PENDING
+                    || latest.getStatus() == ExportJob.Status.RUNNING)) {
+                return latest;
+            }
+            ExportJob job = new ExportJob(UUID.randomUUID().toString(), userId);
+            jobs.put(job.getId(), job);
+            executor.submit(() -> run(job));
+            return job;
+        });
+    }
+
+    /**
+     * Export de l'utilisateur (un export n'est jamais visible par un autre compte)
+     */
+    public Optional<ExportJob> findJob(String userId, String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).filter(job -> job.getUserId().equals(userId));
+    }
+
+    // =========================
+    // PRODUCTION DE L'ARCHIVE
+    // =========================
+
+    private void run(ExportJob job) {
+        job.setStatus(ExportJob.Status.RUNNING);
+        Path partial = exportDir.resolve(job.getId() + ".zip.part");
+        Path target = exportDir.resolve(job.getId() + ".zip");
+        try {
+            Files.createDirectories(exportDir);
+            try (ZipOutputStream zip = new ZipOutputStream(new BufferedOutputStream(Files.newOutputStream(partial)))) {
+                for (ExportSection section : ExportSection.values()) {
+                    if (section == ExportSection.MEDIA) {
+                        writeMedia(zip, job.getUserId());
+                    } else {
+                        writeSection(zip, section, job.getUserId());
+                    }
+                }
+            }
+            Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            job.setFile(target);
+            job.setSizeBytes(Files.size(target));
+            job.setStatus(ExportJob.Status.DONE);
+        } catch (IOException | RuntimeException e) {
+            log.error("Export {} en échec", job.getId(), e);
+            deleteQuietly(partial);
+            job.setError("L'export a échoué, veuillez réessayer");
+            job.setStatus(ExportJob.Status.FAILED);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+            latestByUser.remove(job.getUserId(), job);
+        }
+    }
+
+    /**
+     * Un fichier JSON par section : tableau écrit élément par élément
+     */
+    private void writeSection(ZipOutputStream zip, ExportSection section, String userId) throws IOException {
+        zip.putNextEntry(new ZipEntry(section.fileName()));
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(zip);
+        // Fermer le générateur en fin de section ne doit pas fermer l'archive
+        generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try {
+            generator.useDefaultPrettyPrinter();
+            generator.writeStartArray();
+            reader.stream(section, userId, record -> writeRecord(generator, record));
+            generator.writeEndArray();
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            generator.close();
+        }
+        zip.closeEntry();
+    }
+
+    private static void writeRecord(JsonGenerator generator, Record record) {
+        try {
+            generator.writeObject(record.asMap());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Images des publications, copiées par flux dans media/
+     */
+    private void writeMedia(ZipOutputStream zip, String userId) throws IOException {
+        try {
+            reader.stream(ExportSection.MEDIA, userId, record -> {
+                String imageUrl = record.get("imageUrl").asString();
+                // Nom de fichier seul : l'URL stockée ne peut pas faire sortir du dossier des images
+                String fileName = imageUrl.substring(imageUrl.lastIndexOf('/') + 1);
+                Path file = mediaDir.resolve(fileName);
+                if (fileName.isEmpty() || !Files.isRegularFile(file)) {
+                    return;
+                }
+                try {
+                    zip.putNextEntry(new ZipEntry("media/" + record.get("postId").asLong() + "-" + fileName));
+                    Files.copy(file, zip);
+                    zip.closeEntry();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    // =========================
+    // EXPIRATION
+    // =========================
+
+    /**
+     * Supprime les archives (et les suivis d'export) plus anciens que retention-hours
+     */
+    @Scheduled(fixedDelayString = "${connecthub.export.cleanup-minutes:60}", timeUnit = TimeUnit.MINUTES)
+    public void purgeExpired() {
+        LocalDateTime limit = LocalDateTime.now().minusHours(retentionHours);
+        jobs.values().removeIf(job -> {
+            if (job.getFinishedAt() == null || job.getFinishedAt().isAfter(limit)) {
+                return false;
+            }
+            if (job.getFile() != null) {
+                deleteQuietly(job.getFile());
+            }
+            return true;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.warn("Impossible de supprimer {} : {}", path, e.getMessage());
+        }
+    }
+}
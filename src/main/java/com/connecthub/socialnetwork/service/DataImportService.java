@@ -2,6 +2,10 @@ package com.connecthub.socialnetwork.service;
 
 import com.connecthub.socialnetwork.model.User;
 import com.connecthub.socialnetwork.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -9,9 +13,10 @@ import org.springframework.stereotype.Service;
 import java.io.BufferedReader;
 import java.io.InputStream;
 import java.io.InputStreamReader;
-import java.time.LocalDateTime;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -19,13 +24,30 @@ import java.util.stream.Collectors;
 @Service
 public class DataImportService {
 
+    private static final Logger log = LoggerFactory.getLogger(DataImportService.class);
+
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AvatarService avatarService;
+
+    // Débit de l'import : connecthub.import.users{result=imported|skipped|failed}
+    private final Counter importedCounter;
+    private final Counter skippedCounter;
+    private final Counter failedCounter;
 
     @Autowired
-    public DataImportService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public DataImportService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                             AvatarService avatarService, MeterRegistry meterRegistry) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.avatarService = avatarService;
+        this.importedCounter = importCounter(meterRegistry, "imported");
+        this.skippedCounter = importCounter(meterRegistry, "skipped");
+        this.failedCounter = importCounter(meterRegistry, "failed");
+    }
+
+    private static Counter importCounter(MeterRegistry registry, String result) {
+        return Counter.builder("connecthub.import.users").tag("result", result).register(registry);
     }
 
     private static final String[] BIOS = {
@@ -50,7 +72,7 @@ public class DataImportService {
                     .getResourceAsStream("data/SocialMediaUsersDataset.csv");
 
             if (inputStream == null) {
-                System.out.println("❌ Fichier CSV non trouvé");
+                log.warn("Fichier CSV non trouvé : data/SocialMediaUsersDataset.csv");
                 return;
             }
 
@@ -64,7 +86,7 @@ public class DataImportService {
             Random random = new Random();
             List<User> importedUsers = new java.util.ArrayList<>();
 
-            System.out.println("🚀 Import utilisateurs en cours...");
+            log.info("Import des utilisateurs en cours...");
 
             String line;
             while ((line = reader.readLine()) != null && count < maxUsers) {
@@ -74,6 +96,7 @@ public class DataImportService {
 
                     if (parts.length < 6) {
                         skipped++;
+                        skippedCounter.increment();
                         continue;
                     }
 
@@ -91,14 +114,12 @@ public class DataImportService {
                     // Vérifier si l'utilisateur existe déjà
                     if (userRepository.findByEmail(email).isPresent()) {
                         skipped++;
+                        skippedCounter.increment();
                         continue;
                     }
 
-                    User user = new User();
-                    user.setName(name);
-                    user.setEmail(email);
                     // Hasher le mot de passe avec BCrypt (mot de passe par défaut pour les utilisateurs importés)
-                    user.setPassword(passwordEncoder.encode("Password123!"));
+                    User user = new User(name, email, passwordEncoder.encode("Password123!"));
                     
                     // Bio avec informations du CSV
                     StringBuilder bioBuilder = new StringBuilder();
@@ -114,11 +135,8 @@ public class DataImportService {
                     bioBuilder.append(BIOS[random.nextInt(BIOS.length)]);
                     user.setBio(bioBuilder.toString());
                     
-                    user.setProfileImage(
-                            "https://ui-avatars.com/api/?name=" +
-                                    name.replace(" ", "+") + "&size=200"
-                    );
-                    user.setCreatedAt(LocalDateTime.now());
+                    user.setProfileImage(avatarService.avatarUrl(name));
+                    user.setHandle(UserHandles.newHandle(userRepository, email));
 
                     // Parser les intérêts
                     if (interestsStr != null && !interestsStr.isEmpty()) {
@@ -129,13 +147,15 @@ public class DataImportService {
                     userRepository.save(user);
                     importedUsers.add(user);
                     count++;
-                    
+                    importedCounter.increment();
+
                     if (count % 100 == 0) {
-                        System.out.println("   ✓ " + count + " utilisateurs importés...");
+                        log.debug("{} utilisateurs importés...", count);
                     }
                 } catch (Exception e) {
                     skipped++;
-                    System.err.println("Erreur lors de l'import de la ligne: " + e.getMessage());
+                    failedCounter.increment();
+                    log.warn("Erreur lors de l'import de la ligne : {}", e.getMessage());
                 }
             }
 
@@ -147,18 +167,18 @@ public class DataImportService {
                 connectImportedUsers(importedUsers, 5);
             }
 
-            System.out.println("🎉 Import terminé : " + count + " utilisateurs importés, " + skipped + " ignorés");
+            log.info("Import terminé : {} utilisateurs importés, {} ignorés", count, skipped);
 
         } catch (Exception e) {
-            System.err.println("❌ Erreur lors de l'import: " + e.getMessage());
-            e.printStackTrace();
+            log.error("Erreur lors de l'import", e);
         }
     }
 
     /**
      * Parse une ligne CSV en tenant compte des guillemets
+     * (visibilité paquetage : mesurée par les benchmarks JMH)
      */
-    private String[] parseCSVLine(String line) {
+    static String[] parseCSVLine(String line) {
         java.util.List<String> result = new java.util.ArrayList<>();
         boolean inQuotes = false;
         StringBuilder currentField = new StringBuilder();
@@ -183,7 +203,7 @@ public class DataImportService {
     /**
      * Parse les intérêts depuis une chaîne formatée comme "'Interest1', 'Interest2'"
      */
-    private Set<String> parseInterests(String interestsStr) {
+    static Set<String> parseInterests(String interestsStr) {
         Set<String> interests = new HashSet<>();
         
         if (interestsStr == null || interestsStr.trim().isEmpty()) {
@@ -213,7 +233,7 @@ public class DataImportService {
         return interests;
     }
 
-    private String generateEmail(String name, String userId) {
+    static String generateEmail(String name, String userId) {
         String cleanName = name.toLowerCase()
                 .replace(" ", ".")
                 .replaceAll("[^a-z.]", "");
@@ -225,23 +245,24 @@ public class DataImportService {
     /**
      * Crée des connexions mutuelles entre utilisateurs importés (@connecthub.com)
      * pour alimenter les recommandations d'amis/feed.
+     * Une seule relation par paire, portée par l'identifiant le plus petit (sens canonique).
      */
     private void connectImportedUsers(List<User> users, int maxConnectionsPerUser) {
         if (users == null || users.size() < 2) {
             return;
         }
 
-        // Indexer par email pour éviter les duplications
+        Map<User, Integer> degrees = new HashMap<>();
         for (int i = 0; i < users.size(); i++) {
             User u1 = users.get(i);
-            int currentDegree = u1.getFriends() != null ? u1.getFriends().size() : 0;
+            int currentDegree = degrees.getOrDefault(u1, 0);
             if (currentDegree >= maxConnectionsPerUser) continue;
 
             // Choisir des candidats différents, prioriser intérêts communs
             for (int j = i + 1; j < users.size() && currentDegree < maxConnectionsPerUser; j++) {
                 User u2 = users.get(j);
-                if (u1.getId() != null && u1.getId().equals(u2.getId())) continue;
-                if (u1.getFriends().contains(u2)) continue;
+                if (u1.getId().equals(u2.getId())) continue;
+                if (u1.getFriends().contains(u2) || u2.getFriends().contains(u1)) continue;
 
                 boolean shareInterest = false;
                 if (u1.getInterests() != null && u2.getInterests() != null) {
@@ -250,12 +271,18 @@ public class DataImportService {
 
                 // Connecter surtout s'ils partagent au moins un intérêt
                 if (shareInterest || currentDegree < 2) {
-                    u1.getFriends().add(u2);
-                    u2.getFriends().add(u1);
+                    if (u1.getId().compareTo(u2.getId()) < 0) {
+                        u1.getFriends().add(u2);
+                    } else {
+                        u2.getFriends().add(u1);
+                    }
+                    degrees.merge(u2, 1, Integer::sum);
                     currentDegree++;
                 }
             }
+            degrees.put(u1, currentDegree);
         }
         userRepository.saveAll(users);
+        userRepository.refreshDegrees(users.stream().map(User::getId).toList());
     }
 }
\ No newline at end of file
@@ -7,6 +7,11 @@ import org.springframework.transaction.annotation.Transactional;
 import org.neo4j.driver.Driver;
 import org.neo4j.driver.Session;
 import org.neo4j.driver.Result;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -16,13 +21,94 @@ public class DatabaseMigrationService implements CommandLineRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(DatabaseMigrationService.class);
     private final Driver driver; // Utilisation du driver natif pour être sûr de contourner le mapping SDN
+    private final AvatarService avatarService;
 
-    public DatabaseMigrationService(Driver driver) {
+    public DatabaseMigrationService(Driver driver, AvatarService avatarService) {
         this.driver = driver;
+        this.avatarService = avatarService;
     }
 
+    private static final String CANONICAL_FRIENDSHIPS = "canonical_friendships";
+    private static final int MIGRATION_BATCH = 5000;
+
+    // Amitiés : une seule relation par paire, de l'identifiant le plus petit vers le plus grand,
+    // puis degree recalculé pour les utilisateurs touchés. Chaque requête traite au plus $batch lignes.
+    private static final String[] CANONICAL_FRIENDSHIP_STEPS = {
+            // Relations à l'envers (et boucles) : remplacées par la relation canonique si absente
+            """
+                MATCH (a:User)-[r:CONNECTED_TO]->(b:User)
+                WHERE a.id >= b.id
+                WITH a, b, r LIMIT $batch
+                FOREACH (ignored IN CASE WHEN a <> b THEN [1] ELSE [] END | MERGE (b)-[:CONNECTED_TO]->(a))
+                DELETE r
+                SET a.degree = null, b.degree = null
+                RETURN count(*) AS processed
+            """,
+            // Relations canoniques en double
+            """
+                MATCH (a:User)-[r:CONNECTED_TO]->(b:User)
+                WITH a, b, collect(r) AS edges
+                WHERE size(edges) > 1
+                WITH a, b, edges LIMIT $batch
+                FOREACH (extra IN tail(edges) | DELETE extra)
+                SET a.degree = null, b.degree = null
+                RETURN count(*) AS processed
+            """,
+            """
+                MATCH (u:User)
+                WHERE u.degree IS NULL
+                WITH u LIMIT $batch
+                SET u.degree = COUNT { (u)-[:CONNECTED_TO]-(friend:User) WHERE friend.deletedAt IS NULL }
+                RETURN count(u) AS processed
+            """
+    };
+
+    // Relations TAGGED créées avant tagged_tag_created_at : nom du tag et date de la publication recopiés
+    private static final String TAGGED_KEYS = """
+                MATCH (p:Post)-[r:TAGGED]->(t:Tag)
+                WHERE r.tag IS NULL
+                WITH p, r, t LIMIT $batch
+                SET r.tag = t.name, r.createdAt = p.createdAt
+                RETURN count(r) AS processed
+            """;
+
+    // Amis de comptes supprimés avant que tombstoneUser ne décrémente degree : recalcul sur les
+    // amis restants. Idempotent, un utilisateur corrigé ne ressort plus.
+    private static final String LIVE_FRIEND_DEGREES = """
+                MATCH (u:User)-[:CONNECTED_TO]-(deleted:User)
+                WHERE deleted.deletedAt IS NOT NULL AND u.deletedAt IS NULL
+                WITH DISTINCT u
+                WITH u, COUNT { (u)-[:CONNECTED_TO]-(friend:User) WHERE friend.deletedAt IS NULL } AS live
+                WHERE coalesce(u.degree, -1) <> live
+                WITH u, live LIMIT $batch
+                SET u.degree = live
+                RETURN count(u) AS processed
+            """;
+
+    // Index et contraintes idempotents (IF NOT EXISTS), créés à chaque démarrage
+    private static final String[] SCHEMA = {
+            "CREATE CONSTRAINT tag_name IF NOT EXISTS FOR (t:Tag) REQUIRE t.name IS UNIQUE",
+            "CREATE INDEX post_created_at IF NOT EXISTS FOR (p:Post) ON (p.createdAt)",
+            // Fil d'un tag : seek par nom puis plage de dates sur la relation, sans parcourir toutes celles du tag
+            "CREATE INDEX tagged_tag_created_at IF NOT EXISTS FOR ()-[r:TAGGED]-() ON (r.tag, r.createdAt)",
+            "CREATE INDEX user_email IF NOT EXISTS FOR (u:User) ON (u.email)",
+            // Mentions (@handle) : résolues par égalité, un seul compte par handle
+            "CREATE CONSTRAINT user_handle IF NOT EXISTS FOR (u:User) REQUIRE u.handle IS UNIQUE",
+            // Requêtes ciblées par identifiant (blocage, amitiés, profil) : sans index, parcours de tous les User
+            "CREATE INDEX user_id IF NOT EXISTS FOR (u:User) ON (u.id)",
+            // Recherche des éléments à nettoyer (deletedAt IS NOT NULL) par le ContentReaper
+            "CREATE INDEX post_deleted_at IF NOT EXISTS FOR (p:Post) ON (p.deletedAt)",
+            "CREATE INDEX user_deleted_at IF NOT EXISTS FOR (u:User) ON (u.deletedAt)",
+            // Recherche de publications : analyseur insensible aux accents, index mis à jour après commit
+            "CREATE FULLTEXT INDEX post_content IF NOT EXISTS FOR (p:Post) ON EACH [p.content] "
+                    + "OPTIONS {indexConfig: {`fulltext.analyzer`: 'standard-folding', "
+                    + "`fulltext.eventually_consistent`: true}}"
+    };
+
     @Override
     public void run(String... args) {
+        createSchema();
+
         logger.info("🚀 Réparation forcée des IDs via Driver natif...");
         
         try (Session session = driver.session()) {
@@ -49,5 +135,202 @@ public class DatabaseMigrationService implements CommandLineRunner {
         } catch (Exception e) {
             logger.error("❌ Erreur lors de la réparation native : {}", e.getMessage());
         }
+
+        canonicalizeFriendships();
+        refreshLiveFriendDegrees();
+        backfillTaggedKeys();
+        assignHandles();
+        migrateRemoteAvatars();
+    }
+
+    /**
+     * Migration unique (marquée par un nœud :SchemaMigration) : dédoublonnage des amitiés
+     * (anciennes acceptations dans un sens, imports dans les deux) et initialisation de degree.
+     * Par lots de MIGRATION_BATCH, chaque lot dans sa transaction.
+     */
+    private void canonicalizeFriendships() {
+        try (Session session = driver.session()) {
+            boolean done = session.executeRead(tx -> tx.run(
+                    "RETURN EXISTS { MATCH (:SchemaMigration {name: $name}) } AS done",
+                    org.neo4j.driver.Values.parameters("name", CANONICAL_FRIENDSHIPS))
+                    .single().get("done").asBoolean());
+            if (done) {
+                return;
+            }
+
+            long total = 0;
+            for (String step : CANONICAL_FRIENDSHIP_STEPS) {
+                int processed;
+                do {
+                    processed = session.executeWrite(tx -> tx.run(step,
+                            org.neo4j.driver.Values.parameters("batch", MIGRATION_BATCH))
+                            .single().get("processed").asInt());
+                    total += processed;
+                } while (processed == MIGRATION_BATCH);
+            }
+            session.executeWrite(tx -> tx.run("MERGE (m:SchemaMigration {name: $name}) SET m.appliedAt = datetime()",
+                    org.neo4j.driver.Values.parameters("name", CANONICAL_FRIENDSHIPS)).consume());
+            logger.info("🔗 Amitiés canoniques : {} relation(s) ou utilisateur(s) migré(s).", total);
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors de la migration des amitiés : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * degree ne compte que les amis dont le compte n'est pas supprimé (LIVE_FRIEND_DEGREES),
+     * par lots de MIGRATION_BATCH
+     */
+    private void refreshLiveFriendDegrees() {
+        try (Session session = driver.session()) {
+            long total = 0;
+            int processed;
+            do {
+                processed = session.executeWrite(tx -> tx.run(LIVE_FRIEND_DEGREES,
+                        org.neo4j.driver.Values.parameters("batch", MIGRATION_BATCH))
+                        .single().get("processed").asInt());
+                total += processed;
+            } while (processed == MIGRATION_BATCH);
+
+            if (total > 0) {
+                logger.info("🔗 degree recalculé sans les comptes supprimés : {} utilisateur(s).", total);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors du recalcul des degrees : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Clés du fil d'un tag (TAGGED_KEYS) sur les relations existantes, par lots de MIGRATION_BATCH
+     */
+    private void backfillTaggedKeys() {
+        try (Session session = driver.session()) {
+            long total = 0;
+            int processed;
+            do {
+                processed = session.executeWrite(tx -> tx.run(TAGGED_KEYS,
+                        org.neo4j.driver.Values.parameters("batch", MIGRATION_BATCH))
+                        .single().get("processed").asInt());
+                total += processed;
+            } while (processed == MIGRATION_BATCH);
+
+            if (total > 0) {
+                logger.info("🏷️ Relations TAGGED indexées pour le fil des tags : {}.", total);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors de l'indexation des relations TAGGED : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Handle de mention pour les comptes créés avant son introduction (UserHandles), par lots de
+     * MIGRATION_BATCH : les handles déjà pris par les bases du lot sont lus en une requête, le
+     * dédoublonnage se fait ici, puis le lot est écrit en une transaction. Les comptes créés
+     * ensuite reçoivent leur handle à l'inscription ou à l'import.
+     */
+    private void assignHandles() {
+        try (Session session = driver.session()) {
+            long total = 0;
+            List<org.neo4j.driver.Record> batch;
+            do {
+                batch = session.executeRead(tx -> tx.run("""
+                        MATCH (u:User)
+                        WHERE u.handle IS NULL AND u.id IS NOT NULL AND u.email IS NOT NULL
+                        RETURN u.id AS id, u.email AS email
+                        LIMIT $batch
+                        """, org.neo4j.driver.Values.parameters("batch", MIGRATION_BATCH)).list());
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                Set<String> bases = new HashSet<>();
+                for (org.neo4j.driver.Record record : batch) {
+                    bases.add(UserHandles.base(record.get("email").asString()));
+                }
+                Set<String> taken = new HashSet<>(session.executeRead(tx -> tx.run("""
+                        UNWIND $bases AS base
+                        MATCH (u:User) WHERE u.handle STARTS WITH base
+                        RETURN collect(DISTINCT u.handle) AS taken
+                        """, org.neo4j.driver.Values.parameters("bases", List.copyOf(bases)))
+                        .single().get("taken").asList(org.neo4j.driver.Value::asString)));
+
+                List<Map<String, Object>> rows = new ArrayList<>(batch.size());
+                for (org.neo4j.driver.Record record : batch) {
+                    String handle = UserHandles.firstFree(UserHandles.base(record.get("email").asString()), taken);
+                    taken.add(handle);
+                    rows.add(Map.of("id", record.get("id").asString(), "handle", handle));
+                }
+                session.executeWrite(tx -> tx.run("""
+                        UNWIND $rows AS row
+                        MATCH (u:User {id: row.id})
+                        WHERE u.handle IS NULL
+                        SET u.handle = row.handle
+                        """, org.neo4j.driver.Values.parameters("rows", rows)).consume());
+                total += rows.size();
+            } while (batch.size() == MIGRATION_BATCH);
+
+            if (total > 0) {
+                logger.info("🏷️ Handles de mention attribués : {} utilisateur(s).", total);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors de l'attribution des handles : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Index utilisés par les recherches par clé : tag par nom, relations TAGGED par tag et date
+     * (fil /tags), utilisateur par email (connexion), par handle (mentions) et par identifiant,
+     * publications par date, et index plein texte du contenu des publications (/search/posts)
+     */
+    private void createSchema() {
+        try (Session session = driver.session()) {
+            for (String statement : SCHEMA) {
+                session.run(statement).consume();
+            }
+            logger.info("🗂️ Index et contraintes vérifiés ({}).", SCHEMA.length);
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors de la création des index : {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Remplace les avatars ui-avatars.com des anciens imports par les avatars locaux, par lots
+     * de MIGRATION_BATCH comme assignHandles : l'URL locale est calculée en Java, chaque lot est
+     * lu puis écrit en une requête, dans sa propre transaction
+     */
+    private void migrateRemoteAvatars() {
+        try (Session session = driver.session()) {
+            long migrated = 0;
+            List<org.neo4j.driver.Record> batch;
+            do {
+                batch = session.executeRead(tx -> tx.run("""
+                        MATCH (u:User)
+                        WHERE u.profileImage STARTS WITH 'https://ui-avatars.com/' AND u.id IS NOT NULL
+                        RETURN u.id AS id, u.name AS name
+                        LIMIT $batch
+                        """, org.neo4j.driver.Values.parameters("batch", MIGRATION_BATCH)).list());
+                if (batch.isEmpty()) {
+                    break;
+                }
+
+                List<Map<String, Object>> rows = new ArrayList<>(batch.size());
+                for (org.neo4j.driver.Record record : batch) {
+                    String name = record.get("name").isNull() ? "" : record.get("name").asString();
+                    rows.add(Map.of("id", record.get("id").asString(), "url", avatarService.avatarUrl(name)));
+                }
+                session.executeWrite(tx -> tx.run("""
+                        UNWIND $rows AS row
+                        MATCH (u:User {id: row.id})
+                        WHERE u.profileImage STARTS WITH 'https://ui-avatars.com/'
+                        SET u.profileImage = row.url
+                        """, org.neo4j.driver.Values.parameters("rows", rows)).consume());
+                migrated += rows.size();
+            } while (batch.size() == MIGRATION_BATCH);
+
+            if (migrated > 0) {
+                logger.info("🖼️ {} avatars distants remplacés par des avatars locaux.", migrated);
+            }
+        } catch (Exception e) {
+            logger.error("❌ Erreur lors de la migration des avatars : {}", e.getMessage());
+        }
     }
 }
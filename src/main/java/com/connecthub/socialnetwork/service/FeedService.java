@@ -1,40 +1,47 @@
 package com.connecthub.socialnetwork.service;
 
-import com.connecthub.socialnetwork.model.Post;
+import com.connecthub.socialnetwork.dto.PostView;
 import com.connecthub.socialnetwork.repository.PostRepository;
+import com.connecthub.socialnetwork.repository.reactive.ReactivePostRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 public class FeedService {
 
+    private static final int FEED_LIMIT = 100;
+
     private final PostRepository postRepository;
+    private final ReactivePostRepository reactivePostRepository;
+    private final BlockedPairIndex blockedPairIndex;
 
-    public FeedService(PostRepository postRepository) {
+    public FeedService(PostRepository postRepository, ReactivePostRepository reactivePostRepository,
+                       BlockedPairIndex blockedPairIndex) {
         this.postRepository = postRepository;
+        this.reactivePostRepository = reactivePostRepository;
+        this.blockedPairIndex = blockedPairIndex;
     }
 
+    /**
+     * Feed global de l'utilisateur, sous forme de vues à plat.
+     * Une seule requête renvoie auteur et compteurs : plus de rechargement
+     * de chaque post (findById) pour matérialiser ses relations.
+     * Les auteurs bloqués sont écartés par la requête, d'après l'index en mémoire (BlockedPairIndex).
+     */
     @Transactional(readOnly = true)
-    public List<Post> getFeed(String email) {
-        List<Post> posts = postRepository.findFeedPostsByEmail(email);
-        
-        // Si aucun post n'est trouvé, retourner une liste vide
-        if (posts == null || posts.isEmpty()) {
-            return List.of();
-        }
-        
-        // Charger les relations pour chaque post (author, likes, comments)
-        // Neo4j Spring Data charge automatiquement les relations définies avec @Relationship
-        // En récupérant chaque post individuellement, on force le chargement des relations
-        return posts.stream()
-                .map(post -> {
-                    // Récupérer le post avec toutes ses relations
-                    return postRepository.findById(post.getId())
-                            .orElse(post);
-                })
-                .collect(Collectors.toList());
+    public List<PostView> getFeed(String email) {
+        return postRepository.findFeedViews(email, blockedPairIndex.hiddenAuthors(email), FEED_LIMIT);
+    }
+
+    /**
+     * Même feed, émis publication par publication (/api/stream/feed).
+     * Pas de @Transactional : le gestionnaire par défaut est le gestionnaire bloquant,
+     * ReactiveNeo4jClient ouvre lui-même une transaction de lecture par requête.
+     */
+    public Flux<PostView> streamFeed(String email) {
+        return reactivePostRepository.streamFeedViews(email, blockedPairIndex.hiddenAuthors(email), FEED_LIMIT);
     }
-}
\ No newline at end of file
+}
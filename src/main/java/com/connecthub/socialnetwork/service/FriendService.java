@@ -1,8 +1,15 @@
 package com.connecthub.socialnetwork.service;
 
+import com.connecthub.socialnetwork.event.DomainEventBus;
+import com.connecthub.socialnetwork.event.FriendRequestSent;
+import com.connecthub.socialnetwork.event.FriendshipCreated;
+import com.connecthub.socialnetwork.event.FriendshipRemoved;
+import com.connecthub.socialnetwork.event.UserBlocked;
+import com.connecthub.socialnetwork.graph.SocialGraph;
 import com.connecthub.socialnetwork.model.User;
 import com.connecthub.socialnetwork.repository.UserRepository;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import java.util.*;
 import java.util.*;
 
@@ -10,14 +17,26 @@ import java.util.*;
 @org.springframework.transaction.annotation.Transactional
 public class FriendService {
     private final UserRepository userRepository;
-
-    public FriendService(UserRepository userRepository) {
+    private final NavbarService navbarService;
+    private final DomainEventBus eventBus;
+    private final SocialGraphService socialGraphService;
+    private final BlockedPairIndex blockedPairIndex;
+
+    public FriendService(UserRepository userRepository, NavbarService navbarService,
+                         DomainEventBus eventBus, SocialGraphService socialGraphService,
+                         BlockedPairIndex blockedPairIndex) {
         this.userRepository = userRepository;
+        this.navbarService = navbarService;
+        this.eventBus = eventBus;
+        this.socialGraphService = socialGraphService;
+        this.blockedPairIndex = blockedPairIndex;
     }
 
     public void sendFriendRequest(String fromUserId, String toUserId) {
         // Utilisation de la requête Cypher native pour fiabilité
         userRepository.createFriendRequest(fromUserId, toUserId);
+        navbarService.evict(toUserId);
+        eventBus.publish(new FriendRequestSent(fromUserId, toUserId));
     }
 
     public void acceptFriendRequest(String fromUserId, String toUserId) {
@@ -30,27 +49,33 @@ public class FriendService {
         // garanties
         // fromUserId = Sender (celui qui a envoyé la demande)
         // toUserId = Receiver (celui qui accepte)
-        userRepository.acceptFriendRequest(fromUserId, toUserId);
+        // Sans demande en attente, rien n'est écrit : aucun événement (graphe en mémoire, notification)
+        if (userRepository.acceptFriendRequest(fromUserId, toUserId) == 0) {
+            throw new RuntimeException("Aucune demande d'ami en attente de cet utilisateur");
+        }
+        navbarService.evict(toUserId);
+        eventBus.publish(new FriendshipCreated(fromUserId, toUserId));
     }
 
     public void rejectFriendRequest(String fromUserId, String toUserId) {
         // Utilisation de la requête Cypher native pour fiabilité
         userRepository.rejectFriendRequest(fromUserId, toUserId);
+        navbarService.evict(toUserId);
     }
 
     public void removeFriend(String userId, String friendId) {
         // Utilisation de la requête Cypher native pour fiabilité
         userRepository.removeFriend(userId, friendId);
+        eventBus.publish(new FriendshipRemoved(userId, friendId));
     }
 
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
     public List<User> getFriends(String userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable avec l'ID : " + userId));
-        // Force initialization to avoid LazyInitializationException if outside
-        // transaction
-        List<User> friends = new ArrayList<>(user.getFriends());
-        return friends;
+        if (!userRepository.existsById(userId)) {
+            throw new RuntimeException("Utilisateur introuvable avec l'ID : " + userId);
+        }
+        // Relation canonique dans un seul sens : requête non orientée plutôt que user.getFriends()
+        return userRepository.findFriends(userId);
     }
 
     @org.springframework.transaction.annotation.Transactional(readOnly = true)
@@ -73,7 +98,7 @@ public class FriendService {
      * FRIEND, REQUEST_SENT, REQUEST_RECEIVED ou NONE.
      */
     public String getRelationStatus(User currentUser, User other) {
-        if (currentUser.getFriends().contains(other)) {
+        if (areFriends(currentUser.getId(), other.getId())) {
             return "FRIEND";
         }
         if (currentUser.getSentFriendRequests().contains(other)) {
@@ -90,78 +115,86 @@ public class FriendService {
         return getFriendRecommendationsWithInterests(userId, limit);
     }
 
-    private int countMutualFriends(User user1, User user2) {
-        Set<User> friends1 = user1.getFriends();
-        Set<User> friends2 = user2.getFriends();
-
-        return (int) friends1.stream()
-                .filter(friends2::contains)
-                .count();
+    /**
+     * Amitié dans un sens ou dans l'autre : graphe en mémoire, sinon requête non orientée
+     */
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.SUPPORTS)
+    public boolean areFriends(String userId, String otherUserId) {
+        SocialGraph graph = socialGraphService.getGraph();
+        if (graph != null) {
+            return graph.areFriends(userId, otherUserId);
+        }
+        return userRepository.areFriends(userId, otherUserId);
     }
 
     public int getMutualFriendsCount(String userId1, String userId2) {
-        User user1 = userRepository.findById(userId1)
-                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
-        User user2 = userRepository.findById(userId2)
-                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
-
-        return countMutualFriends(user1, user2);
+        // Graphe en mémoire : intersection de deux listes triées, sans charger les entités
+        SocialGraph graph = socialGraphService.getGraph();
+        if (graph != null) {
+            return graph.mutualCount(userId1, userId2);
+        }
+        return userRepository.countMutualFriends(userId1, userId2);
     }
 
     /**
      * Bloque un utilisateur
-     * Supprime automatiquement l'amitié et les demandes en attente
+     * Supprime automatiquement l'amitié et les demandes en attente (une seule requête Cypher,
+     * limitée aux relations entre les deux comptes)
      */
     public void blockUser(String userId, String blockedUserId) {
         if (userId.equals(blockedUserId)) {
             throw new RuntimeException("Impossible de se bloquer soi-même");
         }
 
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
-        User blockedUser = userRepository.findById(blockedUserId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur à bloquer introuvable"));
-
-        // Retirer l'amitié si elle existe
-        user.getFriends().remove(blockedUser);
-        blockedUser.getFriends().remove(user);
-
-        // Retirer les demandes d'amitié
-        user.getSentFriendRequests().remove(blockedUser);
-        user.getReceivedFriendRequests().remove(blockedUser);
-        blockedUser.getSentFriendRequests().remove(user);
-        blockedUser.getReceivedFriendRequests().remove(user);
-
-        // Ajouter le blocage
-        user.getBlockedUsers().add(blockedUser);
-
-        userRepository.save(user);
-        userRepository.save(blockedUser);
+        if (userRepository.blockUser(userId, blockedUserId) == 0) {
+            throw new RuntimeException("Utilisateur introuvable");
+        }
+        blockedPairIndex.block(userId, blockedUserId);
+        navbarService.evict(userId);
+        navbarService.evict(blockedUserId);
+        eventBus.publish(new UserBlocked(userId, blockedUserId));
     }
 
     /**
      * Débloque un utilisateur
      */
     public void unblockUser(String userId, String unblockedUserId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
-
-        User unblockedUser = userRepository.findById(unblockedUserId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
-
-        user.getBlockedUsers().remove(unblockedUser);
-        userRepository.save(user);
+        userRepository.unblockUser(userId, unblockedUserId);
+        blockedPairIndex.unblock(userId, unblockedUserId);
     }
 
     /**
-     * Vérifie si un utilisateur est bloqué
+     * Vérifie si userId a bloqué otherUserId.
+     * SUPPORTS : pas de transaction Neo4j ouverte quand l'index en mémoire répond
      */
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.SUPPORTS)
     public boolean isBlocked(String userId, String otherUserId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new RuntimeException("Utilisateur introuvable"));
+        if (blockedPairIndex.isReady()) {
+            return blockedPairIndex.isBlocked(userId, otherUserId);
+        }
+        return userRepository.isBlocked(userId, otherUserId);
+    }
 
-        return user.getBlockedUsers().stream()
-                .anyMatch(blocked -> blocked.getId().equals(otherUserId));
+    /**
+     * Blocage dans un sens ou dans l'autre (profil inaccessible)
+     */
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.SUPPORTS)
+    public boolean isBlockedEitherWay(String userId, String otherUserId) {
+        if (blockedPairIndex.isReady()) {
+            return blockedPairIndex.isBlockedEitherWay(userId, otherUserId);
+        }
+        return userRepository.isBlocked(userId, otherUserId) || userRepository.isBlocked(otherUserId, userId);
+    }
+
+    /**
+     * Identifiants des utilisateurs à masquer pour userId : bloqués par lui ou l'ayant bloqué
+     */
+    @org.springframework.transaction.annotation.Transactional(propagation = Propagation.SUPPORTS)
+    public Set<String> getBlockedEitherWayIds(String userId) {
+        if (blockedPairIndex.isReady()) {
+            return blockedPairIndex.blockedEitherWay(userId);
+        }
+        return new HashSet<>(userRepository.findBlockedEitherWayIds(userId));
     }
 
     /**
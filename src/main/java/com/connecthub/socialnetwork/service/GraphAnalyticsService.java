@@ -0,0 +1,156 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.graph.AnalyticsGraph;
+import com.connecthub.socialnetwork.graph.AnalyticsGraphBuilder;
+import com.connecthub.socialnetwork.graph.SocialGraph;
+import com.connecthub.socialnetwork.repository.GraphSource;
+import com.connecthub.socialnetwork.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Analyse du graphe hors ligne : influence (PageRank) et communauté (propagation d'étiquettes)
+ * de chaque utilisateur, écrites sur les User (u.influence, u.community) pour le classement du
+ * fil et les suggestions.
+ *
+ * Un passage toutes les connecthub.analytics.cron (la nuit par défaut). Les amitiés viennent du
+ * graphe en mémoire (SocialGraph.snapshot, aucune relecture dans Neo4j), les likes sont lus en
+ * flux. Le passage tourne sur son propre thread (le planificateur partagé n'attend pas) et
+ * calcule sur un ForkJoinPool de parallelism threads, créé pour l'occasion puis arrêté : le
+ * reste des cœurs est laissé aux requêtes. L'écriture se fait par lots de batch-size
+ * utilisateurs, chacun dans sa transaction, séparés de pause-millis, comme le ContentReaper.
+ *
+ * Une seule instance par base, comme le graphe d'amitié dont le passage part (voir
+ * SocialGraphService) : aucun verrou partagé, seul un passage encore en cours n'est pas doublé.
+ */
+@Service
+public class GraphAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(GraphAnalyticsService.class);
+
+    private final SocialGraphService socialGraphService;
+    private final GraphSource graphSource;
+    private final UserRepository userRepository;
+    private final int parallelism;
+    private final double damping;
+    private final double likeWeight;
+    private final int maxIterations;
+    private final double tolerance;
+    private final int communityIterations;
+    private final int batchSize;
+    private final long pauseMillis;
+
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    public GraphAnalyticsService(SocialGraphService socialGraphService, GraphSource graphSource,
+                                 UserRepository userRepository,
+                                 @Value("${connecthub.analytics.parallelism:0}") int parallelism,
+                                 @Value("${connecthub.analytics.damping:0.85}") double damping,
+                                 @Value("${connecthub.analytics.like-weight:0.5}") double likeWeight,
+                                 @Value("${connecthub.analytics.max-iterations:30}") int maxIterations,
+                                 @Value("${connecthub.analytics.tolerance:0.0001}") double tolerance,
+                                 @Value("${connecthub.analytics.community-iterations:20}") int communityIterations,
+                                 @Value("${connecthub.analytics.batch-size:2000}") int batchSize,
+                                 @Value("${connecthub.analytics.pause-millis:20}") long pauseMillis) {
+        this.socialGraphService = socialGraphService;
+        this.graphSource = graphSource;
+        this.userRepository = userRepository;
+        this.parallelism = parallelism > 0 ? parallelism
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.damping = damping;
+        this.likeWeight = likeWeight;
+        this.maxIterations = maxIterations;
+        this.tolerance = tolerance;
+        this.communityIterations = communityIterations;
+        this.batchSize = batchSize;
+        this.pauseMillis = pauseMillis;
+    }
+
+    @Scheduled(cron = "${connecthub.analytics.cron:0 30 3 * * *}")
+    public void schedule() {
+        if (!running.compareAndSet(false, true)) {
+            log.warn("Analyse du graphe toujours en cours : passage ignoré");
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                analyze();
+            } finally {
+                running.set(false);
+            }
+        }, "graph-analytics");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        thread.start();
+    }
+
+    private void analyze() {
+        SocialGraph graph = socialGraphService.getGraph();
+        if (graph == null) {
+            log.info("Analyse du graphe reportée : graphe d'amitié en cours de chargement");
+            return;
+        }
+
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism, GraphAnalyticsService::newWorker, null, false);
+        try {
+            AnalyticsGraphBuilder builder = new AnalyticsGraphBuilder(graph.snapshot());
+            graphSource.streamLikes(builder::addLike);
+            AnalyticsGraph analytics = builder.build();
+            long loaded = System.nanoTime();
+
+            AnalyticsGraph.Ranking ranking = analytics.pageRank(pool, damping, likeWeight, maxIterations, tolerance);
+            AnalyticsGraph.Communities communities = analytics.labelPropagation(pool, likeWeight, communityIterations);
+            long computed = System.nanoTime();
+
+            write(analytics, ranking.scores(), communities.labels());
+            log.info("Analyse du graphe : {} utilisateur(s), {} like(s), {} arête(s) ; influence en {} itération(s) "
+                            + "(résidu {}), {} communauté(s) en {} passage(s) ; lecture {} ms, calcul {} ms, écriture {} ms",
+                    analytics.size(), analytics.likeCount(), analytics.edgeSlots(), ranking.iterations(),
+                    String.format("%.2e", ranking.residual()), communities.count(), communities.iterations(),
+                    TimeUnit.NANOSECONDS.toMillis(loaded - start), TimeUnit.NANOSECONDS.toMillis(computed - loaded),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - computed));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Les lots déjà écrits restent acquis ; le passage suivant réécrit tout
+            log.error("Analyse du graphe interrompue", e);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void write(AnalyticsGraph analytics, double[] scores, int[] labels) throws InterruptedException {
+        List<Map<String, Object>> rows = new ArrayList<>(batchSize);
+        for (int u = 0; u < analytics.size(); u++) {
+            rows.add(Map.of(
+                    "id", analytics.id(u),
+                    "influence", Math.round(scores[u] * 10_000) / 10_000.0,
+                    // Communauté désignée par l'identifiant de son utilisateur représentatif
+                    "community", analytics.id(labels[u])));
+            if (rows.size() == batchSize || u == analytics.size() - 1) {
+                userRepository.saveAnalytics(rows);
+                rows = new ArrayList<>(batchSize);
+                TimeUnit.MILLISECONDS.sleep(pauseMillis);
+            }
+        }
+    }
+
+    private static ForkJoinWorkerThread newWorker(ForkJoinPool pool) {
+        ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+        thread.setName("graph-analytics-" + thread.getPoolIndex());
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    }
+}
@@ -0,0 +1,193 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.repository.PostRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Génération asynchrone des variantes (miniatures) des images de publication.
+ * Chaque image uploadée est déclinée en plusieurs largeurs au format JPEG compressé,
+ * puis la liste des variantes est enregistrée sur le Post pour alimenter le srcset.
+ *
+ * Le pool de workers est borné : si la file est pleine, la demande est refusée
+ * immédiatement (le post garde simplement l'image originale) au lieu de bloquer
+ * la requête d'upload.
+ */
+@Service
+public class ImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ImageVariantService.class);
+
+    private final PostRepository postRepository;
+    private final ThreadPoolExecutor executor;
+    private final int[] widths;
+    private final float jpegQuality;
+
+    public ImageVariantService(PostRepository postRepository,
+                               @Value("${connecthub.images.variant-widths:320,640,1080}") int[] widths,
+                               @Value("${connecthub.images.jpeg-quality:0.8}") float jpegQuality,
+                               @Value("${connecthub.images.worker-threads:2}") int workerThreads,
+                               @Value("${connecthub.images.queue-capacity:64}") int queueCapacity) {
+        this.postRepository = postRepository;
+        this.widths = Arrays.stream(widths).filter(w -> w > 0).sorted().toArray();
+        this.jpegQuality = jpegQuality;
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                workerThreads, workerThreads,
+                60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    thread.setPriority(Thread.NORM_PRIORITY - 1);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * Planifie la génération des variantes d'une image de publication.
+     *
+     * @param postId    ID de la publication à mettre à jour
+     * @param source    Fichier image original sur disque
+     * @param sourceUrl URL publique de l'image originale
+     * @return true si la tâche a été acceptée, false si la file est saturée
+     */
+    public boolean submit(Long postId, Path source, String sourceUrl) {
+        try {
+            executor.execute(() -> generateVariants(postId, source, sourceUrl));
+            return true;
+        } catch (RejectedExecutionException e) {
+            logger.warn("File de génération d'images saturée, variantes ignorées pour le post {}", postId);
+            return false;
+        }
+    }
+
+    private void generateVariants(Long postId, Path source, String sourceUrl) {
+        try {
+            BufferedImage original = ImageIO.read(source.toFile());
+            if (original == null) {
+                logger.debug("Format d'image non supporté pour les variantes : {}", source);
+                return;
+            }
+
+            String baseName = stripExtension(source.getFileName().toString());
+            String baseUrl = sourceUrl.substring(0, sourceUrl.lastIndexOf('/') + 1);
+            List<String> variants = new ArrayList<>();
+
+            for (int width : widths) {
+                if (width >= original.getWidth()) {
+                    break;
+                }
+                String fileName = baseName + "-" + width + "w.jpg";
+                writeJpeg(resize(original, width), source.resolveSibling(fileName));
+                variants.add(baseUrl + fileName + " " + width + "w");
+            }
+
+            // L'original reste le candidat le plus large du srcset
+            variants.add(sourceUrl + " " + original.getWidth() + "w");
+
+            postRepository.updateImageVariants(postId, variants);
+        } catch (Exception e) {
+            logger.error("Erreur lors de la génération des variantes du post {} : {}", postId, e.getMessage());
+        }
+    }
+
+    /**
+     * Redimensionne par divisions successives par deux puis une passe bilinéaire finale,
+     * ce qui donne un résultat proche du bicubique pour un coût bien moindre.
+     * L'image est aplatie sur fond blanc (le JPEG ne gère pas la transparence).
+     */
+    private BufferedImage resize(BufferedImage source, int targetWidth) {
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        int targetHeight = Math.max(1, Math.round((float) height * targetWidth / width));
+
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = width == targetWidth ? targetHeight : Math.max(targetHeight, height / 2);
+
+            BufferedImage step = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D g = step.createGraphics();
+            try {
+                g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+                g.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                g.dispose();
+            }
+            current = step;
+        } while (width != targetWidth);
+
+        return current;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("Aucun encodeur JPEG disponible");
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(jpegQuality);
+        param.setProgressiveMode(ImageWriteParam.MODE_DEFAULT);
+
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(temp.toFile())) {
+            writer.setOutput(output);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static String stripExtension(String fileName) {
+        int dot = fileName.lastIndexOf('.');
+        return dot > 0 ? fileName.substring(0, dot) : fileName;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
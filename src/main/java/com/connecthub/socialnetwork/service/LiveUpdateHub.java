@@ -0,0 +1,191 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.PostCounts;
+import com.connecthub.socialnetwork.event.CommentAdded;
+import com.connecthub.socialnetwork.event.DomainEvent;
+import com.connecthub.socialnetwork.event.DomainEventConsumer;
+import com.connecthub.socialnetwork.event.FriendRequestSent;
+import com.connecthub.socialnetwork.event.PostCreated;
+import com.connecthub.socialnetwork.event.PostLiked;
+import com.connecthub.socialnetwork.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Diffusion en direct (Server-Sent Events) des nouvelles publications,
+ * des compteurs de likes/commentaires et des demandes d'amis.
+ *
+ * Une connexion inactive ne mobilise aucun thread (requête asynchrone Tomcat) :
+ * seul l'SseEmitter est conservé dans le registre userId -> connexions.
+ * Les événements arrivent du bus (DomainEventBus), donc toujours après commit.
+ *
+ * Les diffusions à tous les clients ne sont pas faites à chaque écriture : les publications
+ * créées ou modifiées sont marquées, puis diffusées au plus une fois par tick
+ * (connecthub.live.tick-millis), les compteurs étant relus en une seule requête,
+ * quel que soit le nombre de likes reçus entre-temps.
+ */
+@Service
+public class LiveUpdateHub implements DomainEventConsumer {
+
+    private final PostRepository postRepository;
+    private final long emitterTimeoutMillis;
+    private final int maxConnectionsPerUser;
+
+    private final Map<String, Set<SseEmitter>> emittersByUser = new ConcurrentHashMap<>();
+    // Publications créées, et publications dont les compteurs ont changé, depuis le dernier tick
+    private final Set<Long> newPosts = ConcurrentHashMap.newKeySet();
+    private final Set<Long> dirtyPosts = ConcurrentHashMap.newKeySet();
+
+    public LiveUpdateHub(PostRepository postRepository,
+                         @Value("${connecthub.live.emitter-timeout-minutes:30}") long emitterTimeoutMinutes,
+                         @Value("${connecthub.live.max-connections-per-user:5}") int maxConnectionsPerUser) {
+        this.postRepository = postRepository;
+        this.emitterTimeoutMillis = emitterTimeoutMinutes * 60_000;
+        this.maxConnectionsPerUser = maxConnectionsPerUser;
+    }
+
+    /**
+     * Ouvre une connexion SSE pour l'utilisateur.
+     * À l'expiration, EventSource se reconnecte automatiquement côté navigateur.
+     */
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        List<SseEmitter> evicted = new ArrayList<>();
+        // Ajout atomique : ne peut pas se croiser avec unregister() qui retire un ensemble vide
+        emittersByUser.compute(userId, (id, emitters) -> {
+            Set<SseEmitter> set = emitters != null ? emitters : ConcurrentHashMap.newKeySet();
+            // Onglets trop nombreux : des connexions existantes sont fermées pour rester sous la limite
+            set.stream().limit(Math.max(0, set.size() - maxConnectionsPerUser + 1)).forEach(evicted::add);
+            evicted.forEach(set::remove);
+            set.add(emitter);
+            return set;
+        });
+        evicted.forEach(SseEmitter::complete);
+
+        Runnable remove = () -> unregister(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(error -> remove.run());
+        return emitter;
+    }
+
+    public int getConnectionCount() {
+        return emittersByUser.values().stream().mapToInt(Set::size).sum();
+    }
+
+    // =========================
+    // ÉVÉNEMENTS DU BUS
+    // =========================
+
+    @Override
+    public String consumerName() {
+        return "live-updates";
+    }
+
+    /**
+     * Nouvelles publications : les clients affichent un bandeau "nouvelles publications".
+     * Seuls les identifiants sont diffusés ; le contenu est relu par le feed (filtrage des blocages).
+     * Likes et commentaires : compteurs relus et diffusés au prochain tick.
+     */
+    @Override
+    public void onEvents(List<DomainEvent> batch) {
+        for (DomainEvent event : batch) {
+            switch (event) {
+                case PostCreated created -> newPosts.add(created.postId());
+                case PostLiked liked -> dirtyPosts.add(liked.postId());
+                case CommentAdded comment -> dirtyPosts.add(comment.postId());
+                case FriendRequestSent request -> sendToUser(request.toUserId(), "friend-request",
+                        Map.of("fromUserId", request.fromUserId()));
+                default -> {
+                }
+            }
+        }
+    }
+
+    // =========================
+    // TICKS
+    // =========================
+
+    @Scheduled(fixedDelayString = "${connecthub.live.tick-millis:1000}")
+    public void flush() {
+        List<Long> createdIds = drain(newPosts);
+        List<Long> changedIds = drain(dirtyPosts);
+        if (emittersByUser.isEmpty()) {
+            return;
+        }
+
+        if (!createdIds.isEmpty()) {
+            broadcast("posts", Map.of("postIds", createdIds));
+        }
+        if (!changedIds.isEmpty()) {
+            List<PostCounts> counts = postRepository.findCounts(changedIds);
+            if (!counts.isEmpty()) {
+                broadcast("counts", counts);
+            }
+        }
+    }
+
+    private static List<Long> drain(Set<Long> ids) {
+        List<Long> drained = new ArrayList<>(ids);
+        ids.removeAll(drained);
+        return drained;
+    }
+
+    /**
+     * Commentaire SSE périodique : détecte les connexions fermées et
+     * empêche les proxys de couper les connexions inactives
+     */
+    @Scheduled(fixedDelayString = "${connecthub.live.heartbeat-seconds:25}", timeUnit = TimeUnit.SECONDS)
+    public void heartbeat() {
+        emittersByUser.forEach((userId, emitters) -> emitters.forEach(emitter -> {
+            try {
+                emitter.send(SseEmitter.event().comment("hb"));
+            } catch (IOException | IllegalStateException e) {
+                unregister(userId, emitter);
+            }
+        }));
+    }
+
+    // =========================
+    // ENVOI
+    // =========================
+
+    private void broadcast(String eventName, Object data) {
+        emittersByUser.forEach((userId, emitters) -> send(userId, emitters, eventName, data));
+    }
+
+    private void sendToUser(String userId, String eventName, Object data) {
+        Set<SseEmitter> emitters = emittersByUser.get(userId);
+        if (emitters != null) {
+            send(userId, emitters, eventName, data);
+        }
+    }
+
+    private void send(String userId, Set<SseEmitter> emitters, String eventName, Object data) {
+        for (SseEmitter emitter : emitters) {
+            try {
+                emitter.send(SseEmitter.event().name(eventName).data(data));
+            } catch (IOException | IllegalStateException e) {
+                // Client parti : la connexion est retirée du registre
+                unregister(userId, emitter);
+            }
+        }
+    }
+
+    private void unregister(String userId, SseEmitter emitter) {
+        emittersByUser.computeIfPresent(userId, (id, emitters) -> {
+            emitters.remove(emitter);
+            return emitters.isEmpty() ? null : emitters;
+        });
+    }
+}
@@ -0,0 +1,93 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.NavbarView;
+import com.connecthub.socialnetwork.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+
+/**
+ * Cache des fragments par utilisateur de la barre de navigation
+ * (identité + badge des demandes d'amis).
+ *
+ * Le fragment est recalculé au plus une fois par TTL, ou immédiatement après
+ * une invalidation (demande d'ami envoyée/acceptée/refusée, profil modifié).
+ * Cache Caffeine borné à navbar-max-size utilisateurs (les moins utilisés sont retirés)
+ * et expirant après le TTL. Dans une transaction, l'invalidation a lieu après le commit :
+ * une lecture concurrente ne peut pas remettre en cache l'état d'avant l'écriture.
+ * Succès et défauts de cache : métrique cache.gets{cache=navbar}.
+ */
+@Service
+public class NavbarService {
+
+    private final UserRepository userRepository;
+
+    // email -> fragment en cache ; userId -> email pour l'invalidation
+    private final Cache<String, NavbarView> cache;
+    private final Cache<String, String> emailsByUserId;
+
+    public NavbarService(UserRepository userRepository, MeterRegistry meterRegistry,
+                         @Value("${connecthub.fragments.navbar-ttl-seconds:30}") long ttlSeconds,
+                         @Value("${connecthub.fragments.navbar-max-size:10000}") long maxSize) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+        this.emailsByUserId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "navbar");
+    }
+
+    public NavbarView getNavbar(String email) {
+        NavbarView cached = cache.getIfPresent(email);
+        if (cached != null) {
+            return cached;
+        }
+
+        NavbarView view = userRepository.findNavbarByEmail(email).orElse(null);
+        if (view != null) {
+            cache.put(email, view);
+            emailsByUserId.put(view.getUserId(), email);
+        }
+        return view;
+    }
+
+    /**
+     * Invalide le fragment d'un utilisateur (appelé après une écriture qui le modifie),
+     * après le commit si une transaction est en cours
+     */
+    public void evict(String userId) {
+        if (userId == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    evictNow(userId);
+                }
+            });
+        } else {
+            evictNow(userId);
+        }
+    }
+
+    private void evictNow(String userId) {
+        String email = emailsByUserId.getIfPresent(userId);
+        emailsByUserId.invalidate(userId);
+        if (email != null) {
+            cache.invalidate(email);
+        }
+    }
+}
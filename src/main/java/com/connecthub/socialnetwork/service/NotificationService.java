@@ -0,0 +1,153 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.NotificationView;
+import com.connecthub.socialnetwork.event.CommentAdded;
+import com.connecthub.socialnetwork.event.DomainEvent;
+import com.connecthub.socialnetwork.event.DomainEventConsumer;
+import com.connecthub.socialnetwork.event.FriendRequestSent;
+import com.connecthub.socialnetwork.event.FriendshipCreated;
+import com.connecthub.socialnetwork.event.PostLiked;
+import com.connecthub.socialnetwork.model.NotificationType;
+import com.connecthub.socialnetwork.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Notifications des utilisateurs, alimentées par le bus d'événements.
+ *
+ * Les événements similaires sont regroupés sous une même clé (ex. tous les likes d'une
+ * publication) : d'abord en mémoire dans le lot reçu du bus, puis dans Neo4j avec les
+ * notifications encore non lues. Un lot entier est écrit en une seule requête, si bien
+ * qu'une publication très likée ne coûte qu'une écriture par lot, pas une par like.
+ *
+ * Aucune vérification n'est refaite ici : les services ne publient un événement qu'après une
+ * écriture confirmée (FriendshipCreated uniquement si une demande en attente a été acceptée,
+ * voir FriendService.acceptFriendRequest), et le bus ne les remet qu'après le commit.
+ */
+@Service
+public class NotificationService implements DomainEventConsumer {
+
+    private final UserRepository userRepository;
+    private final NavbarService navbarService;
+    private final int maxActors;
+    private final int inboxSize;
+
+    public NotificationService(UserRepository userRepository, NavbarService navbarService,
+                               @Value("${connecthub.notifications.max-actors:5}") int maxActors,
+                               @Value("${connecthub.notifications.inbox-size:50}") int inboxSize) {
+        this.userRepository = userRepository;
+        this.navbarService = navbarService;
+        this.maxActors = maxActors;
+        this.inboxSize = inboxSize;
+    }
+
+    @Override
+    public String consumerName() {
+        return "notifications";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> batch) {
+        // destinataire + clé -> notification regroupée du lot
+        Map<String, PendingNotification> pending = new LinkedHashMap<>();
+        for (DomainEvent event : batch) {
+            switch (event) {
+                case PostLiked liked when liked.liked() -> add(pending, liked.postAuthorId(),
+                        NotificationType.POST_LIKED, liked.postId(), liked.userId(), event);
+                case CommentAdded comment -> add(pending, comment.postAuthorId(),
+                        NotificationType.POST_COMMENTED, comment.postId(), comment.authorId(), event);
+                case FriendRequestSent request -> add(pending, request.toUserId(),
+                        NotificationType.FRIEND_REQUEST, null, request.fromUserId(), event);
+                case FriendshipCreated friendship -> add(pending, friendship.requesterId(),
+                        NotificationType.FRIEND_ACCEPTED, null, friendship.accepterId(), event);
+                default -> {
+                }
+            }
+        }
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<Map<String, Object>> rows = new ArrayList<>(pending.size());
+        Set<String> recipients = new LinkedHashSet<>();
+        for (PendingNotification notification : pending.values()) {
+            rows.add(notification.toRow());
+            recipients.add(notification.recipientId);
+        }
+        userRepository.mergeNotifications(rows, maxActors);
+        userRepository.pruneInboxes(recipients, inboxSize);
+        recipients.forEach(navbarService::evict);
+    }
+
+    public List<NotificationView> getNotifications(String email) {
+        return userRepository.findNotifications(email, inboxSize);
+    }
+
+    public int getUnreadCount(String email) {
+        return userRepository.countUnreadNotifications(email);
+    }
+
+    public void markAllRead(String email, String userId) {
+        userRepository.markNotificationsRead(email);
+        navbarService.evict(userId);
+    }
+
+    private static void add(Map<String, PendingNotification> pending, String recipientId,
+                            NotificationType type, Long postId, String actorId, DomainEvent event) {
+        // Pas de notification pour ses propres actions
+        if (recipientId == null || actorId == null || recipientId.equals(actorId)) {
+            return;
+        }
+        String key = postId == null ? type.name() : type.name() + ":" + postId;
+        pending.computeIfAbsent(recipientId + "|" + key,
+                        k -> new PendingNotification(recipientId, key, type, postId))
+                .addActor(actorId, LocalDateTime.ofInstant(event.occurredAt(), ZoneId.systemDefault()));
+    }
+
+    private static final class PendingNotification {
+        private final String recipientId;
+        private final String key;
+        private final NotificationType type;
+        private final Long postId;
+        // Auteurs du plus ancien au plus récent dans le lot
+        private final LinkedHashSet<String> actorIds = new LinkedHashSet<>();
+        private LocalDateTime at;
+
+        private PendingNotification(String recipientId, String key, NotificationType type, Long postId) {
+            this.recipientId = recipientId;
+            this.key = key;
+            this.type = type;
+            this.postId = postId;
+        }
+
+        private void addActor(String actorId, LocalDateTime occurredAt) {
+            actorIds.remove(actorId);
+            actorIds.add(actorId);
+            at = occurredAt;
+        }
+
+        private Map<String, Object> toRow() {
+            List<String> newestFirst = new ArrayList<>(actorIds);
+            Collections.reverse(newestFirst);
+            Map<String, Object> row = new HashMap<>();
+            row.put("recipientId", recipientId);
+            row.put("key", key);
+            row.put("type", type.name());
+            row.put("postId", postId);
+            row.put("actorIds", newestFirst);
+            row.put("at", at);
+            return row;
+        }
+    }
+}
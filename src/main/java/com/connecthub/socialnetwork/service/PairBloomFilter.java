@@ -0,0 +1,73 @@
+package com.connecthub.socialnetwork.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Filtre de Bloom sur des paires ordonnées d'identifiants (bloqueur, bloqué).
+ *
+ * Réponse négative certaine, positive probable : ~10 bits par paire et 4 hachages donnent
+ * moins de 2 % de faux positifs à pleine capacité. Les bits ne sont jamais effacés, un retrait
+ * laisse donc des faux positifs jusqu'à la reconstruction du filtre (BlockedPairIndex).
+ * Lectures sans verrou, ajouts atomiques.
+ */
+final class PairBloomFilter {
+
+    private static final int HASHES = 4;
+    private static final int BITS_PER_PAIR = 10;
+    private static final long MIN_BITS = 1 << 12;
+    private static final long MAX_BITS = 1L << 31;
+
+    private final int capacity;
+    private final long mask;
+    private final AtomicLongArray words;
+
+    PairBloomFilter(int capacity) {
+        long wanted = Math.max(MIN_BITS, (long) capacity * BITS_PER_PAIR);
+        long bits = Math.min(MAX_BITS, Long.highestOneBit(wanted - 1) << 1);
+        this.capacity = capacity;
+        this.mask = bits - 1;
+        this.words = new AtomicLongArray((int) (bits >>> 6));
+    }
+
+    /**
+     * Nombre de paires prévu à la construction
+     */
+    int capacity() {
+        return capacity;
+    }
+
+    void add(String userId, String otherUserId) {
+        long key = key(userId, otherUserId);
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = (h1 + (long) i * h2) & mask;
+            long word = 1L << bit;
+            words.getAndAccumulate((int) (bit >>> 6), word, (current, set) -> current | set);
+        }
+    }
+
+    boolean mightContain(String userId, String otherUserId) {
+        long key = key(userId, otherUserId);
+        int h1 = (int) key;
+        int h2 = (int) (key >>> 32) | 1;
+        for (int i = 0; i < HASHES; i++) {
+            long bit = (h1 + (long) i * h2) & mask;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Les hashCode de String sont mis en cache : pas de parcours des identifiants à chaque test
+     */
+    private static long key(String userId, String otherUserId) {
+        long h = ((long) userId.hashCode() << 32) | (otherUserId.hashCode() & 0xFFFFFFFFL);
+        // Finaliseur de SplitMix64 : les deux moitiés du résultat servent de hachages indépendants
+        h = (h ^ (h >>> 30)) * 0xBF58476D1CE4E5B9L;
+        h = (h ^ (h >>> 27)) * 0x94D049BB133111EBL;
+        return h ^ (h >>> 31);
+    }
+}
@@ -0,0 +1,181 @@
+package com.connecthub.socialnetwork.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Exécution concurrente de lectures indépendantes (requêtes Neo4j) au sein d'une requête HTTP.
+ *
+ * Reprend la sémantique de StructuredTaskScope.ShutdownOnFailure (encore en preview en Java 21) :
+ * les sous-tâches sont lancées par {@link Scope#fork}, attendues ensemble par {@link Scope#join},
+ * et le premier échec annule les sous-tâches restantes. Un scope ne doit pas être partagé
+ * ni survivre à la méthode qui l'a ouvert (try-with-resources).
+ *
+ * Avec spring.threads.virtual.enabled=true chaque sous-tâche tourne sur un thread virtuel ;
+ * sinon un pool borné de threads plateforme est utilisé, sans file d'attente : quand tous ses
+ * threads sont occupés, la sous-tâche s'exécute sur le thread appelant. Sous charge, une
+ * requête retombe ainsi sur des lectures séquentielles au lieu d'attendre derrière celles des
+ * autres requêtes (et une sous-tâche qui ouvre elle-même un scope ne peut pas bloquer le pool).
+ */
+@Component
+public class ParallelLookups {
+
+    private final ExecutorService executor;
+
+    public ParallelLookups(@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                           @Value("${connecthub.lookups.platform-threads:32}") int platformThreads) {
+        if (virtualThreads) {
+            this.executor = Executors.newThreadPerTaskExecutor(
+                    Thread.ofVirtual().name("lookup-", 0).factory());
+        } else {
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(platformThreads, platformThreads,
+                    60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+                        Thread thread = new Thread(runnable, "lookup-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    },
+                    // Pool saturé (ou arrêté) : exécution sur le thread appelant, jamais d'abandon
+                    (runnable, executor) -> runnable.run());
+            pool.allowCoreThreadTimeOut(true);
+            this.executor = pool;
+        }
+    }
+
+    public Scope open() {
+        return new Scope();
+    }
+
+    /**
+     * Applique une fonction à chaque élément en parallèle, en conservant l'ordre
+     */
+    public <T, R> List<R> map(List<T> items, Function<T, R> function) {
+        if (items.size() <= 1) {
+            return items.stream().map(function).toList();
+        }
+        try (Scope scope = open()) {
+            List<Supplier<R>> results = new ArrayList<>(items.size());
+            for (T item : items) {
+                results.add(scope.fork(() -> function.apply(item)));
+            }
+            scope.join();
+            return results.stream().map(Supplier::get).toList();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Portée d'un ensemble de sous-tâches
+     */
+    public final class Scope implements AutoCloseable {
+
+        private final List<Future<?>> futures = new ArrayList<>();
+        private volatile Throwable failure;
+        private boolean joined;
+
+        private Scope() {
+        }
+
+        public <T> Supplier<T> fork(Callable<T> task) {
+            Future<T> future = executor.submit(() -> {
+                try {
+                    return task.call();
+                } catch (Throwable t) {
+                    failed(t);
+                    throw t;
+                }
+            });
+            synchronized (futures) {
+                futures.add(future);
+            }
+            return () -> {
+                if (!joined) {
+                    throw new IllegalStateException("join() doit être appelé avant de lire un résultat");
+                }
+                try {
+                    return future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(e);
+                } catch (ExecutionException e) {
+                    throw propagate(e.getCause());
+                }
+            };
+        }
+
+        /**
+         * Attend toutes les sous-tâches ; relance le premier échec rencontré
+         */
+        public void join() {
+            List<Future<?>> snapshot;
+            synchronized (futures) {
+                snapshot = new ArrayList<>(futures);
+            }
+            try {
+                for (Future<?> future : snapshot) {
+                    try {
+                        future.get();
+                    } catch (ExecutionException | CancellationException ignored) {
+                        // l'échec est conservé dans "failure" par la sous-tâche elle-même
+                    }
+                }
+            } catch (InterruptedException e) {
+                cancelAll();
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Lectures parallèles interrompues", e);
+            }
+            joined = true;
+            if (failure != null) {
+                throw propagate(failure);
+            }
+        }
+
+        private void failed(Throwable t) {
+            if (failure == null) {
+                failure = t;
+                cancelAll();
+            }
+        }
+
+        private void cancelAll() {
+            synchronized (futures) {
+                futures.forEach(f -> f.cancel(true));
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private RuntimeException propagate(Throwable t) {
+            if (t instanceof RuntimeException runtime) {
+                return runtime;
+            }
+            if (t instanceof Error error) {
+                throw error;
+            }
+            return new RuntimeException(t);
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.PostSearchPage;
+import com.connecthub.socialnetwork.dto.PostSearchResult;
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Recherche plein texte dans les publications.
+ *
+ * L'index inversé est l'index full-text Neo4j "post_content" (Lucene, créé par
+ * DatabaseMigrationService) : il est mis à jour par les transactions qui créent ou
+ * suppriment une publication, sans étape d'indexation côté application. Il est déclaré
+ * "eventually consistent" : la mise à jour se fait en arrière-plan après le commit,
+ * les écritures ne paient donc pas l'indexation et les lectures ne sont pas bloquées.
+ */
+@Service
+public class PostSearchService {
+
+    private static final int MAX_TERMS = 8;
+    private static final int SNIPPET_LENGTH = 200;
+    private static final int SNIPPET_CONTEXT = 60;
+
+    private final PostRepository postRepository;
+    private final BlockedPairIndex blockedPairIndex;
+    private final int pageSize;
+    private final int maxPages;
+    private final int overFetch;
+
+    public PostSearchService(PostRepository postRepository, BlockedPairIndex blockedPairIndex,
+                             @Value("${connecthub.search.posts.page-size:20}") int pageSize,
+                             @Value("${connecthub.search.posts.max-pages:25}") int maxPages,
+                             @Value("${connecthub.search.posts.over-fetch:2}") int overFetch) {
+        this.postRepository = postRepository;
+        this.blockedPairIndex = blockedPairIndex;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.overFetch = Math.max(1, overFetch);
+    }
+
+    /**
+     * Recherche les publications contenant tous les termes saisis (le dernier en préfixe)
+     */
+    public PostSearchPage search(String email, String query, int page) {
+        List<String> terms = terms(query);
+        int safePage = Math.min(Math.max(page, 0), maxPages - 1);
+        if (terms.isEmpty()) {
+            return new PostSearchPage(query, safePage, List.of(), false);
+        }
+
+        // Un élément de plus que la page pour savoir s'il existe une page suivante ; l'index est
+        // lu au-delà de la page (over-fetch) pour compenser les hits écartés (supprimés, bloqués)
+        int skip = safePage * pageSize;
+        List<PostView> views = postRepository.searchPostViews(email, blockedPairIndex.hiddenAuthors(email),
+                toLuceneQuery(terms), skip, pageSize + 1, (skip + pageSize + 1) * overFetch);
+        boolean hasNext = views.size() > pageSize && safePage < maxPages - 1;
+
+        List<PostSearchResult> results = views.stream()
+                .limit(pageSize)
+                .map(view -> new PostSearchResult(view, snippet(view.getContent(), terms)))
+                .toList();
+        return new PostSearchPage(query, safePage, results, hasNext);
+    }
+
+    // =========================
+    // REQUÊTE LUCENE
+    // =========================
+
+    static List<String> terms(String query) {
+        if (query == null || query.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(query.strip().split("\\s+"))
+                .map(term -> term.replaceAll("^[\\p{Punct}&&[^#@]]+|\\p{Punct}+$", ""))
+                .filter(term -> !term.isEmpty())
+                .limit(MAX_TERMS)
+                .toList();
+    }
+
+    /**
+     * Tous les termes sont requis ; le dernier est aussi cherché en préfixe (saisie en cours).
+     * Les caractères de la syntaxe Lucene sont échappés : la saisie n'est jamais interprétée
+     * comme opérateur (AND, *, ~, champ:valeur...).
+     */
+    static String toLuceneQuery(List<String> terms) {
+        StringBuilder lucene = new StringBuilder();
+        for (int i = 0; i < terms.size(); i++) {
+            String escaped = escape(terms.get(i));
+            if (i > 0) {
+                lucene.append(" AND ");
+            }
+            if (i == terms.size() - 1 && terms.get(i).length() >= 3) {
+                lucene.append('(').append(escaped).append(" OR ").append(escaped).append("*)");
+            } else {
+                lucene.append(escaped);
+            }
+        }
+        return lucene.toString();
+    }
+
+    static String escape(String term) {
+        StringBuilder escaped = new StringBuilder(term.length() + 8);
+        for (char c : term.toCharArray()) {
+            if ("+-&|!(){}[]^\"~*?:\\/".indexOf(c) >= 0) {
+                escaped.append('\\');
+            }
+            escaped.append(c);
+        }
+        // Mots réservés de la syntaxe Lucene
+        String result = escaped.toString();
+        return switch (result) {
+            case "AND", "OR", "NOT", "TO" -> result.toLowerCase(Locale.ROOT);
+            default -> result;
+        };
+    }
+
+    // =========================
+    // EXTRAITS
+    // =========================
+
+    /**
+     * Extrait du contenu centré sur la première occurrence d'un terme, termes surlignés.
+     * La comparaison ignore casse et accents, comme l'analyseur de l'index.
+     */
+    static String snippet(String content, List<String> terms) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String folded = fold(content);
+        List<String> foldedTerms = terms.stream().map(PostSearchService::fold).toList();
+
+        int first = -1;
+        for (String term : foldedTerms) {
+            int index = indexOfWord(folded, term, 0);
+            if (index >= 0 && (first < 0 || index < first)) {
+                first = index;
+            }
+        }
+
+        int start = first <= SNIPPET_CONTEXT ? 0 : content.lastIndexOf(' ', first - SNIPPET_CONTEXT) + 1;
+        int end = Math.min(content.length(), start + SNIPPET_LENGTH);
+        if (end < content.length()) {
+            int space = content.lastIndexOf(' ', end);
+            end = space > start ? space : end;
+        }
+
+        // Plages surlignées dans [start, end)
+        List<int[]> ranges = new ArrayList<>();
+        for (String term : foldedTerms) {
+            int index = indexOfWord(folded, term, start);
+            while (index >= 0 && index < end) {
+                int stop = index + term.length();
+                while (stop < end && Character.isLetterOrDigit(content.charAt(stop))) {
+                    stop++;
+                }
+                ranges.add(new int[]{index, stop});
+                index = indexOfWord(folded, term, stop);
+            }
+        }
+        ranges.sort((a, b) -> Integer.compare(a[0], b[0]));
+
+        StringBuilder html = new StringBuilder();
+        if (start > 0) {
+            html.append("… ");
+        }
+        int position = start;
+        for (int[] range : ranges) {
+            if (range[0] < position) {
+                continue;
+            }
+            html.append(HtmlUtils.htmlEscape(content.substring(position, range[0])))
+                    .append("<mark>")
+                    .append(HtmlUtils.htmlEscape(content.substring(range[0], range[1])))
+                    .append("</mark>");
+            position = range[1];
+        }
+        html.append(HtmlUtils.htmlEscape(content.substring(position, end)));
+        if (end < content.length()) {
+            html.append(" …");
+        }
+        return html.toString();
+    }
+
+    /**
+     * Occurrence de term en début de mot, à partir de from
+     */
+    private static int indexOfWord(String text, String term, int from) {
+        int index = text.indexOf(term, from);
+        while (index > 0 && Character.isLetterOrDigit(text.charAt(index - 1))) {
+            index = text.indexOf(term, index + 1);
+        }
+        return index;
+    }
+
+    /**
+     * Minuscules sans accents, caractère par caractère : les positions restent celles du texte d'origine
+     */
+    private static String fold(String text) {
+        StringBuilder folded = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < 128) {
+                folded.append(Character.toLowerCase(c));
+            } else {
+                String decomposed = Normalizer.normalize(String.valueOf(c), Normalizer.Form.NFD);
+                folded.append(Character.toLowerCase(decomposed.charAt(0)));
+            }
+        }
+        return folded.toString();
+    }
+}
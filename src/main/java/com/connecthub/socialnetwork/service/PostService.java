@@ -1,5 +1,13 @@
 package com.connecthub.socialnetwork.service;
 
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.event.CommentAdded;
+import com.connecthub.socialnetwork.event.DomainEventBus;
+import com.connecthub.socialnetwork.event.PostCreated;
+import com.connecthub.socialnetwork.event.PostDeleted;
+import com.connecthub.socialnetwork.event.PostLiked;
+import com.connecthub.socialnetwork.event.PostTagged;
+import com.connecthub.socialnetwork.event.PostViewed;
 import com.connecthub.socialnetwork.model.Comment;
 import com.connecthub.socialnetwork.model.Post;
 import com.connecthub.socialnetwork.model.User;
@@ -9,8 +17,10 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 /**
  * Service pour la gestion des publications
@@ -21,10 +31,13 @@ public class PostService {
 
     private final PostRepository postRepository;
     private final CommentRepository commentRepository;
+    private final DomainEventBus eventBus;
 
-    public PostService(PostRepository postRepository, CommentRepository commentRepository) {
+    public PostService(PostRepository postRepository, CommentRepository commentRepository,
+                       DomainEventBus eventBus) {
         this.postRepository = postRepository;
         this.commentRepository = commentRepository;
+        this.eventBus = eventBus;
     }
 
     /**
@@ -60,6 +73,17 @@ public class PostService {
         // post
         // grâce à @Relationship dans le modèle Post
 
+        // Hashtags et mentions indexés dans le graphe : (:Post)-[:TAGGED]->(:Tag), (:Post)-[:MENTIONS]->(:User)
+        Set<String> tags = PostTextParser.hashtags(content);
+        Set<String> mentions = PostTextParser.mentions(content);
+        if (!tags.isEmpty() || !mentions.isEmpty()) {
+            postRepository.linkTagsAndMentions(savedPost.getId(), tags, mentions);
+        }
+
+        eventBus.publish(new PostCreated(savedPost.getId(), author.getId()));
+        if (!tags.isEmpty()) {
+            eventBus.publish(new PostTagged(savedPost.getId(), author.getId(), List.copyOf(tags)));
+        }
         return savedPost;
     }
 
@@ -72,6 +96,8 @@ public class PostService {
 
     /**
      * Supprime une publication (seulement par son auteur)
+     * Suppression logique : la publication disparaît immédiatement des lectures,
+     * likes, commentaires et relations sont retirés par lots en arrière-plan (ContentReaper).
      * 
      * @param postId ID de la publication
      * @param userId ID de l'utilisateur (vérification de sécurité)
@@ -79,8 +105,7 @@ public class PostService {
      */
     @Transactional
     public void deletePost(Long postId, String userId) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Publication introuvable"));
+        Post post = findVisiblePost(postId);
 
         if (post.getAuthor() == null) {
             throw new RuntimeException("Erreur d'intégrité : Auteur de la publication introuvable");
@@ -90,9 +115,9 @@ public class PostService {
             throw new RuntimeException("Vous n'êtes pas autorisé à supprimer cette publication");
         }
 
-        // Utilisation de la méthode Cypher pour suppression propre et complète (inc.
-        // commentaires)
-        postRepository.deletePostById(postId);
+        if (postRepository.tombstonePost(postId, userId, LocalDateTime.now())) {
+            eventBus.publish(new PostDeleted(postId, userId));
+        }
     }
 
     /**
@@ -104,22 +129,21 @@ public class PostService {
      */
     @Transactional
     public boolean toggleLike(Long postId, User user) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Publication introuvable"));
+        Post post = findVisiblePost(postId);
 
         boolean hasLiked = postRepository.hasUserLikedPost(user.getId(), postId);
 
+        // Relation LIKED_BY horodatée : un retrait retire des tendances le poids du like d'origine
+        LocalDateTime likedAt;
         if (hasLiked) {
-            // Unlike: retirer la relation LIKED_BY
-            post.getLikes().remove(user);
-            user.getLikedPosts().remove(post);
+            likedAt = postRepository.removeLike(postId, user.getId()).orElse(null);
         } else {
-            // Like: ajouter la relation LIKED_BY
-            post.getLikes().add(user);
-            user.getLikedPosts().add(post);
+            likedAt = LocalDateTime.now();
+            postRepository.addLike(postId, user.getId(), likedAt);
         }
 
-        postRepository.save(post);
+        eventBus.publish(new PostLiked(postId, authorId(post), user.getId(), !hasLiked,
+                likedAt == null ? null : likedAt.atZone(ZoneId.systemDefault()).toInstant()));
         return !hasLiked;
     }
 
@@ -147,8 +171,7 @@ public class PostService {
      */
     @Transactional
     public Comment addComment(Long postId, User user, String content) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Publication introuvable"));
+        Post post = findVisiblePost(postId);
 
         Comment comment = new Comment();
         comment.setContent(content);
@@ -165,6 +188,7 @@ public class PostService {
         // Mettre à jour la relation COMMENTED
         user.getComments().add(savedComment);
 
+        eventBus.publish(new CommentAdded(postId, authorId(post), savedComment.getId(), user.getId()));
         return savedComment;
     }
 
@@ -172,6 +196,8 @@ public class PostService {
      * Récupère tous les commentaires d'une publication
      */
     public List<Comment> getComments(Long postId) {
+        // Ouvrir les commentaires compte comme une consultation (score de tendance)
+        eventBus.publish(new PostViewed(postId));
         return commentRepository.findCommentsByPostId(postId);
     }
 
@@ -189,10 +215,27 @@ public class PostService {
         return postRepository.findPostsByUserId(userId);
     }
 
+    /**
+     * Récupère les publications d'un utilisateur sous forme de vues à plat (affichage du profil)
+     */
+    public List<PostView> getUserPostViews(String userId) {
+        return postRepository.findViewsByAuthorId(userId);
+    }
+
     /**
      * Récupère la liste des utilisateurs qui ont liké une publication
      */
     public List<User> getLikers(Long postId) {
         return postRepository.findLikers(postId);
     }
-}
\ No newline at end of file
+
+    private Post findVisiblePost(Long postId) {
+        return postRepository.findById(postId)
+                .filter(post -> post.getDeletedAt() == null)
+                .orElseThrow(() -> new RuntimeException("Publication introuvable"));
+    }
+
+    private static String authorId(Post post) {
+        return post.getAuthor() != null ? post.getAuthor().getId() : null;
+    }
+}
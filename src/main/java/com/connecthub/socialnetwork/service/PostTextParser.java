@@ -0,0 +1,72 @@
+package com.connecthub.socialnetwork.service;
+
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Extraction des hashtags (#java) et des mentions (@karim.b) d'un texte de publication.
+ *
+ * Les hashtags sont normalisés en minuscules (clé du nœud :Tag) ; une mention désigne
+ * le handle d'un utilisateur (UserHandles). Un # ou un @ collé à un mot
+ * (adresse email, ancre d'URL) n'est pas retenu.
+ */
+final class PostTextParser {
+
+    static final int MAX_TAG_LENGTH = 50;
+    // Au-delà, les suivants sont ignorés (une publication ne devient pas un index de tags)
+    static final int MAX_PER_POST = 20;
+
+    private static final Pattern HASHTAG =
+            Pattern.compile("(?<![\\p{L}\\p{N}_&/])#([\\p{L}\\p{N}_]{1," + MAX_TAG_LENGTH + "})");
+    private static final Pattern MENTION =
+            Pattern.compile("(?<![\\p{L}\\p{N}_.])@([\\p{L}\\p{N}_.+-]{1,64})");
+
+    private PostTextParser() {
+    }
+
+    static Set<String> hashtags(String content) {
+        Set<String> tags = new LinkedHashSet<>();
+        if (content == null || content.indexOf('#') < 0) {
+            return tags;
+        }
+        Matcher matcher = HASHTAG.matcher(content);
+        while (matcher.find() && tags.size() < MAX_PER_POST) {
+            String tag = matcher.group(1);
+            // "#2024" seul n'est pas un hashtag
+            if (tag.chars().anyMatch(Character::isLetter)) {
+                tags.add(tag.toLowerCase(Locale.ROOT));
+            }
+        }
+        return tags;
+    }
+
+    static Set<String> mentions(String content) {
+        Set<String> handles = new LinkedHashSet<>();
+        if (content == null || content.indexOf('@') < 0) {
+            return handles;
+        }
+        Matcher matcher = MENTION.matcher(content);
+        while (matcher.find() && handles.size() < MAX_PER_POST) {
+            // Ponctuation de fin de phrase : "merci @karim." -> "karim"
+            String handle = matcher.group(1).replaceAll("[.\\-+]+$", "");
+            if (!handle.isEmpty()) {
+                handles.add(handle.toLowerCase(Locale.ROOT));
+            }
+        }
+        return handles;
+    }
+
+    /**
+     * Normalise un tag saisi dans une URL (/tags/Java, /tags/%23java)
+     */
+    static String normalizeTag(String tag) {
+        String trimmed = tag == null ? "" : tag.strip();
+        if (trimmed.startsWith("#")) {
+            trimmed = trimmed.substring(1);
+        }
+        return trimmed.toLowerCase(Locale.ROOT);
+    }
+}
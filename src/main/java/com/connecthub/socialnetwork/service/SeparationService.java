@@ -0,0 +1,82 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.Separation;
+import com.connecthub.socialnetwork.graph.SocialGraph;
+import com.connecthub.socialnetwork.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Degrés de séparation ("2e degré via Omar") affichés sur les profils et les résultats de recherche.
+ *
+ * Plus court chemin dans le graphe d'amitié en mémoire (parcours en largeur bidirectionnel,
+ * SocialGraph.shortestPath), limité à connecthub.graph.path-max-depth relations : pas de chemin
+ * de longueur variable en Cypher. Tant que le graphe n'est pas chargé, rien n'est affiché.
+ */
+@Service
+public class SeparationService {
+
+    private final SocialGraphService socialGraphService;
+    private final UserRepository userRepository;
+    private final int maxDepth;
+
+    public SeparationService(SocialGraphService socialGraphService, UserRepository userRepository,
+                             @Value("${connecthub.graph.path-max-depth:3}") int maxDepth) {
+        this.socialGraphService = socialGraphService;
+        this.userRepository = userRepository;
+        this.maxDepth = maxDepth;
+    }
+
+    public Optional<Separation> find(String userId, String otherUserId) {
+        return Optional.ofNullable(findAll(userId, List.of(otherUserId)).get(otherUserId));
+    }
+
+    /**
+     * Séparations de userId avec chaque utilisateur d'une liste (résultats de recherche) ;
+     * les noms des intermédiaires sont lus en une seule requête
+     *
+     * @return uniquement les utilisateurs reliés en au plus maxDepth relations
+     */
+    public Map<String, Separation> findAll(String userId, Collection<String> otherUserIds) {
+        SocialGraph graph = socialGraphService.getGraph();
+        if (graph == null || userId == null) {
+            return Map.of();
+        }
+
+        Map<String, List<String>> paths = new HashMap<>();
+        Set<String> via = new HashSet<>();
+        for (String otherUserId : otherUserIds) {
+            if (otherUserId == null || otherUserId.equals(userId)) {
+                continue;
+            }
+            List<String> path = graph.shortestPath(userId, otherUserId, maxDepth);
+            if (!path.isEmpty()) {
+                paths.put(otherUserId, path);
+                if (path.size() > 2) {
+                    via.add(path.get(1));
+                }
+            }
+        }
+        if (paths.isEmpty()) {
+            return Map.of();
+        }
+
+        // Intermédiaire = ami de userId : jamais un compte bloqué (le blocage supprime l'amitié)
+        Map<String, String> names = via.isEmpty() ? Map.of() : userRepository.findNamesByIds(via);
+        Map<String, Separation> separations = new HashMap<>();
+        paths.forEach((otherUserId, path) -> {
+            String viaUserId = path.size() > 2 ? path.get(1) : null;
+            separations.put(otherUserId, new Separation(path.size() - 1, viaUserId,
+                    viaUserId != null ? names.get(viaUserId) : null));
+        });
+        return separations;
+    }
+}
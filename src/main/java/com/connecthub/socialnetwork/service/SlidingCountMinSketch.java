@@ -0,0 +1,83 @@
+package com.connecthub.socialnetwork.service;
+
+import java.util.Arrays;
+
+/**
+ * Count-min sketch sur fenêtre glissante : la fenêtre est découpée en "buckets" (un sketch
+ * depth x width chacun) ; {@link #rotate()} efface le plus ancien et en fait le bucket courant.
+ *
+ * Mémoire fixe (buckets * depth * width compteurs) quel que soit le nombre de clés ;
+ * l'estimation ne sous-estime jamais et surestime d'au plus ~ 2N / width avec une forte
+ * probabilité (N = total de la fenêtre). Non thread-safe : l'appelant synchronise.
+ */
+final class SlidingCountMinSketch {
+
+    // Constantes impaires de multiplication (hachage indépendant par ligne)
+    private static final int[] SEEDS = {
+            0x9E3779B1, 0x85EBCA77, 0xC2B2AE3D, 0x27D4EB2F,
+            0x165667B1, 0xD3A2646C, 0xFD7046C5, 0xB55A4F09
+    };
+
+    private final int depth;
+    private final int mask;
+    // [bucket][ligne * width + colonne]
+    private final int[][] counters;
+    private int current;
+
+    SlidingCountMinSketch(int buckets, int depth, int width) {
+        if (depth < 1 || depth > SEEDS.length) {
+            throw new IllegalArgumentException("depth doit être compris entre 1 et " + SEEDS.length);
+        }
+        int roundedWidth = Integer.highestOneBit(Math.max(16, width - 1) << 1);
+        this.depth = depth;
+        this.mask = roundedWidth - 1;
+        this.counters = new int[Math.max(1, buckets)][depth * roundedWidth];
+    }
+
+    void add(String key, int count) {
+        int[] bucket = counters[current];
+        int hash = key.hashCode();
+        for (int row = 0; row < depth; row++) {
+            int cell = row * (mask + 1) + column(hash, row);
+            bucket[cell] = saturatedAdd(bucket[cell], count);
+        }
+    }
+
+    /**
+     * Estimation du nombre d'occurrences de la clé sur toute la fenêtre
+     */
+    int estimate(String key) {
+        int hash = key.hashCode();
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            int offset = row * (mask + 1) + column(hash, row);
+            long sum = 0;
+            for (int[] bucket : counters) {
+                sum += bucket[offset];
+            }
+            min = Math.min(min, sum);
+        }
+        return (int) Math.min(Integer.MAX_VALUE, min);
+    }
+
+    /**
+     * Fait glisser la fenêtre d'un bucket : les comptes les plus anciens sont oubliés
+     */
+    void rotate() {
+        current = (current + 1) % counters.length;
+        Arrays.fill(counters[current], 0);
+    }
+
+    private int column(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 15;
+        h *= 0x2C1B3C6D;
+        h ^= h >>> 12;
+        return h & mask;
+    }
+
+    private static int saturatedAdd(int value, int count) {
+        long sum = (long) value + count;
+        return sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum;
+    }
+}
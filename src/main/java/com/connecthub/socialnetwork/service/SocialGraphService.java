@@ -0,0 +1,314 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.event.AccountDeleted;
+import com.connecthub.socialnetwork.event.DomainEvent;
+import com.connecthub.socialnetwork.event.DomainEventConsumer;
+import com.connecthub.socialnetwork.event.FriendshipCreated;
+import com.connecthub.socialnetwork.event.FriendshipRemoved;
+import com.connecthub.socialnetwork.event.ProfileUpdated;
+import com.connecthub.socialnetwork.event.UserBlocked;
+import com.connecthub.socialnetwork.graph.GraphChange;
+import com.connecthub.socialnetwork.graph.GraphSnapshot;
+import com.connecthub.socialnetwork.graph.GraphSnapshotBuilder;
+import com.connecthub.socialnetwork.graph.SocialGraph;
+import com.connecthub.socialnetwork.repository.GraphSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Graphe d'amitié en mémoire (SocialGraph), tenu à jour par le bus d'événements.
+ *
+ * Démarrage : l'instantané binaire de connecthub.graph.dir est projeté en mémoire et le
+ * journal des modifications postérieures est rejoué ; sans instantané lisible, le graphe est
+ * reconstruit depuis Neo4j (lecture en flux) puis écrit sur disque. Le chargement se fait en
+ * tâche de fond : tant qu'il n'est pas terminé, {@link #isReady} est faux, les appelants
+ * interrogent Neo4j et les événements reçus sont mis de côté puis appliqués.
+ *
+ * Un nouvel instantané est écrit toutes les snapshot-minutes et à l'arrêt.
+ *
+ * Le graphe ne voit que les événements de ce processus : l'application est prévue pour une
+ * seule instance par base, hypothèse que partagent BlockedPairIndex et GraphAnalyticsService
+ * (aucun verrou ni flux de modifications entre instances). Les écritures qui ne passent pas par
+ * le bus (Cypher direct, import, événement abandonné par un anneau saturé) sont rattrapées par
+ * la vérification : au chargement puis toutes les verify-minutes, le nombre d'utilisateurs et
+ * d'amitiés est comparé à Neo4j ; un écart au chargement, ou constaté deux fois de suite ensuite,
+ * déclenche une reconstruction depuis Neo4j, le graphe courant restant servi jusqu'au remplacement.
+ * Des comptes égaux ne prouvent pas l'égalité des graphes : c'est un filet pour ces écarts
+ * ponctuels, pas une synchronisation entre instances.
+ */
+@Service
+public class SocialGraphService implements DomainEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(SocialGraphService.class);
+
+    private final GraphSource graphSource;
+    private final Path directory;
+
+    private volatile SocialGraph graph;
+    // Événements reçus pendant un chargement ou une reconstruction, rejoués sur le nouveau graphe
+    private final List<GraphChange> pending = new ArrayList<>();
+    private boolean rebuilding;
+    // Instantané et journal sur disque : checkpoint et remplacement du graphe s'excluent
+    private final Object files = new Object();
+    private final AtomicBoolean resyncRunning = new AtomicBoolean();
+    private volatile GraphSource.Counts lastMismatch;
+
+    public SocialGraphService(GraphSource graphSource,
+                              @Value("${connecthub.graph.dir:${java.io.tmpdir}/connecthub-graph}") String directory) {
+        this.graphSource = graphSource;
+        this.directory = Paths.get(directory);
+    }
+
+    public boolean isReady() {
+        return graph != null;
+    }
+
+    /**
+     * @return null tant que le graphe n'est pas chargé
+     */
+    public SocialGraph getGraph() {
+        return graph;
+    }
+
+    // =========================
+    // CHARGEMENT
+    // =========================
+
+    /**
+     * Après les CommandLineRunner (import CSV) : une reconstruction voit les comptes importés
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadInBackground() {
+        Thread thread = new Thread(this::load, "graph-loader");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void load() {
+        long start = System.nanoTime();
+        try {
+            SocialGraph loaded = SocialGraph.open(directory);
+            String origin = "instantané";
+            if (loaded != null) {
+                GraphSource.Counts expected = graphSource.counts();
+                if (!matches(loaded, expected)) {
+                    log.warn("Instantané du graphe différent de Neo4j ({} utilisateur(s), {} amitié(s) "
+                                    + "attendus ; {} et {} sur disque) : reconstruction", expected.users(),
+                            expected.friendships(), loaded.size(), loaded.friendshipCount());
+                    loaded.close();
+                    loaded = null;
+                }
+            }
+            if (loaded == null) {
+                loaded = SocialGraph.create(directory, rebuild());
+                origin = "Neo4j";
+            }
+            synchronized (pending) {
+                for (GraphChange change : pending) {
+                    loaded.apply(change);
+                }
+                pending.clear();
+                loaded.flush();
+                graph = loaded;
+            }
+            log.info("Graphe d'amitié chargé depuis {} : {} utilisateur(s) en {} ms", origin, loaded.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.error("Chargement du graphe d'amitié impossible : les requêtes restent servies par Neo4j", e);
+        }
+    }
+
+    private GraphSnapshotBuilder rebuild() {
+        GraphSnapshotBuilder builder = new GraphSnapshotBuilder();
+        graphSource.streamUsers(builder::addUser);
+        builder.freezeUsers();
+        graphSource.streamFriendships(builder::addEdge);
+        return builder;
+    }
+
+    // =========================
+    // VÉRIFICATION
+    // =========================
+
+    /**
+     * Compare le graphe à Neo4j (deux comptages, sans parcours). Un écart isolé peut venir
+     * d'événements pas encore appliqués : la reconstruction n'a lieu que si l'écart est toujours
+     * là au passage suivant.
+     */
+    @Scheduled(fixedDelayString = "${connecthub.graph.verify-minutes:30}",
+            initialDelayString = "${connecthub.graph.verify-minutes:30}", timeUnit = TimeUnit.MINUTES)
+    public void verify() {
+        SocialGraph current = graph;
+        if (current == null) {
+            return;
+        }
+        try {
+            GraphSource.Counts expected = graphSource.counts();
+            if (matches(current, expected)) {
+                lastMismatch = null;
+                return;
+            }
+            if (lastMismatch == null) {
+                lastMismatch = expected;
+                log.info("Graphe d'amitié différent de Neo4j ({} utilisateur(s), {} amitié(s) attendus ; "
+                                + "{} et {} en mémoire) : nouvelle vérification au prochain passage",
+                        expected.users(), expected.friendships(), current.size(), current.friendshipCount());
+                return;
+            }
+            lastMismatch = null;
+            resyncInBackground();
+        } catch (RuntimeException e) {
+            log.warn("Vérification du graphe d'amitié impossible : {}", e.getMessage());
+        }
+    }
+
+    private static boolean matches(SocialGraph current, GraphSource.Counts expected) {
+        return current.size() == expected.users() && current.friendshipCount() == expected.friendships();
+    }
+
+    private void resyncInBackground() {
+        if (!resyncRunning.compareAndSet(false, true)) {
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                resync();
+            } finally {
+                resyncRunning.set(false);
+            }
+        }, "graph-resync");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Reconstruit le graphe depuis Neo4j pendant que l'ancien continue de répondre. Les
+     * événements reçus depuis le début de la lecture sont appliqués aux deux, puis rejoués sur le
+     * nouveau graphe (ajouts et retraits idempotents) avant qu'il ne remplace l'ancien.
+     */
+    private void resync() {
+        long start = System.nanoTime();
+        synchronized (pending) {
+            rebuilding = true;
+        }
+        try {
+            GraphSnapshotBuilder builder = rebuild();
+            synchronized (files) {
+                synchronized (pending) {
+                    SocialGraph previous = graph;
+                    SocialGraph rebuilt = SocialGraph.create(directory, builder);
+                    for (GraphChange change : pending) {
+                        rebuilt.apply(change);
+                    }
+                    rebuilt.flush();
+                    graph = rebuilt;
+                    if (previous != null) {
+                        previous.close();
+                    }
+                }
+            }
+            log.warn("Graphe d'amitié reconstruit depuis Neo4j : {} utilisateur(s) en {} ms", graph.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (IOException | RuntimeException e) {
+            log.error("Reconstruction du graphe d'amitié impossible : le graphe courant reste servi", e);
+        } finally {
+            synchronized (pending) {
+                rebuilding = false;
+                pending.clear();
+            }
+        }
+    }
+
+    // =========================
+    // ÉVÉNEMENTS DU BUS
+    // =========================
+
+    @Override
+    public String consumerName() {
+        return "graph";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> batch) {
+        List<GraphChange> changes = new ArrayList<>();
+        for (DomainEvent event : batch) {
+            switch (event) {
+                case FriendshipCreated created ->
+                        changes.add(GraphChange.addFriendship(created.requesterId(), created.accepterId()));
+                case FriendshipRemoved removed ->
+                        changes.add(GraphChange.removeFriendship(removed.userId(), removed.friendId()));
+                // Le blocage supprime l'amitié éventuelle (FriendService.blockUser)
+                case UserBlocked blocked ->
+                        changes.add(GraphChange.removeFriendship(blocked.userId(), blocked.blockedUserId()));
+                case ProfileUpdated updated -> {
+                    List<String> interests = graphSource.findInterests(updated.userId());
+                    if (interests != null) {
+                        changes.add(GraphChange.upsertUser(updated.userId(), interests));
+                    }
+                }
+                case AccountDeleted deleted -> changes.add(GraphChange.removeUser(deleted.userId()));
+                default -> {
+                }
+            }
+        }
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        synchronized (pending) {
+            SocialGraph current = graph;
+            if (current == null || rebuilding) {
+                pending.addAll(changes);
+            }
+            if (current == null) {
+                return;
+            }
+            try {
+                for (GraphChange change : changes) {
+                    current.apply(change);
+                }
+                current.flush();
+            } catch (IOException e) {
+                log.error("Écriture du journal du graphe impossible", e);
+            }
+        }
+    }
+
+    // =========================
+    // INSTANTANÉS
+    // =========================
+
+    @Scheduled(fixedDelayString = "${connecthub.graph.snapshot-minutes:10}",
+            initialDelayString = "${connecthub.graph.snapshot-minutes:10}", timeUnit = TimeUnit.MINUTES)
+    @PreDestroy
+    public void checkpoint() {
+        synchronized (files) {
+            SocialGraph current = graph;
+            if (current == null) {
+                return;
+            }
+            try {
+                long start = System.nanoTime();
+                GraphSnapshot snapshot = current.checkpoint();
+                log.debug("Instantané du graphe écrit : {} utilisateur(s), {} ms", snapshot.size(),
+                        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (IOException e) {
+                log.warn("Écriture de l'instantané du graphe impossible : {}", e.getMessage());
+            }
+        }
+    }
+}
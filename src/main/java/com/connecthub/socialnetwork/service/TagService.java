@@ -0,0 +1,168 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.dto.TagCount;
+import com.connecthub.socialnetwork.dto.TagFeedPage;
+import com.connecthub.socialnetwork.event.DomainEvent;
+import com.connecthub.socialnetwork.event.DomainEventConsumer;
+import com.connecthub.socialnetwork.event.PostTagged;
+import com.connecthub.socialnetwork.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashtags : fil paginé d'un tag et tags en tendance.
+ *
+ * Tendances : chaque utilisation d'un tag (événement PostTagged) incrémente un count-min
+ * sketch sur fenêtre glissante (connecthub.tags.window-buckets x bucket-minutes).
+ * Le sketch ne sait pas énumérer ses clés : un petit ensemble de candidats
+ * (les tags les plus fréquents vus jusqu'ici) est maintenu à côté, et réévalué
+ * à chaque glissement de la fenêtre.
+ */
+@Service
+public class TagService implements DomainEventConsumer {
+
+    private final PostRepository postRepository;
+    private final BlockedPairIndex blockedPairIndex;
+    private final int pageSize;
+    private final int maxCandidates;
+
+    private final SlidingCountMinSketch sketch;
+    // Tag -> dernière estimation ; protégé par "this", comme le sketch
+    private final Map<String, Integer> candidates = new HashMap<>();
+
+    public TagService(PostRepository postRepository, BlockedPairIndex blockedPairIndex,
+                      @Value("${connecthub.tags.page-size:20}") int pageSize,
+                      @Value("${connecthub.tags.trending-candidates:200}") int maxCandidates,
+                      @Value("${connecthub.tags.window-buckets:12}") int windowBuckets,
+                      @Value("${connecthub.tags.sketch-depth:4}") int sketchDepth,
+                      @Value("${connecthub.tags.sketch-width:2048}") int sketchWidth) {
+        this.postRepository = postRepository;
+        this.blockedPairIndex = blockedPairIndex;
+        this.pageSize = pageSize;
+        this.maxCandidates = maxCandidates;
+        this.sketch = new SlidingCountMinSketch(windowBuckets, sketchDepth, sketchWidth);
+    }
+
+    // =========================
+    // FIL D'UN TAG
+    // =========================
+
+    /**
+     * Page du fil d'un tag pour l'utilisateur connecté
+     *
+     * @param cursor curseur renvoyé par la page précédente (null : première page)
+     */
+    public TagFeedPage getTagFeed(String email, String tag, String cursor) {
+        String name = PostTextParser.normalizeTag(tag);
+        LocalDateTime beforeCreatedAt = null;
+        Long beforeId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] parts = decodeCursor(cursor);
+            try {
+                beforeCreatedAt = LocalDateTime.parse(parts[0]);
+                beforeId = Long.parseLong(parts[1]);
+            } catch (DateTimeParseException | NumberFormatException e) {
+                throw new IllegalArgumentException("Curseur invalide", e);
+            }
+        }
+
+        List<PostView> posts = postRepository.findTagFeed(email, blockedPairIndex.hiddenAuthors(email), name,
+                beforeCreatedAt, beforeId, pageSize);
+        String nextCursor = null;
+        if (posts.size() == pageSize) {
+            PostView last = posts.get(posts.size() - 1);
+            nextCursor = encodeCursor(last.getCreatedAt(), last.getId());
+        }
+        return new TagFeedPage(name, posts, nextCursor);
+    }
+
+    private static String encodeCursor(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Curseur invalide", e);
+        }
+        String[] parts = raw.split("\\|", 2);
+        if (parts.length != 2) {
+            throw new IllegalArgumentException("Curseur invalide");
+        }
+        return parts;
+    }
+
+    // =========================
+    // TENDANCES
+    // =========================
+
+    /**
+     * Tags les plus utilisés sur la fenêtre glissante
+     */
+    public synchronized List<TagCount> getTrendingTags(int limit) {
+        return candidates.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(limit)
+                .map(entry -> new TagCount(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    @Override
+    public String consumerName() {
+        return "tags";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> batch) {
+        for (DomainEvent event : batch) {
+            if (event instanceof PostTagged tagged) {
+                synchronized (this) {
+                    tagged.tags().forEach(this::record);
+                }
+            }
+        }
+    }
+
+    private void record(String tag) {
+        sketch.add(tag, 1);
+        int estimate = sketch.estimate(tag);
+        if (candidates.containsKey(tag) || candidates.size() < maxCandidates) {
+            candidates.put(tag, estimate);
+            return;
+        }
+        // Ensemble plein : le tag remplace le candidat le moins fréquent s'il le dépasse
+        Map.Entry<String, Integer> weakest = candidates.entrySet().stream()
+                .min(Comparator.comparingInt(Map.Entry::getValue))
+                .orElseThrow();
+        if (estimate > weakest.getValue()) {
+            candidates.remove(weakest.getKey());
+            candidates.put(tag, estimate);
+        }
+    }
+
+    /**
+     * Fait glisser la fenêtre : les utilisations du bucket le plus ancien sont oubliées
+     */
+    @Scheduled(fixedDelayString = "${connecthub.tags.bucket-minutes:5}", timeUnit = TimeUnit.MINUTES)
+    public synchronized void rotateWindow() {
+        sketch.rotate();
+        candidates.replaceAll((tag, count) -> sketch.estimate(tag));
+        candidates.values().removeIf(count -> count == 0);
+    }
+}
@@ -0,0 +1,404 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.dto.PostView;
+import com.connecthub.socialnetwork.dto.TrendingSnapshot;
+import com.connecthub.socialnetwork.event.AccountDeleted;
+import com.connecthub.socialnetwork.event.CommentAdded;
+import com.connecthub.socialnetwork.event.DomainEvent;
+import com.connecthub.socialnetwork.event.DomainEventConsumer;
+import com.connecthub.socialnetwork.event.PostCreated;
+import com.connecthub.socialnetwork.event.PostDeleted;
+import com.connecthub.socialnetwork.event.PostLiked;
+import com.connecthub.socialnetwork.event.PostViewed;
+import com.connecthub.socialnetwork.repository.PostRepository;
+import com.connecthub.socialnetwork.repository.PostViewRepository.PostAuthor;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Moteur de tendances : score d'engagement décroissant dans le temps par publication,
+ * classement global et par centre d'intérêt (centres d'intérêt de l'auteur).
+ *
+ * Décroissance "vers l'avant" : un événement de poids w à l'instant t ajoute
+ * w * exp(lambda * (t - repère)) au score. Le facteur exp(-lambda * (now - repère)) étant
+ * commun à toutes les publications, l'ordre des scores stockés est celui des scores
+ * décrus : une mise à jour ne touche qu'une publication, jamais l'ensemble.
+ * Le repère est avancé (et les scores renormalisés) avant que l'exponentielle ne déborde.
+ * Un retrait de like retire exactement ce que le like avait ajouté : son poids à la date du
+ * like (portée par la relation LIKED_BY), pas à la date du retrait.
+ *
+ * Les scores sont indexés par l'identifiant interne Neo4j de la publication, que Neo4j
+ * réattribue une fois le nœud effacé. Une publication supprimée (par son auteur ou avec son
+ * compte) est donc oubliée dès l'événement de suppression, avant que le ContentReaper ne
+ * l'efface : un identifiant réattribué repart d'un score nul. Les publications disparues de
+ * l'instantané (suppression manquée) sont oubliées au recalcul suivant.
+ *
+ * Les classements sont des skip lists triées par score ; /explore ne lit qu'un instantané
+ * immuable (publications déjà matérialisées), recalculé toutes les
+ * connecthub.trending.snapshot-seconds : son coût ne dépend pas du nombre de publications.
+ */
+@Service
+public class TrendingService implements DomainEventConsumer {
+
+    private static final Logger log = LoggerFactory.getLogger(TrendingService.class);
+
+    private static final int FILE_MAGIC = 0x54524E44; // "TRND"
+    private static final int FILE_VERSION = 2;
+    // Au-delà, le repère est avancé (exp(40) ~ 2.4e17 reste loin du débordement d'un double)
+    private static final double MAX_EXPONENT = 40;
+
+    private final PostRepository postRepository;
+    private final double lambdaPerMilli;
+    private final double likeWeight;
+    private final double commentWeight;
+    private final double viewWeight;
+    private final double createdWeight;
+    private final int topK;
+    private final int maxTracked;
+    private final Path snapshotFile;
+
+    private final Map<Long, Entry> entries = new HashMap<>();
+    private final NavigableSet<Entry> global = new ConcurrentSkipListSet<>(Entry.BY_SCORE_DESC);
+    private final Map<String, NavigableSet<Entry>> byInterest = new HashMap<>();
+    private long landmarkMillis = System.currentTimeMillis();
+
+    private volatile TrendingSnapshot snapshot = TrendingSnapshot.EMPTY;
+
+    public TrendingService(PostRepository postRepository,
+                           @Value("${connecthub.trending.half-life-hours:6}") double halfLifeHours,
+                           @Value("${connecthub.trending.like-weight:1.0}") double likeWeight,
+                           @Value("${connecthub.trending.comment-weight:3.0}") double commentWeight,
+                           @Value("${connecthub.trending.view-weight:0.2}") double viewWeight,
+                           @Value("${connecthub.trending.created-weight:0.5}") double createdWeight,
+                           @Value("${connecthub.trending.top-k:50}") int topK,
+                           @Value("${connecthub.trending.max-tracked-posts:50000}") int maxTracked,
+                           @Value("${connecthub.trending.snapshot-file:${java.io.tmpdir}/connecthub-trending.bin}") String snapshotFile) {
+        this.postRepository = postRepository;
+        this.lambdaPerMilli = Math.log(2) / (halfLifeHours * 3_600_000);
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.viewWeight = viewWeight;
+        this.createdWeight = createdWeight;
+        this.topK = topK;
+        this.maxTracked = maxTracked;
+        this.snapshotFile = Paths.get(snapshotFile);
+    }
+
+    /**
+     * Tendances servies par /explore (lecture d'une référence, temps constant)
+     */
+    public TrendingSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    // =========================
+    // ÉVÉNEMENTS DU BUS
+    // =========================
+
+    @Override
+    public String consumerName() {
+        return "trending";
+    }
+
+    @Override
+    public void onEvents(List<DomainEvent> batch) {
+        // Poids déjà décrus jusqu'à maintenant : w * exp(lambda * (t - now)), t date de l'événement
+        Map<Long, Double> deltas = new HashMap<>();
+        Set<Long> deletedPosts = new HashSet<>();
+        Set<String> deletedAuthors = new HashSet<>();
+        long now = System.currentTimeMillis();
+        for (DomainEvent event : batch) {
+            switch (event) {
+                case PostCreated created -> deltas.merge(created.postId(), createdWeight, Double::sum);
+                case PostLiked liked when liked.liked() -> deltas.merge(liked.postId(), likeWeight, Double::sum);
+                // Like sans date (antérieur à l'horodatage) : sa contribution est inconnue, rien n'est retiré
+                case PostLiked unliked when unliked.likedAt() != null ->
+                        deltas.merge(unliked.postId(), -likeWeight * decay(unliked.likedAt(), now), Double::sum);
+                case CommentAdded comment -> deltas.merge(comment.postId(), commentWeight, Double::sum);
+                case PostViewed viewed -> deltas.merge(viewed.postId(), viewWeight, Double::sum);
+                case PostDeleted deleted -> deletedPosts.add(deleted.postId());
+                case AccountDeleted deleted -> deletedAuthors.add(deleted.userId());
+                default -> {
+                }
+            }
+        }
+        deletedPosts.forEach(deltas::remove);
+        if (!deletedPosts.isEmpty() || !deletedAuthors.isEmpty()) {
+            synchronized (this) {
+                deletedPosts.forEach(this::forget);
+                entries.values().stream()
+                        .filter(entry -> deletedAuthors.contains(entry.authorId))
+                        .map(entry -> entry.postId)
+                        .toList()
+                        .forEach(this::forget);
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // Auteurs des publications encore inconnues : une requête pour tout le lot
+        Set<Long> unknown;
+        synchronized (this) {
+            unknown = deltas.keySet().stream().filter(id -> !entries.containsKey(id)).collect(Collectors.toSet());
+        }
+        Map<Long, PostAuthor> authors = unknown.isEmpty() ? Map.of() : postRepository.findAuthors(unknown);
+
+        synchronized (this) {
+            rebaseIfNeeded(now);
+            double factor = Math.exp(lambdaPerMilli * (now - landmarkMillis));
+            deltas.forEach((postId, delta) -> {
+                Entry entry = entries.get(postId);
+                if (entry == null) {
+                    PostAuthor author = authors.get(postId);
+                    if (author == null) {
+                        return; // publication supprimée entre-temps
+                    }
+                    entry = new Entry(postId, author.authorId(), author.interests().toArray(String[]::new));
+                    entries.put(postId, entry);
+                } else {
+                    unindex(entry);
+                }
+                entry.score = Math.max(0, entry.score + delta * factor);
+                index(entry);
+            });
+            evictOverflow();
+        }
+    }
+
+    /**
+     * exp(lambda * (at - now)) : 1 pour un événement de maintenant, 1/2 une demi-vie plus tôt
+     */
+    private double decay(Instant at, long now) {
+        return Math.exp(lambdaPerMilli * Math.min(0, at.toEpochMilli() - now));
+    }
+
+    // =========================
+    // INSTANTANÉS
+    // =========================
+
+    @PostConstruct
+    public void loadScores() {
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != FILE_MAGIC || in.readInt() != FILE_VERSION) {
+                log.warn("Fichier de tendances ignoré (format inconnu) : {}", snapshotFile);
+                return;
+            }
+            synchronized (this) {
+                landmarkMillis = in.readLong();
+                int count = in.readInt();
+                for (int i = 0; i < count; i++) {
+                    long postId = in.readLong();
+                    String authorId = in.readUTF();
+                    double score = in.readDouble();
+                    String[] postInterests = new String[in.readInt()];
+                    for (int j = 0; j < postInterests.length; j++) {
+                        postInterests[j] = in.readUTF();
+                    }
+                    Entry entry = new Entry(postId, authorId, postInterests);
+                    entry.score = score;
+                    entries.put(postId, entry);
+                    index(entry);
+                }
+            }
+            log.info("Tendances rechargées : {} publication(s)", entries.size());
+        } catch (IOException e) {
+            log.warn("Lecture des tendances impossible ({}) : démarrage à vide", e.getMessage());
+        }
+    }
+
+    /**
+     * Recalcule l'instantané servi par /explore : top-K global et par intérêt,
+     * publications chargées en une seule requête
+     */
+    @Scheduled(fixedDelayString = "${connecthub.trending.snapshot-seconds:30}", timeUnit = TimeUnit.SECONDS)
+    public void refreshSnapshot() {
+        List<Long> globalIds;
+        Map<String, List<Long>> interestIds = new HashMap<>();
+        synchronized (this) {
+            globalIds = top(global);
+            byInterest.forEach((interest, ranking) -> interestIds.put(interest, top(ranking)));
+        }
+
+        Set<Long> allIds = new LinkedHashSet<>(globalIds);
+        interestIds.values().forEach(allIds::addAll);
+        if (allIds.isEmpty()) {
+            snapshot = TrendingSnapshot.EMPTY;
+            return;
+        }
+        Map<Long, PostView> views = postRepository.findViewsByIds(allIds).stream()
+                .collect(Collectors.toMap(PostView::getId, Function.identity()));
+        // Publications supprimées dont l'événement a été manqué : oubliées avant que leur
+        // identifiant ne soit réattribué
+        synchronized (this) {
+            allIds.stream().filter(id -> !views.containsKey(id)).forEach(this::forget);
+        }
+
+        Map<String, List<PostView>> interestViews = new HashMap<>();
+        interestIds.forEach((interest, ids) -> interestViews.put(interest, resolve(ids, views)));
+        snapshot = new TrendingSnapshot(LocalDateTime.now(), resolve(globalIds, views), interestViews);
+    }
+
+    /**
+     * Sauvegarde périodique des scores : un redémarrage conserve les tendances en cours
+     */
+    @Scheduled(fixedDelayString = "${connecthub.trending.persist-minutes:5}", timeUnit = TimeUnit.MINUTES,
+            initialDelayString = "${connecthub.trending.persist-minutes:5}")
+    @PreDestroy
+    public void persistScores() {
+        try {
+            Files.createDirectories(snapshotFile.toAbsolutePath().getParent());
+            Path temp = Files.createTempFile(snapshotFile.toAbsolutePath().getParent(), "trending", ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                synchronized (this) {
+                    out.writeInt(FILE_MAGIC);
+                    out.writeInt(FILE_VERSION);
+                    out.writeLong(landmarkMillis);
+                    out.writeInt(entries.size());
+                    for (Entry entry : entries.values()) {
+                        out.writeLong(entry.postId);
+                        out.writeUTF(entry.authorId);
+                        out.writeDouble(entry.score);
+                        out.writeInt(entry.interests.length);
+                        for (String interest : entry.interests) {
+                            out.writeUTF(interest);
+                        }
+                    }
+                }
+            }
+            Files.move(temp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.warn("Sauvegarde des tendances impossible : {}", e.getMessage());
+        }
+    }
+
+    // =========================
+    // STRUCTURES (appelées sous verrou)
+    // =========================
+
+    private void index(Entry entry) {
+        global.add(entry);
+        for (String interest : entry.interests) {
+            byInterest.computeIfAbsent(interest, i -> new ConcurrentSkipListSet<>(Entry.BY_SCORE_DESC)).add(entry);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        global.remove(entry);
+        for (String interest : entry.interests) {
+            NavigableSet<Entry> ranking = byInterest.get(interest);
+            if (ranking != null) {
+                ranking.remove(entry);
+            }
+        }
+    }
+
+    private void forget(long postId) {
+        Entry entry = entries.remove(postId);
+        if (entry != null) {
+            unindex(entry);
+        }
+    }
+
+    /**
+     * Borne la mémoire : les publications les moins bien classées sont oubliées
+     */
+    private void evictOverflow() {
+        while (entries.size() > maxTracked) {
+            Entry lowest = global.pollLast();
+            if (lowest == null) {
+                return;
+            }
+            unindex(lowest);
+            entries.remove(lowest.postId);
+        }
+    }
+
+    private void rebaseIfNeeded(long now) {
+        double exponent = lambdaPerMilli * (now - landmarkMillis);
+        if (exponent < MAX_EXPONENT) {
+            return;
+        }
+        double scale = Math.exp(-exponent);
+        global.clear();
+        byInterest.clear();
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry entry = iterator.next();
+            entry.score *= scale;
+            // Scores devenus négligeables : plus de tendance
+            if (entry.score < 1e-9) {
+                iterator.remove();
+            } else {
+                index(entry);
+            }
+        }
+        landmarkMillis = now;
+    }
+
+    private List<Long> top(NavigableSet<Entry> ranking) {
+        List<Long> ids = new ArrayList<>(topK);
+        for (Entry entry : ranking) {
+            if (ids.size() == topK) {
+                break;
+            }
+            ids.add(entry.postId);
+        }
+        return ids;
+    }
+
+    private static List<PostView> resolve(List<Long> ids, Map<Long, PostView> views) {
+        return ids.stream().map(views::get).filter(view -> view != null).toList();
+    }
+
+    private static final class Entry {
+        // Score décroissant, puis identifiant pour départager (un ensemble trié exige un ordre total)
+        static final Comparator<Entry> BY_SCORE_DESC = Comparator.<Entry>comparingDouble(e -> -e.score)
+                .thenComparingLong(e -> e.postId);
+
+        final long postId;
+        final String authorId;
+        final String[] interests;
+        double score;
+
+        Entry(long postId, String authorId, String[] interests) {
+            this.postId = postId;
+            this.authorId = authorId;
+            this.interests = interests;
+        }
+    }
+}
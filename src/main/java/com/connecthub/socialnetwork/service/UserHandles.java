@@ -0,0 +1,73 @@
+package com.connecthub.socialnetwork.service;
+
+import com.connecthub.socialnetwork.repository.UserRepository;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Handle de mention (@karim.b) d'un utilisateur : propriété u.handle, unique (contrainte
+ * user_handle). Dérivé de la partie locale de l'email à la création du compte, puis suffixé
+ * d'un numéro si elle est déjà prise ("karim.b", "karim.b2", "karim.b3"...). Une mention est
+ * résolue par égalité sur le handle : un seul compte possible, quel que soit le domaine de
+ * l'email, et aucune adresse ne peut être testée par préfixe.
+ */
+final class UserHandles {
+
+    // Même alphabet et même longueur que les mentions reconnues par PostTextParser
+    static final int MAX_LENGTH = 64;
+    // Place laissée au suffixe numérique
+    private static final int MAX_BASE_LENGTH = MAX_LENGTH - 6;
+
+    private static final Pattern INVALID = Pattern.compile("[^\\p{L}\\p{N}_.+-]");
+    // PostTextParser retire cette ponctuation en fin de mention : un handle ne s'y termine pas
+    private static final Pattern TRAILING = Pattern.compile("[.\\-+]+$");
+
+    private UserHandles() {
+    }
+
+    /**
+     * Handle libre pour un nouveau compte. Deux créations simultanées sur le même handle :
+     * la seconde est refusée par la contrainte user_handle
+     */
+    static String newHandle(UserRepository userRepository, String email) {
+        String base = base(email);
+        return firstFree(base, Set.copyOf(userRepository.findHandlesStartingWith(base)));
+    }
+
+    /**
+     * Handle souhaité pour un email, avant dédoublonnage
+     */
+    static String base(String email) {
+        String local = email == null ? "" : email;
+        int at = local.indexOf('@');
+        if (at >= 0) {
+            local = local.substring(0, at);
+        }
+        String handle = INVALID.matcher(local.toLowerCase(Locale.ROOT)).replaceAll("");
+        if (handle.length() > MAX_BASE_LENGTH) {
+            handle = handle.substring(0, MAX_BASE_LENGTH);
+        }
+        handle = TRAILING.matcher(handle).replaceAll("");
+        return handle.isEmpty() ? "user" : handle;
+    }
+
+    /**
+     * Premier handle libre : base, puis base2, base3...
+     *
+     * @param taken handles existants commençant par base
+     */
+    static String firstFree(String base, Collection<String> taken) {
+        if (!taken.contains(base)) {
+            return base;
+        }
+        for (int n = 2; ; n++) {
+            String candidate = base + n;
+            if (!taken.contains(candidate)) {
+                return candidate;
+            }
+        }
+    }
+}
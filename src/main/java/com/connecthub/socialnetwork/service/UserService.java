@@ -2,6 +2,9 @@ package com.connecthub.socialnetwork.service;
 
 import com.connecthub.socialnetwork.dto.RegisterRequest;
 import com.connecthub.socialnetwork.dto.UserResponse;
+import com.connecthub.socialnetwork.event.AccountDeleted;
+import com.connecthub.socialnetwork.event.DomainEventBus;
+import com.connecthub.socialnetwork.event.ProfileUpdated;
 import com.connecthub.socialnetwork.model.User;
 import com.connecthub.socialnetwork.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,8 +12,10 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 /**
  * Service pour la gestion des utilisateurs
@@ -21,11 +26,21 @@ public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final AvatarService avatarService;
+    private final NavbarService navbarService;
+    private final ParallelLookups parallelLookups;
+    private final DomainEventBus eventBus;
 
     @Autowired
-    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder) {
+    public UserService(UserRepository userRepository, PasswordEncoder passwordEncoder,
+                       AvatarService avatarService, NavbarService navbarService,
+                       ParallelLookups parallelLookups, DomainEventBus eventBus) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.avatarService = avatarService;
+        this.navbarService = navbarService;
+        this.parallelLookups = parallelLookups;
+        this.eventBus = eventBus;
     }
 
     public User register(RegisterRequest request) {
@@ -40,6 +55,8 @@ public class UserService {
                 request.getEmail(),
                 passwordEncoder.encode(request.getPassword())  // 🔒 HASHER avec BCrypt
         );
+        user.setProfileImage(avatarService.avatarUrl(user.getName()));
+        user.setHandle(UserHandles.newHandle(userRepository, user.getEmail()));
 
         return userRepository.save(user);
     }
@@ -123,7 +140,10 @@ public class UserService {
             user.setMessengerLink(messengerLink);
         }
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        navbarService.evict(userId);
+        eventBus.publish(new ProfileUpdated(userId));
+        return saved;
     }
 
     /**
@@ -152,17 +172,40 @@ public class UserService {
         userRepository.save(user);
     }
 
+    /**
+     * Supprime le compte (mot de passe requis)
+     * Suppression logique : connexion refusée et contenu masqué immédiatement ; publications,
+     * commentaires, likes et amitiés sont retirés par lots en arrière-plan (ContentReaper).
+     *
+     * @throws RuntimeException si le mot de passe est incorrect
+     */
+    public void deleteAccount(String userId, String password) {
+        User user = getUserById(userId);
+
+        if (password == null || !passwordEncoder.matches(password, user.getPassword())) {
+            throw new RuntimeException("Mot de passe incorrect");
+        }
+
+        userRepository.tombstoneUser(userId, LocalDateTime.now());
+        navbarService.evict(userId);
+        eventBus.publish(new AccountDeleted(userId));
+    }
+
     /**
      * Récupère les statistiques d'un utilisateur
      * @param userId ID de l'utilisateur
      * @return Objet contenant les statistiques
      */
     public UserStatistics getUserStatistics(String userId) {
-        int friendsCount = userRepository.countFriends(userId);
-        int postsCount = userRepository.countPosts(userId);
-        int totalLikesReceived = userRepository.countTotalLikesReceived(userId);
-
-        return new UserStatistics(friendsCount, postsCount, totalLikesReceived);
+        // Les trois comptages sont indépendants : exécutés en parallèle
+        try (ParallelLookups.Scope scope = parallelLookups.open()) {
+            Supplier<Integer> friendsCount = scope.fork(() -> userRepository.countFriends(userId));
+            Supplier<Integer> postsCount = scope.fork(() -> userRepository.countPosts(userId));
+            Supplier<Integer> totalLikesReceived = scope.fork(() -> userRepository.countTotalLikesReceived(userId));
+            scope.join();
+
+            return new UserStatistics(friendsCount.get(), postsCount.get(), totalLikesReceived.get());
+        }
     }
 
     /**
@@ -0,0 +1,206 @@
+package com.connecthub.socialnetwork.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DomainEventBusTest {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    /**
+     * Consommateur qui note les identifiants reçus ; lu par le test après stop() (join du thread)
+     */
+    private static class Recorder implements DomainEventConsumer {
+
+        final List<Long> postIds = new ArrayList<>();
+
+        @Override
+        public String consumerName() {
+            return "recorder";
+        }
+
+        @Override
+        public void onEvents(List<DomainEvent> batch) {
+            for (DomainEvent event : batch) {
+                postIds.add(((PostViewed) event).postId());
+            }
+        }
+    }
+
+    private DomainEventBus bus(List<DomainEventConsumer> consumers, int ringSize, int batchSize, long timeoutMillis) {
+        DomainEventBus bus = new DomainEventBus(consumers, ringSize, batchSize, "yielding", timeoutMillis, registry);
+        bus.start();
+        return bus;
+    }
+
+    private double dropped() {
+        return registry.find("connecthub.events.dropped").counters().stream().mapToDouble(Counter::count).sum();
+    }
+
+    private static void runAll(int threads, ThrowingTask task) throws InterruptedException {
+        List<Thread> started = new ArrayList<>();
+        List<Throwable> failures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int index = t;
+            Thread thread = new Thread(() -> {
+                try {
+                    task.run(index);
+                } catch (Throwable e) {
+                    synchronized (failures) {
+                        failures.add(e);
+                    }
+                }
+            });
+            started.add(thread);
+            thread.start();
+        }
+        for (Thread thread : started) {
+            thread.join();
+        }
+        assertThat(failures).isEmpty();
+    }
+
+    private interface ThrowingTask {
+        void run(int thread) throws Exception;
+    }
+
+    @Test
+    void chaqueConsommateurRecoitChaqueEvenementUneFoisDansLOrdreDuProducteur() throws InterruptedException {
+        Recorder first = new Recorder();
+        Recorder second = new Recorder();
+        // Anneau volontairement petit : les producteurs attendent souvent les consommateurs
+        DomainEventBus bus = bus(List.of(first, second), 64, 16, TimeUnit.SECONDS.toMillis(30));
+        int producers = 4;
+        int perProducer = 20_000;
+
+        runAll(producers, thread -> {
+            for (int i = 0; i < perProducer; i++) {
+                bus.publish(new PostViewed(thread * 1_000_000L + i));
+            }
+        });
+        bus.stop();
+
+        assertThat(dropped()).isEqualTo(0.0);
+        for (Recorder recorder : List.of(first, second)) {
+            assertThat(recorder.postIds).hasSize(producers * perProducer);
+            assertThat(new HashSet<>(recorder.postIds)).hasSize(producers * perProducer);
+            long[] lastByProducer = {-1, -1, -1, -1};
+            for (long postId : recorder.postIds) {
+                int producer = (int) (postId / 1_000_000L);
+                long index = postId % 1_000_000L;
+                assertThat(index).as("ordre du producteur %d", producer).isGreaterThan(lastByProducer[producer]);
+                lastByProducer[producer] = index;
+            }
+        }
+    }
+
+    @Test
+    void unConsommateurBloqueNeBloquePasLesProducteurs() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        Recorder stuck = new Recorder() {
+            @Override
+            public void onEvents(List<DomainEvent> batch) {
+                super.onEvents(batch);
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        DomainEventBus bus = bus(List.of(stuck), 8, 1, 20);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 20; i++) {
+            bus.publish(new PostViewed((long) i));
+        }
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // 8 emplacements : les 12 derniers événements sont abandonnés après 20 ms chacun
+        assertThat(dropped()).isEqualTo(12.0);
+        assertThat(elapsedMillis).isLessThan(5_000L);
+
+        release.countDown();
+        bus.stop();
+        assertThat(stuck.postIds).containsExactly(0L, 1L, 2L, 3L, 4L, 5L, 6L, 7L);
+    }
+
+    @Test
+    void uneErreurDuConsommateurNeFigePasSaSequence() throws InterruptedException {
+        Recorder failing = new Recorder() {
+            @Override
+            public void onEvents(List<DomainEvent> batch) {
+                if (((PostViewed) batch.get(0)).postId() == 0L) {
+                    throw new StackOverflowError("lot empoisonné");
+                }
+                super.onEvents(batch);
+            }
+        };
+        DomainEventBus bus = bus(List.of(failing), 4, 1, TimeUnit.SECONDS.toMillis(30));
+
+        for (int i = 0; i < 50; i++) {
+            bus.publish(new PostViewed((long) i));
+        }
+        bus.stop();
+
+        // Le lot en échec est perdu, le consommateur continue avec les suivants
+        assertThat(dropped()).isEqualTo(0.0);
+        assertThat(failing.postIds).hasSize(49);
+        assertThat(failing.postIds.get(48)).isEqualTo(49L);
+    }
+
+    @Test
+    void lOutboxNePublieQueLesTransactionsValidees() throws InterruptedException {
+        Recorder recorder = new Recorder();
+        DomainEventBus bus = bus(List.of(recorder), 256, 32, TimeUnit.SECONDS.toMillis(30));
+        int threads = 4;
+        int transactions = 2_000;
+
+        runAll(threads, thread -> {
+            for (int i = 0; i < transactions; i++) {
+                long base = (thread * 1_000_000L + i) * 2;
+                TransactionSynchronizationManager.initSynchronization();
+                try {
+                    bus.publish(new PostViewed(base));
+                    bus.publish(new PostViewed(base + 1));
+                    if (i % 2 == 0) {
+                        TransactionSynchronizationUtils.triggerAfterCommit();
+                        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+                    } else {
+                        TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+                    }
+                } finally {
+                    TransactionSynchronizationManager.clearSynchronization();
+                }
+                // L'outbox est détachée du thread à la fin de chaque transaction
+                assertThat(TransactionSynchronizationManager.hasResource(bus)).isFalse();
+            }
+        });
+        bus.stop();
+
+        Set<Long> expected = new HashSet<>();
+        for (int thread = 0; thread < threads; thread++) {
+            for (int i = 0; i < transactions; i += 2) {
+                long base = (thread * 1_000_000L + i) * 2;
+                expected.add(base);
+                expected.add(base + 1);
+            }
+        }
+        assertThat(recorder.postIds).hasSize(expected.size());
+        assertThat(new HashSet<>(recorder.postIds)).isEqualTo(expected);
+    }
+}
@@ -0,0 +1,129 @@
+package com.connecthub.socialnetwork.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class AnalyticsGraphTest {
+
+    /**
+     * Graphe aléatoire où un utilisateur sur quatre n'a ni ami ni like donné (sommet sans arête
+     * sortante) ; les likes sont concentrés sur les premiers auteurs
+     */
+    private static AnalyticsGraph randomGraph(SplittableRandom random, int users) {
+        String[] ids = new String[users];
+        GraphSnapshotBuilder builder = new GraphSnapshotBuilder();
+        for (int i = 0; i < users; i++) {
+            ids[i] = new UUID(random.nextLong(), random.nextLong()).toString();
+            builder.addUser(ids[i], List.of());
+        }
+        builder.freezeUsers();
+        int connected = users - users / 4;
+        for (int i = 0; i < 3 * connected; i++) {
+            builder.addEdge(ids[random.nextInt(connected)], ids[random.nextInt(connected)]);
+        }
+        AnalyticsGraphBuilder analytics = new AnalyticsGraphBuilder(builder.build(0));
+        for (int i = 0; i < 2 * connected; i++) {
+            analytics.addLike(ids[random.nextInt(connected)], ids[random.nextInt(1 + connected / 10)]);
+        }
+        return analytics.build();
+    }
+
+    private static double sum(double[] scores) {
+        double total = 0;
+        for (double score : scores) {
+            total += score;
+        }
+        return total;
+    }
+
+    @Test
+    void laMasseEstConserveeAvecDesSommetsSansArete() {
+        AnalyticsGraph graph = randomGraph(new SplittableRandom(3), 2_000);
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            // Arrêt avant convergence comme après : la masse est conservée à chaque itération
+            for (int iterations : new int[]{1, 5, 50}) {
+                AnalyticsGraph.Ranking ranking = graph.pageRank(pool, 0.85, 0.5, iterations, 0);
+
+                assertThat(ranking.iterations()).isEqualTo(iterations);
+                assertThat(sum(ranking.scores())).as("%d itération(s)", iterations)
+                        .isCloseTo(graph.size(), within(1e-6 * graph.size()));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void leResultatNeDependPasDuParallelisme() {
+        // Assez d'arêtes pour que le calcul soit découpé en plusieurs tâches
+        AnalyticsGraph graph = randomGraph(new SplittableRandom(5), 40_000);
+        ForkJoinPool single = new ForkJoinPool(1);
+        ForkJoinPool parallel = new ForkJoinPool(4);
+        try {
+            double[] expected = graph.pageRank(single, 0.85, 0.5, 20, 0).scores();
+            double[] actual = graph.pageRank(parallel, 0.85, 0.5, 20, 0).scores();
+
+            assertThat(sum(actual)).isCloseTo(graph.size(), within(1e-6 * graph.size()));
+            for (int u = 0; u < graph.size(); u++) {
+                assertThat(actual[u]).as("ordinal %d", u).isCloseTo(expected[u], within(1e-9));
+            }
+        } finally {
+            single.shutdown();
+            parallel.shutdown();
+        }
+    }
+
+    @Test
+    void lesSommetsIsolesNeRecoiventQueLaTeleportation() {
+        GraphSnapshotBuilder builder = new GraphSnapshotBuilder();
+        String hub = "00000000-0000-0000-0000-000000000001";
+        String isolated = "00000000-0000-0000-0000-000000000002";
+        builder.addUser(hub, List.of());
+        builder.addUser(isolated, List.of());
+        String[] fans = new String[5];
+        for (int i = 0; i < fans.length; i++) {
+            fans[i] = "00000000-0000-0000-0000-00000000001" + i;
+            builder.addUser(fans[i], List.of());
+        }
+        builder.freezeUsers();
+        for (String fan : fans) {
+            builder.addEdge(hub, fan);
+        }
+        AnalyticsGraph graph = new AnalyticsGraphBuilder(builder.build(0)).build();
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try {
+            double[] scores = graph.pageRank(pool, 0.85, 0.5, 200, 1e-12).scores();
+            int hubOrdinal = indexOf(graph, hub);
+            int isolatedOrdinal = indexOf(graph, isolated);
+
+            assertThat(sum(scores)).isCloseTo(graph.size(), within(1e-9));
+            for (int u = 0; u < graph.size(); u++) {
+                if (u != hubOrdinal) {
+                    assertThat(scores[hubOrdinal]).isGreaterThan(scores[u]);
+                }
+            }
+            // Seul sommet sans arête : r = (1 - d) / n + d * r / n, soit un score n * r = n (1 - d) / (n - d)
+            int n = graph.size();
+            assertThat(scores[isolatedOrdinal]).isCloseTo(n * (1 - 0.85) / (n - 0.85), within(1e-9));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static int indexOf(AnalyticsGraph graph, String id) {
+        for (int u = 0; u < graph.size(); u++) {
+            if (graph.id(u).equals(id)) {
+                return u;
+            }
+        }
+        throw new IllegalArgumentException(id);
+    }
+}
@@ -0,0 +1,135 @@
+package com.connecthub.socialnetwork.graph;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathSearchTest {
+
+    private static final IntFunction<int[]> NO_OVERLAY = ordinal -> null;
+
+    /**
+     * Graphe aléatoire non orienté en lignes compressées (offsets, neighbors)
+     */
+    private record Graph(int[] offsets, int[] neighbors) {
+
+        static Graph random(SplittableRandom random, int size, int edges) {
+            List<Set<Integer>> rows = new ArrayList<>();
+            for (int u = 0; u < size; u++) {
+                rows.add(new LinkedHashSet<>());
+            }
+            for (int i = 0; i < edges; i++) {
+                int a = random.nextInt(size);
+                int b = random.nextInt(size);
+                if (a != b) {
+                    rows.get(a).add(b);
+                    rows.get(b).add(a);
+                }
+            }
+            int[] offsets = new int[size + 1];
+            for (int u = 0; u < size; u++) {
+                offsets[u + 1] = offsets[u] + rows.get(u).size();
+            }
+            int[] neighbors = new int[offsets[size]];
+            for (int u = 0; u < size; u++) {
+                int k = offsets[u];
+                for (int n : rows.get(u)) {
+                    neighbors[k++] = n;
+                }
+            }
+            return new Graph(offsets, neighbors);
+        }
+
+        boolean hasEdge(int a, int b) {
+            for (int k = offsets[a]; k < offsets[a + 1]; k++) {
+                if (neighbors[k] == b) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Distances depuis source par un parcours en largeur simple, -1 si inaccessible
+         */
+        int[] distances(int source) {
+            int[] distance = new int[offsets.length - 1];
+            Arrays.fill(distance, -1);
+            int[] queue = new int[distance.length];
+            int head = 0;
+            int tail = 0;
+            distance[source] = 0;
+            queue[tail++] = source;
+            while (head < tail) {
+                int u = queue[head++];
+                for (int k = offsets[u]; k < offsets[u + 1]; k++) {
+                    int n = neighbors[k];
+                    if (distance[n] < 0) {
+                        distance[n] = distance[u] + 1;
+                        queue[tail++] = n;
+                    }
+                }
+            }
+            return distance;
+        }
+    }
+
+    @Test
+    void memeLongueurQuUnParcoursEnLargeurSimple() {
+        SplittableRandom random = new SplittableRandom(42);
+        // Une seule instance pour toutes les recherches : les tampons sont réutilisés
+        PathSearch search = new PathSearch();
+        for (int round = 0; round < 20; round++) {
+            int size = 50 + random.nextInt(150);
+            // Peu d'arêtes par sommet : des composantes séparées et des chemins longs
+            Graph graph = Graph.random(random, size, size + random.nextInt(2 * size));
+            for (int query = 0; query < 50; query++) {
+                int source = random.nextInt(size);
+                int target = random.nextInt(size);
+                int expected = graph.distances(source)[target];
+                int maxDepth = 1 + random.nextInt(12);
+
+                int[] path = search.run(graph.offsets(), graph.neighbors(), size, NO_OVERLAY, size,
+                        source, target, maxDepth);
+
+                if (expected < 0 || expected > maxDepth) {
+                    assertThat(path).as("%d -> %d, distance %d, maxDepth %d", source, target, expected, maxDepth)
+                            .isNull();
+                    continue;
+                }
+                assertThat(path).as("%d -> %d, distance %d", source, target, expected).isNotNull();
+                assertThat(path.length - 1).as("%d -> %d", source, target).isEqualTo(expected);
+                assertThat(path[0]).isEqualTo(source);
+                assertThat(path[path.length - 1]).isEqualTo(target);
+                for (int i = 1; i < path.length; i++) {
+                    assertThat(graph.hasEdge(path[i - 1], path[i]))
+                            .as("arête %d - %d", path[i - 1], path[i]).isTrue();
+                }
+            }
+        }
+    }
+
+    @Test
+    void lesLignesModifieesRemplacentLInstantane() {
+        // Instantané : chaîne 0 - 1 - 2 - 3 ; modification : 0 et 3 deviennent amis
+        int[] offsets = {0, 1, 3, 5, 6};
+        int[] neighbors = {1, 0, 2, 1, 3, 2};
+        IntFunction<int[]> overlay = ordinal -> switch (ordinal) {
+            case 0 -> new int[]{1, 3};
+            case 3 -> new int[]{2, 0};
+            default -> null;
+        };
+
+        int[] path = new PathSearch().run(offsets, neighbors, 4, overlay, 4, 0, 3, 6);
+
+        assertThat(path).containsExactly(0, 3);
+    }
+}
@@ -0,0 +1,227 @@
+package com.connecthub.socialnetwork.graph;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SocialGraphTest {
+
+    private static final List<String> INTERESTS = List.of("musique", "sport", "cinéma", "lecture", "voyage");
+
+    @TempDir
+    Path directory;
+
+    /**
+     * État attendu, tenu à jour en parallèle du graphe
+     */
+    private final Map<String, Set<String>> friends = new HashMap<>();
+    private final Map<String, Set<String>> interests = new HashMap<>();
+    private final List<String> ids = new ArrayList<>();
+    private final SplittableRandom random = new SplittableRandom(17);
+
+    private String id(int i) {
+        return new UUID(0x5EED, i).toString();
+    }
+
+    private List<String> randomInterests() {
+        List<String> picked = new ArrayList<>();
+        for (String interest : INTERESTS) {
+            if (random.nextInt(3) == 0) {
+                picked.add(interest);
+            }
+        }
+        return picked;
+    }
+
+    private SocialGraph createGraph(int users) throws IOException {
+        GraphSnapshotBuilder builder = new GraphSnapshotBuilder();
+        for (int i = 0; i < users; i++) {
+            List<String> userInterests = randomInterests();
+            builder.addUser(id(i), userInterests);
+            friends.put(id(i), new HashSet<>());
+            interests.put(id(i), new HashSet<>(userInterests));
+        }
+        builder.freezeUsers();
+        for (int i = 0; i < 2 * users; i++) {
+            String a = id(random.nextInt(users));
+            String b = id(random.nextInt(users));
+            builder.addEdge(a, b);
+            if (!a.equals(b)) {
+                friends.get(a).add(b);
+                friends.get(b).add(a);
+            }
+        }
+        return SocialGraph.create(directory, builder);
+    }
+
+    /**
+     * Modifications aléatoires sur les identifiants existants et quelques nouveaux
+     */
+    private void applyRandomChanges(SocialGraph graph, int count) throws IOException {
+        for (int i = 0; i < count; i++) {
+            String a = ids.get(random.nextInt(ids.size()));
+            String b = ids.get(random.nextInt(ids.size()));
+            switch (random.nextInt(10)) {
+                case 0 -> {
+                    List<String> userInterests = randomInterests();
+                    graph.apply(GraphChange.upsertUser(a, userInterests));
+                    friends.putIfAbsent(a, new HashSet<>());
+                    interests.put(a, new HashSet<>(userInterests));
+                }
+                case 1 -> {
+                    graph.apply(GraphChange.removeUser(a));
+                    Set<String> removed = friends.remove(a);
+                    if (removed != null) {
+                        removed.forEach(friend -> friends.get(friend).remove(a));
+                        interests.remove(a);
+                    }
+                }
+                case 2, 3 -> {
+                    graph.apply(GraphChange.removeFriendship(a, b));
+                    if (friends.containsKey(a) && friends.containsKey(b)) {
+                        friends.get(a).remove(b);
+                        friends.get(b).remove(a);
+                    }
+                }
+                default -> {
+                    graph.apply(GraphChange.addFriendship(a, b));
+                    if (!a.equals(b)) {
+                        for (String user : List.of(a, b)) {
+                            if (!friends.containsKey(user)) {
+                                friends.put(user, new HashSet<>());
+                                interests.put(user, new HashSet<>());
+                            }
+                        }
+                        friends.get(a).add(b);
+                        friends.get(b).add(a);
+                    }
+                }
+            }
+        }
+        graph.flush();
+    }
+
+    private void assertMatchesModel(SocialGraph graph) {
+        long friendships = 0;
+        for (String id : ids) {
+            boolean present = friends.containsKey(id);
+            assertThat(graph.contains(id)).as("présence de %s", id).isEqualTo(present);
+            if (present) {
+                assertThat(new HashSet<>(graph.friendIds(id))).as("amis de %s", id).isEqualTo(friends.get(id));
+                assertThat(new HashSet<>(graph.interests(id))).as("intérêts de %s", id)
+                        .isEqualTo(interests.get(id));
+                friendships += friends.get(id).size();
+            } else {
+                assertThat(graph.friendIds(id)).as("amis de %s", id).isEmpty();
+            }
+        }
+        assertThat(graph.size()).isEqualTo(friends.size());
+        assertThat(graph.friendshipCount()).isEqualTo(friendships / 2);
+    }
+
+    private SocialGraph reopen(SocialGraph graph) throws IOException {
+        graph.close();
+        SocialGraph reopened = SocialGraph.open(directory);
+        assertThat(reopened).isNotNull();
+        return reopened;
+    }
+
+    @Test
+    void leJournalEstRejoueALaReouverture() throws IOException {
+        SocialGraph graph = createGraph(40);
+        for (int i = 0; i < 60; i++) {
+            ids.add(id(i));
+        }
+        applyRandomChanges(graph, 400);
+        assertMatchesModel(graph);
+
+        graph = reopen(graph);
+        assertMatchesModel(graph);
+        graph.close();
+    }
+
+    @Test
+    void lInstantaneEtLaSuiteDuJournalSeCompletent() throws IOException {
+        SocialGraph graph = createGraph(40);
+        for (int i = 0; i < 60; i++) {
+            ids.add(id(i));
+        }
+        applyRandomChanges(graph, 200);
+        graph.checkpoint();
+        assertMatchesModel(graph);
+
+        // Modifications postérieures à l'instantané : seulement dans le journal
+        applyRandomChanges(graph, 200);
+        graph = reopen(graph);
+        assertMatchesModel(graph);
+
+        // Instantané seul, journal purgé
+        graph.checkpoint();
+        graph = reopen(graph);
+        assertMatchesModel(graph);
+
+        // Le journal reprend après les séquences déjà consignées
+        applyRandomChanges(graph, 100);
+        graph = reopen(graph);
+        assertMatchesModel(graph);
+        graph.close();
+    }
+
+    @Test
+    void lesEcrituresPendantUnCheckpointSontConservees() throws Exception {
+        SocialGraph graph = createGraph(200);
+        for (int i = 0; i < 260; i++) {
+            ids.add(id(i));
+        }
+        // Un seul écrivain (le modèle n'est touché que par lui), checkpoints en parallèle
+        List<Throwable> failures = new ArrayList<>();
+        Thread writer = new Thread(() -> {
+            try {
+                for (int round = 0; round < 50; round++) {
+                    applyRandomChanges(graph, 40);
+                }
+            } catch (Throwable e) {
+                failures.add(e);
+            }
+        });
+        writer.start();
+        while (writer.isAlive()) {
+            graph.checkpoint();
+        }
+        writer.join();
+        assertThat(failures).isEmpty();
+        assertMatchesModel(graph);
+
+        // Sans écriture concurrente, la surcouche est vide après le checkpoint
+        GraphSnapshot checkpoint = graph.checkpoint();
+        assertThat(graph.snapshot()).isSameAs(checkpoint);
+
+        SocialGraph reopened = reopen(graph);
+        assertMatchesModel(reopened);
+        reopened.close();
+    }
+
+    @Test
+    void sansInstantaneLisibleLOuvertureDemandeUneReconstruction() throws IOException {
+        assertThat(SocialGraph.open(directory)).isNull();
+
+        SocialGraph graph = createGraph(10);
+        graph.close();
+        Files.write(directory.resolve("snapshot.bin"), new byte[]{1, 2, 3});
+
+        assertThat(SocialGraph.open(directory)).isNull();
+    }
+}
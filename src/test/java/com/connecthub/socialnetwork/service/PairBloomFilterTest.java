@@ -0,0 +1,65 @@
+package com.connecthub.socialnetwork.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PairBloomFilterTest {
+
+    private static String randomId(SplittableRandom random) {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+
+    @Test
+    void aucunFauxNegatifJusquAuDoubleDeLaCapacite() {
+        SplittableRandom random = new SplittableRandom(7);
+        int capacity = 5_000;
+        PairBloomFilter filter = new PairBloomFilter(capacity);
+        List<String[]> pairs = new ArrayList<>();
+        for (int i = 0; i < 2 * capacity; i++) {
+            String[] pair = {randomId(random), randomId(random)};
+            pairs.add(pair);
+            filter.add(pair[0], pair[1]);
+        }
+
+        for (String[] pair : pairs) {
+            assertThat(filter.mightContain(pair[0], pair[1])).as("paire ajoutée %s", (Object) pair).isTrue();
+        }
+    }
+
+    @Test
+    void fauxPositifsRaresAPleineCapacite() {
+        SplittableRandom random = new SplittableRandom(11);
+        int capacity = 10_000;
+        PairBloomFilter filter = new PairBloomFilter(capacity);
+        for (int i = 0; i < capacity; i++) {
+            filter.add(randomId(random), randomId(random));
+        }
+
+        int falsePositives = 0;
+        int probes = 100_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(randomId(random), randomId(random))) {
+                falsePositives++;
+            }
+        }
+        assertThat((double) falsePositives / probes).isLessThan(0.02);
+    }
+
+    @Test
+    void lesPairesSontOrdonnees() {
+        PairBloomFilter filter = new PairBloomFilter(16);
+        String blocker = "5f0c6a2e-8d1b-4c3e-9a7f-2b6d1e0c4a91";
+        String blocked = "c2d4e6f8-1a3b-4c5d-8e7f-9a0b1c2d3e4f";
+        filter.add(blocker, blocked);
+
+        assertThat(filter.mightContain(blocker, blocked)).isTrue();
+        // Une seule paire dans 4096 bits : (bloqué, bloqueur) ne retombe pas sur les mêmes bits
+        assertThat(filter.mightContain(blocked, blocker)).isFalse();
+    }
+}